@@ -1,12 +1,27 @@
 package de.chrlembeck.util.algorithm;
 
+import de.chrlembeck.util.algorithm.PriorityNodeQueue.Node;
+import de.chrlembeck.util.algorithm.SearchResult.AbortReason;
+import de.chrlembeck.util.collections.BoundedCache;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Utility-Klasse Zur einfachen Verwendung ausgewählter Standard-Algorithmen.
@@ -45,10 +60,80 @@ public final class AlgorithmUtils {
     public static <StateT> List<StateT> breadthFirstSearch(final StateT state,
             final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
             final Consumer<StateWrapper<StateT>> consumer, final Predicate<StateWrapper<StateT>> acceptanceCriterion) {
+        // Ohne Menge der besuchten Zustände wird jeder erzeugte Zustand als neu betrachtet.
+        return breadthFirstSearch(state, stateProducer, consumer, acceptanceCriterion, newState -> true);
+    }
+
+    /**
+     * Führt eine Breitensuche durch, bei der jeder Zustand höchstens einmal besucht wird, und gibt bei Fund eines den
+     * Suchkriterien entsprechenden Zustands die Liste der Zustände, die zu dem Treffer geführt haben, zurück. Erzeugte
+     * Zustände, die bereits in der Menge der besuchten Zustände enthalten sind, werden verworfen, ohne an den Consumer
+     * übergeben oder weiter expandiert zu werden. Die Laufzeit ist damit auch in Zustandsräumen mit Zyklen oder
+     * Transpositionen linear in der Anzahl der unterschiedlichen Zustände.
+     * 
+     * @param state
+     *            Startzustand für den Beginn der Breitensuche.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param consumer
+     *            Consumer zur Verarbeitung aller während der Suche generierten, noch nicht besuchten Zustände. Falls
+     *            die Zwischenzustände nicht verarbeitet werden sollen, kann hier null übergeben werden.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands. Ist das Prüfkriterium erfüllt, wird die Suche
+     *            beendet und die bis zur Erreichung des gefundenen Zustands durchlaufenen Zustände werden als Ergebnis
+     *            zurückgegeben.
+     * @param closedSet
+     *            Menge der bereits besuchten Zustände, z.B. {@link ClosedSet#hashSet()}. Der Startzustand wird zu
+     *            Beginn der Suche aufgenommen.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Liste der bis zum Erreichen des gesuchten Zustands durchlaufenen Zwischenzustände inklusive Start- und
+     *         Zielzustand. Null, falls kein erzeugter Zustand dem Suchkriterium entsprochen hat.
+     */
+    public static <StateT> List<StateT> breadthFirstSearch(final StateT state,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final Consumer<StateWrapper<StateT>> consumer, final Predicate<StateWrapper<StateT>> acceptanceCriterion,
+            final ClosedSet<? super StateT> closedSet) {
+        return breadthFirstSearch(state, stateProducer, consumer, acceptanceCriterion, closedSet,
+            SearchOptions.UNLIMITED).getPath();
+    }
+
+    /**
+     * Führt eine Breitensuche wie {@link #breadthFirstSearch(Object, Function, Consumer, Predicate, ClosedSet)} durch,
+     * die jedoch abgebrochen wird, sobald eine der Grenzen aus den übergebenen Optionen erreicht ist. Die Grenzen
+     * werden vor jeder Expansion eines Zustands geprüft. Als Anzahl wartender Zustände gilt die Länge der
+     * Warteschlange.
+     * 
+     * @param state
+     *            Startzustand für den Beginn der Breitensuche.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param consumer
+     *            Consumer zur Verarbeitung aller während der Suche generierten, noch nicht besuchten Zustände oder
+     *            null.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param closedSet
+     *            Menge der bereits besuchten Zustände, z.B. {@link ClosedSet#hashSet()}.
+     * @param options
+     *            Grenzen für die Laufzeit und den Speicherbedarf der Suche.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Ergebnis der Suche mit dem gefundenen Weg, dem Grund für das Ende der Suche und ihren Kennzahlen.
+     */
+    public static <StateT> SearchResult<StateT> breadthFirstSearch(final StateT state,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final Consumer<StateWrapper<StateT>> consumer, final Predicate<StateWrapper<StateT>> acceptanceCriterion,
+            final ClosedSet<? super StateT> closedSet, final SearchOptions options) {
+        final SearchMonitor monitor = new SearchMonitor(options);
         // Queue zur Aufbewahrung der noch zu verarbeitenden Zwischenzustände.
         final Queue<StateWrapper<StateT>> queue = new LinkedList<>();
         // Referenz auf den als nächstes zu Verarbeitenden Zustand.
         StateWrapper<StateT> currentState = new StateWrapper<>(state, null);
+        // Der Startzustand gilt als besucht, damit Zyklen zurück zum Start nicht erneut expandiert werden.
+        closedSet.add(state);
         // Queue mit dem Startzustand befüllen, damit mit diesem begonnen werden kann.
         queue.add(currentState);
         // Falls gewünscht, aktuellen Zustand an einen Consumer übermitteln.
@@ -57,12 +142,26 @@ public final class AlgorithmUtils {
         }
         // Suchen, bis keine Zwischenzustände mehr vorhanden sind.
         while (!queue.isEmpty()) {
+            // Vor jeder Expansion prüfen, ob eine der Grenzen der Suche erreicht ist.
+            final AbortReason abortReason = monitor.beforeExpansion(queue.size());
+            if (abortReason != null) {
+                return monitor.aborted(abortReason);
+            }
             // nächsten aktuellen Zustand aus der Wareschlange nehmen.
             currentState = queue.poll();
+            monitor.level(currentState.getDepth(), queue.size() + 1);
             // neue Zwischenzustände auf Grundlage des aktuellen Zustand ermitteln lassen.
+            final long producerStart = monitor.startTimer();
             final Iterable<StateT> possibleStates = stateProducer.apply(currentState);
+            monitor.producerFinished(producerStart);
             // die neuen Zwischenzustände verarbeiten
             for (final StateT possibleState : possibleStates) {
+                monitor.generated();
+                // bereits besuchte Zustände verwerfen, noch bevor ein Wrapper für sie erzeugt wird.
+                if (!closedSet.add(possibleState)) {
+                    monitor.duplicate();
+                    continue;
+                }
                 // Die erzeugten Zustände in den Wrapper packen, damit ihre Verbindung zu ihren Vorgängern abfragbar
                 // bleiben.
                 @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
@@ -72,9 +171,12 @@ public final class AlgorithmUtils {
                     consumer.accept(newState);
                 }
                 // prüfen, ob der neue Zustand bereits dem Suchkriterium entspricht.
-                if (acceptanceCriterion.test(newState)) {
+                final long predicateStart = monitor.startTimer();
+                final boolean accepted = acceptanceCriterion.test(newState);
+                monitor.predicateFinished(predicateStart);
+                if (accepted) {
                     // bei einem Treffer Liste der Zwischenzustände zusammen mit dem Treffer ausgeben.
-                    return newState.getStates();
+                    return monitor.found(newState.getStates());
                 }
                 // Lag kein Treffer vor, wird der Zusand in die Warteschlange gepackt und es geht mit dem nächsten
                 // Zustand weiter...
@@ -82,8 +184,1199 @@ public final class AlgorithmUtils {
             }
         }
         // Gibt es keine Zwischenzustände mehr, die bearbeitet werden müssen und lag bis dahin noch kein Treffer vor,
-        // ist das Ergebnis null.
-        return null;
+        // ist der Zustandsraum erschöpft.
+        return monitor.exhausted();
+    }
+
+    /**
+     * Führt eine parallele Breitensuche im {@link ForkJoinPool#commonPool()} durch, bei der jeder Zustand höchstens
+     * einmal besucht wird. Die besuchten Zustände werden über {@link Object#equals(Object)} und
+     * {@link Object#hashCode()} erkannt.
+     * 
+     * @param state
+     *            Startzustand für den Beginn der Breitensuche.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand. Der
+     *            Producer wird gleichzeitig aus mehreren Threads aufgerufen.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands. Das Prüfkriterium wird gleichzeitig aus
+     *            mehreren Threads aufgerufen.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Liste der bis zum Erreichen des gesuchten Zustands durchlaufenen Zwischenzustände inklusive Start- und
+     *         Zielzustand. Null, falls kein erzeugter Zustand dem Suchkriterium entsprochen hat.
+     * @see #parallelBreadthFirstSearch(Object, Function, Consumer, Predicate, ClosedSet, ForkJoinPool)
+     */
+    public static <StateT> List<StateT> parallelBreadthFirstSearch(final StateT state,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final Predicate<StateWrapper<StateT>> acceptanceCriterion) {
+        return parallelBreadthFirstSearch(state, stateProducer, null, acceptanceCriterion,
+                ClosedSet.concurrentHashSet(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Führt eine parallele Breitensuche durch, bei der jeder Zustand höchstens einmal besucht wird. Die Suche
+     * arbeitet ebenenweise: Alle Zustände einer Ebene werden parallel in dem übergebenen Pool expandiert, bevor mit der
+     * nächsten Ebene begonnen wird. Sobald ein Thread einen Zustand findet, der dem Suchkriterium entspricht, beenden
+     * alle Threads die Expansion. Da alle gleichzeitig erzeugten Zustände derselben Ebene angehören, ist der gelieferte
+     * Weg wie bei der sequentiellen Suche ein kürzester Weg. Gibt es mehrere kürzeste Wege, ist jedoch nicht
+     * festgelegt, welcher davon geliefert wird.
+     * 
+     * @param state
+     *            Startzustand für den Beginn der Breitensuche.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand. Der
+     *            Producer wird gleichzeitig aus mehreren Threads aufgerufen.
+     * @param consumer
+     *            Consumer zur Verarbeitung aller während der Suche generierten, noch nicht besuchten Zustände oder
+     *            null. Der Consumer wird gleichzeitig aus mehreren Threads aufgerufen.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands. Das Prüfkriterium wird gleichzeitig aus
+     *            mehreren Threads aufgerufen.
+     * @param closedSet
+     *            Threadsichere Menge der bereits besuchten Zustände, z.B. {@link ClosedSet#concurrentHashSet()}.
+     * @param pool
+     *            Pool, in dem die Zustände expandiert werden.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Liste der bis zum Erreichen des gesuchten Zustands durchlaufenen Zwischenzustände inklusive Start- und
+     *         Zielzustand. Null, falls kein erzeugter Zustand dem Suchkriterium entsprochen hat.
+     */
+    public static <StateT> List<StateT> parallelBreadthFirstSearch(final StateT state,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final Consumer<StateWrapper<StateT>> consumer, final Predicate<StateWrapper<StateT>> acceptanceCriterion,
+            final ClosedSet<? super StateT> closedSet, final ForkJoinPool pool) {
+        return parallelBreadthFirstSearch(state, stateProducer, consumer, acceptanceCriterion, closedSet, pool,
+            SearchOptions.UNLIMITED).getPath();
+    }
+
+    /**
+     * Führt eine parallele Breitensuche wie
+     * {@link #parallelBreadthFirstSearch(Object, Function, Consumer, Predicate, ClosedSet, ForkJoinPool)} durch, die
+     * jedoch abgebrochen wird, sobald eine der Grenzen aus den übergebenen Optionen erreicht ist. Damit die Threads
+     * nicht bei jeder Expansion über gemeinsame Zähler synchronisiert werden müssen, werden die Grenzen nicht vor jeder
+     * Expansion, sondern vor jeder Ebene geprüft. Als Anzahl wartender Zustände gilt die Größe der Ebene. Eine Ebene
+     * wird nur begonnen, wenn ihre Expansion die maximale Anzahl zu expandierender Zustände nicht überschreiten kann.
+     * Die Zeitgrenze und die Abbruchprüfung können dagegen um die Dauer einer Ebene überschritten werden.
+     * 
+     * @param state
+     *            Startzustand für den Beginn der Breitensuche.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand. Der
+     *            Producer wird gleichzeitig aus mehreren Threads aufgerufen.
+     * @param consumer
+     *            Consumer zur Verarbeitung aller während der Suche generierten, noch nicht besuchten Zustände oder
+     *            null. Der Consumer wird gleichzeitig aus mehreren Threads aufgerufen.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands. Das Prüfkriterium wird gleichzeitig aus
+     *            mehreren Threads aufgerufen.
+     * @param closedSet
+     *            Threadsichere Menge der bereits besuchten Zustände, z.B. {@link ClosedSet#concurrentHashSet()}.
+     * @param pool
+     *            Pool, in dem die Zustände expandiert werden.
+     * @param options
+     *            Grenzen für die Laufzeit und den Speicherbedarf der Suche.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Ergebnis der Suche mit dem gefundenen Weg, dem Grund für das Ende der Suche und ihren Kennzahlen.
+     */
+    public static <StateT> SearchResult<StateT> parallelBreadthFirstSearch(final StateT state,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final Consumer<StateWrapper<StateT>> consumer, final Predicate<StateWrapper<StateT>> acceptanceCriterion,
+            final ClosedSet<? super StateT> closedSet, final ForkJoinPool pool, final SearchOptions options) {
+        final SearchMonitor monitor = new SearchMonitor(options);
+        final StateWrapper<StateT> start = new StateWrapper<>(state, null);
+        closedSet.add(state);
+        if (consumer != null) {
+            consumer.accept(start);
+        }
+        final Expansion<StateT> expansion = new Expansion<>(stateProducer, consumer, acceptanceCriterion, closedSet,
+                monitor.isTimed());
+        List<StateWrapper<StateT>> frontier = new ArrayList<>();
+        frontier.add(start);
+        for (int depth = 0; !frontier.isEmpty(); depth++) {
+            final AbortReason abortReason = monitor.beforeLevel(frontier.size());
+            if (abortReason != null) {
+                return monitor.aborted(abortReason);
+            }
+            monitor.beginLevel(depth, frontier.size());
+            // Die Größe der Teilaufgaben so wählen, dass jeder Thread mehrere Aufgaben für den Lastausgleich erhält.
+            final int threshold = Math.max(1, frontier.size() / (pool.getParallelism() * 4));
+            frontier = pool.invoke(new ExpansionTask<>(expansion, frontier, 0, frontier.size(), threshold));
+            monitor.addCounts(expansion.expandedStates.sumThenReset(), expansion.generatedStates.sumThenReset(),
+                expansion.duplicateStates.sumThenReset());
+            monitor.addTimes(expansion.producerNanos.sumThenReset(), expansion.predicateNanos.sumThenReset());
+            final StateWrapper<StateT> found = expansion.found.get();
+            if (found != null) {
+                return monitor.found(found.getStates());
+            }
+        }
+        return monitor.exhausted();
+    }
+
+    /**
+     * Führt eine bidirektionale Breitensuche vom Start- zum Zielzustand durch. Die Suche lässt zwei Suchfronten vom
+     * Start vorwärts und vom Ziel rückwärts wachsen und expandiert dabei jeweils die kleinere der beiden Fronten um
+     * eine vollständige Ebene. Treffen sich die Fronten, werden beide Ketten von Vorgängern zu einem Weg verbunden.
+     * Statt etwa b^d Zuständen bei der einfachen Breitensuche werden so nur etwa 2·b^(d/2) Zustände erzeugt, wobei b
+     * der Verzweigungsgrad und d die Länge des Wegs ist. Da die Ebene, in der sich die Fronten treffen, vollständig
+     * expandiert und die kürzeste der dabei gefundenen Verbindungen gewählt wird, ist der gelieferte Weg ein kürzester
+     * Weg.
+     * <p>
+     * Die Zustände werden über {@link Object#equals(Object)} und {@link Object#hashCode()} verglichen. Jeder Zustand
+     * wird je Richtung höchstens einmal expandiert.
+     * </p>
+     * 
+     * @param start
+     *            Startzustand der Suche.
+     * @param goal
+     *            Zielzustand der Suche.
+     * @param forwardProducer
+     *            Producer zur Erzeugung der Nachfolgezustände zu dem ihm übergebenen Zustand.
+     * @param backwardProducer
+     *            Producer zur Erzeugung der Vorgängerzustände zu dem ihm übergebenen Zustand, also aller Zustände, aus
+     *            denen der Zustand durch den forwardProducer erzeugt werden kann. Der Vorgänger der dem Producer
+     *            übergebenen Wrapper ist dabei der Zustand, der näher am Ziel liegt.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Liste der Zustände eines kürzesten Wegs inklusive Start- und Zielzustand. Null, falls das Ziel vom Start
+     *         aus nicht erreichbar ist.
+     */
+    public static <StateT> List<StateT> bidirectionalSearch(final StateT start, final StateT goal,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> forwardProducer,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> backwardProducer) {
+        return bidirectionalSearch(start, goal, forwardProducer, backwardProducer, SearchOptions.UNLIMITED).getPath();
+    }
+
+    /**
+     * Führt eine bidirektionale Breitensuche wie {@link #bidirectionalSearch(Object, Object, Function, Function)}
+     * durch, die jedoch abgebrochen wird, sobald eine der Grenzen aus den übergebenen Optionen erreicht ist. Die
+     * Grenzen werden vor jeder Expansion eines Zustands geprüft. Als Anzahl wartender Zustände gilt die Summe der
+     * Größen beider Fronten.
+     * 
+     * @param start
+     *            Startzustand der Suche.
+     * @param goal
+     *            Zielzustand der Suche.
+     * @param forwardProducer
+     *            Producer zur Erzeugung der Nachfolgezustände zu dem ihm übergebenen Zustand.
+     * @param backwardProducer
+     *            Producer zur Erzeugung der Vorgängerzustände zu dem ihm übergebenen Zustand.
+     * @param options
+     *            Grenzen für die Laufzeit und den Speicherbedarf der Suche.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Ergebnis der Suche mit dem gefundenen Weg, dem Grund für das Ende der Suche und ihren Kennzahlen.
+     */
+    public static <StateT> SearchResult<StateT> bidirectionalSearch(final StateT start, final StateT goal,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> forwardProducer,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> backwardProducer, final SearchOptions options) {
+        final SearchMonitor monitor = new SearchMonitor(options);
+        if (start.equals(goal)) {
+            final List<StateT> result = new ArrayList<>();
+            result.add(start);
+            return monitor.found(result);
+        }
+        final StateWrapper<StateT> startWrapper = new StateWrapper<>(start, null);
+        final StateWrapper<StateT> goalWrapper = new StateWrapper<>(goal, null);
+        final Map<StateT, StateWrapper<StateT>> forwardVisited = new HashMap<>();
+        forwardVisited.put(start, startWrapper);
+        final Map<StateT, StateWrapper<StateT>> backwardVisited = new HashMap<>();
+        backwardVisited.put(goal, goalWrapper);
+        List<StateWrapper<StateT>> forwardFrontier = new ArrayList<>();
+        forwardFrontier.add(startWrapper);
+        List<StateWrapper<StateT>> backwardFrontier = new ArrayList<>();
+        backwardFrontier.add(goalWrapper);
+        for (int level = 0; !forwardFrontier.isEmpty() && !backwardFrontier.isEmpty(); level++) {
+            final boolean forward = forwardFrontier.size() <= backwardFrontier.size();
+            final Map<StateT, StateWrapper<StateT>> visited = forward ? forwardVisited : backwardVisited;
+            final Map<StateT, StateWrapper<StateT>> opposite = forward ? backwardVisited : forwardVisited;
+            final Function<StateWrapper<StateT>, Iterable<StateT>> producer = forward ? forwardProducer
+                    : backwardProducer;
+            final List<StateWrapper<StateT>> next = new ArrayList<>();
+            StateWrapper<StateT> bestMeeting = null;
+            int bestLength = Integer.MAX_VALUE;
+            final List<StateWrapper<StateT>> frontier = forward ? forwardFrontier : backwardFrontier;
+            monitor.beginLevel(level, frontier.size());
+            // Die Ebene wird vollständig expandiert, da die Treffpunkte unterschiedlich weit von der Gegenseite
+            // entfernt sein können.
+            for (final StateWrapper<StateT> currentState : frontier) {
+                // Vor jeder Expansion prüfen, ob eine der Grenzen der Suche erreicht ist.
+                final AbortReason abortReason = monitor
+                        .beforeExpansion(forwardFrontier.size() + backwardFrontier.size());
+                if (abortReason != null) {
+                    return monitor.aborted(abortReason);
+                }
+                final long producerStart = monitor.startTimer();
+                final Iterable<StateT> possibleStates = producer.apply(currentState);
+                monitor.producerFinished(producerStart);
+                for (final StateT possibleState : possibleStates) {
+                    monitor.generated();
+                    if (visited.containsKey(possibleState)) {
+                        monitor.duplicate();
+                        continue;
+                    }
+                    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+                    final StateWrapper<StateT> newState = new StateWrapper<>(possibleState, currentState);
+                    visited.put(possibleState, newState);
+                    final StateWrapper<StateT> meeting = opposite.get(possibleState);
+                    if (meeting == null) {
+                        next.add(newState);
+                    } else if (meeting.getDepth() < bestLength) {
+                        bestLength = meeting.getDepth();
+                        bestMeeting = newState;
+                    }
+                }
+            }
+            if (bestMeeting != null) {
+                final StateT meetingState = bestMeeting.getState();
+                return monitor.found(joinPath(forwardVisited.get(meetingState), backwardVisited.get(meetingState)));
+            }
+            if (forward) {
+                forwardFrontier = next;
+            } else {
+                backwardFrontier = next;
+            }
+        }
+        return monitor.exhausted();
+    }
+
+    /**
+     * Verbindet die Kette der Vorwärtssuche mit der Kette der Rückwärtssuche zu einem Weg vom Start zum Ziel.
+     * 
+     * @param forward
+     *            Treffpunkt in der Kette der Vorwärtssuche, deren Vorgänger zum Start führen.
+     * @param backward
+     *            Treffpunkt in der Kette der Rückwärtssuche, deren Vorgänger zum Ziel führen.
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Liste der Zustände vom Start bis zum Ziel.
+     */
+    private static <StateT> List<StateT> joinPath(final StateWrapper<StateT> forward,
+            final StateWrapper<StateT> backward) {
+        final List<StateT> path = new ArrayList<>(forward.getDepth() + backward.getDepth() + 1);
+        for (StateWrapper<StateT> current = forward; current != null; current = current.getPredecessor()) {
+            path.add(current.getState());
+        }
+        Collections.reverse(path);
+        for (StateWrapper<StateT> current = backward.getPredecessor(); current != null; current = current
+                .getPredecessor()) {
+            path.add(current.getState());
+        }
+        return path;
+    }
+
+    /**
+     * Sucht mit dem Algorithmus von Dijkstra den günstigsten Weg vom Startzustand zu einem Zustand, der dem
+     * Suchkriterium entspricht. Die Methode entspricht einem Aufruf von
+     * {@link #astar(Object, Function, ToDoubleBiFunction, ToDoubleFunction, Consumer, Predicate)} ohne Schätzung der
+     * Restkosten.
+     * 
+     * @param start
+     *            Startzustand der Suche.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param costFunction
+     *            Funktion zur Ermittlung der nicht negativen Kosten des Übergangs vom ersten zum zweiten übergebenen
+     *            Zustand.
+     * @param consumer
+     *            Consumer zur Verarbeitung aller während der Suche neu oder über einen günstigeren Weg erreichten
+     *            Zustände oder null.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Liste der Zustände des günstigsten Wegs inklusive Start- und Zielzustand. Null, falls kein erreichbarer
+     *         Zustand dem Suchkriterium entspricht.
+     * @throws IllegalArgumentException
+     *             Falls die Kostenfunktion für einen Übergang negative Kosten liefert.
+     */
+    public static <StateT> List<StateT> dijkstra(final StateT start,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final ToDoubleBiFunction<? super StateT, ? super StateT> costFunction,
+            final Consumer<StateWrapper<StateT>> consumer, final Predicate<StateWrapper<StateT>> acceptanceCriterion) {
+        return astar(start, stateProducer, costFunction, state -> 0, consumer, acceptanceCriterion);
+    }
+
+    /**
+     * Sucht mit dem Algorithmus von Dijkstra wie
+     * {@link #dijkstra(Object, Function, ToDoubleBiFunction, Consumer, Predicate)}, bricht die Suche jedoch ab, sobald
+     * eine der Grenzen aus den übergebenen Optionen erreicht ist. Die Methode entspricht einem Aufruf von
+     * {@link #astar(Object, Function, ToDoubleBiFunction, ToDoubleFunction, Consumer, Predicate, SearchOptions)} ohne
+     * Schätzung der Restkosten.
+     * 
+     * @param start
+     *            Startzustand der Suche.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param costFunction
+     *            Funktion zur Ermittlung der nicht negativen Kosten des Übergangs vom ersten zum zweiten übergebenen
+     *            Zustand.
+     * @param consumer
+     *            Consumer zur Verarbeitung aller während der Suche neu oder über einen günstigeren Weg erreichten
+     *            Zustände oder null.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param options
+     *            Grenzen für die Laufzeit und den Speicherbedarf der Suche.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Ergebnis der Suche mit dem gefundenen Weg, dem Grund für das Ende der Suche und ihren Kennzahlen.
+     * @throws IllegalArgumentException
+     *             Falls die Kostenfunktion für einen Übergang negative Kosten liefert.
+     */
+    public static <StateT> SearchResult<StateT> dijkstra(final StateT start,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final ToDoubleBiFunction<? super StateT, ? super StateT> costFunction,
+            final Consumer<StateWrapper<StateT>> consumer, final Predicate<StateWrapper<StateT>> acceptanceCriterion,
+            final SearchOptions options) {
+        return astar(start, stateProducer, costFunction, state -> 0, consumer, acceptanceCriterion, options);
+    }
+
+    /**
+     * Sucht mit dem Algorithmus A* den günstigsten Weg vom Startzustand zu einem Zustand, der dem Suchkriterium
+     * entspricht. Die Zustände werden in der Reihenfolge der Summe aus den Kosten des bisher günstigsten Wegs und den
+     * geschätzten Restkosten bis zum Ziel expandiert. Die offenen Zustände liegen dabei in einem indizierten binären
+     * Heap, so dass beim Finden eines günstigeren Wegs zu einem offenen Zustand dessen Priorität direkt verringert
+     * wird, statt einen weiteren Eintrag für den Zustand anzulegen. Die Zustände werden über {@link
+     * Object#equals(Object)} und {@link Object#hashCode()} verglichen.
+     * <p>
+     * Anders als bei der Breitensuche wird das Suchkriterium erst geprüft, wenn ein Zustand zur Expansion aus dem Heap
+     * entnommen wird, da erst dann feststeht, dass kein günstigerer Weg zu ihm existiert. Dabei wird auch der
+     * Startzustand geprüft. Wird ein bereits expandierter Zustand über einen günstigeren Weg erreicht, was nur bei
+     * nicht konsistenter Schätzfunktion vorkommt, wird er erneut expandiert.
+     * </p>
+     * 
+     * @param start
+     *            Startzustand der Suche.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param costFunction
+     *            Funktion zur Ermittlung der nicht negativen Kosten des Übergangs vom ersten zum zweiten übergebenen
+     *            Zustand.
+     * @param heuristic
+     *            Schätzfunktion für die Restkosten von einem Zustand bis zum Ziel. Damit der gefundene Weg der
+     *            günstigste ist, darf die Schätzung die tatsächlichen Restkosten nie überschreiten.
+     * @param consumer
+     *            Consumer zur Verarbeitung aller während der Suche neu oder über einen günstigeren Weg erreichten
+     *            Zustände oder null.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Liste der Zustände des günstigsten Wegs inklusive Start- und Zielzustand. Null, falls kein erreichbarer
+     *         Zustand dem Suchkriterium entspricht.
+     * @throws IllegalArgumentException
+     *             Falls die Kostenfunktion für einen Übergang negative Kosten liefert.
+     */
+    public static <StateT> List<StateT> astar(final StateT start,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final ToDoubleBiFunction<? super StateT, ? super StateT> costFunction,
+            final ToDoubleFunction<? super StateT> heuristic, final Consumer<StateWrapper<StateT>> consumer,
+            final Predicate<StateWrapper<StateT>> acceptanceCriterion) {
+        return astar(start, stateProducer, costFunction, heuristic, consumer, acceptanceCriterion,
+            SearchOptions.UNLIMITED).getPath();
+    }
+
+    /**
+     * Sucht mit dem Algorithmus A* wie
+     * {@link #astar(Object, Function, ToDoubleBiFunction, ToDoubleFunction, Consumer, Predicate)}, bricht die Suche
+     * jedoch ab, sobald eine der Grenzen aus den übergebenen Optionen erreicht ist. Die Grenzen werden vor jeder
+     * Entnahme eines Zustands aus der Prioritätswarteschlange geprüft, deren Länge als Anzahl wartender Zustände gilt.
+     * Als Duplikate zählen die Nachfolger, zu denen bereits ein mindestens gleich günstiger Weg bekannt ist.
+     * 
+     * @param start
+     *            Startzustand der Suche.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param costFunction
+     *            Funktion zur Ermittlung der nicht negativen Kosten des Übergangs vom ersten zum zweiten übergebenen
+     *            Zustand.
+     * @param heuristic
+     *            Schätzfunktion für die Restkosten von einem Zustand bis zum Ziel.
+     * @param consumer
+     *            Consumer zur Verarbeitung aller während der Suche neu oder über einen günstigeren Weg erreichten
+     *            Zustände oder null.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param options
+     *            Grenzen für die Laufzeit und den Speicherbedarf der Suche.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Ergebnis der Suche mit dem gefundenen Weg, dem Grund für das Ende der Suche und ihren Kennzahlen.
+     * @throws IllegalArgumentException
+     *             Falls die Kostenfunktion für einen Übergang negative Kosten liefert.
+     */
+    public static <StateT> SearchResult<StateT> astar(final StateT start,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final ToDoubleBiFunction<? super StateT, ? super StateT> costFunction,
+            final ToDoubleFunction<? super StateT> heuristic, final Consumer<StateWrapper<StateT>> consumer,
+            final Predicate<StateWrapper<StateT>> acceptanceCriterion, final SearchOptions options) {
+        final SearchMonitor monitor = new SearchMonitor(options);
+        final StateWrapper<StateT> startState = new StateWrapper<>(start, null);
+        final Node<StateT> startNode = new Node<>(startState, 0, heuristic.applyAsDouble(start));
+        final Map<StateT, Node<StateT>> nodes = new HashMap<>();
+        nodes.put(start, startNode);
+        final PriorityNodeQueue<StateT> open = new PriorityNodeQueue<>();
+        open.add(startNode);
+        if (consumer != null) {
+            consumer.accept(startState);
+        }
+        while (!open.isEmpty()) {
+            final AbortReason abortReason = monitor.beforeExpansion(open.size());
+            if (abortReason != null) {
+                return monitor.aborted(abortReason);
+            }
+            final Node<StateT> currentNode = open.poll();
+            final StateWrapper<StateT> currentState = currentNode.getWrapper();
+            final long predicateStart = monitor.startTimer();
+            final boolean accepted = acceptanceCriterion.test(currentState);
+            monitor.predicateFinished(predicateStart);
+            if (accepted) {
+                return monitor.found(currentState.getStates());
+            }
+            final long producerStart = monitor.startTimer();
+            final Iterable<StateT> possibleStates = stateProducer.apply(currentState);
+            monitor.producerFinished(producerStart);
+            for (final StateT possibleState : possibleStates) {
+                monitor.generated();
+                final double stepCost = costFunction.applyAsDouble(currentState.getState(), possibleState);
+                if (!(stepCost >= 0)) {
+                    throw new IllegalArgumentException("The cost of a transition must not be negative: " + stepCost);
+                }
+                final double newCost = currentNode.getCost() + stepCost;
+                final Node<StateT> node = nodes.get(possibleState);
+                // Zustände, zu denen bereits ein mindestens gleich günstiger Weg bekannt ist, werden verworfen.
+                if (node != null && newCost >= node.getCost()) {
+                    monitor.duplicate();
+                    continue;
+                }
+                @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+                final StateWrapper<StateT> newState = new StateWrapper<>(possibleState, currentState);
+                final double priority = newCost + heuristic.applyAsDouble(possibleState);
+                if (node == null) {
+                    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+                    final Node<StateT> newNode = new Node<>(newState, newCost, priority);
+                    nodes.put(possibleState, newNode);
+                    open.add(newNode);
+                } else {
+                    node.update(newState, newCost, priority);
+                    if (node.isQueued()) {
+                        open.decreaseKey(node);
+                    } else {
+                        open.add(node);
+                    }
+                }
+                if (consumer != null) {
+                    consumer.accept(newState);
+                }
+            }
+        }
+        return monitor.exhausted();
+    }
+
+    /**
+     * Führt eine iterative Tiefensuche ohne Transpositionstabelle durch.
+     * 
+     * @param state
+     *            Startzustand der Suche.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param maxDepth
+     *            Maximale Länge des gesuchten Wegs.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Liste der Zustände eines kürzesten Wegs inklusive Start- und Zielzustand. Null, falls innerhalb der
+     *         maximalen Tiefe kein Zustand dem Suchkriterium entspricht.
+     * @see #iterativeDeepeningSearch(Object, Function, Predicate, int, int)
+     */
+    public static <StateT> List<StateT> iterativeDeepeningSearch(final StateT state,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final Predicate<StateWrapper<StateT>> acceptanceCriterion, final int maxDepth) {
+        return iterativeDeepeningSearch(state, stateProducer, acceptanceCriterion, maxDepth, 0);
+    }
+
+    /**
+     * Führt eine iterative Tiefensuche durch. Die Suche wird mit wachsender Tiefenschranke als Tiefensuche wiederholt,
+     * bis ein Zustand dem Suchkriterium entspricht. Wie bei der Breitensuche ist der gefundene Weg damit ein kürzester
+     * Weg, der Speicherbedarf wächst aber nur linear mit der Tiefe, da jeweils nur der aktuelle Weg und die Iteratoren
+     * über die Nachfolger seiner Zustände gehalten werden. Zustände, die bereits auf dem aktuellen Weg liegen, werden
+     * nicht erneut betreten.
+     * <p>
+     * Optional kann eine Transpositionstabelle begrenzter Größe verwendet werden, in der sich die Suche zu den zuletzt
+     * besuchten Zuständen die Tiefe merkt, in der sie erreicht wurden. Wird ein Zustand innerhalb einer Iteration
+     * erneut auf einem nicht kürzeren Weg erreicht, wird er nicht noch einmal expandiert. Die Zustände werden dabei
+     * über {@link Object#equals(Object)} und {@link Object#hashCode()} verglichen.
+     * </p>
+     * 
+     * @param state
+     *            Startzustand der Suche. Auch der Startzustand wird auf das Suchkriterium geprüft.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param maxDepth
+     *            Maximale Länge des gesuchten Wegs.
+     * @param transpositionTableSize
+     *            Maximale Anzahl von Zuständen in der Transpositionstabelle oder 0, falls keine Transpositionstabelle
+     *            verwendet werden soll.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Liste der Zustände eines kürzesten Wegs inklusive Start- und Zielzustand. Null, falls innerhalb der
+     *         maximalen Tiefe kein Zustand dem Suchkriterium entspricht.
+     */
+    public static <StateT> List<StateT> iterativeDeepeningSearch(final StateT state,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final Predicate<StateWrapper<StateT>> acceptanceCriterion, final int maxDepth,
+            final int transpositionTableSize) {
+        return iterativeDeepeningSearch(state, stateProducer, acceptanceCriterion, maxDepth, transpositionTableSize,
+            SearchOptions.UNLIMITED).getPath();
+    }
+
+    /**
+     * Führt eine iterative Tiefensuche wie {@link #iterativeDeepeningSearch(Object, Function, Predicate, int, int)}
+     * durch, die jedoch abgebrochen wird, sobald eine der Grenzen aus den übergebenen Optionen erreicht ist. Die
+     * Grenzen werden vor jeder Expansion eines Zustands geprüft, also bevor seine Nachfolger erzeugt werden und er auf
+     * den Stapel gelegt wird. Als Anzahl wartender Zustände gilt die Höhe des Stapels. Da jede Iteration die Zustände
+     * der vorherigen Iterationen erneut expandiert, werden diese Expansionen ebenfalls gezählt. Als Duplikate zählen
+     * die Nachfolger, die bereits auf dem aktuellen Weg liegen oder laut Transpositionstabelle nicht erneut expandiert
+     * werden müssen. Erreicht die Suche die maximale Tiefe, ohne den Zustandsraum vollständig durchsucht zu haben,
+     * endet sie mit dem Grund {@link AbortReason#DEPTH_LIMIT}.
+     * 
+     * @param state
+     *            Startzustand der Suche. Auch der Startzustand wird auf das Suchkriterium geprüft.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param maxDepth
+     *            Maximale Länge des gesuchten Wegs.
+     * @param transpositionTableSize
+     *            Maximale Anzahl von Zuständen in der Transpositionstabelle oder 0, falls keine Transpositionstabelle
+     *            verwendet werden soll.
+     * @param options
+     *            Grenzen für die Laufzeit und den Speicherbedarf der Suche.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Ergebnis der Suche mit dem gefundenen Weg, dem Grund für das Ende der Suche und ihren Kennzahlen.
+     */
+    public static <StateT> SearchResult<StateT> iterativeDeepeningSearch(final StateT state,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final Predicate<StateWrapper<StateT>> acceptanceCriterion, final int maxDepth,
+            final int transpositionTableSize, final SearchOptions options) {
+        final SearchMonitor monitor = new SearchMonitor(options);
+        final StateWrapper<StateT> start = new StateWrapper<>(state, null);
+        if (isAccepted(monitor, acceptanceCriterion, start)) {
+            return monitor.found(start.getStates());
+        }
+        final BoundedCache<StateT, Double> table = transpositionTableSize > 0
+                ? new BoundedCache<>(transpositionTableSize)
+                : null;
+        final Deque<SearchFrame<StateT>> stack = new ArrayDeque<>();
+        for (int limit = 1; limit <= maxDepth; limit++) {
+            if (table != null) {
+                table.clear();
+            }
+            boolean cutOff = false;
+            // Jede Iteration wird als eigene Ebene mit der Tiefenschranke als Tiefe gemeldet.
+            monitor.beginLevel(limit, 1);
+            AbortReason abortReason = pushFrame(stack, monitor, start, 0, stateProducer);
+            while (abortReason == null && !stack.isEmpty()) {
+                final SearchFrame<StateT> frame = stack.peek();
+                if (!frame.successors.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+                final StateT possibleState = frame.successors.next();
+                monitor.generated();
+                final int depth = frame.wrapper.getDepth() + 1;
+                if (isOnPath(frame.wrapper, possibleState) || !enterTransposition(table, possibleState, depth)) {
+                    monitor.duplicate();
+                    continue;
+                }
+                @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+                final StateWrapper<StateT> newState = new StateWrapper<>(possibleState, frame.wrapper);
+                if (depth < limit) {
+                    abortReason = pushFrame(stack, monitor, newState, 0, stateProducer);
+                } else if (isAccepted(monitor, acceptanceCriterion, newState)) {
+                    // Zustände geringerer Tiefe wurden bereits in den vorherigen Iterationen geprüft.
+                    return monitor.found(newState.getStates());
+                } else {
+                    cutOff = true;
+                }
+            }
+            if (abortReason != null) {
+                return monitor.aborted(abortReason);
+            }
+            if (!cutOff) {
+                // Keine Iteration hat die Tiefenschranke erreicht, der Zustandsraum ist also vollständig durchsucht.
+                return monitor.exhausted();
+            }
+        }
+        return monitor.aborted(AbortReason.DEPTH_LIMIT);
+    }
+
+    /**
+     * Sucht mit dem Algorithmus IDA* ohne Transpositionstabelle den günstigsten Weg vom Startzustand zu einem Zustand,
+     * der dem Suchkriterium entspricht.
+     * 
+     * @param state
+     *            Startzustand der Suche.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param costFunction
+     *            Funktion zur Ermittlung der nicht negativen Kosten des Übergangs vom ersten zum zweiten übergebenen
+     *            Zustand.
+     * @param heuristic
+     *            Schätzfunktion für die Restkosten von einem Zustand bis zum Ziel, die die tatsächlichen Restkosten
+     *            nie überschreiten darf.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Liste der Zustände des günstigsten Wegs inklusive Start- und Zielzustand. Null, falls kein erreichbarer
+     *         Zustand dem Suchkriterium entspricht.
+     * @see #idastar(Object, Function, ToDoubleBiFunction, ToDoubleFunction, Predicate, int)
+     */
+    public static <StateT> List<StateT> idastar(final StateT state,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final ToDoubleBiFunction<? super StateT, ? super StateT> costFunction,
+            final ToDoubleFunction<? super StateT> heuristic,
+            final Predicate<StateWrapper<StateT>> acceptanceCriterion) {
+        return idastar(state, stateProducer, costFunction, heuristic, acceptanceCriterion, 0);
+    }
+
+    /**
+     * Sucht mit dem Algorithmus IDA* den günstigsten Weg vom Startzustand zu einem Zustand, der dem Suchkriterium
+     * entspricht. Wie bei der iterativen Tiefensuche wird eine Tiefensuche mit wachsender Schranke wiederholt, wobei
+     * die Schranke hier für die Summe aus den Kosten des Wegs und den geschätzten Restkosten gilt. Die nächste Schranke
+     * ist jeweils der kleinste Wert, der die bisherige Schranke überschritten hat. Der Speicherbedarf wächst nur linear
+     * mit der Länge des Wegs. Zustände, die bereits auf dem aktuellen Weg liegen, werden nicht erneut betreten.
+     * <p>
+     * Optional kann eine Transpositionstabelle begrenzter Größe verwendet werden, in der sich die Suche zu den zuletzt
+     * besuchten Zuständen die Kosten merkt, zu denen sie erreicht wurden. Wird ein Zustand innerhalb einer Iteration
+     * erneut auf einem nicht günstigeren Weg erreicht, wird er nicht noch einmal expandiert. Gibt es keinen Zustand,
+     * der dem Suchkriterium entspricht, terminiert die Suche nur bei endlichem Zustandsraum.
+     * </p>
+     * 
+     * @param state
+     *            Startzustand der Suche. Auch der Startzustand wird auf das Suchkriterium geprüft.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param costFunction
+     *            Funktion zur Ermittlung der nicht negativen Kosten des Übergangs vom ersten zum zweiten übergebenen
+     *            Zustand.
+     * @param heuristic
+     *            Schätzfunktion für die Restkosten von einem Zustand bis zum Ziel, die die tatsächlichen Restkosten
+     *            nie überschreiten darf.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param transpositionTableSize
+     *            Maximale Anzahl von Zuständen in der Transpositionstabelle oder 0, falls keine Transpositionstabelle
+     *            verwendet werden soll.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Liste der Zustände des günstigsten Wegs inklusive Start- und Zielzustand. Null, falls kein erreichbarer
+     *         Zustand dem Suchkriterium entspricht.
+     * @throws IllegalArgumentException
+     *             Falls die Kostenfunktion für einen Übergang negative Kosten liefert.
+     */
+    public static <StateT> List<StateT> idastar(final StateT state,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final ToDoubleBiFunction<? super StateT, ? super StateT> costFunction,
+            final ToDoubleFunction<? super StateT> heuristic,
+            final Predicate<StateWrapper<StateT>> acceptanceCriterion, final int transpositionTableSize) {
+        return idastar(state, stateProducer, costFunction, heuristic, acceptanceCriterion, transpositionTableSize,
+            SearchOptions.UNLIMITED).getPath();
+    }
+
+    /**
+     * Sucht mit dem Algorithmus IDA* wie
+     * {@link #idastar(Object, Function, ToDoubleBiFunction, ToDoubleFunction, Predicate, int)}, bricht die Suche
+     * jedoch ab, sobald eine der Grenzen aus den übergebenen Optionen erreicht ist. Die Grenzen werden wie bei
+     * {@link #iterativeDeepeningSearch(Object, Function, Predicate, int, int, SearchOptions)} vor jeder Expansion
+     * eines Zustands geprüft, als Anzahl wartender Zustände gilt die Höhe des Stapels. Nachfolger, deren geschätzte
+     * Kosten die aktuelle Schranke überschreiten, zählen als erzeugt, aber nicht als Duplikate.
+     * 
+     * @param state
+     *            Startzustand der Suche. Auch der Startzustand wird auf das Suchkriterium geprüft.
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param costFunction
+     *            Funktion zur Ermittlung der nicht negativen Kosten des Übergangs vom ersten zum zweiten übergebenen
+     *            Zustand.
+     * @param heuristic
+     *            Schätzfunktion für die Restkosten von einem Zustand bis zum Ziel, die die tatsächlichen Restkosten
+     *            nie überschreiten darf.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param transpositionTableSize
+     *            Maximale Anzahl von Zuständen in der Transpositionstabelle oder 0, falls keine Transpositionstabelle
+     *            verwendet werden soll.
+     * @param options
+     *            Grenzen für die Laufzeit und den Speicherbedarf der Suche.
+     * 
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Ergebnis der Suche mit dem gefundenen Weg, dem Grund für das Ende der Suche und ihren Kennzahlen.
+     * @throws IllegalArgumentException
+     *             Falls die Kostenfunktion für einen Übergang negative Kosten liefert.
+     */
+    public static <StateT> SearchResult<StateT> idastar(final StateT state,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+            final ToDoubleBiFunction<? super StateT, ? super StateT> costFunction,
+            final ToDoubleFunction<? super StateT> heuristic,
+            final Predicate<StateWrapper<StateT>> acceptanceCriterion, final int transpositionTableSize,
+            final SearchOptions options) {
+        final SearchMonitor monitor = new SearchMonitor(options);
+        final StateWrapper<StateT> start = new StateWrapper<>(state, null);
+        if (isAccepted(monitor, acceptanceCriterion, start)) {
+            return monitor.found(start.getStates());
+        }
+        final BoundedCache<StateT, Double> table = transpositionTableSize > 0
+                ? new BoundedCache<>(transpositionTableSize)
+                : null;
+        final Deque<SearchFrame<StateT>> stack = new ArrayDeque<>();
+        double bound = heuristic.applyAsDouble(state);
+        for (int iteration = 1; bound < Double.POSITIVE_INFINITY; iteration++) {
+            if (table != null) {
+                table.clear();
+            }
+            double nextBound = Double.POSITIVE_INFINITY;
+            // Jede Iteration wird als eigene Ebene mit ihrer laufenden Nummer als Tiefe gemeldet.
+            monitor.beginLevel(iteration, 1);
+            AbortReason abortReason = pushFrame(stack, monitor, start, 0, stateProducer);
+            while (abortReason == null && !stack.isEmpty()) {
+                final SearchFrame<StateT> frame = stack.peek();
+                if (!frame.successors.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+                final StateT possibleState = frame.successors.next();
+                monitor.generated();
+                final double stepCost = costFunction.applyAsDouble(frame.wrapper.getState(), possibleState);
+                if (!(stepCost >= 0)) {
+                    throw new IllegalArgumentException("The cost of a transition must not be negative: " + stepCost);
+                }
+                final double cost = frame.cost + stepCost;
+                final double estimate = cost + heuristic.applyAsDouble(possibleState);
+                if (estimate > bound) {
+                    nextBound = Math.min(nextBound, estimate);
+                    continue;
+                }
+                if (isOnPath(frame.wrapper, possibleState) || !enterTransposition(table, possibleState, cost)) {
+                    monitor.duplicate();
+                    continue;
+                }
+                @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+                final StateWrapper<StateT> newState = new StateWrapper<>(possibleState, frame.wrapper);
+                if (isAccepted(monitor, acceptanceCriterion, newState)) {
+                    return monitor.found(newState.getStates());
+                }
+                abortReason = pushFrame(stack, monitor, newState, cost, stateProducer);
+            }
+            if (abortReason != null) {
+                return monitor.aborted(abortReason);
+            }
+            bound = nextBound;
+        }
+        return monitor.exhausted();
+    }
+
+    /**
+     * Prüft die Grenzen der Suche und legt, falls keine Grenze erreicht ist, einen Zustand mit seinen Nachfolgern auf
+     * den Stapel einer Tiefensuche.
+     * 
+     * @param stack
+     *            Stapel der Tiefensuche.
+     * @param monitor
+     *            Monitor der Suche.
+     * @param wrapper
+     *            Zu expandierender Zustand.
+     * @param cost
+     *            Kosten, mit denen der Zustand erreicht wurde, oder 0 bei einer Suche ohne Kostenfunktion.
+     * @param stateProducer
+     *            Producer zur Erzeugung der Nachfolgezustände.
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return Erreichte Grenze oder null, falls der Zustand auf den Stapel gelegt wurde.
+     */
+    private static <StateT> AbortReason pushFrame(final Deque<SearchFrame<StateT>> stack, final SearchMonitor monitor,
+            final StateWrapper<StateT> wrapper, final double cost,
+            final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer) {
+        final AbortReason abortReason = monitor.beforeExpansion(stack.size() + 1);
+        if (abortReason == null) {
+            final long producerStart = monitor.startTimer();
+            stack.push(new SearchFrame<>(wrapper, cost, stateProducer));
+            monitor.producerFinished(producerStart);
+        }
+        return abortReason;
+    }
+
+    /**
+     * Prüft einen Zustand auf das Suchkriterium und misst dabei die im Suchkriterium verbrachte Zeit.
+     * 
+     * @param monitor
+     *            Monitor der Suche.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param wrapper
+     *            Zu prüfender Zustand.
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return true, falls der Zustand dem Suchkriterium entspricht.
+     */
+    private static <StateT> boolean isAccepted(final SearchMonitor monitor,
+            final Predicate<StateWrapper<StateT>> acceptanceCriterion, final StateWrapper<StateT> wrapper) {
+        final long predicateStart = monitor.startTimer();
+        final boolean accepted = acceptanceCriterion.test(wrapper);
+        monitor.predicateFinished(predicateStart);
+        return accepted;
+    }
+
+    /**
+     * Prüft, ob ein Zustand bereits auf dem Weg zu dem übergebenen Zustand liegt.
+     * 
+     * @param wrapper
+     *            Letzter Zustand des Wegs.
+     * @param state
+     *            Zu prüfender Zustand.
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return true, falls der Zustand auf dem Weg liegt.
+     */
+    private static <StateT> boolean isOnPath(final StateWrapper<StateT> wrapper, final StateT state) {
+        for (StateWrapper<StateT> current = wrapper; current != null; current = current.getPredecessor()) {
+            if (current.getState().equals(state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vermerkt einen Zustand in der Transpositionstabelle, falls er dort noch nicht mit geringeren oder gleichen
+     * Kosten enthalten ist.
+     * 
+     * @param table
+     *            Transpositionstabelle oder null, falls keine verwendet wird.
+     * @param state
+     *            Erreichter Zustand.
+     * @param cost
+     *            Kosten oder Tiefe, mit denen der Zustand erreicht wurde.
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     * @return true, falls der Zustand expandiert werden soll, false, falls er bereits mit geringeren oder gleichen
+     *         Kosten erreicht wurde.
+     */
+    private static <StateT> boolean enterTransposition(final BoundedCache<StateT, Double> table, final StateT state,
+            final double cost) {
+        if (table == null) {
+            return true;
+        }
+        final Double known = table.get(state);
+        if (known != null && known <= cost) {
+            return false;
+        }
+        table.put(state, cost);
+        return true;
+    }
+
+    /**
+     * Eintrag auf dem Stapel der Tiefensuchen mit einem Zustand des aktuellen Wegs und dem Iterator über dessen noch
+     * nicht betrachtete Nachfolger.
+     * 
+     * @author Christoph Lembeck
+     *
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     */
+    private static final class SearchFrame<StateT> {
+
+        /**
+         * Zustand des aktuellen Wegs.
+         */
+        private final StateWrapper<StateT> wrapper;
+
+        /**
+         * Kosten, mit denen der Zustand erreicht wurde, oder 0 bei einer Suche ohne Kostenfunktion.
+         */
+        private final double cost;
+
+        /**
+         * Noch nicht betrachtete Nachfolger des Zustands.
+         */
+        private final Iterator<StateT> successors;
+
+        /**
+         * Erzeugt einen neuen Eintrag und lässt die Nachfolger des Zustands erzeugen.
+         * 
+         * @param wrapper
+         *            Zustand des aktuellen Wegs.
+         * @param cost
+         *            Kosten, mit denen der Zustand erreicht wurde, oder 0 bei einer Suche ohne Kostenfunktion.
+         * @param stateProducer
+         *            Producer zur Erzeugung der Nachfolgezustände.
+         */
+        private SearchFrame(final StateWrapper<StateT> wrapper, final double cost,
+                final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer) {
+            this.wrapper = wrapper;
+            this.cost = cost;
+            this.successors = stateProducer.apply(wrapper).iterator();
+        }
+    }
+
+    /**
+     * Gemeinsamer Zustand aller Teilaufgaben der parallelen Breitensuche.
+     * 
+     * @author Christoph Lembeck
+     *
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     */
+    private static final class Expansion<StateT> {
+
+        /**
+         * Producer zur Erzeugung der Nachfolgezustände.
+         */
+        private final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer;
+
+        /**
+         * Consumer zur Verarbeitung der neuen Zustände oder null.
+         */
+        private final Consumer<StateWrapper<StateT>> consumer;
+
+        /**
+         * Prüfkriterium für die Erkennung des gesuchten Zustands.
+         */
+        private final Predicate<StateWrapper<StateT>> acceptanceCriterion;
+
+        /**
+         * Threadsichere Menge der bereits besuchten Zustände.
+         */
+        private final ClosedSet<? super StateT> closedSet;
+
+        /**
+         * Erster gefundener Zustand, der dem Suchkriterium entspricht. Sobald er gesetzt ist, beenden alle Threads
+         * die Expansion.
+         */
+        private final AtomicReference<StateWrapper<StateT>> found = new AtomicReference<>();
+
+        /**
+         * Anzahl der seit der letzten Auswertung expandierten Zustände.
+         */
+        private final LongAdder expandedStates = new LongAdder();
+
+        /**
+         * Anzahl der seit der letzten Auswertung erzeugten Nachfolger.
+         */
+        private final LongAdder generatedStates = new LongAdder();
+
+        /**
+         * Anzahl der seit der letzten Auswertung als bereits besucht verworfenen Nachfolger.
+         */
+        private final LongAdder duplicateStates = new LongAdder();
+
+        /**
+         * Gibt an, ob die im Producer und im Suchkriterium verbrachte Zeit gemessen wird.
+         */
+        private final boolean timed;
+
+        /**
+         * Seit der letzten Auswertung in allen Threads im Producer verbrachte Zeit in Nanosekunden.
+         */
+        private final LongAdder producerNanos = new LongAdder();
+
+        /**
+         * Seit der letzten Auswertung in allen Threads im Suchkriterium verbrachte Zeit in Nanosekunden.
+         */
+        private final LongAdder predicateNanos = new LongAdder();
+
+        /**
+         * Erzeugt den gemeinsamen Zustand einer Suche.
+         * 
+         * @param stateProducer
+         *            Producer zur Erzeugung der Nachfolgezustände.
+         * @param consumer
+         *            Consumer zur Verarbeitung der neuen Zustände oder null.
+         * @param acceptanceCriterion
+         *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+         * @param closedSet
+         *            Threadsichere Menge der bereits besuchten Zustände.
+         * @param timed
+         *            Gibt an, ob die im Producer und im Suchkriterium verbrachte Zeit gemessen wird.
+         */
+        private Expansion(final Function<StateWrapper<StateT>, Iterable<StateT>> stateProducer,
+                final Consumer<StateWrapper<StateT>> consumer,
+                final Predicate<StateWrapper<StateT>> acceptanceCriterion,
+                final ClosedSet<? super StateT> closedSet, final boolean timed) {
+            this.stateProducer = stateProducer;
+            this.consumer = consumer;
+            this.acceptanceCriterion = acceptanceCriterion;
+            this.closedSet = closedSet;
+            this.timed = timed;
+        }
+
+        /**
+         * Expandiert einen Abschnitt der aktuellen Ebene und sammelt die neuen Zustände der nächsten Ebene.
+         * 
+         * @param frontier
+         *            Zustände der aktuellen Ebene.
+         * @param from
+         *            Index des ersten zu expandierenden Zustands.
+         * @param to
+         *            Index hinter dem letzten zu expandierenden Zustand.
+         * @return Neue, noch nicht besuchte Zustände der nächsten Ebene.
+         */
+        private List<StateWrapper<StateT>> expand(final List<StateWrapper<StateT>> frontier, final int from,
+                final int to) {
+            // Die Zähler werden je Abschnitt gesammelt, damit die Threads sie nicht bei jedem Zustand teilen.
+            long predicateTime = 0;
+            long producerTime = 0;
+            long duplicates = 0;
+            long generated = 0;
+            long expanded = 0;
+            final List<StateWrapper<StateT>> next = new ArrayList<>();
+            for (int i = from; i < to && found.get() == null; i++) {
+                final StateWrapper<StateT> currentState = frontier.get(i);
+                expanded++;
+                final long producerStart = timed ? System.nanoTime() : 0;
+                final Iterable<StateT> possibleStates = stateProducer.apply(currentState);
+                if (timed) {
+                    producerTime += System.nanoTime() - producerStart;
+                }
+                for (final StateT possibleState : possibleStates) {
+                    if (found.get() != null) {
+                        break;
+                    }
+                    generated++;
+                    if (!closedSet.add(possibleState)) {
+                        duplicates++;
+                        continue;
+                    }
+                    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+                    final StateWrapper<StateT> newState = new StateWrapper<>(possibleState, currentState);
+                    if (consumer != null) {
+                        consumer.accept(newState);
+                    }
+                    final long predicateStart = timed ? System.nanoTime() : 0;
+                    final boolean accepted = acceptanceCriterion.test(newState);
+                    if (timed) {
+                        predicateTime += System.nanoTime() - predicateStart;
+                    }
+                    if (accepted) {
+                        found.compareAndSet(null, newState);
+                        break;
+                    }
+                    next.add(newState);
+                }
+            }
+            expandedStates.add(expanded);
+            generatedStates.add(generated);
+            duplicateStates.add(duplicates);
+            producerNanos.add(producerTime);
+            predicateNanos.add(predicateTime);
+            return next;
+        }
+    }
+
+    /**
+     * Teilaufgabe der parallelen Breitensuche, die einen Abschnitt einer Ebene expandiert und dabei große Abschnitte
+     * rekursiv aufteilt.
+     * 
+     * @author Christoph Lembeck
+     *
+     * @param <StateT>
+     *            Typ der Objekte für die Speicherung der Zwischenzustände.
+     */
+    private static final class ExpansionTask<StateT> extends RecursiveTask<List<StateWrapper<StateT>>> {
+
+        /**
+         * Versionsnummer für die Serialisierung.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Gemeinsamer Zustand der Suche.
+         */
+        private final transient Expansion<StateT> expansion;
+
+        /**
+         * Zustände der aktuellen Ebene.
+         */
+        private final transient List<StateWrapper<StateT>> frontier;
+
+        /**
+         * Index des ersten zu expandierenden Zustands.
+         */
+        private final int from;
+
+        /**
+         * Index hinter dem letzten zu expandierenden Zustand.
+         */
+        private final int to;
+
+        /**
+         * Maximale Anzahl von Zuständen, die ohne weitere Aufteilung expandiert werden.
+         */
+        private final int threshold;
+
+        /**
+         * Erzeugt eine neue Teilaufgabe.
+         * 
+         * @param expansion
+         *            Gemeinsamer Zustand der Suche.
+         * @param frontier
+         *            Zustände der aktuellen Ebene.
+         * @param from
+         *            Index des ersten zu expandierenden Zustands.
+         * @param to
+         *            Index hinter dem letzten zu expandierenden Zustand.
+         * @param threshold
+         *            Maximale Anzahl von Zuständen, die ohne weitere Aufteilung expandiert werden.
+         */
+        private ExpansionTask(final Expansion<StateT> expansion, final List<StateWrapper<StateT>> frontier,
+                final int from, final int to, final int threshold) {
+            this.expansion = expansion;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected List<StateWrapper<StateT>> compute() {
+            if (to - from <= threshold) {
+                return expansion.expand(frontier, from, to);
+            }
+            final int mid = (from + to) >>> 1;
+            final ExpansionTask<StateT> left = new ExpansionTask<>(expansion, frontier, from, mid, threshold);
+            left.fork();
+            final List<StateWrapper<StateT>> result = new ExpansionTask<>(expansion, frontier, mid, to, threshold)
+                    .compute();
+            final List<StateWrapper<StateT>> leftResult = left.join();
+            leftResult.addAll(result);
+            return leftResult;
+        }
     }
 
     /**
@@ -107,6 +1400,11 @@ public final class AlgorithmUtils {
          */
         private final StateWrapper<StateT> predecessor;
 
+        /**
+         * Anzahl der Vorgänger dieses Zustands.
+         */
+        private final int depth;
+
         /**
          * Erzeugt einen neuen Wrapper um den übergebenen Zustand mit Referenz auf den übergebenen Vorgänger.
          * 
@@ -118,6 +1416,7 @@ public final class AlgorithmUtils {
         StateWrapper(final StateT state, final StateWrapper<StateT> predecessor) {
             this.state = state;
             this.predecessor = predecessor;
+            this.depth = predecessor == null ? 0 : predecessor.depth + 1;
         }
 
         /**
@@ -138,20 +1437,29 @@ public final class AlgorithmUtils {
             return predecessor;
         }
 
+        /**
+         * Gibt die Anzahl der Übergänge vom Ausgangszustand bis zu diesem Zustand zurück.
+         * 
+         * @return Anzahl der Vorgänger dieses Zustands.
+         */
+        public int getDepth() {
+            return depth;
+        }
+
         /**
          * Erzeugt eine Liste von Zuständen, in der Reihenfolge, in der der Algorithmus diese durchwandert hat. Der
-         * erste Zustand entspricht dabei dem Ausgangszustand und der letzte dem Zielzustand.
+         * erste Zustand entspricht dabei dem Ausgangszustand und der letzte dem Zielzustand. Die Liste wird ohne
+         * Rekursion in passender Größe angelegt, so dass auch sehr lange Wege ausgegeben werden können.
          * 
          * @return Liste der Zustände vom Ausgang bis zum Ziel.
          */
         public List<StateT> getStates() {
-            final List<StateT> stateList;
-            if (predecessor == null) {
-                stateList = new ArrayList<>();
-            } else {
-                stateList = predecessor.getStates();
+            final List<StateT> stateList = new ArrayList<>(depth + 1);
+            // Die Kette wird vom Ziel zum Ausgang durchlaufen und die Liste anschließend umgedreht.
+            for (StateWrapper<StateT> current = this; current != null; current = current.predecessor) {
+                stateList.add(current.state);
             }
-            stateList.add(state);
+            Collections.reverse(stateList);
             return stateList;
         }
     }
@@ -0,0 +1,155 @@
+package de.chrlembeck.util.algorithm;
+
+import de.chrlembeck.util.collections.IntHashSet;
+import de.chrlembeck.util.collections.LongBloomFilter;
+import de.chrlembeck.util.collections.LongHashSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Menge der bereits besuchten Zustände einer Suche. Suchalgorithmen, denen eine solche Menge übergeben wird,
+ * verwerfen jeden Zustand, der bereits einmal erzeugt wurde, so dass auch in Zustandsräumen mit Zyklen oder
+ * Transpositionen jeder Zustand höchstens einmal expandiert wird.
+ * <p>
+ * Die statischen Fabrikmethoden liefern bei jedem Aufruf eine neue, leere Menge. Für Zustände, die sich eindeutig auf
+ * einen int- oder long-Schlüssel abbilden lassen, stehen Varianten zur Verfügung, die nur die Schlüssel ohne Boxing
+ * speichern. Lässt sich ein gelegentlich übersehener Zustand verschmerzen, kann statt einer exakten Menge auch ein
+ * {@link LongBloomFilter} verwendet werden.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <StateT>
+ *            Typ der Zustände.
+ */
+@FunctionalInterface
+public interface ClosedSet<StateT> {
+
+    /**
+     * Nimmt den Zustand in die Menge der besuchten Zustände auf.
+     *
+     * @param state
+     *            Neu erzeugter Zustand.
+     * @return true, falls der Zustand bisher noch nicht besucht wurde, false, falls er bereits enthalten war.
+     */
+    boolean add(StateT state);
+
+    /**
+     * Erzeugt eine Menge, die die Zustände selbst über {@link Object#equals(Object)} und {@link Object#hashCode()}
+     * vergleicht.
+     *
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Neue, leere Menge.
+     */
+    static <StateT> ClosedSet<StateT> hashSet() {
+        final Set<StateT> visited = new HashSet<>();
+        return visited::add;
+    }
+
+    /**
+     * Erzeugt eine threadsichere Menge, die die Zustände selbst über {@link Object#equals(Object)} und
+     * {@link Object#hashCode()} vergleicht. Sie ist für parallele Suchen gedacht, in denen mehrere Threads gleichzeitig
+     * Zustände aufnehmen.
+     *
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Neue, leere Menge.
+     */
+    static <StateT> ClosedSet<StateT> concurrentHashSet() {
+        final Set<StateT> visited = ConcurrentHashMap.newKeySet();
+        return visited::add;
+    }
+
+    /**
+     * Erzeugt eine Menge, die die Zustände über einen daraus abgeleiteten Schlüssel vergleicht. Gespeichert werden
+     * nur die Schlüssel, so dass die Zustände selbst nicht länger als nötig im Speicher gehalten werden.
+     *
+     * @param keyExtractor
+     *            Funktion zur Ermittlung des Schlüssels eines Zustands.
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @param <KeyT>
+     *            Typ der Schlüssel.
+     * @return Neue, leere Menge.
+     */
+    static <StateT, KeyT> ClosedSet<StateT> byKey(final Function<? super StateT, KeyT> keyExtractor) {
+        final Set<KeyT> visited = new HashSet<>();
+        return state -> visited.add(keyExtractor.apply(state));
+    }
+
+    /**
+     * Erzeugt eine Menge, die die Zustände über einen eindeutigen long-Schlüssel vergleicht und nur die Schlüssel in
+     * einem {@link LongHashSet} speichert.
+     *
+     * @param keyExtractor
+     *            Funktion zur Ermittlung des Schlüssels eines Zustands.
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Neue, leere Menge.
+     */
+    static <StateT> ClosedSet<StateT> byLongKey(final ToLongFunction<? super StateT> keyExtractor) {
+        final LongHashSet visited = new LongHashSet();
+        return state -> visited.add(keyExtractor.applyAsLong(state));
+    }
+
+    /**
+     * Erzeugt eine Menge, die die Zustände über einen eindeutigen int-Schlüssel vergleicht und nur die Schlüssel in
+     * einem {@link IntHashSet} speichert.
+     *
+     * @param keyExtractor
+     *            Funktion zur Ermittlung des Schlüssels eines Zustands.
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Neue, leere Menge.
+     */
+    static <StateT> ClosedSet<StateT> byIntKey(final ToIntFunction<? super StateT> keyExtractor) {
+        final IntHashSet visited = new IntHashSet();
+        return state -> visited.add(keyExtractor.applyAsInt(state));
+    }
+
+    /**
+     * Erzeugt eine Menge, die die long-Schlüssel der Zustände in einem neuen {@link LongBloomFilter} auf dem Heap
+     * speichert.
+     *
+     * @param keyExtractor
+     *            Funktion zur Ermittlung des Schlüssels eines Zustands.
+     * @param expectedStates
+     *            Erwartete Anzahl von Zuständen.
+     * @param falsePositiveRate
+     *            Gewünschte Wahrscheinlichkeit, mit der ein neuer Zustand fälschlich als bereits besucht gilt.
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Neue, leere Menge.
+     * @see #bloomFilter(LongBloomFilter, ToLongFunction)
+     */
+    static <StateT> ClosedSet<StateT> bloomFilter(final ToLongFunction<? super StateT> keyExtractor,
+            final long expectedStates, final double falsePositiveRate) {
+        return bloomFilter(new LongBloomFilter(expectedStates, falsePositiveRate), keyExtractor);
+    }
+
+    /**
+     * Erzeugt eine Menge, die die long-Schlüssel der Zustände in dem übergebenen {@link LongBloomFilter} speichert.
+     * Die Menge benötigt nur wenige Bits je Zustand, hält aber mit der Fehlerrate des Filters einen neuen Zustand
+     * fälschlich für bereits besucht. Die Suche expandiert einen solchen Zustand dann nicht, so dass sie Teile des
+     * Zustandsraums übersehen und Wege finden kann, die nicht die kürzesten sind. Bereits besuchte Zustände werden
+     * dagegen immer erkannt. Der Schlüssel sollte die Zustände möglichst eindeutig kennzeichnen, da Zustände mit
+     * gleichem Schlüssel als gleich gelten.
+     *
+     * @param filter
+     *            Filter zur Speicherung der Schlüssel, z.B. mit einem Bitfeld außerhalb des Heaps.
+     * @param keyExtractor
+     *            Funktion zur Ermittlung des Schlüssels eines Zustands.
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Menge, die die Zustände in dem Filter vermerkt.
+     */
+    static <StateT> ClosedSet<StateT> bloomFilter(final LongBloomFilter filter,
+            final ToLongFunction<? super StateT> keyExtractor) {
+        return state -> filter.add(keyExtractor.applyAsLong(state));
+    }
+}
@@ -0,0 +1,170 @@
+package de.chrlembeck.util.algorithm;
+
+import de.chrlembeck.util.algorithm.SearchResult.AbortReason;
+import de.chrlembeck.util.collections.LongHashSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Speichersparende Breitensuche. Anders als bei
+ * {@link AlgorithmUtils#breadthFirstSearch(Object, Function, Consumer, Predicate)} wird hier für die erzeugten Zustände
+ * kein {@link AlgorithmUtils.StateWrapper} angelegt. Die Zustände werden stattdessen in der Reihenfolge ihrer Erzeugung
+ * in einem über Positionen adressierten Speicher abgelegt, in dem zu jedem Zustand nur die Position seines Vorgängers
+ * als int vermerkt ist. Da die Breitensuche die Zustände in genau dieser Reihenfolge expandiert, dient der Speicher
+ * zugleich als Warteschlange. Der Weg zum gefundenen Zustand wird erst bei einem Treffer aus den Vorgängerpositionen
+ * rekonstruiert.
+ * <p>
+ * Wird ein {@link StateCodec} übergeben, werden nur die long-Kodierungen der Zustände in primitiven Arrays gespeichert
+ * und die bereits besuchten Zustände über ein {@link LongHashSet} erkannt. Die Zustände werden dann nur für ihre
+ * Expansion und die Rückgabe des Wegs wieder erzeugt. Ohne Codec werden die Zustände selbst gespeichert und über eine
+ * {@link ClosedSet} verglichen.
+ * </p>
+ * <p>
+ * Wie bei {@link AlgorithmUtils#breadthFirstSearch(Object, Function, Consumer, Predicate)} werden nur die erzeugten
+ * Zustände, nicht aber der Startzustand, auf das Suchkriterium geprüft. Jede Instanz kann für beliebig viele, auch
+ * gleichzeitige Suchen verwendet werden.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <StateT>
+ *            Typ der Zustände.
+ */
+public class CompactBreadthFirstSearch<StateT> {
+
+    /**
+     * Producer zur Erzeugung der Nachfolgezustände eines Zustands.
+     */
+    private final Function<? super StateT, ? extends Iterable<? extends StateT>> stateProducer;
+
+    /**
+     * Prüfkriterium für die Erkennung des gesuchten Zustands.
+     */
+    private final Predicate<? super StateT> acceptanceCriterion;
+
+    /**
+     * Codec für die Kodierung der Zustände oder null, falls die Zustände selbst gespeichert werden.
+     */
+    private final StateCodec<StateT> codec;
+
+    /**
+     * Erzeugt eine neue Suche, die die Zustände selbst speichert.
+     *
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     */
+    public CompactBreadthFirstSearch(final Function<? super StateT, ? extends Iterable<? extends StateT>> stateProducer,
+            final Predicate<? super StateT> acceptanceCriterion) {
+        this(stateProducer, acceptanceCriterion, null);
+    }
+
+    /**
+     * Erzeugt eine neue Suche, die nur die Kodierungen der Zustände speichert.
+     *
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param codec
+     *            Codec für die Kodierung der Zustände oder null, falls die Zustände selbst gespeichert werden sollen.
+     */
+    public CompactBreadthFirstSearch(final Function<? super StateT, ? extends Iterable<? extends StateT>> stateProducer,
+            final Predicate<? super StateT> acceptanceCriterion, final StateCodec<StateT> codec) {
+        this.stateProducer = stateProducer;
+        this.acceptanceCriterion = acceptanceCriterion;
+        this.codec = codec;
+    }
+
+    /**
+     * Sucht ausgehend vom Startzustand den kürzesten Weg zu einem Zustand, der dem Suchkriterium entspricht.
+     *
+     * @param start
+     *            Startzustand der Suche.
+     * @return Liste der Zustände des kürzesten Wegs inklusive Start- und Zielzustand. Null, falls kein erreichbarer
+     *         Zustand dem Suchkriterium entspricht.
+     * @throws IllegalStateException
+     *             Falls mehr Zustände erzeugt werden, als in einem Array Platz finden.
+     */
+    public List<StateT> search(final StateT start) {
+        return search(start, SearchOptions.UNLIMITED).getPath();
+    }
+
+    /**
+     * Sucht wie {@link #search(Object)} den kürzesten Weg, bricht die Suche jedoch ab, sobald eine der Grenzen aus den
+     * übergebenen Optionen erreicht ist. Die Grenzen werden vor jeder Expansion eines Zustands geprüft. Als Anzahl
+     * wartender Zustände gilt die Anzahl der gespeicherten, noch nicht expandierten Zustände.
+     *
+     * @param start
+     *            Startzustand der Suche.
+     * @param options
+     *            Grenzen für die Laufzeit und den Speicherbedarf der Suche.
+     * @return Ergebnis der Suche mit dem gefundenen Weg, dem Grund für das Ende der Suche und ihren Kennzahlen.
+     * @throws IllegalStateException
+     *             Falls mehr Zustände erzeugt werden, als in einem Array Platz finden.
+     */
+    public SearchResult<StateT> search(final StateT start, final SearchOptions options) {
+        final SearchMonitor monitor = new SearchMonitor(options);
+        final StateArena<StateT> arena = new StateArena<>(codec);
+        final ClosedSet<StateT> visitedStates;
+        final LongHashSet visitedCodes;
+        if (codec == null) {
+            visitedStates = ClosedSet.hashSet();
+            visitedCodes = null;
+            visitedStates.add(start);
+            arena.add(start, StateArena.NO_PARENT);
+        } else {
+            visitedStates = null;
+            visitedCodes = new LongHashSet();
+            final long code = codec.encode(start);
+            visitedCodes.add(code);
+            arena.add(code, StateArena.NO_PARENT);
+        }
+        // Die Ebenen liegen im Speicher hintereinander, die aktuelle Ebene endet vor dieser Position.
+        int levelEnd = 1;
+        int depth = 0;
+        // Die Positionen im Speicher werden in der Reihenfolge ihrer Erzeugung abgearbeitet.
+        for (int current = 0; current < arena.size(); current++) {
+            final AbortReason abortReason = monitor.beforeExpansion(arena.size() - current);
+            if (abortReason != null) {
+                return monitor.aborted(abortReason);
+            }
+            if (current == levelEnd) {
+                depth++;
+                levelEnd = arena.size();
+            }
+            monitor.level(depth, arena.size() - current);
+            final long producerStart = monitor.startTimer();
+            final Iterable<? extends StateT> successors = stateProducer.apply(arena.get(current));
+            monitor.producerFinished(producerStart);
+            for (final StateT successor : successors) {
+                monitor.generated();
+                final int index;
+                if (codec == null) {
+                    if (!visitedStates.add(successor)) {
+                        monitor.duplicate();
+                        continue;
+                    }
+                    index = arena.add(successor, current);
+                } else {
+                    final long code = codec.encode(successor);
+                    if (!visitedCodes.add(code)) {
+                        monitor.duplicate();
+                        continue;
+                    }
+                    index = arena.add(code, current);
+                }
+                final long predicateStart = monitor.startTimer();
+                final boolean accepted = acceptanceCriterion.test(successor);
+                monitor.predicateFinished(predicateStart);
+                if (accepted) {
+                    return monitor.found(arena.getPath(index));
+                }
+            }
+        }
+        return monitor.exhausted();
+    }
+}
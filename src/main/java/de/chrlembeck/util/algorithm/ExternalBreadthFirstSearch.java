@@ -0,0 +1,526 @@
+package de.chrlembeck.util.algorithm;
+
+import de.chrlembeck.util.algorithm.SearchResult.AbortReason;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Breitensuche für Zustandsräume, deren Ebenen nicht mehr in den Hauptspeicher passen. Jede Ebene der Suche wird als
+ * aufsteigend sortierte Folge der long-Kodierungen ihrer Zustände in einer Datei abgelegt und beim Expandieren
+ * gepuffert sequentiell gelesen. Auf das Einblenden der Dateien in den Speicher wird bewusst verzichtet, da
+ * eingeblendete Dateien erst nach der Garbage Collection wieder freigegeben werden und sich auf manchen
+ * Betriebssystemen bis dahin nicht löschen lassen. Die Kodierungen der erzeugten Nachfolger werden in einem
+ * Puffer fester Größe gesammelt, der bei Bedarf sortiert und ohne Duplikate als Lauf in eine Datei geschrieben wird.
+ * Am Ende einer Ebene werden alle Läufe zusammengeführt und dabei die Zustände verworfen, die bereits in einer der
+ * vorherigen Ebenen enthalten sind (verzögerte Duplikaterkennung). Das Ergebnis bildet die nächste Ebene.
+ * <p>
+ * Wie weit zurück nach Duplikaten gesucht wird, ist einstellbar. Werden alle vorherigen Ebenen geprüft, ist die Suche
+ * für beliebige Zustandsräume korrekt. Sind alle Übergänge umkehrbar, genügt es, die aktuelle und die vorherige Ebene
+ * zu prüfen, da ein Nachfolger nie mehr als eine Ebene vor seinem Vorgänger liegen kann.
+ * </p>
+ * <p>
+ * Zu den Zuständen werden keine Vorgänger gespeichert. Wird ein Zustand gefunden, der dem Suchkriterium entspricht,
+ * wird der Weg rückwärts rekonstruiert, indem in jeder vorherigen Ebene ein Zustand gesucht wird, der den bereits
+ * bekannten Zustand der nächsten Ebene als Nachfolger hat. Wie bei
+ * {@link AlgorithmUtils#breadthFirstSearch(Object, Function, java.util.function.Consumer, Predicate)} werden nur die
+ * erzeugten Zustände, nicht aber der Startzustand, auf das Suchkriterium geprüft. Alle Dateien werden in dem
+ * übergebenen Verzeichnis angelegt und am Ende der Suche wieder gelöscht.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <StateT>
+ *            Typ der Zustände.
+ */
+public class ExternalBreadthFirstSearch<StateT> {
+
+    /**
+     * Standardgröße des Puffers für die Nachfolger in Anzahl von Zuständen.
+     */
+    public static final int DEFAULT_RUN_SIZE = 1 << 22;
+
+    /**
+     * Größe des Puffers beim Lesen einer Datei in Bytes.
+     */
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Producer zur Erzeugung der Nachfolgezustände eines Zustands.
+     */
+    private final Function<? super StateT, ? extends Iterable<? extends StateT>> stateProducer;
+
+    /**
+     * Prüfkriterium für die Erkennung des gesuchten Zustands.
+     */
+    private final Predicate<? super StateT> acceptanceCriterion;
+
+    /**
+     * Codec für die Kodierung der Zustände.
+     */
+    private final StateCodec<StateT> codec;
+
+    /**
+     * Verzeichnis für die Dateien der Ebenen und Läufe.
+     */
+    private final Path directory;
+
+    /**
+     * Maximale Anzahl von Nachfolgern, die vor dem Schreiben eines Laufs im Speicher gesammelt werden.
+     */
+    private final int runSize;
+
+    /**
+     * Anzahl der zuletzt erzeugten Ebenen, in denen nach Duplikaten gesucht wird.
+     */
+    private final int duplicateLevels;
+
+    /**
+     * Erzeugt eine neue Suche, die die neuen Zustände gegen alle vorherigen Ebenen prüft.
+     *
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param codec
+     *            Codec für die Kodierung der Zustände.
+     * @param directory
+     *            Verzeichnis, in dem die Dateien der Suche angelegt werden.
+     */
+    public ExternalBreadthFirstSearch(
+            final Function<? super StateT, ? extends Iterable<? extends StateT>> stateProducer,
+            final Predicate<? super StateT> acceptanceCriterion, final StateCodec<StateT> codec,
+            final Path directory) {
+        this(stateProducer, acceptanceCriterion, codec, directory, DEFAULT_RUN_SIZE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Erzeugt eine neue Suche.
+     *
+     * @param stateProducer
+     *            Producer zur Erzeugung einer Liste von Nachfolgezuständen zu dem ihm übergebenen Zustand.
+     * @param acceptanceCriterion
+     *            Prüfkriterium für die Erkennung des gesuchten Zustands.
+     * @param codec
+     *            Codec für die Kodierung der Zustände.
+     * @param directory
+     *            Verzeichnis, in dem die Dateien der Suche angelegt werden.
+     * @param runSize
+     *            Maximale Anzahl von Nachfolgern, die vor dem Schreiben eines Laufs im Speicher gesammelt werden.
+     * @param duplicateLevels
+     *            Anzahl der zuletzt erzeugten Ebenen, in denen nach Duplikaten gesucht wird. 2 genügt bei umkehrbaren
+     *            Übergängen, {@link Integer#MAX_VALUE} prüft alle vorherigen Ebenen. Mindestens 2 Ebenen sind
+     *            erforderlich, da bei nur einer Ebene jeder Zustand über seinen Vorgänger erneut erzeugt würde und die
+     *            Suche auf ungerichteten Graphen ohne erreichbares Ziel nicht terminierte.
+     * @throws IllegalArgumentException
+     *             Falls die Puffergröße kleiner als 1 oder die Anzahl der zu prüfenden Ebenen kleiner als 2 ist.
+     */
+    public ExternalBreadthFirstSearch(
+            final Function<? super StateT, ? extends Iterable<? extends StateT>> stateProducer,
+            final Predicate<? super StateT> acceptanceCriterion, final StateCodec<StateT> codec,
+            final Path directory, final int runSize, final int duplicateLevels) {
+        if (runSize < 1) {
+            throw new IllegalArgumentException("The run size must be at least 1: " + runSize);
+        }
+        if (duplicateLevels < 2) {
+            throw new IllegalArgumentException("At least two levels must be checked for duplicates: "
+                    + duplicateLevels);
+        }
+        this.stateProducer = stateProducer;
+        this.acceptanceCriterion = acceptanceCriterion;
+        this.codec = codec;
+        this.directory = directory;
+        this.runSize = runSize;
+        this.duplicateLevels = duplicateLevels;
+    }
+
+    /**
+     * Sucht ausgehend vom Startzustand den kürzesten Weg zu einem Zustand, der dem Suchkriterium entspricht.
+     *
+     * @param start
+     *            Startzustand der Suche.
+     * @return Liste der Zustände des kürzesten Wegs inklusive Start- und Zielzustand. Null, falls kein erreichbarer
+     *         Zustand dem Suchkriterium entspricht.
+     * @throws IOException
+     *             Falls beim Schreiben oder Lesen der Dateien ein Fehler auftritt.
+     */
+    public List<StateT> search(final StateT start) throws IOException {
+        return search(start, SearchOptions.UNLIMITED).getPath();
+    }
+
+    /**
+     * Sucht wie {@link #search(Object)} den kürzesten Weg, bricht die Suche jedoch ab, sobald eine der Grenzen aus den
+     * übergebenen Optionen erreicht ist. Die Grenzen werden vor jeder Expansion eines Zustands geprüft. Als Anzahl
+     * wartender Zustände gilt die Anzahl der noch nicht expandierten Zustände der aktuellen Ebene zuzüglich der in
+     * dieser Ebene bereits erzeugten Nachfolger. Da Duplikate erst beim Zusammenführen der Läufe erkannt werden,
+     * werden sie jeweils am Ende einer Ebene gezählt.
+     *
+     * @param start
+     *            Startzustand der Suche.
+     * @param options
+     *            Grenzen für die Laufzeit und den Speicherbedarf der Suche.
+     * @return Ergebnis der Suche mit dem gefundenen Weg, dem Grund für das Ende der Suche und ihren Kennzahlen.
+     * @throws IOException
+     *             Falls beim Schreiben oder Lesen der Dateien ein Fehler auftritt.
+     */
+    public SearchResult<StateT> search(final StateT start, final SearchOptions options) throws IOException {
+        final SearchMonitor monitor = new SearchMonitor(options);
+        final List<Path> levels = new ArrayList<>();
+        final List<Path> runs = new ArrayList<>();
+        try {
+            final long[] buffer = new long[1];
+            buffer[0] = codec.encode(start);
+            levels.add(writeRun(buffer, 1));
+            final long[] successors = new long[runSize];
+            while (true) {
+                int count = 0;
+                long generated = 0;
+                try (LongFileReader reader = new LongFileReader(levels.get(levels.size() - 1))) {
+                    while (reader.hasNext()) {
+                        final int frontierSize = (int) Math.min(Integer.MAX_VALUE, reader.remaining() + generated);
+                        final AbortReason abortReason = monitor.beforeExpansion(frontierSize);
+                        if (abortReason != null) {
+                            return monitor.aborted(abortReason);
+                        }
+                        monitor.level(levels.size() - 1, frontierSize);
+                        final StateT state = codec.decode(reader.next());
+                        final long producerStart = monitor.startTimer();
+                        final Iterable<? extends StateT> possibleStates = stateProducer.apply(state);
+                        monitor.producerFinished(producerStart);
+                        for (final StateT successor : possibleStates) {
+                            monitor.generated();
+                            generated++;
+                            final long predicateStart = monitor.startTimer();
+                            final boolean accepted = acceptanceCriterion.test(successor);
+                            monitor.predicateFinished(predicateStart);
+                            if (accepted) {
+                                return monitor.found(reconstructPath(levels, state, successor));
+                            }
+                            if (count == successors.length) {
+                                runs.add(writeRun(successors, count));
+                                count = 0;
+                            }
+                            successors[count++] = codec.encode(successor);
+                        }
+                    }
+                }
+                if (count > 0) {
+                    runs.add(writeRun(successors, count));
+                }
+                final Path nextLevel = mergeRuns(runs, levels.subList(Math.max(0, levels.size() - duplicateLevels),
+                        levels.size()));
+                deleteAll(runs);
+                final long nextLevelSize = Files.size(nextLevel) / Long.BYTES;
+                monitor.addCounts(0, 0, generated - nextLevelSize);
+                if (nextLevelSize == 0) {
+                    Files.delete(nextLevel);
+                    return monitor.exhausted();
+                }
+                levels.add(nextLevel);
+            }
+        } finally {
+            deleteAll(runs);
+            deleteAll(levels);
+        }
+    }
+
+    /**
+     * Sortiert die übergebenen Werte und schreibt sie ohne Duplikate in eine neue Datei.
+     *
+     * @param values
+     *            Array mit den zu schreibenden Werten.
+     * @param count
+     *            Anzahl der gültigen Werte am Anfang des Arrays.
+     * @return Neu angelegte Datei.
+     * @throws IOException
+     *             Falls beim Schreiben ein Fehler auftritt.
+     */
+    private Path writeRun(final long[] values, final int count) throws IOException {
+        Arrays.sort(values, 0, count);
+        final Path file = Files.createTempFile(directory, "run", ".bin");
+        try (DataOutputStream out = openOutput(file)) {
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || values[i] != values[i - 1]) {
+                    out.writeLong(values[i]);
+                }
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Führt die sortierten Läufe zu einer neuen Ebene zusammen. Werte, die mehrfach vorkommen oder in einer der zu
+     * prüfenden Ebenen enthalten sind, werden dabei verworfen.
+     *
+     * @param runs
+     *            Sortierte Läufe mit den Nachfolgern der aktuellen Ebene.
+     * @param previousLevels
+     *            Sortierte Ebenen, deren Zustände bereits besucht wurden.
+     * @return Datei mit der neuen Ebene.
+     * @throws IOException
+     *             Falls beim Schreiben oder Lesen ein Fehler auftritt.
+     */
+    private Path mergeRuns(final List<Path> runs, final List<Path> previousLevels) throws IOException {
+        final Path file = Files.createTempFile(directory, "level", ".bin");
+        final List<LongFileReader> readers = new ArrayList<>(runs.size() + previousLevels.size());
+        try (DataOutputStream out = openOutput(file)) {
+            final PriorityQueue<LongFileReader> queue = new PriorityQueue<>(Math.max(1, runs.size()),
+                (first, second) -> Long.compare(first.peek(), second.peek()));
+            for (final Path run : runs) {
+                @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+                final LongFileReader reader = new LongFileReader(run);
+                readers.add(reader);
+                if (reader.hasNext()) {
+                    queue.add(reader);
+                }
+            }
+            final List<LongFileReader> visited = new ArrayList<>(previousLevels.size());
+            for (final Path level : previousLevels) {
+                @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+                final LongFileReader reader = new LongFileReader(level);
+                readers.add(reader);
+                visited.add(reader);
+            }
+            boolean first = true;
+            long last = 0;
+            while (!queue.isEmpty()) {
+                final LongFileReader reader = queue.poll();
+                final long value = reader.next();
+                if (reader.hasNext()) {
+                    queue.add(reader);
+                }
+                if (first || value != last) {
+                    first = false;
+                    last = value;
+                    if (!containsValue(visited, value)) {
+                        out.writeLong(value);
+                    }
+                }
+            }
+        } finally {
+            for (final LongFileReader reader : readers) {
+                reader.close();
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Prüft, ob ein Wert in einer der sortierten Dateien enthalten ist. Da die Werte in aufsteigender Reihenfolge
+     * geprüft werden, werden die Dateien dabei nur vorwärts gelesen.
+     *
+     * @param readers
+     *            Leser der sortierten Dateien.
+     * @param value
+     *            Zu prüfender Wert. Muss größer als alle zuvor geprüften Werte sein.
+     * @return true, falls der Wert in einer der Dateien enthalten ist.
+     */
+    private static boolean containsValue(final List<LongFileReader> readers, final long value) {
+        for (final LongFileReader reader : readers) {
+            while (reader.hasNext() && reader.peek() < value) {
+                reader.next();
+            }
+            if (reader.hasNext() && reader.peek() == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rekonstruiert den Weg vom Startzustand zum gefundenen Zustand. Dazu wird in jeder Ebene rückwärts ein Zustand
+     * gesucht, der den bereits bekannten Zustand der darauffolgenden Ebene als Nachfolger hat.
+     *
+     * @param levels
+     *            Dateien der Ebenen, beginnend mit der Ebene des Startzustands.
+     * @param state
+     *            Zustand der letzten Ebene, aus dem der gefundene Zustand erzeugt wurde.
+     * @param found
+     *            Zustand, der dem Suchkriterium entspricht.
+     * @return Liste der Zustände vom Start bis zum gefundenen Zustand.
+     * @throws IOException
+     *             Falls beim Lesen ein Fehler auftritt.
+     */
+    private List<StateT> reconstructPath(final List<Path> levels, final StateT state, final StateT found)
+            throws IOException {
+        final List<StateT> path = new ArrayList<>(levels.size() + 1);
+        path.add(found);
+        path.add(state);
+        long target = codec.encode(state);
+        for (int level = levels.size() - 2; level >= 0; level--) {
+            target = findPredecessor(levels.get(level), target, path);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Sucht in einer Ebene einen Zustand, der den übergebenen Zustand als Nachfolger hat, und hängt ihn an den Weg an.
+     *
+     * @param level
+     *            Datei der Ebene, in der gesucht wird.
+     * @param target
+     *            Kodierung des Nachfolgers.
+     * @param path
+     *            Bisher rekonstruierter Weg in umgekehrter Reihenfolge.
+     * @return Kodierung des gefundenen Vorgängers.
+     * @throws IOException
+     *             Falls beim Lesen ein Fehler auftritt.
+     */
+    private long findPredecessor(final Path level, final long target, final List<StateT> path) throws IOException {
+        try (LongFileReader reader = new LongFileReader(level)) {
+            while (reader.hasNext()) {
+                final long code = reader.next();
+                final StateT candidate = codec.decode(code);
+                for (final StateT successor : stateProducer.apply(candidate)) {
+                    if (codec.encode(successor) == target) {
+                        path.add(candidate);
+                        return code;
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("No predecessor found for state " + codec.decode(target) + ".");
+    }
+
+    /**
+     * Öffnet eine Datei zum gepufferten Schreiben.
+     *
+     * @param file
+     *            Zu schreibende Datei.
+     * @return Ausgabestrom in die Datei.
+     * @throws IOException
+     *             Falls die Datei nicht geöffnet werden kann.
+     */
+    private static DataOutputStream openOutput(final Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+    }
+
+    /**
+     * Löscht die übergebenen Dateien und leert die Liste.
+     *
+     * @param files
+     *            Zu löschende Dateien.
+     * @throws IOException
+     *             Falls eine Datei nicht gelöscht werden kann.
+     */
+    private static void deleteAll(final List<Path> files) throws IOException {
+        for (final Path file : files) {
+            Files.deleteIfExists(file);
+        }
+        files.clear();
+    }
+
+    /**
+     * Sequentieller, gepufferter Leser für Dateien aus long-Werten.
+     *
+     * @author Christoph Lembeck
+     */
+    private static final class LongFileReader implements Closeable {
+
+        /**
+         * Gepufferter Eingabestrom der Datei.
+         */
+        private final DataInputStream input;
+
+        /**
+         * Anzahl der Werte in der Datei.
+         */
+        private final long count;
+
+        /**
+         * Anzahl der bereits verbrauchten Werte.
+         */
+        private long position;
+
+        /**
+         * Bereits gelesener, aber noch nicht verbrauchter Wert.
+         */
+        private long nextValue;
+
+        /**
+         * Gibt an, ob {@link #nextValue} einen gelesenen Wert enthält.
+         */
+        private boolean buffered;
+
+        /**
+         * Öffnet die Datei zum Lesen.
+         *
+         * @param file
+         *            Zu lesende Datei.
+         * @throws IOException
+         *             Falls die Datei nicht geöffnet werden kann.
+         */
+        private LongFileReader(final Path file) throws IOException {
+            count = Files.size(file) / Long.BYTES;
+            input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), READ_BUFFER_SIZE));
+        }
+
+        /**
+         * Prüft, ob noch Werte gelesen werden können.
+         *
+         * @return true, falls noch Werte vorhanden sind.
+         */
+        private boolean hasNext() {
+            return position < count;
+        }
+
+        /**
+         * Gibt die Anzahl der noch nicht verbrauchten Werte zurück.
+         *
+         * @return Anzahl der verbleibenden Werte.
+         */
+        private long remaining() {
+            return count - position;
+        }
+
+        /**
+         * Gibt den nächsten Wert zurück, ohne ihn zu verbrauchen.
+         *
+         * @return Nächster Wert der Datei.
+         * @throws UncheckedIOException
+         *             Falls der Wert nicht gelesen werden kann.
+         */
+        private long peek() {
+            if (!buffered) {
+                try {
+                    nextValue = input.readLong();
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                buffered = true;
+            }
+            return nextValue;
+        }
+
+        /**
+         * Gibt den nächsten Wert zurück und rückt auf den darauffolgenden Wert vor.
+         *
+         * @return Nächster Wert der Datei.
+         */
+        private long next() {
+            final long value = peek();
+            buffered = false;
+            position++;
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+}
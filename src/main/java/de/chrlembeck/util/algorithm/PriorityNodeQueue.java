@@ -0,0 +1,255 @@
+package de.chrlembeck.util.algorithm;
+
+import de.chrlembeck.util.algorithm.AlgorithmUtils.StateWrapper;
+import java.util.Arrays;
+
+/**
+ * Indizierter binärer Heap für die kostenbasierten Suchen in {@link AlgorithmUtils}. Jeder Knoten merkt sich seine
+ * Position im Heap, so dass seine Priorität nach dem Finden eines günstigeren Wegs in logarithmischer Zeit verringert
+ * werden kann, ohne dass ein zweiter Eintrag für denselben Zustand entsteht. Bei gleicher Priorität wird der Knoten
+ * mit den höheren bisherigen Kosten bevorzugt, da er bei A* meist näher am Ziel liegt.
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <StateT>
+ *            Typ der Zustände.
+ */
+final class PriorityNodeQueue<StateT> {
+
+    /**
+     * Position eines Knotens, der sich nicht im Heap befindet.
+     */
+    static final int NOT_QUEUED = -1;
+
+    /**
+     * Knoten im Heap.
+     */
+    private Node<StateT>[] heap;
+
+    /**
+     * Anzahl der Knoten im Heap.
+     */
+    private int size;
+
+    /**
+     * Erzeugt einen neuen, leeren Heap.
+     */
+    @SuppressWarnings("unchecked")
+    PriorityNodeQueue() {
+        heap = (Node<StateT>[]) new Node<?>[16];
+    }
+
+    /**
+     * Gibt die Anzahl der Knoten im Heap zurück.
+     *
+     * @return Anzahl der Knoten im Heap.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Prüft, ob der Heap leer ist.
+     *
+     * @return true, falls der Heap keine Knoten enthält.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Fügt einen Knoten, der sich noch nicht im Heap befindet, in den Heap ein.
+     *
+     * @param node
+     *            Einzufügender Knoten.
+     */
+    void add(final Node<StateT> node) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        node.index = size++;
+        heap[node.index] = node;
+        siftUp(node.index);
+    }
+
+    /**
+     * Verschiebt einen Knoten, dessen Priorität verringert wurde, an seine neue Position im Heap.
+     *
+     * @param node
+     *            Knoten im Heap mit verringerter Priorität.
+     */
+    void decreaseKey(final Node<StateT> node) {
+        siftUp(node.index);
+    }
+
+    /**
+     * Entnimmt den Knoten mit der kleinsten Priorität aus dem Heap.
+     *
+     * @return Knoten mit der kleinsten Priorität.
+     */
+    Node<StateT> poll() {
+        final Node<StateT> result = heap[0];
+        final Node<StateT> last = heap[--size];
+        heap[size] = null;
+        if (size > 0) {
+            heap[0] = last;
+            last.index = 0;
+            siftDown(0);
+        }
+        result.index = NOT_QUEUED;
+        return result;
+    }
+
+    /**
+     * Verschiebt den Knoten an der übergebenen Position so weit nach oben, bis sein Vorgänger keine größere Priorität
+     * mehr hat.
+     *
+     * @param start
+     *            Position des zu verschiebenden Knotens.
+     */
+    private void siftUp(final int start) {
+        final Node<StateT> node = heap[start];
+        int pos = start;
+        while (pos > 0) {
+            final int parent = (pos - 1) >>> 1;
+            if (!node.before(heap[parent])) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            heap[pos].index = pos;
+            pos = parent;
+        }
+        heap[pos] = node;
+        node.index = pos;
+    }
+
+    /**
+     * Verschiebt den Knoten an der übergebenen Position so weit nach unten, bis keiner seiner Nachfolger eine kleinere
+     * Priorität hat.
+     *
+     * @param start
+     *            Position des zu verschiebenden Knotens.
+     */
+    private void siftDown(final int start) {
+        final Node<StateT> node = heap[start];
+        int pos = start;
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].before(heap[child])) {
+                child++;
+            }
+            if (!heap[child].before(node)) {
+                break;
+            }
+            heap[pos] = heap[child];
+            heap[pos].index = pos;
+            pos = child;
+        }
+        heap[pos] = node;
+        node.index = pos;
+    }
+
+    /**
+     * Knoten der kostenbasierten Suche mit dem bisher günstigsten Weg zu einem Zustand.
+     *
+     * @author Christoph Lembeck
+     *
+     * @param <StateT>
+     *            Typ der Zustände.
+     */
+    static final class Node<StateT> {
+
+        /**
+         * Zustand mit Verweis auf den Vorgänger des bisher günstigsten Wegs.
+         */
+        private StateWrapper<StateT> wrapper;
+
+        /**
+         * Kosten des bisher günstigsten Wegs vom Start zu dem Zustand.
+         */
+        private double cost;
+
+        /**
+         * Priorität des Knotens, also die Kosten zuzüglich der geschätzten Restkosten bis zum Ziel.
+         */
+        private double priority;
+
+        /**
+         * Position des Knotens im Heap oder {@link #NOT_QUEUED}.
+         */
+        private int index = NOT_QUEUED;
+
+        /**
+         * Erzeugt einen neuen Knoten.
+         *
+         * @param wrapper
+         *            Zustand mit Verweis auf den Vorgänger.
+         * @param cost
+         *            Kosten des Wegs vom Start zu dem Zustand.
+         * @param priority
+         *            Priorität des Knotens.
+         */
+        Node(final StateWrapper<StateT> wrapper, final double cost, final double priority) {
+            this.wrapper = wrapper;
+            this.cost = cost;
+            this.priority = priority;
+        }
+
+        /**
+         * Ersetzt den Weg zu dem Zustand durch einen günstigeren Weg.
+         *
+         * @param newWrapper
+         *            Zustand mit Verweis auf den Vorgänger des neuen Wegs.
+         * @param newCost
+         *            Kosten des neuen Wegs.
+         * @param newPriority
+         *            Neue Priorität des Knotens.
+         */
+        void update(final StateWrapper<StateT> newWrapper, final double newCost, final double newPriority) {
+            this.wrapper = newWrapper;
+            this.cost = newCost;
+            this.priority = newPriority;
+        }
+
+        /**
+         * Prüft, ob der Knoten vor dem übergebenen Knoten aus dem Heap entnommen werden muss.
+         *
+         * @param other
+         *            Zu vergleichender Knoten.
+         * @return true, falls der Knoten eine kleinere Priorität oder bei gleicher Priorität höhere Kosten hat.
+         */
+        private boolean before(final Node<StateT> other) {
+            return priority < other.priority || priority == other.priority && cost > other.cost;
+        }
+
+        /**
+         * Gibt den Zustand mit Verweis auf den Vorgänger des bisher günstigsten Wegs zurück.
+         *
+         * @return Zustand mit Verweis auf den Vorgänger.
+         */
+        StateWrapper<StateT> getWrapper() {
+            return wrapper;
+        }
+
+        /**
+         * Gibt die Kosten des bisher günstigsten Wegs zurück.
+         *
+         * @return Kosten des Wegs vom Start zu dem Zustand.
+         */
+        double getCost() {
+            return cost;
+        }
+
+        /**
+         * Prüft, ob sich der Knoten im Heap befindet.
+         *
+         * @return true, falls sich der Knoten im Heap befindet.
+         */
+        boolean isQueued() {
+            return index != NOT_QUEUED;
+        }
+    }
+}
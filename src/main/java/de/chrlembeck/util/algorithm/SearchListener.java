@@ -0,0 +1,55 @@
+package de.chrlembeck.util.algorithm;
+
+/**
+ * Schnittstelle für die Beobachtung des Verlaufs einer Suche. Ein Listener wird über
+ * {@link SearchOptions#withListener(SearchListener)} an eine Suche übergeben. Solange kein Listener gesetzt ist,
+ * verzichten die Suchen auf die Zeitmessungen und die Auswertung der Ebenen, so dass die Beobachtung ohne Listener
+ * praktisch nichts kostet. Alle Methoden haben eine leere Standardimplementierung, so dass nur die benötigten
+ * Ereignisse implementiert werden müssen.
+ * <p>
+ * Die Methoden werden synchron aus dem Thread der Suche aufgerufen und sollten daher schnell zurückkehren.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ */
+public interface SearchListener {
+
+    /**
+     * Wird aufgerufen, nachdem alle Zustände einer Ebene der Breitensuche expandiert wurden, sowie für die letzte,
+     * möglicherweise unvollständige Ebene am Ende der Suche. Suchen ohne Ebenen, wie A*, melden keine Ebenen. Die
+     * iterative Tiefensuche und IDA* melden jede Iteration als Ebene mit einem Zustand, dem Startzustand. Als Tiefe
+     * wird dabei die Tiefenschranke bzw. bei IDA* die mit 1 beginnende Nummer der Iteration übergeben. Die
+     * bidirektionale Breitensuche meldet jede Expansion einer ihrer beiden Fronten als Ebene. Als Tiefe wird dabei die
+     * Summe der Tiefen beider Fronten vor der Expansion übergeben.
+     *
+     * @param depth
+     *            Abstand der Zustände der Ebene vom Startzustand.
+     * @param frontierSize
+     *            Anzahl der Zustände der Ebene zu Beginn ihrer Expansion.
+     * @param expandedStates
+     *            Anzahl der in dieser Ebene expandierten Zustände.
+     * @param generatedStates
+     *            Anzahl der in dieser Ebene erzeugten Nachfolger. Das Verhältnis zur Anzahl der expandierten Zustände
+     *            ist der Verzweigungsgrad der Ebene.
+     * @param duplicateStates
+     *            Anzahl der in dieser Ebene erzeugten Nachfolger, die als bereits bekannt verworfen wurden.
+     * @param elapsedNanos
+     *            Dauer der Expansion der Ebene in Nanosekunden.
+     */
+    default void levelCompleted(final int depth, final int frontierSize, final long expandedStates,
+            final long generatedStates, final long duplicateStates, final long elapsedNanos) {
+        // Ereignis wird standardmäßig ignoriert.
+    }
+
+    /**
+     * Wird am Ende der Suche mit deren Ergebnis aufgerufen. Die {@link SearchStatistics} des Ergebnisses enthalten bei
+     * gesetztem Listener auch die im Producer und im Suchkriterium verbrachte Zeit sowie den höchsten beobachteten
+     * Speicherverbrauch. Bei der parallelen Breitensuche sind die Zeiten die Summe über alle Threads.
+     *
+     * @param result
+     *            Ergebnis der Suche.
+     */
+    default void searchFinished(final SearchResult<?> result) {
+        // Ereignis wird standardmäßig ignoriert.
+    }
+}
@@ -0,0 +1,424 @@
+package de.chrlembeck.util.algorithm;
+
+import de.chrlembeck.util.algorithm.SearchResult.AbortReason;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Überwacht den Verlauf einer Suche. Der Monitor zählt die expandierten, erzeugten und verworfenen Zustände, prüft
+ * vor jeder Expansion die Grenzen aus den {@link SearchOptions} und erzeugt das {@link SearchResult} der Suche.
+ * <p>
+ * Ist ein {@link SearchListener} gesetzt, misst der Monitor zusätzlich die im Producer und im Suchkriterium verbrachte
+ * Zeit, wertet die Ebenen der Breitensuche aus und meldet beides an den Listener. Ohne Listener kehren die dafür
+ * vorgesehenen Methoden nach einer einzigen Prüfung sofort zurück, so dass keine Zeitmessungen anfallen.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ */
+final class SearchMonitor {
+
+    /**
+     * Beginn der Suche als Wert von {@link System#nanoTime()}.
+     */
+    private final long startNanos;
+
+    /**
+     * Maximale Anzahl zu expandierender Zustände.
+     */
+    private final long maxExpandedStates;
+
+    /**
+     * Gibt an, ob die Dauer der Suche begrenzt ist.
+     */
+    private final boolean hasDeadline;
+
+    /**
+     * Zeitpunkt, an dem die Suche abgebrochen wird.
+     */
+    private final long deadline;
+
+    /**
+     * Maximale Anzahl wartender Zustände.
+     */
+    private final int maxFrontierSize;
+
+    /**
+     * Prüfung, ob die Suche abgebrochen werden soll, oder null.
+     */
+    private final BooleanSupplier cancellation;
+
+    /**
+     * Listener für die Beobachtung der Suche oder null.
+     */
+    private final SearchListener listener;
+
+    /**
+     * Anzahl der expandierten Zustände.
+     */
+    private long expandedStates;
+
+    /**
+     * Anzahl der erzeugten Nachfolger.
+     */
+    private long generatedStates;
+
+    /**
+     * Anzahl der verworfenen Nachfolger.
+     */
+    private long duplicateStates;
+
+    /**
+     * Größte Anzahl wartender Zustände.
+     */
+    private int peakFrontierSize;
+
+    /**
+     * Im Producer verbrachte Zeit in Nanosekunden.
+     */
+    private long producerNanos;
+
+    /**
+     * Im Suchkriterium verbrachte Zeit in Nanosekunden.
+     */
+    private long predicateNanos;
+
+    /**
+     * Höchster beobachteter Speicherverbrauch des Heaps in Bytes.
+     */
+    private long peakHeapBytes;
+
+    /**
+     * Tiefe der aktuellen Ebene oder -1, solange noch keine Ebene begonnen wurde.
+     */
+    private int levelDepth = -1;
+
+    /**
+     * Anzahl der Zustände der aktuellen Ebene zu Beginn ihrer Expansion.
+     */
+    private int levelFrontierSize;
+
+    /**
+     * Anzahl der expandierten Zustände vor Beginn der aktuellen Ebene.
+     */
+    private long levelExpandedBase;
+
+    /**
+     * Anzahl der erzeugten Nachfolger vor Beginn der aktuellen Ebene.
+     */
+    private long levelGeneratedBase;
+
+    /**
+     * Anzahl der verworfenen Nachfolger vor Beginn der aktuellen Ebene.
+     */
+    private long levelDuplicateBase;
+
+    /**
+     * Beginn der aktuellen Ebene als Wert von {@link System#nanoTime()}.
+     */
+    private long levelStartNanos;
+
+    /**
+     * Beginnt die Überwachung einer Suche.
+     *
+     * @param options
+     *            Grenzen der Suche.
+     */
+    SearchMonitor(final SearchOptions options) {
+        this.startNanos = System.nanoTime();
+        this.maxExpandedStates = options.getMaxExpandedStates();
+        this.hasDeadline = options.hasDeadline();
+        this.deadline = options.getDeadline(startNanos);
+        this.maxFrontierSize = options.getMaxFrontierSize();
+        this.cancellation = options.getCancellation();
+        this.listener = options.getListener();
+    }
+
+    /**
+     * Prüft vor der Expansion eines Zustands die Grenzen der Suche und zählt die Expansion, falls keine Grenze
+     * erreicht ist.
+     *
+     * @param frontierSize
+     *            Anzahl der Zustände, die einschließlich des zu expandierenden Zustands auf ihre Expansion warten.
+     * @return Erreichte Grenze oder null, falls der Zustand expandiert werden darf.
+     */
+    AbortReason beforeExpansion(final int frontierSize) {
+        final AbortReason abortReason = checkLimits(frontierSize, 1);
+        if (abortReason == null) {
+            expandedStates++;
+        }
+        return abortReason;
+    }
+
+    /**
+     * Prüft vor der Expansion einer vollständigen Ebene die Grenzen der Suche. Die Ebene wird nur begonnen, wenn ihre
+     * Expansion die maximale Anzahl zu expandierender Zustände nicht überschreiten kann. Die tatsächlich expandierten
+     * Zustände werden anschließend über {@link #addCounts(long, long, long)} gezählt.
+     *
+     * @param frontierSize
+     *            Anzahl der Zustände der zu expandierenden Ebene.
+     * @return Erreichte Grenze oder null, falls die Ebene expandiert werden darf.
+     */
+    AbortReason beforeLevel(final int frontierSize) {
+        return checkLimits(frontierSize, frontierSize);
+    }
+
+    /**
+     * Prüft die Grenzen der Suche.
+     *
+     * @param frontierSize
+     *            Anzahl der Zustände, die auf ihre Expansion warten.
+     * @param expansions
+     *            Anzahl der Zustände, die als Nächstes expandiert werden sollen.
+     * @return Erreichte Grenze oder null, falls die Zustände expandiert werden dürfen.
+     */
+    private AbortReason checkLimits(final int frontierSize, final int expansions) {
+        if (frontierSize > peakFrontierSize) {
+            peakFrontierSize = frontierSize;
+        }
+        if (frontierSize > maxFrontierSize) {
+            return AbortReason.FRONTIER_LIMIT;
+        }
+        if (expansions > maxExpandedStates - expandedStates) {
+            return AbortReason.NODE_LIMIT;
+        }
+        // Differenz statt Vergleich, damit auch ein Überlauf von System.nanoTime() korrekt behandelt wird.
+        if (hasDeadline && System.nanoTime() - deadline >= 0) {
+            return AbortReason.DEADLINE;
+        }
+        if (cancellation != null && cancellation.getAsBoolean()) {
+            return AbortReason.CANCELLED;
+        }
+        return null;
+    }
+
+    /**
+     * Teilt dem Monitor die Tiefe des gerade zur Expansion entnommenen Zustands mit. Ändert sich die Tiefe, wird die
+     * bisherige Ebene abgeschlossen und eine neue begonnen. Muss nach {@link #beforeExpansion(int)} aufgerufen werden.
+     *
+     * @param depth
+     *            Tiefe des zu expandierenden Zustands.
+     * @param frontierSize
+     *            Anzahl der Zustände, die einschließlich des zu expandierenden Zustands auf ihre Expansion warten. Bei
+     *            einem Ebenenwechsel der Breitensuche ist das die Größe der neuen Ebene.
+     */
+    void level(final int depth, final int frontierSize) {
+        if (listener == null || depth == levelDepth) {
+            return;
+        }
+        // Die Expansion des übergebenen Zustands wurde bereits gezählt und gehört zur neuen Ebene.
+        startLevel(depth, frontierSize, expandedStates - 1);
+    }
+
+    /**
+     * Beginnt eine neue Ebene, bevor einer ihrer Zustände expandiert wurde, und schließt die bisherige Ebene ab. Wird
+     * von Suchen verwendet, die eine Ebene als Ganzes expandieren oder jede Iteration als Ebene melden.
+     *
+     * @param depth
+     *            Tiefe der neuen Ebene.
+     * @param frontierSize
+     *            Anzahl der Zustände der neuen Ebene.
+     */
+    void beginLevel(final int depth, final int frontierSize) {
+        if (listener != null) {
+            startLevel(depth, frontierSize, expandedStates);
+        }
+    }
+
+    /**
+     * Schließt die aktuelle Ebene ab und beginnt eine neue.
+     *
+     * @param depth
+     *            Tiefe der neuen Ebene.
+     * @param frontierSize
+     *            Anzahl der Zustände der neuen Ebene.
+     * @param expandedBase
+     *            Anzahl der vor Beginn der neuen Ebene expandierten Zustände.
+     */
+    private void startLevel(final int depth, final int frontierSize, final long expandedBase) {
+        completeLevel(expandedBase);
+        levelDepth = depth;
+        levelFrontierSize = frontierSize;
+        levelExpandedBase = expandedBase;
+        levelGeneratedBase = generatedStates;
+        levelDuplicateBase = duplicateStates;
+        levelStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Schließt die aktuelle Ebene ab und meldet sie an den Listener.
+     *
+     * @param expandedEnd
+     *            Anzahl der bis zum Ende der Ebene expandierten Zustände.
+     */
+    private void completeLevel(final long expandedEnd) {
+        if (levelDepth < 0) {
+            return;
+        }
+        sampleHeap();
+        listener.levelCompleted(levelDepth, levelFrontierSize, expandedEnd - levelExpandedBase,
+            generatedStates - levelGeneratedBase, duplicateStates - levelDuplicateBase,
+            System.nanoTime() - levelStartNanos);
+        levelDepth = -1;
+    }
+
+    /**
+     * Ermittelt den aktuellen Speicherverbrauch des Heaps und merkt sich den höchsten Wert.
+     */
+    private void sampleHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        peakHeapBytes = Math.max(peakHeapBytes, runtime.totalMemory() - runtime.freeMemory());
+    }
+
+    /**
+     * Prüft, ob die im Producer und im Suchkriterium verbrachte Zeit gemessen wird.
+     *
+     * @return true, falls ein Listener gesetzt ist.
+     */
+    boolean isTimed() {
+        return listener != null;
+    }
+
+    /**
+     * Startet eine Zeitmessung, falls ein Listener gesetzt ist.
+     *
+     * @return Aktueller Wert von {@link System#nanoTime()} oder 0, falls nicht gemessen wird.
+     */
+    long startTimer() {
+        return listener == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Beendet die Messung der Zeit für einen Aufruf des Producers.
+     *
+     * @param timerStart
+     *            Rückgabewert von {@link #startTimer()}.
+     */
+    void producerFinished(final long timerStart) {
+        if (listener != null) {
+            producerNanos += System.nanoTime() - timerStart;
+        }
+    }
+
+    /**
+     * Beendet die Messung der Zeit für eine Prüfung des Suchkriteriums.
+     *
+     * @param timerStart
+     *            Rückgabewert von {@link #startTimer()}.
+     */
+    void predicateFinished(final long timerStart) {
+        if (listener != null) {
+            predicateNanos += System.nanoTime() - timerStart;
+        }
+    }
+
+    /**
+     * Addiert Zeiten, die außerhalb des Monitors gemessen wurden, etwa von den Threads der parallelen Breitensuche.
+     *
+     * @param producer
+     *            Im Producer verbrachte Zeit in Nanosekunden.
+     * @param predicate
+     *            Im Suchkriterium verbrachte Zeit in Nanosekunden.
+     */
+    void addTimes(final long producer, final long predicate) {
+        producerNanos += producer;
+        predicateNanos += predicate;
+    }
+
+    /**
+     * Zählt einen erzeugten Nachfolger.
+     */
+    void generated() {
+        generatedStates++;
+    }
+
+    /**
+     * Zählt einen erzeugten Nachfolger, der als bereits bekannt verworfen wurde.
+     */
+    void duplicate() {
+        duplicateStates++;
+    }
+
+    /**
+     * Addiert Zähler, die außerhalb des Monitors ermittelt wurden, etwa von den Threads der parallelen Breitensuche
+     * oder bei der verzögerten Erkennung von Duplikaten.
+     *
+     * @param expanded
+     *            Anzahl der expandierten Zustände.
+     * @param generated
+     *            Anzahl der erzeugten Nachfolger.
+     * @param duplicates
+     *            Anzahl der verworfenen Nachfolger.
+     */
+    void addCounts(final long expanded, final long generated, final long duplicates) {
+        expandedStates += expanded;
+        generatedStates += generated;
+        duplicateStates += duplicates;
+    }
+
+    /**
+     * Beendet die Suche mit einem gefundenen Weg.
+     *
+     * @param path
+     *            Gefundener Weg.
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Ergebnis im Status {@link SearchResult.Status#FOUND}.
+     */
+    <StateT> SearchResult<StateT> found(final List<StateT> path) {
+        return finish(SearchResult.found(path, finishStatistics()));
+    }
+
+    /**
+     * Beendet die Suche, nachdem alle erreichbaren Zustände ohne Treffer durchsucht wurden.
+     *
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Ergebnis im Status {@link SearchResult.Status#EXHAUSTED}.
+     */
+    <StateT> SearchResult<StateT> exhausted() {
+        return finish(SearchResult.exhausted(finishStatistics()));
+    }
+
+    /**
+     * Bricht die Suche ab.
+     *
+     * @param abortReason
+     *            Erreichte Grenze.
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Ergebnis im Status {@link SearchResult.Status#ABORTED}.
+     */
+    <StateT> SearchResult<StateT> aborted(final AbortReason abortReason) {
+        return finish(SearchResult.aborted(abortReason, finishStatistics()));
+    }
+
+    /**
+     * Schließt die letzte Ebene ab und ermittelt die Kennzahlen der Suche.
+     *
+     * @return Kennzahlen der Suche.
+     */
+    private SearchStatistics finishStatistics() {
+        if (listener != null) {
+            completeLevel(expandedStates);
+            sampleHeap();
+        }
+        return new SearchStatistics(expandedStates, generatedStates, duplicateStates, peakFrontierSize,
+                System.nanoTime() - startNanos, producerNanos, predicateNanos, peakHeapBytes);
+    }
+
+    /**
+     * Meldet das Ergebnis an den Listener.
+     *
+     * @param result
+     *            Ergebnis der Suche.
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Das übergebene Ergebnis.
+     */
+    private <StateT> SearchResult<StateT> finish(final SearchResult<StateT> result) {
+        if (listener != null) {
+            listener.searchFinished(result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,240 @@
+package de.chrlembeck.util.algorithm;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Grenzen für die Laufzeit und den Speicherbedarf einer Suche. Eine Suche, die mit diesen Optionen aufgerufen wird,
+ * prüft vor jeder Expansion eines Zustands, ob eine der Grenzen erreicht ist, und bricht in diesem Fall mit einem
+ * {@link SearchResult} im Status {@link SearchResult.Status#ABORTED} ab. Da die Prüfung nur zwischen zwei Expansionen
+ * erfolgt, kann eine Grenze um die Dauer bzw. die Anzahl der Nachfolger einer einzelnen Expansion überschritten werden.
+ * Einzig die parallele Breitensuche prüft die Grenzen nur vor jeder Ebene, damit ihre Threads nicht bei jeder Expansion
+ * über gemeinsame Zähler synchronisiert werden müssen.
+ * <p>
+ * Die Objekte sind unveränderlich. Die {@code with}-Methoden liefern jeweils eine Kopie mit der geänderten Grenze, so
+ * dass sich die Optionen ausgehend von {@link #UNLIMITED} zusammensetzen und für beliebig viele Suchen wiederverwenden
+ * lassen.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ */
+public final class SearchOptions {
+
+    /**
+     * Optionen ohne jede Grenze.
+     */
+    public static final SearchOptions UNLIMITED = new SearchOptions(Long.MAX_VALUE, Long.MAX_VALUE, false,
+            Integer.MAX_VALUE, null, null);
+
+    /**
+     * Maximale Anzahl zu expandierender Zustände.
+     */
+    private final long maxExpandedStates;
+
+    /**
+     * Zeitgrenze in Nanosekunden, entweder relativ zum Beginn der Suche oder als absoluter Wert von
+     * {@link System#nanoTime()}.
+     */
+    private final long timeLimit;
+
+    /**
+     * Gibt an, ob die Zeitgrenze ein absoluter Zeitpunkt ist.
+     */
+    private final boolean absoluteDeadline;
+
+    /**
+     * Maximale Anzahl von Zuständen, die auf ihre Expansion warten.
+     */
+    private final int maxFrontierSize;
+
+    /**
+     * Prüfung, ob die Suche abgebrochen werden soll, oder null.
+     */
+    private final BooleanSupplier cancellation;
+
+    /**
+     * Listener für die Beobachtung der Suche oder null.
+     */
+    private final SearchListener listener;
+
+    /**
+     * Erzeugt neue Optionen.
+     *
+     * @param maxExpandedStates
+     *            Maximale Anzahl zu expandierender Zustände.
+     * @param timeLimit
+     *            Zeitgrenze in Nanosekunden.
+     * @param absoluteDeadline
+     *            Gibt an, ob die Zeitgrenze ein absoluter Zeitpunkt ist.
+     * @param maxFrontierSize
+     *            Maximale Anzahl von Zuständen, die auf ihre Expansion warten.
+     * @param cancellation
+     *            Prüfung, ob die Suche abgebrochen werden soll, oder null.
+     * @param listener
+     *            Listener für die Beobachtung der Suche oder null.
+     */
+    private SearchOptions(final long maxExpandedStates, final long timeLimit, final boolean absoluteDeadline,
+            final int maxFrontierSize, final BooleanSupplier cancellation, final SearchListener listener) {
+        this.maxExpandedStates = maxExpandedStates;
+        this.timeLimit = timeLimit;
+        this.absoluteDeadline = absoluteDeadline;
+        this.maxFrontierSize = maxFrontierSize;
+        this.cancellation = cancellation;
+        this.listener = listener;
+    }
+
+    /**
+     * Begrenzt die Anzahl der Zustände, die expandiert werden dürfen.
+     *
+     * @param maxExpandedStates
+     *            Maximale Anzahl zu expandierender Zustände.
+     * @return Kopie der Optionen mit der neuen Grenze.
+     * @throws IllegalArgumentException
+     *             Falls die Anzahl negativ ist.
+     */
+    public SearchOptions withMaxExpandedStates(final long maxExpandedStates) {
+        if (maxExpandedStates < 0) {
+            throw new IllegalArgumentException("The maximum number of expanded states must not be negative: "
+                    + maxExpandedStates);
+        }
+        return new SearchOptions(maxExpandedStates, timeLimit, absoluteDeadline, maxFrontierSize, cancellation,
+                listener);
+    }
+
+    /**
+     * Begrenzt die Dauer der Suche ab ihrem Beginn. Ersetzt einen zuvor gesetzten Zeitpunkt.
+     *
+     * @param duration
+     *            Maximale Dauer der Suche.
+     * @param unit
+     *            Einheit der Dauer.
+     * @return Kopie der Optionen mit der neuen Grenze.
+     * @throws IllegalArgumentException
+     *             Falls die Dauer negativ ist.
+     */
+    public SearchOptions withTimeLimit(final long duration, final TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("The time limit must not be negative: " + duration);
+        }
+        return new SearchOptions(maxExpandedStates, unit.toNanos(duration), false, maxFrontierSize, cancellation,
+                listener);
+    }
+
+    /**
+     * Legt den Zeitpunkt fest, an dem die Suche spätestens abgebrochen wird. Ersetzt eine zuvor gesetzte Dauer.
+     *
+     * @param deadlineNanos
+     *            Zeitpunkt als Wert von {@link System#nanoTime()}.
+     * @return Kopie der Optionen mit der neuen Grenze.
+     */
+    public SearchOptions withDeadline(final long deadlineNanos) {
+        return new SearchOptions(maxExpandedStates, deadlineNanos, true, maxFrontierSize, cancellation,
+                listener);
+    }
+
+    /**
+     * Begrenzt die Anzahl der Zustände, die gleichzeitig auf ihre Expansion warten.
+     *
+     * @param maxFrontierSize
+     *            Maximale Anzahl wartender Zustände.
+     * @return Kopie der Optionen mit der neuen Grenze.
+     * @throws IllegalArgumentException
+     *             Falls die Anzahl kleiner als 1 ist.
+     */
+    public SearchOptions withMaxFrontierSize(final int maxFrontierSize) {
+        if (maxFrontierSize < 1) {
+            throw new IllegalArgumentException("The maximum frontier size must be at least 1: " + maxFrontierSize);
+        }
+        return new SearchOptions(maxExpandedStates, timeLimit, absoluteDeadline, maxFrontierSize, cancellation,
+                listener);
+    }
+
+    /**
+     * Legt eine Prüfung fest, über die die Suche von außen abgebrochen werden kann, z.B. über das Interrupt-Flag des
+     * Threads oder den Status einer Anfrage.
+     *
+     * @param cancellation
+     *            Prüfung, die true liefert, sobald die Suche abgebrochen werden soll, oder null.
+     * @return Kopie der Optionen mit der neuen Prüfung.
+     */
+    public SearchOptions withCancellation(final BooleanSupplier cancellation) {
+        return new SearchOptions(maxExpandedStates, timeLimit, absoluteDeadline, maxFrontierSize, cancellation,
+                listener);
+    }
+
+    /**
+     * Legt einen Listener fest, der über den Verlauf der Suche informiert wird und für den die Suche zusätzliche
+     * Kennzahlen wie die im Producer und im Suchkriterium verbrachte Zeit erhebt.
+     *
+     * @param listener
+     *            Listener für die Beobachtung der Suche oder null.
+     * @return Kopie der Optionen mit dem neuen Listener.
+     */
+    public SearchOptions withListener(final SearchListener listener) {
+        return new SearchOptions(maxExpandedStates, timeLimit, absoluteDeadline, maxFrontierSize, cancellation,
+                listener);
+    }
+
+    /**
+     * Gibt die maximale Anzahl zu expandierender Zustände zurück.
+     *
+     * @return Maximale Anzahl zu expandierender Zustände oder {@link Long#MAX_VALUE}.
+     */
+    public long getMaxExpandedStates() {
+        return maxExpandedStates;
+    }
+
+    /**
+     * Gibt die maximale Anzahl von Zuständen zurück, die gleichzeitig auf ihre Expansion warten dürfen.
+     *
+     * @return Maximale Anzahl wartender Zustände oder {@link Integer#MAX_VALUE}.
+     */
+    public int getMaxFrontierSize() {
+        return maxFrontierSize;
+    }
+
+    /**
+     * Gibt die Prüfung zurück, über die die Suche abgebrochen werden kann.
+     *
+     * @return Prüfung oder null, falls keine festgelegt wurde.
+     */
+    public BooleanSupplier getCancellation() {
+        return cancellation;
+    }
+
+    /**
+     * Gibt den Listener zurück, der über den Verlauf der Suche informiert wird.
+     *
+     * @return Listener oder null, falls keiner festgelegt wurde.
+     */
+    public SearchListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Ermittelt den Zeitpunkt, an dem eine zum übergebenen Zeitpunkt begonnene Suche abgebrochen wird.
+     *
+     * @param startNanos
+     *            Beginn der Suche als Wert von {@link System#nanoTime()}.
+     * @return Zeitpunkt des Abbruchs als Wert von {@link System#nanoTime()} oder {@link Long#MAX_VALUE}, falls die
+     *         Dauer der Suche nicht begrenzt ist.
+     */
+    long getDeadline(final long startNanos) {
+        if (absoluteDeadline) {
+            return timeLimit;
+        }
+        if (timeLimit == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return startNanos + timeLimit;
+    }
+
+    /**
+     * Prüft, ob die Dauer der Suche begrenzt ist.
+     *
+     * @return true, falls eine Dauer oder ein Zeitpunkt festgelegt wurde.
+     */
+    boolean hasDeadline() {
+        return absoluteDeadline || timeLimit != Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,198 @@
+package de.chrlembeck.util.algorithm;
+
+import java.util.List;
+
+/**
+ * Ergebnis einer Suche mit {@link SearchOptions}. Neben dem gefundenen Weg enthält es den Grund, aus dem die Suche
+ * beendet wurde, und die {@link SearchStatistics} der Suche.
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <StateT>
+ *            Typ der Zustände.
+ */
+public final class SearchResult<StateT> {
+
+    /**
+     * Grund für das Ende einer Suche.
+     *
+     * @author Christoph Lembeck
+     */
+    public enum Status {
+
+        /**
+         * Ein Zustand, der dem Suchkriterium entspricht, wurde gefunden.
+         */
+        FOUND,
+
+        /**
+         * Alle erreichbaren Zustände wurden durchsucht, ohne dass einer dem Suchkriterium entsprach.
+         */
+        EXHAUSTED,
+
+        /**
+         * Die Suche wurde abgebrochen, weil eine der Grenzen aus den {@link SearchOptions} oder die maximale Tiefe der
+         * iterativen Tiefensuche erreicht wurde.
+         */
+        ABORTED
+    }
+
+    /**
+     * Grenze, deren Erreichen zum Abbruch einer Suche geführt hat.
+     *
+     * @author Christoph Lembeck
+     */
+    public enum AbortReason {
+
+        /**
+         * Die maximale Anzahl zu expandierender Zustände wurde erreicht.
+         */
+        NODE_LIMIT,
+
+        /**
+         * Die Zeitgrenze wurde erreicht.
+         */
+        DEADLINE,
+
+        /**
+         * Die Suche wurde über die Abbruchprüfung abgebrochen.
+         */
+        CANCELLED,
+
+        /**
+         * Die maximale Anzahl wartender Zustände wurde überschritten.
+         */
+        FRONTIER_LIMIT,
+
+        /**
+         * Die iterative Tiefensuche hat die maximale Tiefe erreicht, ohne dass der Zustandsraum vollständig durchsucht
+         * wurde.
+         */
+        DEPTH_LIMIT
+    }
+
+    /**
+     * Grund für das Ende der Suche.
+     */
+    private final Status status;
+
+    /**
+     * Grund für den Abbruch der Suche oder null, falls die Suche nicht abgebrochen wurde.
+     */
+    private final AbortReason abortReason;
+
+    /**
+     * Gefundener Weg oder null, falls kein Zustand gefunden wurde.
+     */
+    private final List<StateT> path;
+
+    /**
+     * Kennzahlen der Suche.
+     */
+    private final SearchStatistics statistics;
+
+    /**
+     * Erzeugt ein neues Ergebnis.
+     *
+     * @param status
+     *            Grund für das Ende der Suche.
+     * @param abortReason
+     *            Grund für den Abbruch der Suche oder null.
+     * @param path
+     *            Gefundener Weg oder null.
+     * @param statistics
+     *            Kennzahlen der Suche.
+     */
+    private SearchResult(final Status status, final AbortReason abortReason, final List<StateT> path,
+            final SearchStatistics statistics) {
+        this.status = status;
+        this.abortReason = abortReason;
+        this.path = path;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Erzeugt das Ergebnis einer erfolgreichen Suche.
+     *
+     * @param path
+     *            Gefundener Weg.
+     * @param statistics
+     *            Kennzahlen der Suche.
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Ergebnis im Status {@link Status#FOUND}.
+     */
+    static <StateT> SearchResult<StateT> found(final List<StateT> path, final SearchStatistics statistics) {
+        return new SearchResult<>(Status.FOUND, null, path, statistics);
+    }
+
+    /**
+     * Erzeugt das Ergebnis einer Suche, die alle erreichbaren Zustände ohne Treffer durchsucht hat.
+     *
+     * @param statistics
+     *            Kennzahlen der Suche.
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Ergebnis im Status {@link Status#EXHAUSTED}.
+     */
+    static <StateT> SearchResult<StateT> exhausted(final SearchStatistics statistics) {
+        return new SearchResult<>(Status.EXHAUSTED, null, null, statistics);
+    }
+
+    /**
+     * Erzeugt das Ergebnis einer abgebrochenen Suche.
+     *
+     * @param abortReason
+     *            Grund für den Abbruch.
+     * @param statistics
+     *            Kennzahlen der Suche.
+     * @param <StateT>
+     *            Typ der Zustände.
+     * @return Ergebnis im Status {@link Status#ABORTED}.
+     */
+    static <StateT> SearchResult<StateT> aborted(final AbortReason abortReason, final SearchStatistics statistics) {
+        return new SearchResult<>(Status.ABORTED, abortReason, null, statistics);
+    }
+
+    /**
+     * Gibt den Grund für das Ende der Suche zurück.
+     *
+     * @return Status der Suche.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gibt den Grund für den Abbruch der Suche zurück.
+     *
+     * @return Erreichte Grenze oder null, falls die Suche nicht abgebrochen wurde.
+     */
+    public AbortReason getAbortReason() {
+        return abortReason;
+    }
+
+    /**
+     * Gibt den gefundenen Weg zurück.
+     *
+     * @return Liste der Zustände inklusive Start- und Zielzustand oder null, falls kein Zustand gefunden wurde.
+     */
+    public List<StateT> getPath() {
+        return path;
+    }
+
+    /**
+     * Gibt die Kennzahlen der Suche zurück.
+     *
+     * @return Kennzahlen der Suche.
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult[" + (abortReason == null ? status : status + " (" + abortReason + ")") + ", "
+                + statistics + "]";
+    }
+}
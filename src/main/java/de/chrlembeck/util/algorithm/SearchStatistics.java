@@ -0,0 +1,196 @@
+package de.chrlembeck.util.algorithm;
+
+/**
+ * Kennzahlen einer abgeschlossenen oder abgebrochenen Suche. Die im Producer und im Suchkriterium verbrachte Zeit
+ * sowie der Speicherverbrauch werden nur erhoben, wenn der Suche ein {@link SearchListener} übergeben wurde, und sind
+ * sonst 0.
+ *
+ * @author Christoph Lembeck
+ */
+public final class SearchStatistics {
+
+    /**
+     * Anzahl der expandierten Zustände.
+     */
+    private final long expandedStates;
+
+    /**
+     * Anzahl der vom Producer erzeugten Nachfolger.
+     */
+    private final long generatedStates;
+
+    /**
+     * Anzahl der erzeugten Nachfolger, die als bereits bekannt verworfen wurden.
+     */
+    private final long duplicateStates;
+
+    /**
+     * Größte Anzahl von Zuständen, die gleichzeitig auf ihre Expansion gewartet haben.
+     */
+    private final int peakFrontierSize;
+
+    /**
+     * Dauer der Suche in Nanosekunden.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Im Producer verbrachte Zeit in Nanosekunden.
+     */
+    private final long producerNanos;
+
+    /**
+     * Im Suchkriterium verbrachte Zeit in Nanosekunden.
+     */
+    private final long predicateNanos;
+
+    /**
+     * Höchster beobachteter Speicherverbrauch des Heaps in Bytes.
+     */
+    private final long peakHeapBytes;
+
+    /**
+     * Erzeugt ein neues Objekt mit den übergebenen Kennzahlen.
+     *
+     * @param expandedStates
+     *            Anzahl der expandierten Zustände.
+     * @param generatedStates
+     *            Anzahl der vom Producer erzeugten Nachfolger.
+     * @param duplicateStates
+     *            Anzahl der erzeugten Nachfolger, die als bereits bekannt verworfen wurden.
+     * @param peakFrontierSize
+     *            Größte Anzahl von Zuständen, die gleichzeitig auf ihre Expansion gewartet haben.
+     * @param elapsedNanos
+     *            Dauer der Suche in Nanosekunden.
+     * @param producerNanos
+     *            Im Producer verbrachte Zeit in Nanosekunden.
+     * @param predicateNanos
+     *            Im Suchkriterium verbrachte Zeit in Nanosekunden.
+     * @param peakHeapBytes
+     *            Höchster beobachteter Speicherverbrauch des Heaps in Bytes.
+     */
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    SearchStatistics(final long expandedStates, final long generatedStates, final long duplicateStates,
+            final int peakFrontierSize, final long elapsedNanos, final long producerNanos, final long predicateNanos,
+            final long peakHeapBytes) {
+        this.expandedStates = expandedStates;
+        this.generatedStates = generatedStates;
+        this.duplicateStates = duplicateStates;
+        this.peakFrontierSize = peakFrontierSize;
+        this.elapsedNanos = elapsedNanos;
+        this.producerNanos = producerNanos;
+        this.predicateNanos = predicateNanos;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    /**
+     * Gibt die Anzahl der expandierten Zustände zurück.
+     *
+     * @return Anzahl der Zustände, deren Nachfolger erzeugt wurden.
+     */
+    public long getExpandedStates() {
+        return expandedStates;
+    }
+
+    /**
+     * Gibt die Anzahl der vom Producer erzeugten Nachfolger zurück.
+     *
+     * @return Anzahl der erzeugten Nachfolger inklusive der verworfenen Duplikate.
+     */
+    public long getGeneratedStates() {
+        return generatedStates;
+    }
+
+    /**
+     * Gibt die Anzahl der erzeugten Nachfolger zurück, die als bereits bekannt verworfen wurden.
+     *
+     * @return Anzahl der verworfenen Nachfolger.
+     */
+    public long getDuplicateStates() {
+        return duplicateStates;
+    }
+
+    /**
+     * Gibt die größte Anzahl von Zuständen zurück, die gleichzeitig auf ihre Expansion gewartet haben.
+     *
+     * @return Größte Länge der Warteschlange.
+     */
+    public int getPeakFrontierSize() {
+        return peakFrontierSize;
+    }
+
+    /**
+     * Gibt die Dauer der Suche zurück.
+     *
+     * @return Dauer der Suche in Nanosekunden.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gibt die Zeit zurück, die im Producer für die Erzeugung der Nachfolger verbracht wurde. Liefert der Producer die
+     * Nachfolger erst beim Iterieren, ist die Zeit dafür nicht enthalten.
+     *
+     * @return Im Producer verbrachte Zeit in Nanosekunden oder 0, falls sie nicht gemessen wurde.
+     */
+    public long getProducerNanos() {
+        return producerNanos;
+    }
+
+    /**
+     * Gibt die Zeit zurück, die in der Prüfung des Suchkriteriums verbracht wurde.
+     *
+     * @return Im Suchkriterium verbrachte Zeit in Nanosekunden oder 0, falls sie nicht gemessen wurde.
+     */
+    public long getPredicateNanos() {
+        return predicateNanos;
+    }
+
+    /**
+     * Gibt den höchsten Speicherverbrauch des Heaps zurück, der am Ende der Ebenen und der Suche beobachtet wurde. Der
+     * Wert enthält auch den Speicher, der nicht von der Suche belegt wird oder noch nicht vom Garbage Collector
+     * freigegeben wurde, und ist daher nur eine grobe Schätzung.
+     *
+     * @return Belegter Speicher in Bytes oder 0, falls er nicht gemessen wurde.
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    /**
+     * Gibt die Anzahl der pro Sekunde expandierten Zustände zurück.
+     *
+     * @return Expansionsrate der Suche.
+     */
+    public double getExpansionRate() {
+        return elapsedNanos == 0 ? 0 : expandedStates * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gibt die durchschnittliche Anzahl neuer, nicht als Duplikat verworfener Nachfolger je expandiertem Zustand
+     * zurück.
+     *
+     * @return Effektiver Verzweigungsgrad der Suche.
+     */
+    public double getEffectiveBranchingFactor() {
+        return expandedStates == 0 ? 0 : (double) (generatedStates - duplicateStates) / expandedStates;
+    }
+
+    /**
+     * Gibt den Anteil der erzeugten Nachfolger zurück, die als bereits bekannt verworfen wurden.
+     *
+     * @return Anteil der Duplikate zwischen 0 und 1.
+     */
+    public double getDuplicateRate() {
+        return generatedStates == 0 ? 0 : (double) duplicateStates / generatedStates;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchStatistics[expanded=" + expandedStates + ", generated=" + generatedStates + ", duplicates="
+                + duplicateStates + ", peakFrontier=" + peakFrontierSize + ", elapsedNanos=" + elapsedNanos
+                + ", producerNanos=" + producerNanos + ", predicateNanos=" + predicateNanos + ", peakHeapBytes="
+                + peakHeapBytes + "]";
+    }
+}
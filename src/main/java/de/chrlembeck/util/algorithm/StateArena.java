@@ -0,0 +1,182 @@
+package de.chrlembeck.util.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Speicher für die Zustände einer Suche, die über ihre Position adressiert werden. Zu jedem Zustand wird lediglich die
+ * Position seines Vorgängers in einem int-Array abgelegt, so dass für die Verkettung der Wege keine Objekte je Zustand
+ * entstehen. Ist ein {@link StateCodec} vorhanden, werden statt der Zustände nur ihre Kodierungen in einem long-Array
+ * gespeichert und die Zustände erst beim Auslesen wieder erzeugt.
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <StateT>
+ *            Typ der Zustände.
+ */
+final class StateArena<StateT> {
+
+    /**
+     * Position des Vorgängers eines Zustands, der keinen Vorgänger hat.
+     */
+    static final int NO_PARENT = -1;
+
+    /**
+     * Anfängliche Anzahl von Plätzen.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Größte Anzahl von Zuständen, die gespeichert werden kann.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Codec für die Kodierung der Zustände oder null, falls die Zustände selbst gespeichert werden.
+     */
+    private final StateCodec<StateT> codec;
+
+    /**
+     * Positionen der Vorgänger der Zustände.
+     */
+    private int[] parents;
+
+    /**
+     * Kodierungen der Zustände, falls ein Codec verwendet wird, sonst null.
+     */
+    private long[] codes;
+
+    /**
+     * Zustände, falls kein Codec verwendet wird, sonst null.
+     */
+    private Object[] states;
+
+    /**
+     * Anzahl der gespeicherten Zustände.
+     */
+    private int size;
+
+    /**
+     * Erzeugt einen neuen, leeren Speicher.
+     *
+     * @param codec
+     *            Codec für die Kodierung der Zustände oder null, falls die Zustände selbst gespeichert werden sollen.
+     */
+    StateArena(final StateCodec<StateT> codec) {
+        this.codec = codec;
+        this.parents = new int[INITIAL_CAPACITY];
+        if (codec == null) {
+            states = new Object[INITIAL_CAPACITY];
+        } else {
+            codes = new long[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Legt einen Zustand ab. Darf nur verwendet werden, wenn kein Codec vorhanden ist.
+     *
+     * @param state
+     *            Zu speichernder Zustand.
+     * @param parent
+     *            Position des Vorgängers oder {@link #NO_PARENT}.
+     * @return Position des neuen Zustands.
+     */
+    int add(final StateT state, final int parent) {
+        ensureCapacity();
+        states[size] = state;
+        parents[size] = parent;
+        return size++;
+    }
+
+    /**
+     * Legt die Kodierung eines Zustands ab. Darf nur verwendet werden, wenn ein Codec vorhanden ist.
+     *
+     * @param code
+     *            Kodierung des zu speichernden Zustands.
+     * @param parent
+     *            Position des Vorgängers oder {@link #NO_PARENT}.
+     * @return Position des neuen Zustands.
+     */
+    int add(final long code, final int parent) {
+        ensureCapacity();
+        codes[size] = code;
+        parents[size] = parent;
+        return size++;
+    }
+
+    /**
+     * Vergrößert die Arrays, falls kein freier Platz mehr vorhanden ist.
+     *
+     * @throws IllegalStateException
+     *             Falls die maximale Anzahl von Zuständen erreicht ist.
+     */
+    private void ensureCapacity() {
+        if (size < parents.length) {
+            return;
+        }
+        if (size == MAX_CAPACITY) {
+            throw new IllegalStateException("The arena cannot hold more than " + MAX_CAPACITY + " states.");
+        }
+        final int newCapacity = (int) Math.min(MAX_CAPACITY, size + (long) (size >> 1));
+        parents = Arrays.copyOf(parents, newCapacity);
+        if (codec == null) {
+            states = Arrays.copyOf(states, newCapacity);
+        } else {
+            codes = Arrays.copyOf(codes, newCapacity);
+        }
+    }
+
+    /**
+     * Gibt den Zustand an der übergebenen Position zurück.
+     *
+     * @param index
+     *            Position des Zustands.
+     * @return Gespeicherter oder aus seiner Kodierung erzeugter Zustand.
+     */
+    @SuppressWarnings("unchecked")
+    StateT get(final int index) {
+        return codec == null ? (StateT) states[index] : codec.decode(codes[index]);
+    }
+
+    /**
+     * Gibt die Position des Vorgängers eines Zustands zurück.
+     *
+     * @param index
+     *            Position des Zustands.
+     * @return Position des Vorgängers oder {@link #NO_PARENT}.
+     */
+    int getParent(final int index) {
+        return parents[index];
+    }
+
+    /**
+     * Gibt die Anzahl der gespeicherten Zustände zurück.
+     *
+     * @return Anzahl der gespeicherten Zustände.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Ermittelt den Weg vom ersten Zustand ohne Vorgänger bis zu dem Zustand an der übergebenen Position. Dafür wird
+     * zunächst die Länge des Wegs bestimmt und die Liste anschließend von hinten befüllt.
+     *
+     * @param index
+     *            Position des letzten Zustands des Wegs.
+     * @return Liste der Zustände des Wegs, beginnend mit dem Zustand ohne Vorgänger.
+     */
+    @SuppressWarnings("unchecked")
+    List<StateT> getPath(final int index) {
+        int length = 0;
+        for (int current = index; current != NO_PARENT; current = parents[current]) {
+            length++;
+        }
+        final StateT[] path = (StateT[]) new Object[length];
+        for (int current = index; current != NO_PARENT; current = parents[current]) {
+            path[--length] = get(current);
+        }
+        return new ArrayList<>(Arrays.asList(path));
+    }
+}
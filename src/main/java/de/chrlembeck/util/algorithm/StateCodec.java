@@ -0,0 +1,32 @@
+package de.chrlembeck.util.algorithm;
+
+/**
+ * Umkehrbare Abbildung von Zuständen auf long-Werte. Suchen, denen ein solcher Codec übergeben wird, müssen die
+ * Zustände selbst nicht aufbewahren, sondern speichern nur deren Kodierung in primitiven Arrays und erzeugen die
+ * Zustände bei Bedarf neu.
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <StateT>
+ *            Typ der Zustände.
+ */
+public interface StateCodec<StateT> {
+
+    /**
+     * Kodiert einen Zustand. Verschiedene Zustände müssen dabei auf verschiedene Werte abgebildet werden.
+     *
+     * @param state
+     *            Zu kodierender Zustand.
+     * @return Kodierung des Zustands.
+     */
+    long encode(StateT state);
+
+    /**
+     * Erzeugt den Zustand zu einer Kodierung.
+     *
+     * @param code
+     *            Kodierung, die zuvor von {@link #encode(Object)} geliefert wurde.
+     * @return Zustand, der zu der Kodierung gehört.
+     */
+    StateT decode(long code);
+}
@@ -0,0 +1,258 @@
+package de.chrlembeck.util.collections;
+
+/**
+ * Basisklasse für zweidimensionale Raster, die in alle vier Richtungen wachsen können. Die Zellen des Rasters werden
+ * in quadratischen Kacheln gespeichert, die erst beim ersten Schreiben in eine ihrer Zellen angelegt werden. Innerhalb
+ * einer Kachel liegen die Zellen zeilenweise hintereinander, so dass benachbarte Zellen meist auch im Speicher
+ * benachbart sind. Die Kacheln selbst werden über eine Hashtabelle mit ihren gepackten Kachelkoordinaten als
+ * Schlüssel adressiert. Weit voneinander entfernte Bereiche belegen dadurch nur Speicher für ihre eigenen Kacheln und
+ * nicht für die leere Fläche dazwischen. Die zuletzt verwendete Kachel wird zusätzlich vorgehalten, damit Zugriffe auf
+ * benachbarte Zellen ohne Suche in der Hashtabelle auskommen.
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <TileT>
+ *            Typ der Arrays, in denen die Zellen einer Kachel gespeichert werden.
+ */
+public abstract class AbstractBidirectionalGrowingGrid<TileT> {
+
+    /**
+     * Zweierlogarithmus der Kantenlänge einer Kachel.
+     */
+    protected static final int TILE_SHIFT = 5;
+
+    /**
+     * Kantenlänge einer Kachel.
+     */
+    protected static final int TILE_SIZE = 1 << TILE_SHIFT;
+
+    /**
+     * Bitmaske zur Ermittlung der Position einer Zelle innerhalb ihrer Kachel.
+     */
+    protected static final int TILE_MASK = TILE_SIZE - 1;
+
+    /**
+     * Anzahl der Zellen in einer Kachel.
+     */
+    protected static final int TILE_CELLS = TILE_SIZE * TILE_SIZE;
+
+    /**
+     * Verzeichnis der angelegten Kacheln mit den gepackten Kachelkoordinaten als Schlüssel.
+     */
+    private final LongObjectHashMap<TileT> tiles = new LongObjectHashMap<>();
+
+    /**
+     * Gepackte Kachelkoordinaten der zuletzt verwendeten Kachel.
+     */
+    private long lastTileKey;
+
+    /**
+     * Zuletzt verwendete Kachel oder null, falls noch keine Kachel verwendet wurde.
+     */
+    private TileT lastTile;
+
+    /**
+     * Kleinste x-Koordinate, in die bisher geschrieben wurde.
+     */
+    private int minX;
+
+    /**
+     * Kleinste y-Koordinate, in die bisher geschrieben wurde.
+     */
+    private int minY;
+
+    /**
+     * Größte x-Koordinate, in die bisher geschrieben wurde.
+     */
+    private int maxX;
+
+    /**
+     * Größte y-Koordinate, in die bisher geschrieben wurde.
+     */
+    private int maxY;
+
+    /**
+     * Gibt an, ob bereits in das Raster geschrieben wurde.
+     */
+    private boolean empty = true;
+
+    /**
+     * Erzeugt eine neue, leere Kachel.
+     *
+     * @return Array für die Speicherung von {@link #TILE_CELLS} Zellen.
+     */
+    protected abstract TileT createTile();
+
+    /**
+     * Ermittelt die Position einer Zelle innerhalb ihrer Kachel.
+     *
+     * @param x
+     *            x-Koordinate der Zelle.
+     * @param y
+     *            y-Koordinate der Zelle.
+     * @return Position der Zelle innerhalb des Arrays ihrer Kachel.
+     */
+    protected static int cellIndex(final int x, final int y) {
+        return ((y & TILE_MASK) << TILE_SHIFT) | (x & TILE_MASK);
+    }
+
+    /**
+     * Packt die Koordinaten der Kachel, in der die Zelle mit den übergebenen Koordinaten liegt, in einen Schlüssel.
+     *
+     * @param x
+     *            x-Koordinate der Zelle.
+     * @param y
+     *            y-Koordinate der Zelle.
+     * @return Schlüssel der Kachel im Verzeichnis.
+     */
+    private static long tileKey(final int x, final int y) {
+        return ((long) (y >> TILE_SHIFT) << Integer.SIZE) | ((x >> TILE_SHIFT) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gibt die Kachel zurück, in der die Zelle mit den übergebenen Koordinaten liegt.
+     *
+     * @param x
+     *            x-Koordinate der Zelle.
+     * @param y
+     *            y-Koordinate der Zelle.
+     * @return Kachel der Zelle oder null, falls die Kachel noch nicht angelegt wurde.
+     */
+    protected TileT getTile(final int x, final int y) {
+        final long key = tileKey(x, y);
+        if (lastTile != null && key == lastTileKey) {
+            return lastTile;
+        }
+        final TileT tile = tiles.get(key);
+        if (tile != null) {
+            lastTileKey = key;
+            lastTile = tile;
+        }
+        return tile;
+    }
+
+    /**
+     * Gibt die Kachel zurück, in der die Zelle mit den übergebenen Koordinaten liegt, und legt diese bei Bedarf an.
+     * Zusätzlich wird die Zelle in den beschriebenen Bereich des Rasters aufgenommen.
+     *
+     * @param x
+     *            x-Koordinate der Zelle.
+     * @param y
+     *            y-Koordinate der Zelle.
+     * @return Kachel der Zelle.
+     */
+    protected TileT getOrCreateTile(final int x, final int y) {
+        updateBounds(x, y);
+        TileT tile = getTile(x, y);
+        if (tile == null) {
+            tile = createTile();
+            tiles.put(tileKey(x, y), tile);
+            lastTileKey = tileKey(x, y);
+            lastTile = tile;
+        }
+        return tile;
+    }
+
+    /**
+     * Erweitert den beschriebenen Bereich des Rasters um die übergebene Zelle.
+     *
+     * @param x
+     *            x-Koordinate der Zelle.
+     * @param y
+     *            y-Koordinate der Zelle.
+     */
+    private void updateBounds(final int x, final int y) {
+        if (empty) {
+            minX = x;
+            maxX = x;
+            minY = y;
+            maxY = y;
+            empty = false;
+        } else {
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+    }
+
+    /**
+     * Durchläuft einen rechteckigen Bereich des Rasters zeilenweise. Für jede Zeile des Bereichs wird der Callback
+     * einmal je Kachel aufgerufen, die die Zeile schneidet. Die Zellen eines Abschnitts liegen dabei hintereinander im
+     * Array der Kachel.
+     *
+     * @param fromX
+     *            Kleinste x-Koordinate des Bereichs.
+     * @param fromY
+     *            Kleinste y-Koordinate des Bereichs.
+     * @param toX
+     *            Größte x-Koordinate des Bereichs (inklusive).
+     * @param toY
+     *            Größte y-Koordinate des Bereichs (inklusive).
+     * @param visitor
+     *            Callback für die Verarbeitung der einzelnen Zeilenabschnitte.
+     */
+    protected void visitRegion(final int fromX, final int fromY, final int toX, final int toY,
+            final SegmentVisitor<TileT> visitor) {
+        for (long y = fromY; y <= toY; y++) {
+            long x = fromX;
+            while (x <= toX) {
+                final int segmentEnd = (int) Math.min(toX, x | TILE_MASK);
+                final TileT tile = getTile((int) x, (int) y);
+                visitor.visit(tile, cellIndex((int) x, (int) y), (int) x, segmentEnd, (int) y);
+                x = segmentEnd + 1L;
+            }
+        }
+    }
+
+    /**
+     * Gibt den Bereich des Rasters zurück, in den bisher geschrieben wurde.
+     *
+     * @return Vierelementiges Array mit der kleinsten x- und y-Koordinate sowie der größten x- und y-Koordinate.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls noch nicht in das Raster geschrieben wurde.
+     */
+    public int[] getRange() throws ArrayIndexOutOfBoundsException {
+        if (empty) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        return new int[] { minX, minY, maxX, maxY };
+    }
+
+    /**
+     * Prüft, ob bereits in das Raster geschrieben wurde.
+     *
+     * @return true, falls noch nicht in das Raster geschrieben wurde, sonst false.
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Callback für die Verarbeitung eines Zeilenabschnitts innerhalb einer Kachel.
+     *
+     * @author Christoph Lembeck
+     *
+     * @param <TileT>
+     *            Typ der Arrays, in denen die Zellen einer Kachel gespeichert werden.
+     */
+    @FunctionalInterface
+    protected interface SegmentVisitor<TileT> {
+
+        /**
+         * Verarbeitet einen Zeilenabschnitt.
+         *
+         * @param tile
+         *            Kachel, in der der Abschnitt liegt, oder null, falls die Kachel noch nicht angelegt wurde.
+         * @param startCell
+         *            Position der ersten Zelle des Abschnitts im Array der Kachel.
+         * @param fromX
+         *            x-Koordinate der ersten Zelle des Abschnitts.
+         * @param toX
+         *            x-Koordinate der letzten Zelle des Abschnitts (inklusive).
+         * @param y
+         *            y-Koordinate der Zeile.
+         */
+        void visit(TileT tile, int startCell, int fromX, int toX, int y);
+    }
+}
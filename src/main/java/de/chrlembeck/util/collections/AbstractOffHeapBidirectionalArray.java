@@ -0,0 +1,194 @@
+package de.chrlembeck.util.collections;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Basisklasse für Arrays mit primitiven Werten, die wie das {@link BidirectionalGrowingArray} in beide Richtungen
+ * wachsen können, ihre Werte aber außerhalb des vom Garbage Collector verwalteten Heaps speichern. Die Werte liegen in
+ * direkten {@link ByteBuffer}n fester Größe, den Segmenten, die erst beim ersten Schreiben in einen ihrer Indizes
+ * angelegt werden. Die Segmente werden über ein {@link BidirectionalGrowingArray} adressiert, so dass beim Wachstum
+ * des Arrays nur dieses Verzeichnis, niemals aber die Werte selbst kopiert werden müssen.
+ * <p>
+ * Alle Zugriffe auf die Segmente erfolgen über die absoluten und damit auf ihre Grenzen geprüften Zugriffsmethoden der
+ * ByteBuffer. Nach dem Aufruf von {@link #close()} werden die Segmente freigegeben. Da Java keine Möglichkeit bietet,
+ * direkten Speicher explizit zurückzugeben, wird dieser erst bei der nächsten Garbage Collection tatsächlich
+ * freigegeben. Die Klasse ist nicht threadsicher.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ */
+public abstract class AbstractOffHeapBidirectionalArray implements Closeable {
+
+    /**
+     * Zweierlogarithmus der Anzahl von Werten in einem Segment.
+     */
+    protected static final int SEGMENT_SHIFT = 13;
+
+    /**
+     * Anzahl der Werte in einem Segment.
+     */
+    protected static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+    /**
+     * Bitmaske zur Ermittlung der Position eines Werts innerhalb seines Segments.
+     */
+    protected static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /**
+     * Größe eines einzelnen Werts in Bytes.
+     */
+    private final int elementBytes;
+
+    /**
+     * Verzeichnis der Segmente, indiziert über die Segmentnummer, oder null, nachdem das Array geschlossen wurde.
+     */
+    private BidirectionalGrowingArray<ByteBuffer> segments = new BidirectionalGrowingArray<>(ByteBuffer[]::new);
+
+    /**
+     * Anzahl der bisher angelegten Segmente.
+     */
+    private int segmentCount;
+
+    /**
+     * Kleinster Index des genutzten Bereichs.
+     */
+    private int minIndex;
+
+    /**
+     * Länge des genutzten Bereichs.
+     */
+    private int length;
+
+    /**
+     * Erzeugt ein neues, leeres Array.
+     *
+     * @param elementBytes
+     *            Größe eines einzelnen Werts in Bytes.
+     */
+    protected AbstractOffHeapBidirectionalArray(final int elementBytes) {
+        this.elementBytes = elementBytes;
+    }
+
+    /**
+     * Gibt das Segment zurück, in dem der Wert mit dem übergebenen Index liegt.
+     *
+     * @param index
+     *            Index des gewünschten Werts.
+     * @return Segment des Werts oder null, falls der Index außerhalb der Arraygrenzen liegt oder das Segment noch
+     *         nicht angelegt wurde.
+     * @throws IllegalStateException
+     *             Falls das Array bereits geschlossen wurde.
+     */
+    protected ByteBuffer getSegment(final int index) {
+        checkOpen();
+        if (index < minIndex || (long) index - minIndex >= length) {
+            return null;
+        }
+        return segments.get(index >> SEGMENT_SHIFT);
+    }
+
+    /**
+     * Gibt das Segment zurück, in dem der Wert mit dem übergebenen Index liegt, und legt dieses bei Bedarf an.
+     * Zusätzlich werden die Arraygrenzen so erweitert, dass sie den Index umfassen.
+     *
+     * @param index
+     *            Index des gewünschten Werts.
+     * @return Segment des Werts.
+     * @throws IndexOutOfBoundsException
+     *             Falls der Abstand zwischen kleinstem und größtem Index zu groß für die Länge des Arrays würde.
+     * @throws IllegalStateException
+     *             Falls das Array bereits geschlossen wurde.
+     */
+    protected ByteBuffer getOrCreateSegment(final int index) {
+        checkOpen();
+        if (length == 0) {
+            minIndex = index;
+            length = 1;
+        } else if (index < minIndex || (long) index - minIndex >= length) {
+            final long newMin = Math.min(minIndex, index);
+            final long newLength = Math.max((long) minIndex + length - 1, index) - newMin + 1;
+            if (newLength > Integer.MAX_VALUE) {
+                throw new IndexOutOfBoundsException("The array can not hold more than " + Integer.MAX_VALUE
+                        + " values.");
+            }
+            minIndex = (int) newMin;
+            length = (int) newLength;
+        }
+        final int segmentIndex = index >> SEGMENT_SHIFT;
+        ByteBuffer segment = segments.get(segmentIndex);
+        if (segment == null) {
+            segment = ByteBuffer.allocateDirect(SEGMENT_SIZE * elementBytes).order(ByteOrder.nativeOrder());
+            segments.put(segmentIndex, segment);
+            segmentCount++;
+        }
+        return segment;
+    }
+
+    /**
+     * Berechnet die Position eines Werts innerhalb seines Segments.
+     *
+     * @param index
+     *            Index des Werts.
+     * @return Position des ersten Bytes des Werts innerhalb seines Segments.
+     */
+    protected int byteOffset(final int index) {
+        return (index & SEGMENT_MASK) * elementBytes;
+    }
+
+    /**
+     * Gibt den kleinsten und größten genutzen ArrayIndex des Arrays zurück. Beide Indizes befinden sich babei noch
+     * innerhalb des Arrays.
+     *
+     * @return Zweielementige Array mit dem kleinsten und größten noch im Array befindlichen Index.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls das Array leer ist.
+     */
+    public int[] getRange() throws ArrayIndexOutOfBoundsException {
+        if (length == 0) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        return new int[] { minIndex, minIndex + length - 1 };
+    }
+
+    /**
+     * Gibt die aktuelle Länge des Arrays zurück.
+     *
+     * @return Aktuelle Länge des Arrays.
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Gibt die Größe des außerhalb des Heaps belegten Speichers zurück.
+     *
+     * @return Anzahl der Bytes in allen bisher angelegten Segmenten.
+     */
+    public long getAllocatedBytes() {
+        return (long) segmentCount * SEGMENT_SIZE * elementBytes;
+    }
+
+    /**
+     * Gibt die Segmente des Arrays frei. Weitere Zugriffe auf das Array sind danach nicht mehr möglich.
+     */
+    @Override
+    public void close() {
+        segments = null;
+        segmentCount = 0;
+        length = 0;
+    }
+
+    /**
+     * Prüft, ob das Array noch geöffnet ist.
+     *
+     * @throws IllegalStateException
+     *             Falls das Array bereits geschlossen wurde.
+     */
+    private void checkOpen() {
+        if (segments == null) {
+            throw new IllegalStateException("The array has already been closed.");
+        }
+    }
+}
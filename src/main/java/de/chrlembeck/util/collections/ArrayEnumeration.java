@@ -2,16 +2,27 @@ package de.chrlembeck.util.collections;
 
 import java.util.Enumeration;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
- * Implementierung des Enumeration Interfaces zum Iterieren über die Inhalte eines Arrays.
+ * Implementierung des Enumeration Interfaces zum Iterieren über die Inhalte eines Arrays. Die Enumeration ist
+ * gleichzeitig ein {@link Spliterator}, so dass dasselbe Array ohne Kopie auch über
+ * {@link java.util.stream.StreamSupport#stream(Spliterator, boolean)} parallel verarbeitet werden kann. Optional kann
+ * die Enumeration auf einen Teilbereich des Arrays beschränkt werden.
  *
  * @author Christoph Lembeck
  * @param <T>
  *            Typ der in dem Array enthaltenen Daten.
  */
 @SuppressWarnings("PMD.ReplaceEnumerationWithIterator")
-public class ArrayEnumeration<T> implements Enumeration<T> {
+public class ArrayEnumeration<T> implements Enumeration<T>, Spliterator<T> {
+
+    /**
+     * Eigenschaften der Enumeration in ihrer Rolle als Spliterator.
+     */
+    static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+            | Spliterator.IMMUTABLE;
 
     /**
      * Referenz auf das Array, über das iteriert werden soll.
@@ -23,6 +34,11 @@ public class ArrayEnumeration<T> implements Enumeration<T> {
      */
     private int currentIndex;
 
+    /**
+     * Position hinter dem letzten Element des Bereichs, über den iteriert werden soll.
+     */
+    private final int fence;
+
     /**
      * Erstellt eine neue Enumeration über das übergebene Array.
      * 
@@ -33,6 +49,55 @@ public class ArrayEnumeration<T> implements Enumeration<T> {
     @SuppressWarnings("PMD.ArrayIsStoredDirectly")
     public ArrayEnumeration(final T... array) {
         this.array = array;
+        this.fence = array.length;
+    }
+
+    /**
+     * Erstellt eine neue Enumeration über einen Teilbereich des übergebenen Arrays.
+     * 
+     * @param array
+     *            Array, über das iteriert werden soll.
+     * @param from
+     *            Index des ersten Elements des Bereichs.
+     * @param to
+     *            Index hinter dem letzten Element des Bereichs.
+     * @throws IllegalArgumentException
+     *             Falls from größer als to ist.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls from kleiner als 0 oder to größer als die Länge des Arrays ist.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    public ArrayEnumeration(final T[] array, final int from, final int to) {
+        checkRange(array.length, from, to);
+        this.array = array;
+        this.currentIndex = from;
+        this.fence = to;
+    }
+
+    /**
+     * Prüft, ob ein Teilbereich innerhalb der Grenzen eines Arrays liegt.
+     * 
+     * @param length
+     *            Länge des Arrays.
+     * @param from
+     *            Index des ersten Elements des Bereichs.
+     * @param to
+     *            Index hinter dem letzten Element des Bereichs.
+     * @throws IllegalArgumentException
+     *             Falls from größer als to ist.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls from kleiner als 0 oder to größer als die Länge des Arrays ist.
+     */
+    static void checkRange(final int length, final int from, final int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (to > length) {
+            throw new ArrayIndexOutOfBoundsException(to);
+        }
     }
 
     /**
@@ -40,7 +105,7 @@ public class ArrayEnumeration<T> implements Enumeration<T> {
      */
     @Override
     public boolean hasMoreElements() {
-        return array.length > currentIndex;
+        return fence > currentIndex;
     }
 
     /**
@@ -48,9 +113,67 @@ public class ArrayEnumeration<T> implements Enumeration<T> {
      */
     @Override
     public T nextElement() {
-        if (array.length > currentIndex) {
+        if (fence > currentIndex) {
             return array[currentIndex++];
         }
-        throw new NoSuchElementException("The enumeration contains only " + array.length + " elements.");
+        throw new NoSuchElementException("The enumeration has no more elements.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (fence > currentIndex) {
+            action.accept(array[currentIndex++]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        final int end = fence;
+        for (int i = currentIndex; i < end; i++) {
+            action.accept(array[i]);
+        }
+        currentIndex = end;
+    }
+
+    /**
+     * Teilt die verbleibenden Elemente in zwei Hälften. Die vordere Hälfte wird von der zurückgegebenen Enumeration
+     * geliefert, die hintere Hälfte verbleibt in dieser Enumeration.
+     * 
+     * @return Enumeration über die vordere Hälfte der verbleibenden Elemente oder null, falls weniger als zwei Elemente
+     *         verbleiben.
+     */
+    @Override
+    public ArrayEnumeration<T> trySplit() {
+        final int start = currentIndex;
+        final int mid = (start + fence) >>> 1;
+        if (start >= mid) {
+            return null;
+        }
+        currentIndex = mid;
+        return new ArrayEnumeration<>(array, start, mid);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() {
+        return (long) fence - currentIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
     }
 }
\ No newline at end of file
@@ -1,13 +1,26 @@
 package de.chrlembeck.util.collections;
 
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Hilfsklasse zum Speichern von Elementen in einem dynamisch wachsenden Array mit beliebigen Start- und End-Indizes.
  * Beim Speichern von Elementen an Stellen, die noch nicht Teil des Arrays sind, wird das Array automatisch auf die
  * benötigte Größe erweitert. Zugriffe auf Elemente neben dem Array werden mit der Rückgabe von null beantwortet.
+ * <p>
+ * Sind die Elemente nur sehr dünn über einen großen Indexbereich verteilt, wechselt das Array automatisch in eine
+ * seitenweise Speicherung, bei der nur die Seiten angelegt werden, die tatsächlich Elemente enthalten. Steigt die
+ * Belegung wieder an, wird zurück in die zusammenhängende Speicherung gewechselt.
+ * </p>
  * 
  * @author Christoph Lembeck
  *
@@ -16,21 +29,82 @@ import java.util.function.IntFunction;
  */
 public class BidirectionalGrowingArray<T> implements Iterable<T> {
 
+    /**
+     * Zweierlogarithmus der Anzahl der Elemente je Seite bei der seitenweisen Speicherung.
+     */
+    private static final int PAGE_SHIFT = 8;
+
+    /**
+     * Anzahl der Elemente je Seite bei der seitenweisen Speicherung.
+     */
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    /**
+     * Bitmaske zur Ermittlung der Position eines Elements innerhalb seiner Seite.
+     */
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /**
+     * Mindestlänge des Arrays, ab der eine seitenweise Speicherung in Betracht gezogen wird.
+     */
+    private static final int SPARSE_MIN_LENGTH = 4 * PAGE_SIZE;
+
+    /**
+     * Belegungsgrad, unterhalb dessen beim Vergrößern des Arrays auf die seitenweise Speicherung gewechselt wird.
+     */
+    private static final double SPARSE_DENSITY = 0.125;
+
+    /**
+     * Belegungsgrad, ab dem von der seitenweisen Speicherung zurück in ein zusammenhängendes Array gewechselt wird.
+     */
+    private static final double DENSE_DENSITY = 0.5;
+
     /**
      * Funktion zur Erzeugung eines neuen Arrays des passenden Typs.
      */
     private final IntFunction<T[]> arrayProducer;
 
     /**
-     * Internes Array zur Speicherung der enthaltenen Daten.
+     * Internes Array zur Speicherung der enthaltenen Daten, solange das Array nicht seitenweise gespeichert wird.
      */
     T[] array;
 
+    /**
+     * Seitenverzeichnis für die seitenweise Speicherung oder null, solange die Daten in einem zusammenhängenden Array
+     * gespeichert werden. Nicht belegte Seiten sind null.
+     */
+    private T[][] pages;
+
+    /**
+     * Nummer der ersten Seite im Seitenverzeichnis.
+     */
+    private int pageOffset;
+
     /**
      * Kleinster Index oder linker Rand des Arrays.
      */
     private int offset;
 
+    /**
+     * Aktuelle Länge des Arrays, unabhängig von der Art der Speicherung.
+     */
+    private int length;
+
+    /**
+     * Anzahl der im Array enthaltenen Elemente, die nicht null sind.
+     */
+    private int count;
+
+    /**
+     * Kleinster Index, an dem ein Element ungleich null gespeichert ist. Nur gültig, falls das Array Elemente enthält.
+     */
+    private int firstOccupied;
+
+    /**
+     * Größter Index, an dem ein Element ungleich null gespeichert ist. Nur gültig, falls das Array Elemente enthält.
+     */
+    private int lastOccupied;
+
     /**
      * Erzeugt ein neues dynamisches Array beginnend beim Index 0.
      * 
@@ -66,7 +140,10 @@ public class BidirectionalGrowingArray<T> implements Iterable<T> {
      */
     public T get(final int index) {
         final int internalIndex = mapIndex(index);
-        return (internalIndex < 0 || internalIndex >= array.length) ? null : array[internalIndex];
+        if (internalIndex < 0 || internalIndex >= length) {
+            return null;
+        }
+        return pages == null ? array[internalIndex] : getFromPage(index);
     }
 
     /**
@@ -80,37 +157,575 @@ public class BidirectionalGrowingArray<T> implements Iterable<T> {
      * @return Bisheriger Wert an der Arrayposition oder null, falls dort noch kein Wert hinterlegt war.
      */
     public T put(final int index, final T newValue) {
-        int internalIndex = mapIndex(index);
-        internalIndex = checkSize(internalIndex);
-        final T result = array[internalIndex];
-        array[internalIndex] = newValue;
+        ensureRange(index, index + 1L, newValue == null ? 0 : 1);
+        final T result;
+        if (pages == null) {
+            final int internalIndex = mapIndex(index);
+            result = array[internalIndex];
+            array[internalIndex] = newValue;
+        } else {
+            result = putToPage(index, newValue);
+        }
+        if (result == null && newValue != null) {
+            count++;
+            if (count == 1) {
+                firstOccupied = index;
+                lastOccupied = index;
+            } else {
+                firstOccupied = Math.min(firstOccupied, index);
+                lastOccupied = Math.max(lastOccupied, index);
+            }
+            checkDensity();
+        } else if (result != null && newValue == null) {
+            count--;
+            if (count > 0 && index == firstOccupied) {
+                firstOccupied = findOccupied(index + 1, true);
+            }
+            if (count > 0 && index == lastOccupied) {
+                lastOccupied = findOccupied(index - 1, false);
+            }
+        }
         return result;
     }
 
     /**
-     * Prüft, ob der gewünschte Index innerhalb der Array-Grenzen liegt und erweitert das Array ggf.
+     * Legt die Werte aus dem übergebenen Array beginnend bei dem gewünschten Index im Array ab. Das Array wird dabei
+     * höchstens einmal vergrößert und die Werte werden in einem Block kopiert.
      * 
-     * @param neededInternalIndex
-     *            Interner Indexwert, dessen Vorhandensein in dem Array sichergestellt werden soll.
-     * @return Neuer interner Index, falls durch eine benötigte Vergrößerung des Arrays eine Änderung der Arraygrenzen
-     *         stattgefunden hat.
+     * @param fromIndex
+     *            Index, an dem der erste Wert abgelegt werden soll.
+     * @param values
+     *            Werte, die in dem Array gespeichert werden sollen.
+     * @throws IllegalArgumentException
+     *             Falls die Werte über {@link Integer#MAX_VALUE} hinausreichen oder das Array danach mehr als
+     *             {@link Integer#MAX_VALUE} Indizes umfassen würde.
      */
-    private int checkSize(final int neededInternalIndex) {
-        final int delta = neededInternalIndex < 0 ? -neededInternalIndex : neededInternalIndex - array.length + 1;
-        if (delta > 0) {
-            final T[] newArray = arrayProducer.apply(array.length + delta);
-            if (neededInternalIndex < 0) {
-                System.arraycopy(array, 0, newArray, delta, array.length);
+    public void putAll(final int fromIndex, final T[] values) {
+        if (values.length == 0) {
+            return;
+        }
+        final long toIndex = (long) fromIndex + values.length;
+        if (toIndex - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The values exceed the maximum index: " + fromIndex + " + "
+                    + values.length);
+        }
+        final int oldCount = count;
+        ensureRange(fromIndex, toIndex, countNonNull(values, 0, values.length));
+        if (pages == null) {
+            final int internalIndex = mapIndex(fromIndex);
+            count -= countNonNull(array, internalIndex, internalIndex + values.length);
+            System.arraycopy(values, 0, array, internalIndex, values.length);
+            count += countNonNull(values, 0, values.length);
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                updateCount(putToPage(fromIndex + i, values[i]), values[i]);
+            }
+        }
+        updateOccupiedRange(oldCount, fromIndex, (int) (toIndex - 1));
+        checkDensity();
+    }
+
+    /**
+     * Belegt alle Positionen im Bereich von {@code fromIndex} (inklusive) bis {@code toIndex} (exklusive) mit dem
+     * übergebenen Wert. Das Array wird dabei höchstens einmal vergrößert.
+     * 
+     * @param fromIndex
+     *            Erster Index des zu füllenden Bereichs (inklusive).
+     * @param toIndex
+     *            Index hinter dem letzten zu füllenden Element (exklusive).
+     * @param value
+     *            Wert, mit dem der Bereich gefüllt werden soll.
+     * @throws IllegalArgumentException
+     *             Falls {@code fromIndex} größer als {@code toIndex} ist oder der Bereich mehr als
+     *             {@link Integer#MAX_VALUE} Indizes umfasst.
+     */
+    public void fill(final int fromIndex, final int toIndex, final T value) {
+        checkIndexRange(fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        final int rangeLength = toIndex - fromIndex;
+        final int oldCount = count;
+        ensureRange(fromIndex, toIndex, value == null ? 0 : rangeLength);
+        if (pages == null) {
+            final int internalIndex = mapIndex(fromIndex);
+            count -= countNonNull(array, internalIndex, internalIndex + rangeLength);
+            Arrays.fill(array, internalIndex, internalIndex + rangeLength, value);
+            count += value == null ? 0 : rangeLength;
+        } else if (value == null) {
+            clearPages(fromIndex, toIndex);
+        } else {
+            for (int index = fromIndex; index < toIndex; index++) {
+                updateCount(putToPage(index, value), value);
+            }
+        }
+        updateOccupiedRange(oldCount, fromIndex, toIndex - 1);
+        checkDensity();
+    }
+
+    /**
+     * Kopiert die Elemente im Bereich von {@code fromIndex} (inklusive) bis {@code toIndex} (exklusive) an den Anfang
+     * des Zielarrays. Für Positionen außerhalb der Arraygrenzen wird null in das Zielarray geschrieben.
+     * 
+     * @param fromIndex
+     *            Erster Index des zu kopierenden Bereichs (inklusive).
+     * @param toIndex
+     *            Index hinter dem letzten zu kopierenden Element (exklusive).
+     * @param dest
+     *            Zielarray, das mindestens {@code toIndex - fromIndex} Elemente aufnehmen können muss.
+     * @throws IllegalArgumentException
+     *             Falls {@code fromIndex} größer als {@code toIndex} ist oder der Bereich mehr als
+     *             {@link Integer#MAX_VALUE} Indizes umfasst.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls das Zielarray zu klein ist.
+     */
+    public void copyRange(final int fromIndex, final int toIndex, final T[] dest) {
+        checkIndexRange(fromIndex, toIndex);
+        final int rangeLength = toIndex - fromIndex;
+        if (rangeLength > dest.length) {
+            throw new ArrayIndexOutOfBoundsException("The destination array can only hold " + dest.length
+                    + " of the " + rangeLength + " elements.");
+        }
+        if (pages == null) {
+            final long overlapFrom = Math.max(fromIndex, offset);
+            final long overlapTo = Math.min(toIndex, (long) offset + length);
+            if (overlapFrom < overlapTo) {
+                Arrays.fill(dest, 0, (int) (overlapFrom - fromIndex), null);
+                System.arraycopy(array, (int) (overlapFrom - offset), dest, (int) (overlapFrom - fromIndex),
+                        (int) (overlapTo - overlapFrom));
+                Arrays.fill(dest, (int) (overlapTo - fromIndex), rangeLength, null);
             } else {
-                System.arraycopy(array, 0, newArray, 0, array.length);
+                Arrays.fill(dest, 0, rangeLength, null);
+            }
+        } else {
+            for (int i = 0; i < rangeLength; i++) {
+                dest[i] = get(fromIndex + i);
+            }
+        }
+    }
+
+    /**
+     * Gibt eine Sicht auf den Bereich von {@code fromIndex} (inklusive) bis {@code toIndex} (exklusive) als Liste
+     * zurück. Die Liste greift direkt auf dieses Array zu. Die Position 0 der Liste entspricht dem Index
+     * {@code fromIndex}. Änderungen über {@link List#set(int, Object)} werden in dieses Array geschrieben und
+     * vergrößern es bei Bedarf.
+     * 
+     * @param fromIndex
+     *            Erster Index des Bereichs (inklusive).
+     * @param toIndex
+     *            Index hinter dem letzten Element des Bereichs (exklusive).
+     * @return Liste mit fester Länge als Sicht auf den gewünschten Bereich.
+     * @throws IllegalArgumentException
+     *             Falls {@code fromIndex} größer als {@code toIndex} ist oder der Bereich mehr als
+     *             {@link Integer#MAX_VALUE} Indizes umfasst.
+     */
+    public List<T> subRange(final int fromIndex, final int toIndex) {
+        checkIndexRange(fromIndex, toIndex);
+        return new RangeView(fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Prüft, ob die übergebenen Grenzen einen gültigen Bereich beschreiben.
+     * 
+     * @param fromIndex
+     *            Erster Index des Bereichs (inklusive).
+     * @param toIndex
+     *            Index hinter dem letzten Element des Bereichs (exklusive).
+     * @throws IllegalArgumentException
+     *             Falls {@code fromIndex} größer als {@code toIndex} ist oder der Bereich mehr als
+     *             {@link Integer#MAX_VALUE} Indizes umfasst.
+     */
+    private static void checkIndexRange(final int fromIndex, final int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if ((long) toIndex - fromIndex > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The range [" + fromIndex + ", " + toIndex
+                    + ") spans more than Integer.MAX_VALUE indices.");
+        }
+    }
+
+    /**
+     * Zählt die Elemente im angegebenen Bereich eines Arrays, die nicht null sind.
+     * 
+     * @param values
+     *            Array mit den zu zählenden Elementen.
+     * @param from
+     *            Erste zu prüfende Position (inklusive).
+     * @param to
+     *            Position hinter der letzten zu prüfenden Position (exklusive).
+     * @return Anzahl der Elemente, die nicht null sind.
+     */
+    private static int countNonNull(final Object[] values, final int from, final int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            if (values[i] != null) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passt die Anzahl der enthaltenen Elemente nach dem Ersetzen eines Werts an.
+     * 
+     * @param oldValue
+     *            Bisheriger Wert an der Arrayposition.
+     * @param newValue
+     *            Neuer Wert an der Arrayposition.
+     */
+    private void updateCount(final T oldValue, final T newValue) {
+        if (oldValue == null && newValue != null) {
+            count++;
+        } else if (oldValue != null && newValue == null) {
+            count--;
+        }
+    }
+
+    /**
+     * Aktualisiert den Bereich der belegten Indizes, nachdem ein zusammenhängender Bereich des Arrays überschrieben
+     * wurde.
+     * 
+     * @param oldCount
+     *            Anzahl der Elemente ungleich null vor dem Überschreiben.
+     * @param from
+     *            Erster überschriebener Index.
+     * @param to
+     *            Letzter überschriebener Index (inklusive).
+     */
+    private void updateOccupiedRange(final int oldCount, final int from, final int to) {
+        if (count == 0) {
+            return;
+        }
+        if (oldCount == 0) {
+            firstOccupied = findOccupied(from, true);
+            lastOccupied = findOccupied(to, false);
+        } else {
+            firstOccupied = findOccupied(Math.min(firstOccupied, from), true);
+            lastOccupied = findOccupied(Math.max(lastOccupied, to), false);
+        }
+    }
+
+    /**
+     * Sucht ausgehend von dem übergebenen Index den nächsten Index, an dem ein Element ungleich null gespeichert ist.
+     * Nicht angelegte Seiten werden dabei übersprungen. Das Array muss mindestens ein Element enthalten, das in
+     * Suchrichtung liegt.
+     * 
+     * @param start
+     *            Index, an dem die Suche beginnt.
+     * @param forward
+     *            true für die Suche in Richtung aufsteigender Indizes, false für absteigende Indizes.
+     * @return Gefundener Index.
+     */
+    private int findOccupied(final int start, final boolean forward) {
+        int index = start;
+        if (pages == null) {
+            while (array[index - offset] == null) {
+                index += forward ? 1 : -1;
             }
+        } else {
+            while (getFromPage(index) == null) {
+                final int page = (index >> PAGE_SHIFT) - pageOffset;
+                if (page >= 0 && page < pages.length && pages[page] != null) {
+                    index += forward ? 1 : -1;
+                } else if (forward) {
+                    index = ((index >> PAGE_SHIFT) + 1) << PAGE_SHIFT;
+                } else {
+                    index = (index >> PAGE_SHIFT << PAGE_SHIFT) - 1;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Verkleinert das Array auf den Bereich zwischen dem ersten und dem letzten belegten Index und gibt den Speicher
+     * für die leeren Positionen an beiden Rändern frei. Enthält das Array keine Elemente, hat es anschließend die Länge
+     * 0.
+     */
+    public void trimToSize() {
+        if (count == 0) {
+            array = arrayProducer.apply(0);
+            pages = null;
+            length = 0;
+            return;
+        }
+        final int newLength = lastOccupied - firstOccupied + 1;
+        if (newLength == length) {
+            return;
+        }
+        if (pages == null) {
+            final T[] newArray = arrayProducer.apply(newLength);
+            System.arraycopy(array, firstOccupied - offset, newArray, 0, newLength);
             array = newArray;
-            if (neededInternalIndex < 0) {
-                offset -= delta;
-                return 0;
+        } else {
+            final int firstPage = (firstOccupied >> PAGE_SHIFT) - pageOffset;
+            final int lastPage = (lastOccupied >> PAGE_SHIFT) - pageOffset;
+            pages = Arrays.copyOfRange(pages, firstPage, lastPage + 1);
+            pageOffset += firstPage;
+        }
+        offset = firstOccupied;
+        length = newLength;
+        checkDensity();
+    }
+
+    /**
+     * Gibt die Anzahl der im Array gespeicherten Elemente zurück, die nicht null sind.
+     * 
+     * @return Anzahl der Elemente ungleich null.
+     */
+    public int getElementCount() {
+        return count;
+    }
+
+    /**
+     * Gibt den kleinsten Index zurück, an dem ein Element ungleich null gespeichert ist.
+     * 
+     * @return Kleinster belegter Index.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls das Array keine Elemente enthält.
+     */
+    public int getFirstOccupiedIndex() throws ArrayIndexOutOfBoundsException {
+        if (count == 0) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        return firstOccupied;
+    }
+
+    /**
+     * Gibt den größten Index zurück, an dem ein Element ungleich null gespeichert ist.
+     * 
+     * @return Größter belegter Index.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls das Array keine Elemente enthält.
+     */
+    public int getLastOccupiedIndex() throws ArrayIndexOutOfBoundsException {
+        if (count == 0) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        return lastOccupied;
+    }
+
+    /**
+     * Stellt sicher, dass der Bereich von {@code from} (inklusive) bis {@code to} (exklusive) innerhalb der
+     * Array-Grenzen liegt, und erweitert das Array ggf. in einem Schritt. Wird das Array dabei so groß, dass es nur
+     * noch sehr dünn belegt wäre, wird auf die seitenweise Speicherung gewechselt.
+     * 
+     * @param from
+     *            Erster Index des benötigten Bereichs (inklusive).
+     * @param to
+     *            Index hinter dem letzten Element des benötigten Bereichs (exklusive).
+     * @param additionalElements
+     *            Anzahl der Elemente, die nach der Vergrößerung höchstens zusätzlich in das Array geschrieben werden.
+     * @throws IllegalArgumentException
+     *             Falls das Array danach mehr als {@link Integer#MAX_VALUE} Indizes umfassen würde.
+     */
+    private void ensureRange(final long from, final long to, final int additionalElements) {
+        final long newOffset = Math.min(offset, from);
+        final long newEnd = Math.max((long) offset + length, to);
+        if (newOffset != offset || newEnd != (long) offset + length) {
+            if (newEnd - newOffset > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The range [" + newOffset + ", " + newEnd
+                        + ") spans more than Integer.MAX_VALUE indices.");
+            }
+            final int newLength = (int) (newEnd - newOffset);
+            final int leftDelta = (int) (offset - newOffset);
+            if (pages == null && newLength > SPARSE_MIN_LENGTH
+                    && count + additionalElements < newLength * SPARSE_DENSITY) {
+                toSparse();
+            }
+            if (pages == null) {
+                final T[] newArray = arrayProducer.apply(newLength);
+                System.arraycopy(array, 0, newArray, leftDelta, length);
+                array = newArray;
             }
+            length = newLength;
+            offset = (int) newOffset;
+        }
+        if (pages != null && additionalElements > 0) {
+            ensurePageDirectory(from, to);
+        }
+    }
+
+    /**
+     * Erweitert das Seitenverzeichnis in einem Schritt so, dass es alle Seiten des Bereichs von {@code from}
+     * (inklusive) bis {@code to} (exklusive) umfasst. Die Seiten selbst werden erst beim Schreiben angelegt.
+     * 
+     * @param from
+     *            Erster Index des benötigten Bereichs (inklusive).
+     * @param to
+     *            Index hinter dem letzten Element des benötigten Bereichs (exklusive).
+     */
+    private void ensurePageDirectory(final long from, final long to) {
+        final int firstPage = (int) (from >> PAGE_SHIFT);
+        final int endPage = (int) ((to - 1) >> PAGE_SHIFT) + 1;
+        final int newPageOffset = pages.length == 0 ? firstPage : Math.min(pageOffset, firstPage);
+        final int newPageEnd = pages.length == 0 ? endPage : Math.max(pageOffset + pages.length, endPage);
+        if (newPageOffset == pageOffset && newPageEnd == pageOffset + pages.length) {
+            return;
+        }
+        final T[][] newPages = newPageDirectory(newPageEnd - newPageOffset);
+        if (pages.length > 0) {
+            System.arraycopy(pages, 0, newPages, pageOffset - newPageOffset, pages.length);
         }
-        return neededInternalIndex;
+        pages = newPages;
+        pageOffset = newPageOffset;
+    }
+
+    /**
+     * Entfernt in der seitenweisen Speicherung alle Elemente im Bereich von {@code fromIndex} (inklusive) bis
+     * {@code toIndex} (exklusive). Nicht vorhandene Seiten werden dabei übersprungen.
+     * 
+     * @param fromIndex
+     *            Erster Index des zu leerenden Bereichs (inklusive).
+     * @param toIndex
+     *            Index hinter dem letzten zu leerenden Element (exklusive).
+     */
+    private void clearPages(final int fromIndex, final int toIndex) {
+        final int firstPage = Math.max(0, (fromIndex >> PAGE_SHIFT) - pageOffset);
+        final int lastPage = Math.min(pages.length - 1, ((toIndex - 1) >> PAGE_SHIFT) - pageOffset);
+        for (int page = firstPage; page <= lastPage; page++) {
+            final T[] pageArray = pages[page];
+            if (pageArray != null) {
+                final long pageStart = (long) (pageOffset + page) << PAGE_SHIFT;
+                final int from = (int) (Math.max(pageStart, fromIndex) - pageStart);
+                final int to = (int) (Math.min(pageStart + PAGE_SIZE, toIndex) - pageStart);
+                count -= countNonNull(pageArray, from, to);
+                Arrays.fill(pageArray, from, to, null);
+            }
+        }
+    }
+
+    /**
+     * Wechselt zurück zu einem zusammenhängenden Array, sobald die seitenweise gespeicherten Daten dicht genug liegen.
+     */
+    private void checkDensity() {
+        if (pages != null && count >= length * DENSE_DENSITY) {
+            toDense();
+        }
+    }
+
+    /**
+     * Überführt die Daten aus dem zusammenhängenden Array in die seitenweise Speicherung. Dabei werden nur die Seiten
+     * angelegt, die mindestens ein Element enthalten.
+     */
+    private void toSparse() {
+        pageOffset = offset >> PAGE_SHIFT;
+        pages = newPageDirectory(length == 0 ? 0 : ((offset + length - 1) >> PAGE_SHIFT) - pageOffset + 1);
+        for (int i = 0; i < length; i++) {
+            if (array[i] != null) {
+                putToPage(offset + i, array[i]);
+            }
+        }
+        array = arrayProducer.apply(0);
+    }
+
+    /**
+     * Überführt die seitenweise gespeicherten Daten wieder in ein zusammenhängendes Array.
+     */
+    private void toDense() {
+        final T[] newArray = arrayProducer.apply(length);
+        for (int page = 0; page < pages.length; page++) {
+            if (pages[page] != null) {
+                final int pageStart = (pageOffset + page) << PAGE_SHIFT;
+                final int from = Math.max(pageStart, offset);
+                final int to = Math.min(pageStart + PAGE_MASK, offset + length - 1);
+                System.arraycopy(pages[page], from - pageStart, newArray, from - offset, to - from + 1);
+            }
+        }
+        array = newArray;
+        pages = null;
+    }
+
+    /**
+     * Liest ein Element aus der seitenweisen Speicherung.
+     * 
+     * @param index
+     *            Index des gewünschten Elements innerhalb der Arraygrenzen.
+     * @return Element an der Arrayposition oder null, falls die Seite oder die Position nicht belegt ist.
+     */
+    private T getFromPage(final int index) {
+        final int page = (index >> PAGE_SHIFT) - pageOffset;
+        if (page < 0 || page >= pages.length || pages[page] == null) {
+            return null;
+        }
+        return pages[page][index & PAGE_MASK];
+    }
+
+    /**
+     * Legt ein Element in der seitenweisen Speicherung ab und legt die benötigte Seite bei Bedarf an. Das Speichern von
+     * null in einer nicht vorhandenen Seite führt nicht zum Anlegen der Seite.
+     * 
+     * @param index
+     *            Index, an dem das Element gespeichert werden soll.
+     * @param newValue
+     *            Zu speichernder Wert.
+     * @return Bisheriger Wert an der Arrayposition oder null, falls dort noch kein Wert hinterlegt war.
+     */
+    private T putToPage(final int index, final T newValue) {
+        final int page = ensurePage(index >> PAGE_SHIFT, newValue != null);
+        if (page < 0) {
+            return null;
+        }
+        final T[] pageArray = pages[page];
+        final T result = pageArray[index & PAGE_MASK];
+        pageArray[index & PAGE_MASK] = newValue;
+        return result;
+    }
+
+    /**
+     * Stellt sicher, dass das Seitenverzeichnis die gewünschte Seite umfasst und die Seite angelegt ist.
+     * 
+     * @param pageNumber
+     *            Nummer der benötigten Seite.
+     * @param create
+     *            true, falls eine noch nicht vorhandene Seite angelegt werden soll.
+     * @return Position der Seite im Seitenverzeichnis oder -1, falls die Seite nicht vorhanden ist und nicht angelegt
+     *         werden sollte.
+     */
+    private int ensurePage(final int pageNumber, final boolean create) {
+        int page = pageNumber - pageOffset;
+        if (page < 0 || page >= pages.length) {
+            if (!create) {
+                return -1;
+            }
+            final int delta = page < 0 ? -page : page - pages.length + 1;
+            final T[][] newPages = newPageDirectory(pages.length + delta);
+            System.arraycopy(pages, 0, newPages, page < 0 ? delta : 0, pages.length);
+            pages = newPages;
+            if (page < 0) {
+                pageOffset -= delta;
+                page = 0;
+            }
+        }
+        if (pages[page] == null) {
+            if (!create) {
+                return -1;
+            }
+            pages[page] = arrayProducer.apply(PAGE_SIZE);
+        }
+        return page;
+    }
+
+    /**
+     * Erzeugt ein neues, leeres Seitenverzeichnis.
+     * 
+     * @param size
+     *            Anzahl der Seiten in dem Verzeichnis.
+     * @return Neues Seitenverzeichnis.
+     */
+    @SuppressWarnings("unchecked")
+    private T[][] newPageDirectory(final int size) {
+        return (T[][]) new Object[size][];
+    }
+
+    /**
+     * Prüft, ob die Daten des Arrays derzeit seitenweise gespeichert werden.
+     * 
+     * @return true, falls die seitenweise Speicherung aktiv ist, false bei einem zusammenhängenden Array.
+     */
+    boolean isSparse() {
+        return pages != null;
     }
 
     /**
@@ -136,7 +751,35 @@ public class BidirectionalGrowingArray<T> implements Iterable<T> {
         if (isEmpty()) {
             throw new ArrayIndexOutOfBoundsException();
         }
-        return new int[] { offset, offset + array.length - 1 };
+        return new int[] { offset, offset + length - 1 };
+    }
+
+    /**
+     * Gibt den kleinsten Index des Arrays zurück. Im Gegensatz zu {@link #getRange()} wird dabei kein Array erzeugt.
+     * 
+     * @return Kleinster noch im Array befindlicher Index.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls das Array leer ist.
+     */
+    public int getMinIndex() throws ArrayIndexOutOfBoundsException {
+        if (isEmpty()) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        return offset;
+    }
+
+    /**
+     * Gibt den größten Index des Arrays zurück. Im Gegensatz zu {@link #getRange()} wird dabei kein Array erzeugt.
+     * 
+     * @return Größter noch im Array befindlicher Index.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls das Array leer ist.
+     */
+    public int getMaxIndex() throws ArrayIndexOutOfBoundsException {
+        if (isEmpty()) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        return offset + length - 1;
     }
 
     /**
@@ -154,28 +797,388 @@ public class BidirectionalGrowingArray<T> implements Iterable<T> {
      * @return Aktuelle Länge des Arrays.
      */
     public int size() {
-        return array.length;
+        return length;
+    }
+
+    /**
+     * Liest das Element an der übergebenen internen Position, unabhängig von der Art der Speicherung.
+     * 
+     * @param internalIndex
+     *            Interne Position innerhalb der Arraygrenzen.
+     * @return Element an der Position oder null, falls dort kein Wert hinterlegt ist.
+     */
+    private T elementAt(final int internalIndex) {
+        return pages == null ? array[internalIndex] : getFromPage(offset + internalIndex);
+    }
+
+    /**
+     * Gibt die erste interne Position des belegten Bereichs zurück.
+     * 
+     * @return Interne Position des ersten Elements ungleich null oder 0, falls das Array keine Elemente enthält.
+     */
+    private int occupiedStart() {
+        return count == 0 ? 0 : firstOccupied - offset;
+    }
+
+    /**
+     * Gibt die interne Position hinter dem belegten Bereich zurück.
+     * 
+     * @return Interne Position hinter dem letzten Element ungleich null oder 0, falls das Array keine Elemente
+     *         enthält.
+     */
+    private int occupiedEnd() {
+        return count == 0 ? 0 : lastOccupied - offset + 1;
+    }
+
+    /**
+     * Übergibt die Elemente des Arrays in aufsteigender Reihenfolge zusammen mit ihrem Index an den Consumer. Der
+     * Index wird dabei ohne Boxing übergeben. Die leeren Bereiche vor dem ersten und hinter dem letzten Element
+     * ungleich null werden übersprungen, Lücken dazwischen werden als null übergeben.
+     * 
+     * @param action
+     *            Consumer, der für jede Position des belegten Bereichs mit dem Index und dem dort gespeicherten
+     *            Element aufgerufen wird.
+     */
+    public void forEach(final IntObjConsumer<? super T> action) {
+        final int end = occupiedEnd();
+        for (int pos = occupiedStart(); pos < end; pos++) {
+            action.accept(offset + pos, elementAt(pos));
+        }
+    }
+
+    /**
+     * Erzeugt einen neuen Cursor für das Durchlaufen des Arrays. Der Cursor kann über {@link Cursor#reset()} beliebig
+     * oft wiederverwendet werden, so dass beim wiederholten Durchlaufen keine weiteren Objekte erzeugt werden.
+     * 
+     * @return Neuer Cursor, der vor dem ersten belegten Index steht.
+     */
+    public Cursor cursor() {
+        return new Cursor();
     }
 
+    /**
+     * Erzeugt einen sequentiellen Stream über alle Elemente des Arrays.
+     * 
+     * @return Stream über die Elemente des Arrays in aufsteigender Reihenfolge.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Erzeugt einen parallelen Stream über alle Elemente des Arrays.
+     * 
+     * @return Paralleler Stream über die Elemente des Arrays.
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Erzeugt einen Spliterator über die Elemente des Arrays, der für die parallele Verarbeitung anhand der
+     * Indexbereiche geteilt werden kann. Wie beim Iterator werden die leeren Bereiche an den Rändern übersprungen.
+     * 
+     * @return Spliterator mit den Eigenschaften {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED} und
+     *         {@link Spliterator#ORDERED}.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new RangeSpliterator(occupiedStart(), occupiedEnd());
+    }
+
+    /**
+     * Erzeugt einen Iterator über die Elemente des Arrays in aufsteigender Reihenfolge der Indizes. Die leeren Bereiche
+     * vor dem ersten und hinter dem letzten Element ungleich null werden übersprungen, Lücken dazwischen werden als
+     * null geliefert.
+     * 
+     * @return Iterator über den belegten Bereich des Arrays.
+     */
     @Override
     public Iterator<T> iterator() {
         return new Iterator<T>() {
 
-            int pos;
+            int pos = occupiedStart();
+
+            final int end = occupiedEnd();
 
             @Override
             public boolean hasNext() {
-                return pos < array.length;
+                return pos < end;
             }
 
             @Override
             public T next() {
                 if (hasNext()) {
-                    return array[pos++];
+                    return elementAt(pos++);
                 } else {
                     throw new NoSuchElementException();
                 }
             }
         };
     }
+
+    /**
+     * Spliterator über einen zusammenhängenden Bereich interner Positionen des Arrays. Beim Teilen wird der Bereich
+     * halbiert.
+     * 
+     * @author Christoph Lembeck
+     */
+    private class RangeSpliterator implements Spliterator<T> {
+
+        /**
+         * Nächste zu verarbeitende interne Position.
+         */
+        private int pos;
+
+        /**
+         * Interne Position hinter dem letzten zu verarbeitenden Element.
+         */
+        private final int end;
+
+        /**
+         * Erzeugt einen neuen Spliterator über den angegebenen Bereich.
+         * 
+         * @param from
+         *            Erste zu verarbeitende interne Position.
+         * @param end
+         *            Interne Position hinter dem letzten zu verarbeitenden Element.
+         */
+        RangeSpliterator(final int from, final int end) {
+            this.pos = from;
+            this.end = end;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            if (pos < end) {
+                action.accept(elementAt(pos++));
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            for (; pos < end; pos++) {
+                action.accept(elementAt(pos));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Spliterator<T> trySplit() {
+            final int mid = (pos + end) >>> 1;
+            if (mid <= pos) {
+                return null;
+            }
+            final Spliterator<T> prefix = new RangeSpliterator(pos, mid);
+            pos = mid;
+            return prefix;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long estimateSize() {
+            return end - pos;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED;
+        }
+    }
+
+    /**
+     * Sicht auf einen Bereich des Arrays als Liste mit fester Länge.
+     * 
+     * @author Christoph Lembeck
+     */
+    private class RangeView extends AbstractList<T> implements RandomAccess {
+
+        /**
+         * Index des Arrays, der der Position 0 der Liste entspricht.
+         */
+        private final int fromIndex;
+
+        /**
+         * Länge der Liste.
+         */
+        private final int size;
+
+        /**
+         * Erzeugt eine neue Sicht auf den angegebenen Bereich.
+         * 
+         * @param fromIndex
+         *            Index des Arrays, der der Position 0 der Liste entspricht.
+         * @param size
+         *            Länge der Liste.
+         */
+        RangeView(final int fromIndex, final int size) {
+            super();
+            this.fromIndex = fromIndex;
+            this.size = size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T get(final int index) {
+            checkListIndex(index);
+            return BidirectionalGrowingArray.this.get(fromIndex + index);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T set(final int index, final T element) {
+            checkListIndex(index);
+            return put(fromIndex + index, element);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Prüft, ob der übergebene Index innerhalb der Liste liegt.
+         * 
+         * @param index
+         *            Zu prüfender Index.
+         * @throws IndexOutOfBoundsException
+         *             Falls der Index außerhalb der Liste liegt.
+         */
+        private void checkListIndex(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+    }
+
+    /**
+     * Wiederverwendbarer Cursor für das Durchlaufen des Arrays. Der Cursor läuft wie der {@link #iterator()} vom ersten
+     * bis zum letzten belegten Index und liefert neben dem Element auch dessen Index, ohne dafür Objekte zu erzeugen.
+     * <p>
+     * Beispiel:
+     * </p>
+     * 
+     * <pre>
+     * final BidirectionalGrowingArray&lt;String&gt;.Cursor cursor = array.cursor();
+     * while (cursor.next()) {
+     *     process(cursor.index(), cursor.value());
+     * }
+     * </pre>
+     * 
+     * @author Christoph Lembeck
+     */
+    public final class Cursor {
+
+        /**
+         * Index der aktuellen Position des Cursors.
+         */
+        private int index;
+
+        /**
+         * Gibt an, ob der Cursor bereits auf einer Position steht.
+         */
+        private boolean started;
+
+        /**
+         * Gibt an, ob der Cursor das Ende des Arrays erreicht hat.
+         */
+        private boolean finished;
+
+        /**
+         * Erzeugt einen neuen Cursor, der vor dem ersten belegten Index steht.
+         */
+        Cursor() {
+            // nur innerhalb des Arrays erzeugbar
+        }
+
+        /**
+         * Bewegt den Cursor auf die nächste Position. Beim ersten Aufruf nach der Erzeugung oder nach
+         * {@link #reset()} ist das der erste belegte Index des Arrays.
+         * 
+         * @return true, falls der Cursor auf einer gültigen Position steht, false, falls das Ende des belegten
+         *         Bereichs erreicht wurde.
+         */
+        public boolean next() {
+            if (finished || count == 0) {
+                finished = true;
+                return false;
+            }
+            if (!started) {
+                index = firstOccupied;
+                started = true;
+            } else if (index >= lastOccupied) {
+                finished = true;
+                return false;
+            } else {
+                index++;
+            }
+            return true;
+        }
+
+        /**
+         * Gibt den Index der aktuellen Position zurück.
+         * 
+         * @return Index der aktuellen Position.
+         * @throws IllegalStateException
+         *             Falls der Cursor nicht auf einer gültigen Position steht.
+         */
+        public int index() {
+            checkPosition();
+            return index;
+        }
+
+        /**
+         * Gibt das Element an der aktuellen Position zurück.
+         * 
+         * @return Element an der aktuellen Position oder null, falls dort kein Wert hinterlegt ist.
+         * @throws IllegalStateException
+         *             Falls der Cursor nicht auf einer gültigen Position steht.
+         */
+        public T value() {
+            checkPosition();
+            return get(index);
+        }
+
+        /**
+         * Setzt den Cursor wieder vor den ersten belegten Index des Arrays.
+         */
+        public void reset() {
+            started = false;
+            finished = false;
+        }
+
+        /**
+         * Prüft, ob der Cursor auf einer gültigen Position steht.
+         * 
+         * @throws IllegalStateException
+         *             Falls der Cursor nicht auf einer gültigen Position steht.
+         */
+        private void checkPosition() {
+            if (!started || finished) {
+                throw new IllegalStateException("The cursor is not positioned on an element.");
+            }
+        }
+    }
 }
\ No newline at end of file
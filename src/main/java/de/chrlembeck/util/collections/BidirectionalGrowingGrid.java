@@ -0,0 +1,126 @@
+package de.chrlembeck.util.collections;
+
+import java.util.function.IntFunction;
+
+/**
+ * Zweidimensionales Raster für Objekte, das beim Schreiben in beliebige Koordinaten automatisch in alle vier Richtungen
+ * wächst. Die Zellen werden kachelweise gespeichert, so dass nur die Bereiche Speicher belegen, in die tatsächlich
+ * geschrieben wurde. Zugriffe auf Zellen, in die noch nicht geschrieben wurde, liefern null.
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <T>
+ *            Typ der Elemente in dem Raster.
+ */
+public class BidirectionalGrowingGrid<T> extends AbstractBidirectionalGrowingGrid<T[]> {
+
+    /**
+     * Funktion zur Erzeugung eines neuen Arrays des passenden Typs.
+     */
+    private final IntFunction<T[]> arrayProducer;
+
+    /**
+     * Erzeugt ein neues, leeres Raster.
+     *
+     * @param arrayProducer
+     *            Funktion zur Erzeugung von Arrays des Typs T.
+     */
+    public BidirectionalGrowingGrid(final IntFunction<T[]> arrayProducer) {
+        super();
+        this.arrayProducer = arrayProducer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected T[] createTile() {
+        return arrayProducer.apply(TILE_CELLS);
+    }
+
+    /**
+     * Gibt das Element an der gewünschten Position des Rasters zurück.
+     *
+     * @param x
+     *            x-Koordinate der Zelle.
+     * @param y
+     *            y-Koordinate der Zelle.
+     * @return Element in der Zelle oder null, falls dort kein Wert hinterlegt ist.
+     */
+    public T get(final int x, final int y) {
+        final T[] tile = getTile(x, y);
+        return tile == null ? null : tile[cellIndex(x, y)];
+    }
+
+    /**
+     * Legt den übergebenen Wert an der gewünschten Position des Rasters ab. Das Raster wird dabei bei Bedarf
+     * automatisch erweitert.
+     *
+     * @param x
+     *            x-Koordinate der Zelle.
+     * @param y
+     *            y-Koordinate der Zelle.
+     * @param newValue
+     *            Wert, der in der Zelle gespeichert werden soll.
+     * @return Bisheriger Wert in der Zelle oder null, falls dort noch kein Wert hinterlegt war.
+     */
+    public T put(final int x, final int y, final T newValue) {
+        // Das Leeren einer Zelle legt keine Kachel an und erweitert nicht den beschriebenen Bereich.
+        final T[] tile = newValue == null ? getTile(x, y) : getOrCreateTile(x, y);
+        if (tile == null) {
+            return null;
+        }
+        final int cell = cellIndex(x, y);
+        final T result = tile[cell];
+        tile[cell] = newValue;
+        return result;
+    }
+
+    /**
+     * Durchläuft einen rechteckigen Bereich des Rasters zeilenweise von oben links nach unten rechts und übergibt jede
+     * Zelle mit ihren Koordinaten an den Consumer.
+     *
+     * @param fromX
+     *            Kleinste x-Koordinate des Bereichs.
+     * @param fromY
+     *            Kleinste y-Koordinate des Bereichs.
+     * @param toX
+     *            Größte x-Koordinate des Bereichs (inklusive).
+     * @param toY
+     *            Größte y-Koordinate des Bereichs (inklusive).
+     * @param action
+     *            Consumer, der für jede Zelle des Bereichs aufgerufen wird.
+     */
+    public void forEach(final int fromX, final int fromY, final int toX, final int toY,
+            final CellConsumer<? super T> action) {
+        visitRegion(fromX, fromY, toX, toY, (tile, startCell, segmentFromX, segmentToX, y) -> {
+            for (int x = segmentFromX, cell = startCell; x <= segmentToX; x++, cell++) {
+                action.accept(x, y, tile == null ? null : tile[cell]);
+            }
+        });
+    }
+
+    /**
+     * Consumer für die Verarbeitung einer Zelle des Rasters zusammen mit ihren Koordinaten.
+     *
+     * @author Christoph Lembeck
+     *
+     * @param <T>
+     *            Typ der Elemente in dem Raster.
+     */
+    @FunctionalInterface
+    public interface CellConsumer<T> {
+
+        /**
+         * Verarbeitet eine Zelle des Rasters.
+         *
+         * @param x
+         *            x-Koordinate der Zelle.
+         * @param y
+         *            y-Koordinate der Zelle.
+         * @param value
+         *            Inhalt der Zelle oder null, falls dort kein Wert hinterlegt ist.
+         */
+        void accept(int x, int y, T value);
+    }
+}
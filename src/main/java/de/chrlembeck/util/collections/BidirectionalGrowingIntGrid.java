@@ -0,0 +1,102 @@
+package de.chrlembeck.util.collections;
+
+/**
+ * Zweidimensionales Raster für int-Werte, das beim Schreiben in beliebige Koordinaten automatisch in alle vier
+ * Richtungen wächst. Die Zellen werden kachelweise in primitiven Arrays gespeichert, so dass kein Boxing der Werte
+ * notwendig ist und nur die Bereiche Speicher belegen, in die tatsächlich geschrieben wurde. Zugriffe auf Zellen, in
+ * die noch nicht geschrieben wurde, liefern 0.
+ *
+ * @author Christoph Lembeck
+ */
+public class BidirectionalGrowingIntGrid extends AbstractBidirectionalGrowingGrid<int[]> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int[] createTile() {
+        return new int[TILE_CELLS];
+    }
+
+    /**
+     * Gibt den Wert an der gewünschten Position des Rasters zurück.
+     *
+     * @param x
+     *            x-Koordinate der Zelle.
+     * @param y
+     *            y-Koordinate der Zelle.
+     * @return Wert in der Zelle oder 0, falls dort kein Wert hinterlegt ist.
+     */
+    public int get(final int x, final int y) {
+        final int[] tile = getTile(x, y);
+        return tile == null ? 0 : tile[cellIndex(x, y)];
+    }
+
+    /**
+     * Legt den übergebenen Wert an der gewünschten Position des Rasters ab. Das Raster wird dabei bei Bedarf
+     * automatisch erweitert.
+     *
+     * @param x
+     *            x-Koordinate der Zelle.
+     * @param y
+     *            y-Koordinate der Zelle.
+     * @param newValue
+     *            Wert, der in der Zelle gespeichert werden soll.
+     * @return Bisheriger Wert in der Zelle oder 0, falls dort noch kein Wert hinterlegt war.
+     */
+    public int put(final int x, final int y, final int newValue) {
+        // Das Leeren einer Zelle legt keine Kachel an und erweitert nicht den beschriebenen Bereich.
+        final int[] tile = newValue == 0 ? getTile(x, y) : getOrCreateTile(x, y);
+        if (tile == null) {
+            return 0;
+        }
+        final int cell = cellIndex(x, y);
+        final int result = tile[cell];
+        tile[cell] = newValue;
+        return result;
+    }
+
+    /**
+     * Durchläuft einen rechteckigen Bereich des Rasters zeilenweise von oben links nach unten rechts und übergibt jede
+     * Zelle mit ihren Koordinaten an den Consumer.
+     *
+     * @param fromX
+     *            Kleinste x-Koordinate des Bereichs.
+     * @param fromY
+     *            Kleinste y-Koordinate des Bereichs.
+     * @param toX
+     *            Größte x-Koordinate des Bereichs (inklusive).
+     * @param toY
+     *            Größte y-Koordinate des Bereichs (inklusive).
+     * @param action
+     *            Consumer, der für jede Zelle des Bereichs aufgerufen wird.
+     */
+    public void forEach(final int fromX, final int fromY, final int toX, final int toY, final CellConsumer action) {
+        visitRegion(fromX, fromY, toX, toY, (tile, startCell, segmentFromX, segmentToX, y) -> {
+            for (int x = segmentFromX, cell = startCell; x <= segmentToX; x++, cell++) {
+                action.accept(x, y, tile == null ? 0 : tile[cell]);
+            }
+        });
+    }
+
+    /**
+     * Consumer für die Verarbeitung einer Zelle des Rasters zusammen mit ihren Koordinaten.
+     *
+     * @author Christoph Lembeck
+     */
+    @FunctionalInterface
+    public interface CellConsumer {
+
+        /**
+         * Verarbeitet eine Zelle des Rasters.
+         *
+         * @param x
+         *            x-Koordinate der Zelle.
+         * @param y
+         *            y-Koordinate der Zelle.
+         * @param value
+         *            Inhalt der Zelle oder 0, falls dort kein Wert hinterlegt ist.
+         */
+        void accept(int x, int y, int value);
+    }
+}
@@ -0,0 +1,827 @@
+package de.chrlembeck.util.collections;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Threadsicherer Cache mit begrenzter Kapazität. Die Kapazität wird als Gesamtgewicht der Einträge angegeben, wobei
+ * das Gewicht eines Eintrags über eine frei wählbare Funktion ermittelt wird. Ohne eigene Funktion hat jeder Eintrag
+ * das Gewicht 1, so dass die Kapazität der maximalen Anzahl von Einträgen entspricht.
+ * <p>
+ * Der Cache ist in Segmente aufgeteilt, die jeweils über eine eigene Sperre geschützt werden, so dass Zugriffe auf
+ * unterschiedliche Segmente sich nicht gegenseitig blockieren. Wird die Kapazität eines Segments überschritten,
+ * werden Einträge gemäß der gewählten {@link EvictionPolicy} verdrängt. Treffer, Fehlgriffe und Verdrängungen werden
+ * über {@link LongAdder} gezählt, so dass die Zähler keinen zusätzlichen Konkurrenzpunkt zwischen den Segmenten
+ * bilden.
+ * </p>
+ * <p>
+ * Weder Schlüssel noch Werte dürfen null sein.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <K>
+ *            Typ der Schlüssel.
+ * @param <V>
+ *            Typ der Werte.
+ */
+public class BoundedCache<K, V> {
+
+    /**
+     * Maximale Anzahl von Segmenten.
+     */
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * Mindestgewicht je Segment. Kleine Caches werden auf entsprechend weniger Segmente aufgeteilt, damit die
+     * Verdrängung nicht durch die Aufteilung verfälscht wird.
+     */
+    private static final long MIN_SEGMENT_WEIGHT = 32;
+
+    /**
+     * Segmente des Caches.
+     */
+    private final Segment<K, V>[] segments;
+
+    /**
+     * Funktion zur Ermittlung des Gewichts eines Eintrags.
+     */
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+
+    /**
+     * Maximales Gesamtgewicht der Einträge.
+     */
+    private final long maximumWeight;
+
+    /**
+     * Anzahl der Zugriffe, bei denen ein Wert im Cache gefunden wurde.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Anzahl der Zugriffe, bei denen kein Wert im Cache gefunden wurde.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Anzahl der verdrängten Einträge.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Erzeugt einen neuen Cache mit LRU-Verdrängung, in dem jeder Eintrag das Gewicht 1 hat.
+     *
+     * @param maximumSize
+     *            Maximale Anzahl von Einträgen.
+     * @throws IllegalArgumentException
+     *             Falls die maximale Anzahl kleiner als 1 ist.
+     */
+    public BoundedCache(final long maximumSize) {
+        this(maximumSize, EvictionPolicy.LRU, (key, value) -> 1);
+    }
+
+    /**
+     * Erzeugt einen neuen Cache.
+     *
+     * @param maximumWeight
+     *            Maximales Gesamtgewicht der Einträge.
+     * @param policy
+     *            Strategie für die Auswahl der zu verdrängenden Einträge.
+     * @param weigher
+     *            Funktion zur Ermittlung des Gewichts eines Eintrags. Die Funktion darf keine negativen Werte liefern
+     *            und wird für jeden Eintrag nur einmal beim Ablegen aufgerufen.
+     * @throws IllegalArgumentException
+     *             Falls das maximale Gesamtgewicht kleiner als 1 ist.
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedCache(final long maximumWeight, final EvictionPolicy policy,
+            final ToIntBiFunction<? super K, ? super V> weigher) {
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("The maximum weight must be at least 1: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = Objects.requireNonNull(weigher);
+        final int segmentCount = (int) Math.min(MAX_SEGMENTS,
+                Long.highestOneBit(Math.max(1, maximumWeight / MIN_SEGMENT_WEIGHT)));
+        segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Der Rest der Division wird auf die ersten Segmente verteilt.
+            final long capacity = maximumWeight / segmentCount + (i < maximumWeight % segmentCount ? 1 : 0);
+            segments[i] = new Segment<>(Objects.requireNonNull(policy), capacity, evictions);
+        }
+    }
+
+    /**
+     * Streut den Hashwert eines Schlüssels.
+     *
+     * @param key
+     *            Schlüssel, dessen Hashwert gestreut werden soll.
+     * @return Gestreuter Hashwert des Schlüssels.
+     */
+    private static int spread(final Object key) {
+        final int hash = key.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Gibt das Segment zurück, das für den Hashwert eines Schlüssels zuständig ist.
+     *
+     * @param hash
+     *            Gestreuter Hashwert des Schlüssels.
+     * @return Zuständiges Segment.
+     */
+    private Segment<K, V> segmentFor(final int hash) {
+        return segments[(hash >>> 24) & (segments.length - 1)];
+    }
+
+    /**
+     * Gibt den Wert zu dem übergebenen Schlüssel zurück.
+     *
+     * @param key
+     *            Gesuchter Schlüssel.
+     * @return Wert zu dem Schlüssel oder null, falls der Cache keinen Eintrag zu dem Schlüssel enthält.
+     */
+    public V get(final K key) {
+        final int hash = spread(key);
+        final V value = segmentFor(hash).get(key, hash);
+        (value == null ? misses : hits).increment();
+        return value;
+    }
+
+    /**
+     * Legt den Wert zu dem übergebenen Schlüssel im Cache ab. Übersteigt das Gewicht des Eintrags die Kapazität
+     * seines Segments, wird er sofort wieder verdrängt.
+     *
+     * @param key
+     *            Schlüssel des Eintrags.
+     * @param value
+     *            Wert des Eintrags.
+     * @throws IllegalArgumentException
+     *             Falls das Gewicht des Eintrags negativ ist.
+     */
+    public void put(final K key, final V value) {
+        Objects.requireNonNull(value);
+        final int hash = spread(key);
+        segmentFor(hash).put(key, value, weigh(key, value), hash);
+    }
+
+    /**
+     * Gibt den Wert zu dem übergebenen Schlüssel zurück. Enthält der Cache noch keinen Eintrag zu dem Schlüssel, wird
+     * der Wert über die übergebene Funktion erzeugt und im Cache abgelegt. Die Funktion wird unter der Sperre des
+     * zuständigen Segments aufgerufen, so dass der Wert zu einem Schlüssel auch bei gleichzeitigen Zugriffen nur
+     * einmal erzeugt wird. Sie sollte daher kurz sein und darf nicht selbst auf den Cache zugreifen.
+     *
+     * @param key
+     *            Schlüssel des Eintrags.
+     * @param mappingFunction
+     *            Funktion zur Erzeugung des Werts für einen noch nicht enthaltenen Schlüssel. Liefert sie null, wird
+     *            kein Eintrag abgelegt.
+     * @return Bisheriger oder neu erzeugter Wert zu dem Schlüssel.
+     * @throws IllegalArgumentException
+     *             Falls das Gewicht des neuen Eintrags negativ ist.
+     */
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        final int hash = spread(key);
+        final Segment<K, V> segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            final V existing = segment.get(key, hash);
+            if (existing != null) {
+                hits.increment();
+                return existing;
+            }
+            misses.increment();
+            final V value = mappingFunction.apply(key);
+            if (value != null) {
+                // Der Zugriff wurde bereits beim Lesen vermerkt.
+                segment.insert(key, value, weigh(key, value), hash);
+            }
+            return value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Ermittelt das Gewicht eines Eintrags.
+     *
+     * @param key
+     *            Schlüssel des Eintrags.
+     * @param value
+     *            Wert des Eintrags.
+     * @return Gewicht des Eintrags.
+     * @throws IllegalArgumentException
+     *             Falls das Gewicht negativ ist.
+     */
+    private int weigh(final K key, final V value) {
+        final int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("The weight of an entry must not be negative: " + weight);
+        }
+        return weight;
+    }
+
+    /**
+     * Entfernt den Eintrag zu dem übergebenen Schlüssel aus dem Cache.
+     *
+     * @param key
+     *            Schlüssel des zu entfernenden Eintrags.
+     * @return Bisheriger Wert zu dem Schlüssel oder null, falls der Cache keinen Eintrag zu dem Schlüssel enthielt.
+     */
+    public V remove(final K key) {
+        final int hash = spread(key);
+        return segmentFor(hash).remove(key);
+    }
+
+    /**
+     * Entfernt alle Einträge aus dem Cache. Die Zähler bleiben dabei erhalten.
+     */
+    public void clear() {
+        for (final Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Einträge im Cache zurück.
+     *
+     * @return Anzahl der Einträge im Cache.
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gibt die Anzahl der Zähler zurück, die für die Schätzung der Zugriffshäufigkeiten belegt sind.
+     *
+     * @return Anzahl der Zähler aller Segmente oder 0 bei LRU-Verdrängung.
+     */
+    long sketchSize() {
+        long size = 0;
+        for (final Segment<K, V> segment : segments) {
+            size += segment.sketchSize();
+        }
+        return size;
+    }
+
+    /**
+     * Gibt das Gesamtgewicht der Einträge im Cache zurück.
+     *
+     * @return Gesamtgewicht der Einträge im Cache.
+     */
+    public long getWeight() {
+        long weight = 0;
+        for (final Segment<K, V> segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    /**
+     * Gibt das maximale Gesamtgewicht der Einträge zurück.
+     *
+     * @return Maximales Gesamtgewicht der Einträge.
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Gibt die Anzahl der Zugriffe zurück, bei denen ein Wert im Cache gefunden wurde.
+     *
+     * @return Anzahl der Treffer.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gibt die Anzahl der Zugriffe zurück, bei denen kein Wert im Cache gefunden wurde.
+     *
+     * @return Anzahl der Fehlgriffe.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gibt die Anzahl der Einträge zurück, die aus Platzmangel aus dem Cache verdrängt wurden.
+     *
+     * @return Anzahl der verdrängten Einträge.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Strategien für die Auswahl der zu verdrängenden Einträge.
+     *
+     * @author Christoph Lembeck
+     */
+    public enum EvictionPolicy {
+
+        /**
+         * Verdrängt den Eintrag, auf den am längsten nicht mehr zugegriffen wurde.
+         */
+        LRU,
+
+        /**
+         * Neue Einträge werden zunächst in einem kleinen LRU-Fenster abgelegt. Fallen sie aus dem Fenster heraus,
+         * werden sie nur dann in den Hauptbereich übernommen, wenn auf ihren Schlüssel in letzter Zeit häufiger
+         * zugegriffen wurde als auf den Schlüssel, der dafür aus dem Hauptbereich verdrängt werden müsste. Die
+         * Zugriffshäufigkeiten werden dazu mit geringem Speicherbedarf in einem Count-Min-Sketch geschätzt, dessen
+         * Zähler regelmäßig halbiert werden. Häufig benötigte Einträge werden so nicht durch einmalige Zugriffe auf
+         * viele verschiedene Schlüssel verdrängt.
+         */
+        TINY_LFU
+    }
+
+    /**
+     * Eintrag des Caches mit Wert und Gewicht.
+     *
+     * @author Christoph Lembeck
+     *
+     * @param <V>
+     *            Typ des Werts.
+     */
+    private static final class Entry<V> {
+
+        /**
+         * Wert des Eintrags.
+         */
+        private final V value;
+
+        /**
+         * Gewicht des Eintrags.
+         */
+        private final int weight;
+
+        /**
+         * Gestreuter Hashwert des Schlüssels.
+         */
+        private final int hash;
+
+        /**
+         * Erzeugt einen neuen Eintrag.
+         *
+         * @param value
+         *            Wert des Eintrags.
+         * @param weight
+         *            Gewicht des Eintrags.
+         * @param hash
+         *            Gestreuter Hashwert des Schlüssels.
+         */
+        private Entry(final V value, final int weight, final int hash) {
+            this.value = value;
+            this.weight = weight;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Segment des Caches mit eigener Sperre. Bei LRU-Verdrängung werden alle Einträge in einer nach Zugriffen
+     * sortierten Map gehalten. Bei TinyLFU-Verdrängung gibt es zusätzlich ein kleines Fenster für neue Einträge.
+     *
+     * @author Christoph Lembeck
+     *
+     * @param <K>
+     *            Typ der Schlüssel.
+     * @param <V>
+     *            Typ der Werte.
+     */
+    private static final class Segment<K, V> {
+
+        /**
+         * Anteil des Fensters an der Kapazität eines Segments bei TinyLFU-Verdrängung in Prozent.
+         */
+        private static final int WINDOW_PERCENT = 1;
+
+        /**
+         * Sperre des Segments.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Nach Zugriffen sortierte Einträge des Hauptbereichs, der älteste Zugriff zuerst.
+         */
+        private final Map<K, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * Nach Zugriffen sortierte Einträge des Fensters oder null bei LRU-Verdrängung.
+         */
+        private final Map<K, Entry<V>> window;
+
+        /**
+         * Geschätzte Zugriffshäufigkeiten oder null bei LRU-Verdrängung.
+         */
+        private final FrequencySketch sketch;
+
+        /**
+         * Maximales Gewicht des Hauptbereichs.
+         */
+        private final long mainCapacity;
+
+        /**
+         * Maximales Gewicht des Fensters.
+         */
+        private final long windowCapacity;
+
+        /**
+         * Zähler für die verdrängten Einträge.
+         */
+        private final LongAdder evictions;
+
+        /**
+         * Aktuelles Gewicht des Hauptbereichs.
+         */
+        private long mainWeight;
+
+        /**
+         * Aktuelles Gewicht des Fensters.
+         */
+        private long windowWeight;
+
+        /**
+         * Erzeugt ein neues Segment.
+         *
+         * @param policy
+         *            Strategie für die Auswahl der zu verdrängenden Einträge.
+         * @param capacity
+         *            Maximales Gewicht des Segments.
+         * @param evictions
+         *            Zähler für die verdrängten Einträge.
+         */
+        private Segment(final EvictionPolicy policy, final long capacity, final LongAdder evictions) {
+            this.evictions = evictions;
+            if (policy == EvictionPolicy.TINY_LFU) {
+                window = new LinkedHashMap<>(16, 0.75f, true);
+                sketch = new FrequencySketch();
+                windowCapacity = Math.max(1, capacity * WINDOW_PERCENT / 100);
+                mainCapacity = capacity - windowCapacity;
+            } else {
+                window = null;
+                sketch = null;
+                windowCapacity = 0;
+                mainCapacity = capacity;
+            }
+        }
+
+        /**
+         * Gibt den Wert zu dem übergebenen Schlüssel zurück und vermerkt den Zugriff.
+         *
+         * @param key
+         *            Gesuchter Schlüssel.
+         * @param hash
+         *            Gestreuter Hashwert des Schlüssels.
+         * @return Wert zu dem Schlüssel oder null, falls das Segment keinen Eintrag zu dem Schlüssel enthält.
+         */
+        private V get(final K key, final int hash) {
+            lock.lock();
+            try {
+                Entry<V> entry = null;
+                if (sketch != null) {
+                    sketch.increment(hash);
+                    entry = window.get(key);
+                }
+                if (entry == null) {
+                    entry = main.get(key);
+                }
+                return entry == null ? null : entry.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Legt einen Eintrag im Segment ab und verdrängt bei Bedarf andere Einträge.
+         *
+         * @param key
+         *            Schlüssel des Eintrags.
+         * @param value
+         *            Wert des Eintrags.
+         * @param weight
+         *            Gewicht des Eintrags.
+         * @param hash
+         *            Gestreuter Hashwert des Schlüssels.
+         */
+        private void put(final K key, final V value, final int weight, final int hash) {
+            lock.lock();
+            try {
+                if (sketch != null) {
+                    sketch.increment(hash);
+                }
+                insert(key, value, weight, hash);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Legt einen Eintrag im Segment ab, ohne einen Zugriff zu vermerken, und verdrängt bei Bedarf andere
+         * Einträge. Darf nur unter der Sperre des Segments aufgerufen werden.
+         *
+         * @param key
+         *            Schlüssel des Eintrags.
+         * @param value
+         *            Wert des Eintrags.
+         * @param weight
+         *            Gewicht des Eintrags.
+         * @param hash
+         *            Gestreuter Hashwert des Schlüssels.
+         */
+        private void insert(final K key, final V value, final int weight, final int hash) {
+            removeEntry(key);
+            final Entry<V> entry = new Entry<>(value, weight, hash);
+            if (sketch == null) {
+                admit(key, entry);
+            } else {
+                window.put(key, entry);
+                windowWeight += weight;
+                // Der Sketch wächst mit der Anzahl der Einträge, da das Gewicht nichts über deren Anzahl aussagt.
+                sketch.ensureCapacity(main.size() + window.size());
+                while (windowWeight > windowCapacity) {
+                    final Iterator<Map.Entry<K, Entry<V>>> eldest = window.entrySet().iterator();
+                    final Map.Entry<K, Entry<V>> candidate = eldest.next();
+                    eldest.remove();
+                    windowWeight -= candidate.getValue().weight;
+                    admit(candidate.getKey(), candidate.getValue());
+                }
+            }
+        }
+
+        /**
+         * Übernimmt einen Eintrag in den Hauptbereich. Solange dessen Kapazität überschritten ist, wird der Eintrag
+         * mit dem ältesten Zugriff verdrängt. Bei TinyLFU-Verdrängung wird vorher einmalig entschieden, ob der neue
+         * Eintrag überhaupt aufgenommen wird: Er wird verworfen, falls er allein die Kapazität übersteigt oder auf
+         * seinen Schlüssel nicht häufiger zugegriffen wurde als auf den des ältesten Eintrags. Ein abgelehnter Eintrag
+         * verdrängt so keine anderen Einträge.
+         *
+         * @param key
+         *            Schlüssel des Eintrags.
+         * @param candidate
+         *            Zu übernehmender Eintrag.
+         */
+        private void admit(final K key, final Entry<V> candidate) {
+            if (sketch != null && mainWeight + candidate.weight > mainCapacity
+                    && (candidate.weight > mainCapacity || sketch.frequency(candidate.hash) <= sketch
+                            .frequency(main.values().iterator().next().hash))) {
+                evictions.increment();
+                return;
+            }
+            main.put(key, candidate);
+            mainWeight += candidate.weight;
+            final Iterator<Entry<V>> iterator = main.values().iterator();
+            while (mainWeight > mainCapacity) {
+                final Entry<V> victim = iterator.next();
+                iterator.remove();
+                mainWeight -= victim.weight;
+                evictions.increment();
+            }
+        }
+
+        /**
+         * Entfernt den Eintrag zu dem übergebenen Schlüssel aus dem Segment.
+         *
+         * @param key
+         *            Schlüssel des zu entfernenden Eintrags.
+         * @return Bisheriger Wert zu dem Schlüssel oder null, falls das Segment keinen Eintrag zu dem Schlüssel
+         *         enthielt.
+         */
+        private V remove(final K key) {
+            lock.lock();
+            try {
+                return removeEntry(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Entfernt den Eintrag zu dem übergebenen Schlüssel aus dem Segment. Darf nur unter der Sperre des Segments
+         * aufgerufen werden.
+         *
+         * @param key
+         *            Schlüssel des zu entfernenden Eintrags.
+         * @return Bisheriger Wert zu dem Schlüssel oder null, falls das Segment keinen Eintrag zu dem Schlüssel
+         *         enthielt.
+         */
+        private V removeEntry(final K key) {
+            if (window != null) {
+                final Entry<V> entry = window.remove(key);
+                if (entry != null) {
+                    windowWeight -= entry.weight;
+                    return entry.value;
+                }
+            }
+            final Entry<V> entry = main.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            mainWeight -= entry.weight;
+            return entry.value;
+        }
+
+        /**
+         * Entfernt alle Einträge aus dem Segment.
+         */
+        private void clear() {
+            lock.lock();
+            try {
+                main.clear();
+                mainWeight = 0;
+                if (window != null) {
+                    window.clear();
+                    windowWeight = 0;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gibt die Anzahl der Einträge im Segment zurück.
+         *
+         * @return Anzahl der Einträge im Segment.
+         */
+        private int size() {
+            lock.lock();
+            try {
+                return main.size() + (window == null ? 0 : window.size());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gibt die Anzahl der Zähler des Sketches zurück.
+         *
+         * @return Anzahl der Zähler des Sketches oder 0 bei LRU-Verdrängung.
+         */
+        private int sketchSize() {
+            lock.lock();
+            try {
+                return sketch == null ? 0 : sketch.table.length;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gibt das Gesamtgewicht der Einträge im Segment zurück.
+         *
+         * @return Gesamtgewicht der Einträge im Segment.
+         */
+        private long weight() {
+            lock.lock();
+            try {
+                return mainWeight + windowWeight;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Count-Min-Sketch zur Schätzung der Zugriffshäufigkeiten von Schlüsseln. Jeder Schlüssel wird auf vier Zähler
+     * abgebildet, von denen bei einem Zugriff nur die kleinsten erhöht werden. Die geschätzte Häufigkeit ist das
+     * Minimum der vier Zähler. Die Zähler sind auf 15 begrenzt und werden halbiert, sobald die Anzahl der vermerkten
+     * Zugriffe das Zehnfache der Anzahl der Einträge erreicht, damit früher häufige Schlüssel nicht dauerhaft
+     * bevorzugt werden. Der Sketch beginnt klein und wächst mit der Anzahl der Einträge im Segment.
+     *
+     * @author Christoph Lembeck
+     */
+    private static final class FrequencySketch {
+
+        /**
+         * Anzahl der Zähler je Schlüssel.
+         */
+        private static final int DEPTH = 4;
+
+        /**
+         * Anzahl der Zähler je erwartetem Eintrag. Bei zu wenigen Zählern teilen sich zu viele Schlüssel dieselben
+         * Zähler, so dass selten genutzte Schlüssel als häufig genutzt erscheinen.
+         */
+        private static final int COUNTERS_PER_ENTRY = 16;
+
+        /**
+         * Mindestanzahl der Zähler.
+         */
+        private static final int MIN_COUNTERS = 64;
+
+        /**
+         * Maximale Anzahl der Zähler.
+         */
+        private static final int MAX_COUNTERS = 1 << 24;
+
+        /**
+         * Maximaler Wert eines Zählers.
+         */
+        private static final int MAX_COUNT = 15;
+
+        /**
+         * Startwerte für die Berechnung der vier Positionen eines Schlüssels.
+         */
+        private static final int[] SEEDS = { 0x97CB3127, 0xB4B82E39, 0x2545F491, 0x8F3F73B5 };
+
+        /**
+         * Zähler des Sketches.
+         */
+        private byte[] table = new byte[MIN_COUNTERS];
+
+        /**
+         * Anzahl der vermerkten Zugriffe, nach der die Zähler halbiert werden.
+         */
+        private int sampleSize = MIN_COUNTERS;
+
+        /**
+         * Anzahl der seit dem letzten Halbieren vermerkten Zugriffe.
+         */
+        private int additions;
+
+        /**
+         * Vergrößert den Sketch, falls er für die übergebene Anzahl von Einträgen zu klein ist. Die Tabelle wird dabei
+         * mindestens verdoppelt, so dass sie nur selten neu angelegt wird. Da die Position eines Zählers in der
+         * größeren Tabelle in den unteren Bits mit der bisherigen Position übereinstimmt, werden die bisherigen Zähler
+         * in jeden Abschnitt der neuen Tabelle kopiert. Die geschätzten Häufigkeiten bleiben so beim Wachsen erhalten.
+         *
+         * @param entries
+         *            Aktuelle Anzahl der Einträge im Segment.
+         */
+        private void ensureCapacity(final int entries) {
+            final long counters = Math.min(MAX_COUNTERS, (long) entries * COUNTERS_PER_ENTRY);
+            if (counters <= table.length) {
+                return;
+            }
+            final byte[] newTable = new byte[(int) Long.highestOneBit(counters - 1) << 1];
+            for (int offset = 0; offset < newTable.length; offset += table.length) {
+                System.arraycopy(table, 0, newTable, offset, table.length);
+            }
+            table = newTable;
+            sampleSize = 10 * (table.length / COUNTERS_PER_ENTRY);
+        }
+
+        /**
+         * Ermittelt die Position eines der Zähler eines Schlüssels.
+         *
+         * @param hash
+         *            Gestreuter Hashwert des Schlüssels.
+         * @param row
+         *            Nummer des Zählers.
+         * @return Position des Zählers in der Tabelle.
+         */
+        private int index(final int hash, final int row) {
+            int result = (hash + SEEDS[row]) * SEEDS[row];
+            result ^= result >>> 17;
+            return result & (table.length - 1);
+        }
+
+        /**
+         * Vermerkt einen Zugriff auf einen Schlüssel.
+         *
+         * @param hash
+         *            Gestreuter Hashwert des Schlüssels.
+         */
+        private void increment(final int hash) {
+            final int frequency = frequency(hash);
+            if (frequency < MAX_COUNT) {
+                for (int row = 0; row < DEPTH; row++) {
+                    final int index = index(hash, row);
+                    if (table[index] == frequency) {
+                        table[index]++;
+                    }
+                }
+            }
+            if (++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] >>= 1;
+                }
+                additions >>= 1;
+            }
+        }
+
+        /**
+         * Gibt die geschätzte Zugriffshäufigkeit eines Schlüssels zurück.
+         *
+         * @param hash
+         *            Gestreuter Hashwert des Schlüssels.
+         * @return Geschätzte Anzahl der Zugriffe auf den Schlüssel seit dem letzten Halbieren der Zähler.
+         */
+        private int frequency(final int hash) {
+            int result = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                result = Math.min(result, table[index(hash, row)]);
+            }
+            return result;
+        }
+    }
+}
@@ -1,6 +1,17 @@
 package de.chrlembeck.util.collections;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Some utility methods around any kinds of collections.
@@ -24,4 +35,337 @@ public class CollectionsUtil {
     public static <E> boolean isNullOrEmpty(final Collection<E> collection) {
         return collection == null || collection.isEmpty();
     }
+
+    /**
+     * Splits the list into consecutive batches of the given size. The batches are views on the original list created
+     * via {@link List#subList(int, int)}, so no elements are copied. The last batch may be smaller than the batch size.
+     * Structural changes of the original list lead to undefined results of the returned list and its batches.
+     * 
+     * @param list
+     *            List to be split.
+     * @param batchSize
+     *            Maximum number of elements in each batch.
+     * @param <T>
+     *            Type of the elements in the list.
+     * @return Unmodifiable list of the batches.
+     * @throws IllegalArgumentException
+     *             If the batch size is less than 1.
+     */
+    public static <T> List<List<T>> partition(final List<T> list, final int batchSize) {
+        checkBatchSize(batchSize);
+        return new Partition<>(list, batchSize);
+    }
+
+    /**
+     * Creates a spliterator that combines the elements of the source spliterator into batches of the given size. The
+     * returned spliterator can be split for parallel processing as long as the source spliterator can be split. Each
+     * batch is filled only when it is requested, so the source is never materialized as a whole. If the source is a
+     * list, {@code partition(list, batchSize).spliterator()} provides the same batches without copying the elements.
+     * 
+     * @param source
+     *            Spliterator providing the elements.
+     * @param batchSize
+     *            Maximum number of elements in each batch.
+     * @param <T>
+     *            Type of the elements.
+     * @return Spliterator over the batches.
+     * @throws IllegalArgumentException
+     *             If the batch size is less than 1.
+     */
+    public static <T> Spliterator<List<T>> chunkedSpliterator(final Spliterator<T> source, final int batchSize) {
+        checkBatchSize(batchSize);
+        return new ChunkedSpliterator<>(source, batchSize);
+    }
+
+    /**
+     * Processes the elements of the collection in batches on the given executor. At most two batches per available
+     * processor are in flight at the same time.
+     * 
+     * @param collection
+     *            Collection to be processed.
+     * @param batchSize
+     *            Maximum number of elements in each batch.
+     * @param action
+     *            Action that is called once for each batch.
+     * @param executor
+     *            Executor running the action.
+     * @param <T>
+     *            Type of the elements in the collection.
+     * @throws InterruptedException
+     *             If the calling thread is interrupted while waiting for the batches to complete.
+     * @throws CompletionException
+     *             If the action failed for any of the batches. The cause is the first exception thrown by the action.
+     * @see #parallelForEachBatch(Collection, int, Consumer, Executor, int)
+     */
+    public static <T> void parallelForEachBatch(final Collection<T> collection, final int batchSize,
+            final Consumer<? super List<T>> action, final Executor executor) throws InterruptedException {
+        parallelForEachBatch(collection, batchSize, action, executor, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Processes the elements of the collection in batches on the given executor. The number of submitted but not yet
+     * completed batches is bounded by {@code maxInFlight}, so the calling thread blocks as soon as the executor falls
+     * behind and never creates more batches than can be processed. For random access lists the batches are views on
+     * the list, for all other collections each batch is collected into a new list while iterating. The method returns
+     * after all submitted batches have completed. If the action fails for a batch, no further batches are submitted.
+     * 
+     * @param collection
+     *            Collection to be processed.
+     * @param batchSize
+     *            Maximum number of elements in each batch.
+     * @param action
+     *            Action that is called once for each batch.
+     * @param executor
+     *            Executor running the action.
+     * @param maxInFlight
+     *            Maximum number of batches that are processed concurrently or wait for execution.
+     * @param <T>
+     *            Type of the elements in the collection.
+     * @throws InterruptedException
+     *             If the calling thread is interrupted while waiting for the batches to complete.
+     * @throws CompletionException
+     *             If the action failed for any of the batches. The cause is the first exception thrown by the action.
+     * @throws IllegalArgumentException
+     *             If the batch size or the maximum number of batches in flight is less than 1.
+     */
+    public static <T> void parallelForEachBatch(final Collection<T> collection, final int batchSize,
+            final Consumer<? super List<T>> action, final Executor executor, final int maxInFlight)
+            throws InterruptedException {
+        checkBatchSize(batchSize);
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("The maximum number of batches in flight must be at least 1: "
+                    + maxInFlight);
+        }
+        final Semaphore permits = new Semaphore(maxInFlight);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Iterator<List<T>> batches = collection instanceof List && collection instanceof RandomAccess
+                ? partition((List<T>) collection, batchSize).iterator()
+                : new BatchIterator<>(collection.iterator(), batchSize);
+        try {
+            while (failure.get() == null && batches.hasNext()) {
+                final List<T> batch = batches.next();
+                permits.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            action.accept(batch);
+                        } catch (final RuntimeException | Error e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (final RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+        } finally {
+            // Wait for the running batches, so the caller never observes concurrent access after returning.
+            permits.acquire(maxInFlight);
+        }
+        if (failure.get() != null) {
+            throw new CompletionException(failure.get());
+        }
+    }
+
+    /**
+     * Checks the batch size.
+     * 
+     * @param batchSize
+     *            Batch size to be checked.
+     * @throws IllegalArgumentException
+     *             If the batch size is less than 1.
+     */
+    private static void checkBatchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1: " + batchSize);
+        }
+    }
+
+    /**
+     * List of consecutive sub list views of a list.
+     * 
+     * @author Christoph Lembeck
+     *
+     * @param <T>
+     *            Type of the elements in the list.
+     */
+    private static final class Partition<T> extends AbstractList<List<T>> implements RandomAccess {
+
+        /**
+         * List to be split.
+         */
+        private final List<T> list;
+
+        /**
+         * Maximum number of elements in each batch.
+         */
+        private final int batchSize;
+
+        /**
+         * Creates a new partition of the list.
+         * 
+         * @param list
+         *            List to be split.
+         * @param batchSize
+         *            Maximum number of elements in each batch.
+         */
+        private Partition(final List<T> list, final int batchSize) {
+            this.list = list;
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public List<T> get(final int index) {
+            final int from = index * batchSize;
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return list.subList(from, Math.min(list.size(), from + batchSize));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return (int) (((long) list.size() + batchSize - 1) / batchSize);
+        }
+    }
+
+    /**
+     * Iterator collecting the elements of another iterator into batches.
+     * 
+     * @author Christoph Lembeck
+     *
+     * @param <T>
+     *            Type of the elements.
+     */
+    private static final class BatchIterator<T> implements Iterator<List<T>> {
+
+        /**
+         * Iterator providing the elements.
+         */
+        private final Iterator<T> source;
+
+        /**
+         * Maximum number of elements in each batch.
+         */
+        private final int batchSize;
+
+        /**
+         * Creates a new iterator over the batches.
+         * 
+         * @param source
+         *            Iterator providing the elements.
+         * @param batchSize
+         *            Maximum number of elements in each batch.
+         */
+        private BatchIterator(final Iterator<T> source, final int batchSize) {
+            this.source = source;
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return source.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public List<T> next() {
+            final List<T> batch = new ArrayList<>(batchSize);
+            do {
+                batch.add(source.next());
+            } while (batch.size() < batchSize && source.hasNext());
+            return batch;
+        }
+    }
+
+    /**
+     * Spliterator combining the elements of another spliterator into batches.
+     * 
+     * @author Christoph Lembeck
+     *
+     * @param <T>
+     *            Type of the elements.
+     */
+    private static final class ChunkedSpliterator<T> implements Spliterator<List<T>> {
+
+        /**
+         * Spliterator providing the elements.
+         */
+        private final Spliterator<T> source;
+
+        /**
+         * Maximum number of elements in each batch.
+         */
+        private final int batchSize;
+
+        /**
+         * Creates a new spliterator over the batches.
+         * 
+         * @param source
+         *            Spliterator providing the elements.
+         * @param batchSize
+         *            Maximum number of elements in each batch.
+         */
+        private ChunkedSpliterator(final Spliterator<T> source, final int batchSize) {
+            this.source = source;
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean tryAdvance(final Consumer<? super List<T>> action) {
+            final List<T> batch = new ArrayList<>((int) Math.min(batchSize, source.estimateSize()));
+            final Consumer<T> collector = batch::add;
+            boolean more = true;
+            while (more && batch.size() < batchSize) {
+                more = source.tryAdvance(collector);
+            }
+            if (batch.isEmpty()) {
+                return false;
+            }
+            action.accept(batch);
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Spliterator<List<T>> trySplit() {
+            final Spliterator<T> prefix = source.trySplit();
+            return prefix == null ? null : new ChunkedSpliterator<>(prefix, batchSize);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long estimateSize() {
+            final long size = source.estimateSize();
+            return size == Long.MAX_VALUE ? Long.MAX_VALUE : (size + batchSize - 1) / batchSize;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int characteristics() {
+            return (source.characteristics() & Spliterator.ORDERED) | Spliterator.NONNULL;
+        }
+    }
 }
\ No newline at end of file
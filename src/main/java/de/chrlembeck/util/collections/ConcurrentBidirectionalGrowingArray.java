@@ -0,0 +1,269 @@
+package de.chrlembeck.util.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Threadsichere Variante des {@link BidirectionalGrowingArray}. Lesende Zugriffe erfolgen ohne Sperren über einen
+ * unveränderlichen Schnappschuss von Array und Indexbereich, der über eine volatile Referenz veröffentlicht wird.
+ * Schreibende Zugriffe werden über eine Sperre serialisiert. Muss das Array vergrößert werden, wird der Inhalt in ein
+ * neues, größeres Array kopiert und erst danach als neuer Schnappschuss veröffentlicht, so dass lesende Threads
+ * niemals ein unvollständiges Array zu sehen bekommen.
+ * <p>
+ * Das interne Array wird beim Vergrößern mit zusätzlichem Platz in Wachstumsrichtung angelegt, so dass fortlaufend
+ * wachsende Indizes, wie sie z.B. bei Zeitreihen auftreten, nur selten zu einer Kopie führen.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <T>
+ *            Typ der Elemente in dem Array.
+ */
+public class ConcurrentBidirectionalGrowingArray<T> implements Iterable<T> {
+
+    /**
+     * Mindestanzahl zusätzlicher Plätze, die beim Vergrößern in Wachstumsrichtung angelegt werden.
+     */
+    private static final int MIN_GROWTH = 16;
+
+    /**
+     * Sperre für die Serialisierung der schreibenden Zugriffe.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Aktueller Schnappschuss des Arrays, über den alle lesenden Zugriffe erfolgen.
+     */
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile Snapshot<T> snapshot;
+
+    /**
+     * Erzeugt ein neues dynamisches Array beginnend beim Index 0.
+     */
+    public ConcurrentBidirectionalGrowingArray() {
+        this(0);
+    }
+
+    /**
+     * Erzeugt ein neues dynamisches Array beginnend beim gewünschten Startindex.
+     *
+     * @param startIndex
+     *            Initialer linker Rand oder kleinster Index des Arrays.
+     */
+    public ConcurrentBidirectionalGrowingArray(final int startIndex) {
+        this.snapshot = new Snapshot<>(new AtomicReferenceArray<>(0), startIndex, startIndex, 0);
+    }
+
+    /**
+     * Gibt das Element an der gewünschten Position innerhalb des Arrays wieder, ohne dabei eine Sperre anzufordern.
+     * Liegt die Position neben den Arraygrenzen, wird null zurückgegeben.
+     *
+     * @param index
+     *            Index des gewünschten Elements aus dem Array.
+     * @return Element an der Arrayposition oder null, falls dort kein Wert hinterlegt ist oder der Index außerhalb der
+     *         Arraygrenzen liegt.
+     */
+    public T get(final int index) {
+        return snapshot.get(index);
+    }
+
+    /**
+     * Legt den übergebenen Wert an der gewünschten Position im Array ab. Liegt die Position außerhalb der Arraygrenzen,
+     * wird das Array automatisch erweitert.
+     *
+     * @param index
+     *            Position, an der der Wert abgelegt werden soll.
+     * @param newValue
+     *            Wert, der in dem Array gespeichert werden soll.
+     * @return Bisheriger Wert an der Arrayposition oder null, falls dort noch kein Wert hinterlegt war.
+     */
+    public T put(final int index, final T newValue) {
+        writeLock.lock();
+        try {
+            final Snapshot<T> current = snapshot;
+            if (current.length > 0 && index >= current.minIndex
+                    && (long) index - current.minIndex < current.length) {
+                return current.array.getAndSet(index - current.arrayOffset, newValue);
+            }
+            grow(index, newValue);
+            return null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Erweitert das Array um den gewünschten, bisher außerhalb der Arraygrenzen liegenden Index und legt dort den
+     * übergebenen Wert ab. Reicht der Platz im internen Array nicht aus, wird ein neues Array angelegt und der
+     * bisherige Inhalt hineinkopiert. Der neue Schnappschuss wird erst veröffentlicht, nachdem der Wert abgelegt wurde,
+     * so dass lesende Threads innerhalb der Arraygrenzen den neuen Wert sehen. Darf nur unter der Schreibsperre
+     * aufgerufen werden.
+     *
+     * @param index
+     *            Index, um den das Array erweitert werden soll.
+     * @param newValue
+     *            Wert, der an dem Index abgelegt werden soll.
+     */
+    private void grow(final int index, final T newValue) {
+        final Snapshot<T> current = snapshot;
+        // Wie beim BidirectionalGrowingArray beginnt der Indexbereich auch bei einem leeren Array am Startindex.
+        final long newMin = Math.min(current.minIndex, index);
+        final long newMax = Math.max((long) current.minIndex + current.length - 1, index);
+        final int newLength = (int) (newMax - newMin + 1);
+        final long internalIndex = (long) index - current.arrayOffset;
+        final Snapshot<T> result;
+        if (internalIndex >= 0 && internalIndex < current.array.length()) {
+            // Platz ist vorhanden, es muss nur der Indexbereich erweitert werden.
+            result = new Snapshot<>(current.array, current.arrayOffset, (int) newMin, newLength);
+        } else {
+            // In Wachstumsrichtung wird zusätzlicher Platz angelegt, auf der anderen Seite bleibt der bisherige
+            // Platz erhalten.
+            final int growth = Math.max(MIN_GROWTH, newLength >> 1);
+            final long leftSpace = index < current.minIndex || current.length == 0 ? growth
+                    : (long) current.minIndex - current.arrayOffset;
+            final long rightSpace = index > current.maxIndex() || current.length == 0 ? growth
+                    : (long) current.arrayOffset + current.array.length() - 1 - current.maxIndex();
+            final long capacity = Math.min(Integer.MAX_VALUE - 8L, newLength + leftSpace + rightSpace);
+            final long arrayOffset = Math.max(Integer.MIN_VALUE, newMin - Math.min(leftSpace,
+                    capacity - newLength));
+            final AtomicReferenceArray<T> newArray = new AtomicReferenceArray<>((int) capacity);
+            for (int i = 0; i < current.length; i++) {
+                final int logicalIndex = current.minIndex + i;
+                newArray.lazySet((int) (logicalIndex - arrayOffset), current.get(logicalIndex));
+            }
+            result = new Snapshot<>(newArray, (int) arrayOffset, (int) newMin, newLength);
+        }
+        result.array.set(index - result.arrayOffset, newValue);
+        snapshot = result;
+    }
+
+    /**
+     * Gibt den kleinsten und größten genutzen ArrayIndex des Arrays zurück. Beide Indizes befinden sich babei noch
+     * innerhalb des Arrays.
+     *
+     * @return Zweielementige Array mit dem kleinsten und größten noch im Array befindlichen Index.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls das Array leer ist.
+     */
+    public int[] getRange() throws ArrayIndexOutOfBoundsException {
+        final Snapshot<T> current = snapshot;
+        if (current.length == 0) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        return new int[] { current.minIndex, current.maxIndex() };
+    }
+
+    /**
+     * Gibt die aktuelle Länge des Arrays zurück.
+     *
+     * @return Aktuelle Länge des Arrays.
+     */
+    public int size() {
+        return snapshot.length;
+    }
+
+    /**
+     * Erzeugt einen Iterator über die Elemente des Arrays. Der Iterator arbeitet auf dem zum Zeitpunkt seiner
+     * Erzeugung aktuellen Indexbereich und liefert für diesen die jeweils aktuellen Werte. Er wirft niemals eine
+     * {@link java.util.ConcurrentModificationException}.
+     *
+     * @return Iterator über die Elemente des Arrays.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        final Snapshot<T> current = snapshot;
+        return new Iterator<T>() {
+
+            private int pos;
+
+            @Override
+            public boolean hasNext() {
+                return pos < current.length;
+            }
+
+            @Override
+            public T next() {
+                if (hasNext()) {
+                    return get(current.minIndex + pos++);
+                } else {
+                    throw new NoSuchElementException();
+                }
+            }
+        };
+    }
+
+    /**
+     * Unveränderlicher Zustand des Arrays, bestehend aus dem internen Array und dem genutzten Indexbereich.
+     *
+     * @author Christoph Lembeck
+     *
+     * @param <T>
+     *            Typ der Elemente in dem Array.
+     */
+    private static final class Snapshot<T> {
+
+        /**
+         * Internes Array zur Speicherung der enthaltenen Daten.
+         */
+        private final AtomicReferenceArray<T> array;
+
+        /**
+         * Logischer Index, der der ersten Position im internen Array entspricht.
+         */
+        private final int arrayOffset;
+
+        /**
+         * Kleinster Index des genutzten Bereichs.
+         */
+        private final int minIndex;
+
+        /**
+         * Länge des genutzten Bereichs.
+         */
+        private final int length;
+
+        /**
+         * Erzeugt einen neuen Schnappschuss.
+         *
+         * @param array
+         *            Internes Array zur Speicherung der enthaltenen Daten.
+         * @param arrayOffset
+         *            Logischer Index, der der ersten Position im internen Array entspricht.
+         * @param minIndex
+         *            Kleinster Index des genutzten Bereichs.
+         * @param length
+         *            Länge des genutzten Bereichs.
+         */
+        private Snapshot(final AtomicReferenceArray<T> array, final int arrayOffset, final int minIndex,
+                final int length) {
+            this.array = array;
+            this.arrayOffset = arrayOffset;
+            this.minIndex = minIndex;
+            this.length = length;
+        }
+
+        /**
+         * Gibt den größten Index des genutzten Bereichs zurück.
+         *
+         * @return Größter Index des genutzten Bereichs.
+         */
+        private int maxIndex() {
+            return minIndex + length - 1;
+        }
+
+        /**
+         * Liest das Element an der gewünschten Position aus dem internen Array.
+         *
+         * @param index
+         *            Index des gewünschten Elements.
+         * @return Element an der Arrayposition oder null, falls dort kein Wert hinterlegt ist oder der Index außerhalb
+         *         der Arraygrenzen liegt.
+         */
+        private T get(final int index) {
+            final long internalIndex = (long) index - arrayOffset;
+            return internalIndex < 0 || internalIndex >= array.length() ? null : array.get((int) internalIndex);
+        }
+    }
+}
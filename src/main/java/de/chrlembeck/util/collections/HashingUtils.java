@@ -0,0 +1,160 @@
+package de.chrlembeck.util.collections;
+
+/**
+ * Gemeinsame Hilfsmethoden der auf primitive Schlüssel spezialisierten Hash-Collections mit offener Adressierung. Die
+ * Collections verwenden Tabellen, deren Größe immer eine Zweierpotenz ist, und lineares Sondieren. Damit benachbarte
+ * Schlüssel, wie sie z.B. bei fortlaufend vergebenen Ids entstehen, nicht in zusammenhängenden Blöcken der Tabelle
+ * landen, werden die Schlüssel vor der Maskierung mit einer multiplikativen Hashfunktion gestreut.
+ *
+ * @author Christoph Lembeck
+ */
+final class HashingUtils {
+
+    /**
+     * Standardwert für den Füllgrad, ab dem die Tabelle vergrößert wird.
+     */
+    static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    /**
+     * Standardwert für die erwartete Anzahl von Einträgen.
+     */
+    static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    /**
+     * Maximale Größe einer Tabelle.
+     */
+    static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Verhindert das Erzeugen von Instanzen.
+     */
+    private HashingUtils() {
+        // Hilfsklasse ohne Instanzen
+    }
+
+    /**
+     * Streut einen long-Schlüssel über den Wertebereich eines int.
+     *
+     * @param key
+     *            Zu streuender Schlüssel.
+     * @return Hashwert des Schlüssels.
+     */
+    static int mix(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Streut einen int-Schlüssel über den Wertebereich eines int.
+     *
+     * @param key
+     *            Zu streuender Schlüssel.
+     * @return Hashwert des Schlüssels.
+     */
+    static int mix(final int key) {
+        final int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Streut einen long-Schlüssel über den gesamten Wertebereich eines long, so dass jedes Bit des Ergebnisses von
+     * allen Bits des Schlüssels abhängt. Verwendet wird der Finalisierungsschritt von MurmurHash3.
+     *
+     * @param key
+     *            Zu streuender Schlüssel.
+     * @return 64-Bit-Hashwert des Schlüssels.
+     */
+    static long avalanche(final long key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Prüft den Füllgrad auf Gültigkeit.
+     *
+     * @param loadFactor
+     *            Zu prüfender Füllgrad.
+     * @throws IllegalArgumentException
+     *             Falls der Füllgrad nicht größer als 0 und kleiner als 1 ist.
+     */
+    static void checkLoadFactor(final float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("The load factor must be between 0 and 1 (exclusive): " + loadFactor);
+        }
+    }
+
+    /**
+     * Ermittelt die Tabellengröße, die für die erwartete Anzahl von Einträgen benötigt wird.
+     *
+     * @param expectedSize
+     *            Erwartete Anzahl von Einträgen.
+     * @param loadFactor
+     *            Füllgrad, ab dem die Tabelle vergrößert wird.
+     * @return Kleinste Zweierpotenz, bei der die Einträge den Füllgrad nicht überschreiten.
+     * @throws IllegalArgumentException
+     *             Falls die erwartete Anzahl negativ ist.
+     */
+    static int capacityFor(final int expectedSize, final float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("The expected size must not be negative: " + expectedSize);
+        }
+        final long required = Math.max(2L, (long) Math.ceil(expectedSize / (double) loadFactor));
+        if (required >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    /**
+     * Ermittelt die Anzahl der Einträge, ab der eine Tabelle der übergebenen Größe vergrößert werden muss. Damit das
+     * Sondieren immer terminiert, bleibt dabei mindestens ein Platz der Tabelle frei.
+     *
+     * @param capacity
+     *            Größe der Tabelle.
+     * @param loadFactor
+     *            Füllgrad, ab dem die Tabelle vergrößert wird.
+     * @return Maximale Anzahl von Einträgen in der Tabelle.
+     */
+    static int threshold(final int capacity, final float loadFactor) {
+        return Math.min(capacity - 1, (int) Math.ceil(capacity * (double) loadFactor));
+    }
+
+    /**
+     * Ermittelt die Größe der Tabelle beim Vergrößern.
+     *
+     * @param capacity
+     *            Bisherige Größe der Tabelle.
+     * @return Neue Größe der Tabelle.
+     * @throws IllegalStateException
+     *             Falls die Tabelle bereits ihre maximale Größe erreicht hat.
+     */
+    static int grow(final int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("The hash table has reached its maximum capacity.");
+        }
+        return capacity << 1;
+    }
+
+    /**
+     * Prüft, ob ein Eintrag beim Entfernen eines anderen Eintrags auf dessen Platz zurückgeschoben werden darf. Das ist
+     * der Fall, wenn der freie Platz beim Sondieren ab der Wunschposition des Eintrags nicht nach dessen aktuellem
+     * Platz erreicht wird.
+     *
+     * @param ideal
+     *            Wunschposition des Eintrags.
+     * @param free
+     *            Freigewordener Platz in der Tabelle.
+     * @param current
+     *            Aktueller Platz des Eintrags.
+     * @param mask
+     *            Bitmaske zur Begrenzung der Positionen auf die Tabellengröße.
+     * @return true, falls der Eintrag auf den freien Platz verschoben werden darf.
+     */
+    static boolean canShift(final int ideal, final int free, final int current, final int mask) {
+        return ((current - ideal) & mask) >= ((current - free) & mask);
+    }
+}
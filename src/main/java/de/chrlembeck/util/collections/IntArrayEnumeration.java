@@ -0,0 +1,175 @@
+package de.chrlembeck.util.collections;
+
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Enumeration über die Inhalte eines int-Arrays. Neben dem Enumeration Interface für ältere Schnittstellen
+ * implementiert die Klasse auch {@link PrimitiveIterator.OfInt} und {@link Spliterator.OfInt}, so dass die Werte ohne
+ * Boxing gelesen und ohne Kopie über {@link java.util.stream.StreamSupport#intStream(Spliterator.OfInt, boolean)}
+ * parallel verarbeitet werden können. Optional kann die Enumeration auf einen Teilbereich des Arrays beschränkt
+ * werden.
+ *
+ * @author Christoph Lembeck
+ */
+@SuppressWarnings("PMD.ReplaceEnumerationWithIterator")
+public class IntArrayEnumeration implements Enumeration<Integer>, PrimitiveIterator.OfInt, Spliterator.OfInt {
+
+    /**
+     * Referenz auf das Array, über das iteriert werden soll.
+     */
+    private final int[] array;
+
+    /**
+     * Aktuelle Position innerhalb des Arrays.
+     */
+    private int currentIndex;
+
+    /**
+     * Position hinter dem letzten Element des Bereichs, über den iteriert werden soll.
+     */
+    private final int fence;
+
+    /**
+     * Erstellt eine neue Enumeration über das übergebene Array.
+     * 
+     * @param array
+     *            Array, über das iteriert werden soll.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    public IntArrayEnumeration(final int... array) {
+        this.array = array;
+        this.fence = array.length;
+    }
+
+    /**
+     * Erstellt eine neue Enumeration über einen Teilbereich des übergebenen Arrays.
+     * 
+     * @param array
+     *            Array, über das iteriert werden soll.
+     * @param from
+     *            Index des ersten Elements des Bereichs.
+     * @param to
+     *            Index hinter dem letzten Element des Bereichs.
+     * @throws IllegalArgumentException
+     *             Falls from größer als to ist.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls from kleiner als 0 oder to größer als die Länge des Arrays ist.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    public IntArrayEnumeration(final int[] array, final int from, final int to) {
+        ArrayEnumeration.checkRange(array.length, from, to);
+        this.array = array;
+        this.currentIndex = from;
+        this.fence = to;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasMoreElements() {
+        return fence > currentIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer nextElement() {
+        return nextInt();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        return fence > currentIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int nextInt() {
+        if (fence > currentIndex) {
+            return array[currentIndex++];
+        }
+        throw new NoSuchElementException("The enumeration has no more elements.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAdvance(final IntConsumer action) {
+        if (fence > currentIndex) {
+            action.accept(array[currentIndex++]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+        final int end = fence;
+        for (int i = currentIndex; i < end; i++) {
+            action.accept(array[i]);
+        }
+        currentIndex = end;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachRemaining(final Consumer<? super Integer> action) {
+        if (action instanceof IntConsumer) {
+            forEachRemaining((IntConsumer) action);
+        } else {
+            forEachRemaining((IntConsumer) action::accept);
+        }
+    }
+
+    /**
+     * Teilt die verbleibenden Elemente in zwei Hälften. Die vordere Hälfte wird von der zurückgegebenen Enumeration
+     * geliefert, die hintere Hälfte verbleibt in dieser Enumeration.
+     * 
+     * @return Enumeration über die vordere Hälfte der verbleibenden Elemente oder null, falls weniger als zwei Elemente
+     *         verbleiben.
+     */
+    @Override
+    public IntArrayEnumeration trySplit() {
+        final int start = currentIndex;
+        final int mid = (start + fence) >>> 1;
+        if (start >= mid) {
+            return null;
+        }
+        currentIndex = mid;
+        return new IntArrayEnumeration(array, start, mid);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() {
+        return (long) fence - currentIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int characteristics() {
+        return ArrayEnumeration.CHARACTERISTICS;
+    }
+}
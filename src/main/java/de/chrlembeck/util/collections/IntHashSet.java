@@ -0,0 +1,281 @@
+package de.chrlembeck.util.collections;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Menge von int-Werten, die ohne Boxing und ohne Objekte je Eintrag auskommt. Die Werte werden in einem einzigen
+ * int-Array gespeichert, das über offene Adressierung mit linearem Sondieren organisiert ist. Der Wert 0 kennzeichnet
+ * freie Plätze der Tabelle und wird daher gesondert über ein Flag verwaltet. Beim Entfernen werden die nachfolgenden
+ * Einträge zurückgeschoben, so dass keine Löschmarkierungen entstehen und die Suchzeiten auch nach vielen Löschungen
+ * kurz bleiben.
+ * <p>
+ * Die Klasse ist nicht threadsicher.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ */
+public class IntHashSet {
+
+    /**
+     * Füllgrad, ab dem die Tabelle vergrößert wird.
+     */
+    private final float loadFactor;
+
+    /**
+     * Tabelle mit den Werten ungleich 0. Freie Plätze enthalten den Wert 0.
+     */
+    private int[] keys;
+
+    /**
+     * Bitmaske zur Begrenzung der Positionen auf die Tabellengröße.
+     */
+    private int mask;
+
+    /**
+     * Anzahl der Werte in der Tabelle, ab der diese vergrößert wird.
+     */
+    private int threshold;
+
+    /**
+     * Anzahl der Werte ungleich 0 in der Tabelle.
+     */
+    private int tableSize;
+
+    /**
+     * Gibt an, ob der Wert 0 in der Menge enthalten ist.
+     */
+    private boolean containsZero;
+
+    /**
+     * Erzeugt eine neue, leere Menge.
+     */
+    public IntHashSet() {
+        this(HashingUtils.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Erzeugt eine neue, leere Menge, die die erwartete Anzahl von Werten ohne Vergrößerung aufnehmen kann.
+     *
+     * @param expectedSize
+     *            Erwartete Anzahl von Werten.
+     */
+    public IntHashSet(final int expectedSize) {
+        this(expectedSize, HashingUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Erzeugt eine neue, leere Menge, die die erwartete Anzahl von Werten ohne Vergrößerung aufnehmen kann.
+     *
+     * @param expectedSize
+     *            Erwartete Anzahl von Werten.
+     * @param loadFactor
+     *            Füllgrad, ab dem die Tabelle vergrößert wird. Kleinere Werte verkürzen die Suchzeiten auf Kosten des
+     *            Speicherbedarfs.
+     * @throws IllegalArgumentException
+     *             Falls die erwartete Anzahl negativ ist oder der Füllgrad nicht zwischen 0 und 1 liegt.
+     */
+    public IntHashSet(final int expectedSize, final float loadFactor) {
+        HashingUtils.checkLoadFactor(loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(HashingUtils.capacityFor(expectedSize, loadFactor));
+    }
+
+    /**
+     * Legt eine neue, leere Tabelle der gewünschten Größe an.
+     *
+     * @param capacity
+     *            Größe der Tabelle.
+     */
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        threshold = HashingUtils.threshold(capacity, loadFactor);
+    }
+
+    /**
+     * Fügt den Wert zur Menge hinzu.
+     *
+     * @param key
+     *            Hinzuzufügender Wert.
+     * @return true, falls der Wert noch nicht in der Menge enthalten war.
+     * @throws IllegalStateException
+     *             Falls die Tabelle ihre maximale Größe erreicht hat.
+     */
+    public boolean add(final int key) {
+        if (key == 0) {
+            final boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        int slot = HashingUtils.mix(key) & mask;
+        int current = keys[slot];
+        while (current != 0) {
+            if (current == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        keys[slot] = key;
+        if (++tableSize >= threshold) {
+            rehash(HashingUtils.grow(keys.length));
+        }
+        return true;
+    }
+
+    /**
+     * Prüft, ob der Wert in der Menge enthalten ist.
+     *
+     * @param key
+     *            Gesuchter Wert.
+     * @return true, falls der Wert in der Menge enthalten ist.
+     */
+    public boolean contains(final int key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        int slot = HashingUtils.mix(key) & mask;
+        int current = keys[slot];
+        while (current != 0) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        return false;
+    }
+
+    /**
+     * Entfernt den Wert aus der Menge.
+     *
+     * @param key
+     *            Zu entfernender Wert.
+     * @return true, falls der Wert in der Menge enthalten war.
+     */
+    public boolean remove(final int key) {
+        if (key == 0) {
+            final boolean removed = containsZero;
+            containsZero = false;
+            return removed;
+        }
+        int slot = HashingUtils.mix(key) & mask;
+        int current = keys[slot];
+        while (current != 0) {
+            if (current == key) {
+                shiftBack(slot);
+                tableSize--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        return false;
+    }
+
+    /**
+     * Schließt die Lücke, die durch das Entfernen eines Werts entsteht, indem nachfolgende Werte, deren Sondierfolge
+     * über die Lücke führt, zurückgeschoben werden.
+     *
+     * @param removedSlot
+     *            Platz des entfernten Werts.
+     */
+    private void shiftBack(final int removedSlot) {
+        int free = removedSlot;
+        int slot = (free + 1) & mask;
+        int current = keys[slot];
+        while (current != 0) {
+            if (HashingUtils.canShift(HashingUtils.mix(current) & mask, free, slot, mask)) {
+                keys[free] = current;
+                free = slot;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        keys[free] = 0;
+    }
+
+    /**
+     * Überträgt alle Werte in eine neue Tabelle der gewünschten Größe.
+     *
+     * @param capacity
+     *            Größe der neuen Tabelle.
+     */
+    private void rehash(final int capacity) {
+        final int[] oldKeys = keys;
+        allocate(capacity);
+        for (final int key : oldKeys) {
+            if (key != 0) {
+                int slot = HashingUtils.mix(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Werte in der Menge zurück.
+     *
+     * @return Anzahl der Werte in der Menge.
+     */
+    public int size() {
+        return containsZero ? tableSize + 1 : tableSize;
+    }
+
+    /**
+     * Prüft, ob die Menge leer ist.
+     *
+     * @return true, falls die Menge keine Werte enthält.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Entfernt alle Werte aus der Menge. Die Größe der Tabelle bleibt dabei erhalten.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        tableSize = 0;
+        containsZero = false;
+    }
+
+    /**
+     * Übergibt alle Werte der Menge in nicht festgelegter Reihenfolge an den Consumer.
+     *
+     * @param action
+     *            Consumer, der für jeden Wert der Menge aufgerufen wird.
+     */
+    public void forEach(final IntConsumer action) {
+        if (containsZero) {
+            action.accept(0);
+        }
+        for (final int key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Gibt alle Werte der Menge in nicht festgelegter Reihenfolge als Array zurück.
+     *
+     * @return Neues Array mit allen Werten der Menge.
+     */
+    public int[] toArray() {
+        final int[] result = new int[size()];
+        int pos = 0;
+        if (containsZero) {
+            pos++;
+        }
+        for (final int key : keys) {
+            if (key != 0) {
+                result[pos++] = key;
+            }
+        }
+        return result;
+    }
+}
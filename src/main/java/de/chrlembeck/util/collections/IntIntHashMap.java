@@ -0,0 +1,365 @@
+package de.chrlembeck.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * Map mit int-Schlüsseln und int-Werten, die ohne Boxing und ohne Objekte je Eintrag auskommt. Schlüssel und Werte
+ * werden in zwei parallelen Arrays gespeichert, die über offene Adressierung mit linearem Sondieren organisiert sind.
+ * Der Schlüssel 0 kennzeichnet freie Plätze der Tabelle und wird daher gesondert verwaltet. Beim Entfernen werden die
+ * nachfolgenden Einträge zurückgeschoben, so dass keine Löschmarkierungen entstehen.
+ * <p>
+ * Da ein primitiver Rückgabewert nicht null sein kann, liefern die Zugriffsmethoden für fehlende Einträge einen beim
+ * Erzeugen der Map festgelegten Ersatzwert. Die Klasse ist nicht threadsicher.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ */
+public class IntIntHashMap {
+
+    /**
+     * Füllgrad, ab dem die Tabelle vergrößert wird.
+     */
+    private final float loadFactor;
+
+    /**
+     * Wert, der für fehlende Einträge zurückgegeben wird.
+     */
+    private final int missingValue;
+
+    /**
+     * Tabelle mit den Schlüsseln ungleich 0. Freie Plätze enthalten den Schlüssel 0.
+     */
+    private int[] keys;
+
+    /**
+     * Werte zu den Schlüsseln an der jeweils gleichen Position in {@link #keys}.
+     */
+    private int[] values;
+
+    /**
+     * Bitmaske zur Begrenzung der Positionen auf die Tabellengröße.
+     */
+    private int mask;
+
+    /**
+     * Anzahl der Einträge in der Tabelle, ab der diese vergrößert wird.
+     */
+    private int threshold;
+
+    /**
+     * Anzahl der Einträge mit Schlüsseln ungleich 0 in der Tabelle.
+     */
+    private int tableSize;
+
+    /**
+     * Gibt an, ob ein Eintrag mit dem Schlüssel 0 vorhanden ist.
+     */
+    private boolean containsZeroKey;
+
+    /**
+     * Wert zum Schlüssel 0.
+     */
+    private int zeroValue;
+
+    /**
+     * Erzeugt eine neue, leere Map, die für fehlende Einträge den Wert 0 liefert.
+     */
+    public IntIntHashMap() {
+        this(HashingUtils.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Erzeugt eine neue, leere Map, die die erwartete Anzahl von Einträgen ohne Vergrößerung aufnehmen kann und für
+     * fehlende Einträge den Wert 0 liefert.
+     *
+     * @param expectedSize
+     *            Erwartete Anzahl von Einträgen.
+     */
+    public IntIntHashMap(final int expectedSize) {
+        this(expectedSize, HashingUtils.DEFAULT_LOAD_FACTOR, 0);
+    }
+
+    /**
+     * Erzeugt eine neue, leere Map, die die erwartete Anzahl von Einträgen ohne Vergrößerung aufnehmen kann.
+     *
+     * @param expectedSize
+     *            Erwartete Anzahl von Einträgen.
+     * @param loadFactor
+     *            Füllgrad, ab dem die Tabelle vergrößert wird. Kleinere Werte verkürzen die Suchzeiten auf Kosten des
+     *            Speicherbedarfs.
+     * @param missingValue
+     *            Wert, der für fehlende Einträge zurückgegeben wird.
+     * @throws IllegalArgumentException
+     *             Falls die erwartete Anzahl negativ ist oder der Füllgrad nicht zwischen 0 und 1 liegt.
+     */
+    public IntIntHashMap(final int expectedSize, final float loadFactor, final int missingValue) {
+        HashingUtils.checkLoadFactor(loadFactor);
+        this.loadFactor = loadFactor;
+        this.missingValue = missingValue;
+        allocate(HashingUtils.capacityFor(expectedSize, loadFactor));
+    }
+
+    /**
+     * Legt eine neue, leere Tabelle der gewünschten Größe an.
+     *
+     * @param capacity
+     *            Größe der Tabelle.
+     */
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = HashingUtils.threshold(capacity, loadFactor);
+    }
+
+    /**
+     * Ermittelt den Platz eines Schlüssels ungleich 0 in der Tabelle.
+     *
+     * @param key
+     *            Gesuchter Schlüssel.
+     * @return Platz des Schlüssels oder -1, falls der Schlüssel nicht in der Tabelle enthalten ist.
+     */
+    private int findSlot(final int key) {
+        int slot = HashingUtils.mix(key) & mask;
+        int current = keys[slot];
+        while (current != 0) {
+            if (current == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        return -1;
+    }
+
+    /**
+     * Gibt den Wert zum übergebenen Schlüssel zurück.
+     *
+     * @param key
+     *            Gesuchter Schlüssel.
+     * @return Wert zum Schlüssel oder der Ersatzwert für fehlende Einträge, falls die Map keinen Eintrag zu dem
+     *         Schlüssel enthält.
+     */
+    public int get(final int key) {
+        if (key == 0) {
+            return containsZeroKey ? zeroValue : missingValue;
+        }
+        final int slot = findSlot(key);
+        return slot < 0 ? missingValue : values[slot];
+    }
+
+    /**
+     * Prüft, ob die Map einen Eintrag zu dem übergebenen Schlüssel enthält.
+     *
+     * @param key
+     *            Gesuchter Schlüssel.
+     * @return true, falls die Map einen Eintrag zu dem Schlüssel enthält.
+     */
+    public boolean containsKey(final int key) {
+        return key == 0 ? containsZeroKey : findSlot(key) >= 0;
+    }
+
+    /**
+     * Legt den Wert zu dem übergebenen Schlüssel in der Map ab.
+     *
+     * @param key
+     *            Schlüssel des Eintrags.
+     * @param value
+     *            Wert des Eintrags.
+     * @return Bisheriger Wert zu dem Schlüssel oder der Ersatzwert für fehlende Einträge, falls die Map noch keinen
+     *         Eintrag zu dem Schlüssel enthielt.
+     * @throws IllegalStateException
+     *             Falls die Tabelle ihre maximale Größe erreicht hat.
+     */
+    public int put(final int key, final int value) {
+        return update(key, value, false);
+    }
+
+    /**
+     * Addiert den übergebenen Wert zu dem Wert des Schlüssels. Enthält die Map noch keinen Eintrag zu dem Schlüssel,
+     * wird der Wert zum Ersatzwert für fehlende Einträge addiert. Die Methode eignet sich damit z.B. für Zähler.
+     *
+     * @param key
+     *            Schlüssel des Eintrags.
+     * @param delta
+     *            Zu addierender Wert.
+     * @return Neuer Wert zu dem Schlüssel.
+     * @throws IllegalStateException
+     *             Falls die Tabelle ihre maximale Größe erreicht hat.
+     */
+    public int addTo(final int key, final int delta) {
+        return update(key, delta, true) + delta;
+    }
+
+    /**
+     * Setzt den Wert zu dem übergebenen Schlüssel oder addiert ihn zu dem bisherigen Wert.
+     *
+     * @param key
+     *            Schlüssel des Eintrags.
+     * @param value
+     *            Neuer oder zu addierender Wert.
+     * @param add
+     *            true, falls der Wert addiert werden soll, false, falls er den bisherigen Wert ersetzen soll.
+     * @return Bisheriger Wert zu dem Schlüssel oder der Ersatzwert für fehlende Einträge.
+     */
+    private int update(final int key, final int value, final boolean add) {
+        if (key == 0) {
+            final int result = containsZeroKey ? zeroValue : missingValue;
+            zeroValue = add ? result + value : value;
+            containsZeroKey = true;
+            return result;
+        }
+        int slot = HashingUtils.mix(key) & mask;
+        int current = keys[slot];
+        while (current != 0) {
+            if (current == key) {
+                final int result = values[slot];
+                values[slot] = add ? result + value : value;
+                return result;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        keys[slot] = key;
+        values[slot] = add ? missingValue + value : value;
+        if (++tableSize >= threshold) {
+            rehash(HashingUtils.grow(keys.length));
+        }
+        return missingValue;
+    }
+
+    /**
+     * Entfernt den Eintrag zu dem übergebenen Schlüssel aus der Map.
+     *
+     * @param key
+     *            Schlüssel des zu entfernenden Eintrags.
+     * @return Bisheriger Wert zu dem Schlüssel oder der Ersatzwert für fehlende Einträge, falls die Map keinen Eintrag
+     *         zu dem Schlüssel enthielt.
+     */
+    public int remove(final int key) {
+        if (key == 0) {
+            final int result = containsZeroKey ? zeroValue : missingValue;
+            containsZeroKey = false;
+            return result;
+        }
+        final int slot = findSlot(key);
+        if (slot < 0) {
+            return missingValue;
+        }
+        final int result = values[slot];
+        shiftBack(slot);
+        tableSize--;
+        return result;
+    }
+
+    /**
+     * Schließt die Lücke, die durch das Entfernen eines Eintrags entsteht, indem nachfolgende Einträge, deren
+     * Sondierfolge über die Lücke führt, zurückgeschoben werden.
+     *
+     * @param removedSlot
+     *            Platz des entfernten Eintrags.
+     */
+    private void shiftBack(final int removedSlot) {
+        int free = removedSlot;
+        int slot = (free + 1) & mask;
+        int current = keys[slot];
+        while (current != 0) {
+            if (HashingUtils.canShift(HashingUtils.mix(current) & mask, free, slot, mask)) {
+                keys[free] = current;
+                values[free] = values[slot];
+                free = slot;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        keys[free] = 0;
+        values[free] = 0;
+    }
+
+    /**
+     * Überträgt alle Einträge in eine neue Tabelle der gewünschten Größe.
+     *
+     * @param capacity
+     *            Größe der neuen Tabelle.
+     */
+    private void rehash(final int capacity) {
+        final int[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final int key = oldKeys[i];
+            if (key != 0) {
+                int slot = HashingUtils.mix(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Einträge in der Map zurück.
+     *
+     * @return Anzahl der Einträge in der Map.
+     */
+    public int size() {
+        return containsZeroKey ? tableSize + 1 : tableSize;
+    }
+
+    /**
+     * Prüft, ob die Map leer ist.
+     *
+     * @return true, falls die Map keine Einträge enthält.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Entfernt alle Einträge aus der Map. Die Größe der Tabelle bleibt dabei erhalten.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        tableSize = 0;
+        containsZeroKey = false;
+    }
+
+    /**
+     * Übergibt alle Einträge der Map in nicht festgelegter Reihenfolge an den Consumer.
+     *
+     * @param action
+     *            Consumer, der für jeden Eintrag der Map mit dessen Schlüssel und Wert aufgerufen wird.
+     */
+    public void forEach(final EntryConsumer action) {
+        if (containsZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Callback für die Verarbeitung der Einträge einer Map.
+     *
+     * @author Christoph Lembeck
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        /**
+         * Verarbeitet einen Eintrag der Map.
+         *
+         * @param key
+         *            Schlüssel des Eintrags.
+         * @param value
+         *            Wert des Eintrags.
+         */
+        void accept(int key, int value);
+    }
+}
@@ -0,0 +1,23 @@
+package de.chrlembeck.util.collections;
+
+/**
+ * Funktionales Interface für die Verarbeitung eines Objekts zusammen mit einem ganzzahligen Index. Der Index wird dabei
+ * ohne Boxing als primitiver Wert übergeben.
+ *
+ * @author Christoph Lembeck
+ * @param <T>
+ *            Typ der zu verarbeitenden Objekte.
+ */
+@FunctionalInterface
+public interface IntObjConsumer<T> {
+
+    /**
+     * Verarbeitet das übergebene Objekt zusammen mit seinem Index.
+     *
+     * @param index
+     *            Index des Objekts.
+     * @param value
+     *            Zu verarbeitendes Objekt.
+     */
+    void accept(int index, T value);
+}
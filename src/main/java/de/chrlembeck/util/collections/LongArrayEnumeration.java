@@ -0,0 +1,175 @@
+package de.chrlembeck.util.collections;
+
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Enumeration über die Inhalte eines long-Arrays. Neben dem Enumeration Interface für ältere Schnittstellen
+ * implementiert die Klasse auch {@link PrimitiveIterator.OfLong} und {@link Spliterator.OfLong}, so dass die Werte ohne
+ * Boxing gelesen und ohne Kopie über {@link java.util.stream.StreamSupport#longStream(Spliterator.OfLong, boolean)}
+ * parallel verarbeitet werden können. Optional kann die Enumeration auf einen Teilbereich des Arrays beschränkt
+ * werden.
+ *
+ * @author Christoph Lembeck
+ */
+@SuppressWarnings("PMD.ReplaceEnumerationWithIterator")
+public class LongArrayEnumeration implements Enumeration<Long>, PrimitiveIterator.OfLong, Spliterator.OfLong {
+
+    /**
+     * Referenz auf das Array, über das iteriert werden soll.
+     */
+    private final long[] array;
+
+    /**
+     * Aktuelle Position innerhalb des Arrays.
+     */
+    private int currentIndex;
+
+    /**
+     * Position hinter dem letzten Element des Bereichs, über den iteriert werden soll.
+     */
+    private final int fence;
+
+    /**
+     * Erstellt eine neue Enumeration über das übergebene Array.
+     * 
+     * @param array
+     *            Array, über das iteriert werden soll.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    public LongArrayEnumeration(final long... array) {
+        this.array = array;
+        this.fence = array.length;
+    }
+
+    /**
+     * Erstellt eine neue Enumeration über einen Teilbereich des übergebenen Arrays.
+     * 
+     * @param array
+     *            Array, über das iteriert werden soll.
+     * @param from
+     *            Index des ersten Elements des Bereichs.
+     * @param to
+     *            Index hinter dem letzten Element des Bereichs.
+     * @throws IllegalArgumentException
+     *             Falls from größer als to ist.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls from kleiner als 0 oder to größer als die Länge des Arrays ist.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    public LongArrayEnumeration(final long[] array, final int from, final int to) {
+        ArrayEnumeration.checkRange(array.length, from, to);
+        this.array = array;
+        this.currentIndex = from;
+        this.fence = to;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasMoreElements() {
+        return fence > currentIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long nextElement() {
+        return nextLong();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        return fence > currentIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextLong() {
+        if (fence > currentIndex) {
+            return array[currentIndex++];
+        }
+        throw new NoSuchElementException("The enumeration has no more elements.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAdvance(final LongConsumer action) {
+        if (fence > currentIndex) {
+            action.accept(array[currentIndex++]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachRemaining(final LongConsumer action) {
+        final int end = fence;
+        for (int i = currentIndex; i < end; i++) {
+            action.accept(array[i]);
+        }
+        currentIndex = end;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachRemaining(final Consumer<? super Long> action) {
+        if (action instanceof LongConsumer) {
+            forEachRemaining((LongConsumer) action);
+        } else {
+            forEachRemaining((LongConsumer) action::accept);
+        }
+    }
+
+    /**
+     * Teilt die verbleibenden Elemente in zwei Hälften. Die vordere Hälfte wird von der zurückgegebenen Enumeration
+     * geliefert, die hintere Hälfte verbleibt in dieser Enumeration.
+     * 
+     * @return Enumeration über die vordere Hälfte der verbleibenden Elemente oder null, falls weniger als zwei Elemente
+     *         verbleiben.
+     */
+    @Override
+    public LongArrayEnumeration trySplit() {
+        final int start = currentIndex;
+        final int mid = (start + fence) >>> 1;
+        if (start >= mid) {
+            return null;
+        }
+        currentIndex = mid;
+        return new LongArrayEnumeration(array, start, mid);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() {
+        return (long) fence - currentIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int characteristics() {
+        return ArrayEnumeration.CHARACTERISTICS;
+    }
+}
@@ -0,0 +1,312 @@
+package de.chrlembeck.util.collections;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Bloom-Filter für long-Werte. Der Filter beantwortet die Frage, ob ein Wert bereits aufgenommen wurde, mit einem
+ * Bruchteil des Speichers einer exakten Menge, kann dabei aber mit einer einstellbaren Wahrscheinlichkeit fälschlich
+ * behaupten, dass ein Wert enthalten ist. Ein tatsächlich aufgenommener Wert wird dagegen immer erkannt. Für jeden Wert
+ * werden mehrere Bits eines Bitfelds gesetzt, deren Positionen über doppeltes Hashing aus zwei voneinander
+ * unabhängigen 64-Bit-Hashwerten abgeleitet werden. Dadurch verteilen sich die Positionen auch bei Bitfeldern mit
+ * mehr als 2<sup>32</sup> Bits gleichmäßig über das gesamte Bitfeld.
+ * <p>
+ * Größe des Bitfelds und Anzahl der Hashfunktionen werden aus der erwarteten Anzahl von Werten und der gewünschten
+ * Fehlerrate berechnet. Bei einer Fehlerrate von 1% werden etwa 9,6 Bits je Wert benötigt. Das Bitfeld kann wahlweise
+ * in einem long-Array auf dem Heap oder in direkten {@link ByteBuffer}n außerhalb des Heaps liegen. Wie beim
+ * {@link AbstractOffHeapBidirectionalArray} wird der direkte Speicher nach {@link #close()} erst bei der nächsten
+ * Garbage Collection tatsächlich freigegeben. Die Klasse ist nicht threadsicher.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ */
+public class LongBloomFilter implements Closeable {
+
+    /**
+     * Zweierlogarithmus der Anzahl von long-Werten in einem Segment des Bitfelds außerhalb des Heaps.
+     */
+    private static final int SEGMENT_SHIFT = 27;
+
+    /**
+     * Bitmaske zur Ermittlung der Position eines long-Werts innerhalb seines Segments.
+     */
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    /**
+     * Maximale Anzahl von long-Werten im Bitfeld auf dem Heap.
+     */
+    private static final int MAX_HEAP_WORDS = Integer.MAX_VALUE - 8;
+
+    /**
+     * Maximale Anzahl von long-Werten im Bitfeld außerhalb des Heaps, so dass die Anzahl der Bits in einen long passt.
+     */
+    private static final long MAX_OFF_HEAP_WORDS = Long.MAX_VALUE / Long.SIZE;
+
+    /**
+     * Konstante, mit der der erste Hashwert vor der Berechnung des zweiten Hashwerts verknüpft wird.
+     */
+    private static final long SECOND_HASH_SEED = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Anzahl der Bits im Bitfeld.
+     */
+    private final long bitCount;
+
+    /**
+     * Anzahl der Bits, die für jeden Wert gesetzt werden.
+     */
+    private final int hashCount;
+
+    /**
+     * Bitfeld auf dem Heap oder null, falls das Bitfeld außerhalb des Heaps liegt.
+     */
+    private long[] words;
+
+    /**
+     * Segmente des Bitfelds außerhalb des Heaps oder null, falls das Bitfeld auf dem Heap liegt.
+     */
+    private ByteBuffer[] segments;
+
+    /**
+     * Gibt an, ob der Filter geschlossen wurde.
+     */
+    private boolean closed;
+
+    /**
+     * Erzeugt einen neuen, leeren Filter, dessen Bitfeld auf dem Heap liegt.
+     *
+     * @param expectedInsertions
+     *            Erwartete Anzahl aufzunehmender Werte.
+     * @param falsePositiveRate
+     *            Gewünschte Wahrscheinlichkeit, mit der ein nicht aufgenommener Wert nach der Aufnahme der erwarteten
+     *            Anzahl von Werten fälschlich als enthalten gemeldet wird.
+     * @throws IllegalArgumentException
+     *             Falls die erwartete Anzahl kleiner als 1 ist, die Fehlerrate nicht zwischen 0 und 1 liegt oder das
+     *             benötigte Bitfeld nicht in ein Array passt.
+     */
+    public LongBloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+        this(expectedInsertions, falsePositiveRate, false);
+    }
+
+    /**
+     * Erzeugt einen neuen, leeren Filter.
+     *
+     * @param expectedInsertions
+     *            Erwartete Anzahl aufzunehmender Werte.
+     * @param falsePositiveRate
+     *            Gewünschte Wahrscheinlichkeit, mit der ein nicht aufgenommener Wert nach der Aufnahme der erwarteten
+     *            Anzahl von Werten fälschlich als enthalten gemeldet wird.
+     * @param offHeap
+     *            true, falls das Bitfeld außerhalb des Heaps in direkten ByteBuffern liegen soll.
+     * @throws IllegalArgumentException
+     *             Falls die erwartete Anzahl kleiner als 1 ist, die Fehlerrate nicht zwischen 0 und 1 liegt oder das
+     *             benötigte Bitfeld zu groß ist.
+     */
+    public LongBloomFilter(final long expectedInsertions, final double falsePositiveRate, final boolean offHeap) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("The expected number of insertions must be at least 1: "
+                    + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("The false positive rate must lie between 0 and 1 exclusive: "
+                    + falsePositiveRate);
+        }
+        final double ln2 = Math.log(2);
+        final double optimalWords = Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2)
+                / Long.SIZE);
+        if (optimalWords > (offHeap ? MAX_OFF_HEAP_WORDS : MAX_HEAP_WORDS)) {
+            throw new IllegalArgumentException("The filter requires " + optimalWords + " words and is too large"
+                    + (offHeap ? "." : " for the heap. Use the off-heap variant instead."));
+        }
+        final long wordCount = Math.max(1, (long) optimalWords);
+        this.bitCount = wordCount * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+        if (offHeap) {
+            final int segmentCount = (int) ((wordCount + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                final long words = Math.min(SEGMENT_MASK + 1L, wordCount - ((long) i << SEGMENT_SHIFT));
+                segments[i] = ByteBuffer.allocateDirect((int) words * Long.BYTES).order(ByteOrder.nativeOrder());
+            }
+        } else {
+            words = new long[(int) wordCount];
+        }
+    }
+
+    /**
+     * Nimmt einen Wert in den Filter auf.
+     *
+     * @param value
+     *            Aufzunehmender Wert.
+     * @return true, falls der Wert sicher noch nicht enthalten war, false, falls er vermutlich bereits aufgenommen
+     *         wurde.
+     */
+    public boolean add(final long value) {
+        checkOpen();
+        final long first = firstHash(value);
+        final long second = secondHash(first);
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = probe(first, second, i, bitCount);
+            final long word = getWord(bit >>> 6);
+            final long mask = 1L << bit;
+            if ((word & mask) == 0) {
+                setWord(bit >>> 6, word | mask);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Prüft, ob ein Wert im Filter enthalten sein kann.
+     *
+     * @param value
+     *            Zu prüfender Wert.
+     * @return false, falls der Wert sicher nicht enthalten ist, true, falls er vermutlich aufgenommen wurde.
+     */
+    public boolean mightContain(final long value) {
+        checkOpen();
+        final long first = firstHash(value);
+        final long second = secondHash(first);
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = probe(first, second, i, bitCount);
+            if ((getWord(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Berechnet den ersten Hashwert eines Werts.
+     *
+     * @param value
+     *            Wert, für den die Bitpositionen bestimmt werden sollen.
+     * @return Erster 64-Bit-Hashwert.
+     */
+    static long firstHash(final long value) {
+        return HashingUtils.avalanche(value);
+    }
+
+    /**
+     * Berechnet aus dem ersten Hashwert einen davon unabhängigen zweiten Hashwert, der als Schrittweite zwischen den
+     * Bitpositionen dient. Der zweite Hashwert ist immer ungerade, damit aufeinanderfolgende Positionen nicht
+     * zusammenfallen.
+     *
+     * @param firstHash
+     *            Erster Hashwert des Werts.
+     * @return Zweiter 64-Bit-Hashwert.
+     */
+    static long secondHash(final long firstHash) {
+        return HashingUtils.avalanche(firstHash ^ SECOND_HASH_SEED) | 1;
+    }
+
+    /**
+     * Berechnet die Position des Bits für eine der Hashfunktionen.
+     *
+     * @param firstHash
+     *            Erster Hashwert des Werts.
+     * @param secondHash
+     *            Zweiter Hashwert des Werts.
+     * @param hashIndex
+     *            Nummer der Hashfunktion.
+     * @param bitCount
+     *            Anzahl der Bits im Bitfeld.
+     * @return Position des Bits im Bitfeld.
+     */
+    static long probe(final long firstHash, final long secondHash, final int hashIndex, final long bitCount) {
+        return Long.remainderUnsigned(firstHash + hashIndex * secondHash, bitCount);
+    }
+
+    /**
+     * Liest einen long-Wert des Bitfelds.
+     *
+     * @param index
+     *            Position des long-Werts im Bitfeld.
+     * @return Bits an der Position.
+     */
+    private long getWord(final long index) {
+        if (words != null) {
+            return words[(int) index];
+        }
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getLong(((int) index & SEGMENT_MASK) * Long.BYTES);
+    }
+
+    /**
+     * Schreibt einen long-Wert des Bitfelds.
+     *
+     * @param index
+     *            Position des long-Werts im Bitfeld.
+     * @param word
+     *            Neue Bits an der Position.
+     */
+    private void setWord(final long index, final long word) {
+        if (words != null) {
+            words[(int) index] = word;
+        } else {
+            segments[(int) (index >>> SEGMENT_SHIFT)].putLong(((int) index & SEGMENT_MASK) * Long.BYTES, word);
+        }
+    }
+
+    /**
+     * Entfernt alle Werte aus dem Filter.
+     */
+    public void clear() {
+        checkOpen();
+        final long wordCount = bitCount / Long.SIZE;
+        for (long i = 0; i < wordCount; i++) {
+            setWord(i, 0);
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Bits im Bitfeld zurück.
+     *
+     * @return Größe des Bitfelds in Bits.
+     */
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Gibt die Anzahl der Bits zurück, die für jeden Wert gesetzt werden.
+     *
+     * @return Anzahl der Hashfunktionen.
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Prüft, ob das Bitfeld außerhalb des Heaps liegt.
+     *
+     * @return true, falls das Bitfeld in direkten ByteBuffern liegt.
+     */
+    public boolean isOffHeap() {
+        return segments != null;
+    }
+
+    /**
+     * Gibt das Bitfeld frei. Weitere Zugriffe auf den Filter sind danach nicht mehr möglich.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        words = null;
+        segments = null;
+    }
+
+    /**
+     * Prüft, ob der Filter noch geöffnet ist.
+     *
+     * @throws IllegalStateException
+     *             Falls der Filter bereits geschlossen wurde.
+     */
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The filter has already been closed.");
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package de.chrlembeck.util.collections;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Map mit long-Schlüsseln, die ohne Boxing der Schlüssel und ohne Objekte je Eintrag auskommt. Schlüssel und Werte
+ * werden in zwei parallelen Arrays gespeichert, die über offene Adressierung mit linearem Sondieren organisiert sind.
+ * Der Schlüssel 0 kennzeichnet freie Plätze der Tabelle und wird daher gesondert verwaltet. Beim Entfernen werden die
+ * nachfolgenden Einträge zurückgeschoben, so dass keine Löschmarkierungen entstehen. Als Werte sind auch null-Werte
+ * erlaubt.
+ * <p>
+ * Die Klasse ist nicht threadsicher.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <V>
+ *            Typ der Werte in der Map.
+ */
+public class LongObjectHashMap<V> {
+
+    /**
+     * Füllgrad, ab dem die Tabelle vergrößert wird.
+     */
+    private final float loadFactor;
+
+    /**
+     * Tabelle mit den Schlüsseln ungleich 0. Freie Plätze enthalten den Schlüssel 0.
+     */
+    private long[] keys;
+
+    /**
+     * Werte zu den Schlüsseln an der jeweils gleichen Position in {@link #keys}.
+     */
+    private Object[] values;
+
+    /**
+     * Bitmaske zur Begrenzung der Positionen auf die Tabellengröße.
+     */
+    private int mask;
+
+    /**
+     * Anzahl der Einträge in der Tabelle, ab der diese vergrößert wird.
+     */
+    private int threshold;
+
+    /**
+     * Anzahl der Einträge mit Schlüsseln ungleich 0 in der Tabelle.
+     */
+    private int tableSize;
+
+    /**
+     * Gibt an, ob ein Eintrag mit dem Schlüssel 0 vorhanden ist.
+     */
+    private boolean containsZeroKey;
+
+    /**
+     * Wert zum Schlüssel 0.
+     */
+    private V zeroValue;
+
+    /**
+     * Erzeugt eine neue, leere Map.
+     */
+    public LongObjectHashMap() {
+        this(HashingUtils.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Erzeugt eine neue, leere Map, die die erwartete Anzahl von Einträgen ohne Vergrößerung aufnehmen kann.
+     *
+     * @param expectedSize
+     *            Erwartete Anzahl von Einträgen.
+     */
+    public LongObjectHashMap(final int expectedSize) {
+        this(expectedSize, HashingUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Erzeugt eine neue, leere Map, die die erwartete Anzahl von Einträgen ohne Vergrößerung aufnehmen kann.
+     *
+     * @param expectedSize
+     *            Erwartete Anzahl von Einträgen.
+     * @param loadFactor
+     *            Füllgrad, ab dem die Tabelle vergrößert wird. Kleinere Werte verkürzen die Suchzeiten auf Kosten des
+     *            Speicherbedarfs.
+     * @throws IllegalArgumentException
+     *             Falls die erwartete Anzahl negativ ist oder der Füllgrad nicht zwischen 0 und 1 liegt.
+     */
+    public LongObjectHashMap(final int expectedSize, final float loadFactor) {
+        HashingUtils.checkLoadFactor(loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(HashingUtils.capacityFor(expectedSize, loadFactor));
+    }
+
+    /**
+     * Legt eine neue, leere Tabelle der gewünschten Größe an.
+     *
+     * @param capacity
+     *            Größe der Tabelle.
+     */
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = HashingUtils.threshold(capacity, loadFactor);
+    }
+
+    /**
+     * Ermittelt den Platz eines Schlüssels ungleich 0 in der Tabelle.
+     *
+     * @param key
+     *            Gesuchter Schlüssel.
+     * @return Platz des Schlüssels oder -1, falls der Schlüssel nicht in der Tabelle enthalten ist.
+     */
+    private int findSlot(final long key) {
+        int slot = HashingUtils.mix(key) & mask;
+        long current = keys[slot];
+        while (current != 0) {
+            if (current == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        return -1;
+    }
+
+    /**
+     * Gibt den Wert zum übergebenen Schlüssel zurück.
+     *
+     * @param key
+     *            Gesuchter Schlüssel.
+     * @return Wert zum Schlüssel oder null, falls die Map keinen Eintrag zu dem Schlüssel enthält.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final long key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+        final int slot = findSlot(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * Prüft, ob die Map einen Eintrag zu dem übergebenen Schlüssel enthält.
+     *
+     * @param key
+     *            Gesuchter Schlüssel.
+     * @return true, falls die Map einen Eintrag zu dem Schlüssel enthält.
+     */
+    public boolean containsKey(final long key) {
+        return key == 0 ? containsZeroKey : findSlot(key) >= 0;
+    }
+
+    /**
+     * Legt den Wert zu dem übergebenen Schlüssel in der Map ab.
+     *
+     * @param key
+     *            Schlüssel des Eintrags.
+     * @param value
+     *            Wert des Eintrags.
+     * @return Bisheriger Wert zu dem Schlüssel oder null, falls die Map noch keinen Eintrag zu dem Schlüssel enthielt.
+     * @throws IllegalStateException
+     *             Falls die Tabelle ihre maximale Größe erreicht hat.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(final long key, final V value) {
+        if (key == 0) {
+            final V result = zeroValue;
+            zeroValue = value;
+            containsZeroKey = true;
+            return result;
+        }
+        int slot = HashingUtils.mix(key) & mask;
+        long current = keys[slot];
+        while (current != 0) {
+            if (current == key) {
+                final V result = (V) values[slot];
+                values[slot] = value;
+                return result;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        insert(slot, key, value);
+        return null;
+    }
+
+    /**
+     * Gibt den Wert zu dem übergebenen Schlüssel zurück. Enthält die Map noch keinen Eintrag zu dem Schlüssel, wird
+     * der Wert über die übergebene Funktion erzeugt und in der Map abgelegt.
+     *
+     * @param key
+     *            Schlüssel des Eintrags.
+     * @param mappingFunction
+     *            Funktion zur Erzeugung des Werts für einen noch nicht enthaltenen Schlüssel.
+     * @return Bisheriger oder neu erzeugter Wert zu dem Schlüssel.
+     * @throws IllegalStateException
+     *             Falls die Tabelle ihre maximale Größe erreicht hat.
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(final long key, final LongFunction<? extends V> mappingFunction) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                zeroValue = mappingFunction.apply(key);
+                containsZeroKey = true;
+            }
+            return zeroValue;
+        }
+        int slot = HashingUtils.mix(key) & mask;
+        long current = keys[slot];
+        while (current != 0) {
+            if (current == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        final V value = mappingFunction.apply(key);
+        insert(slot, key, value);
+        return value;
+    }
+
+    /**
+     * Legt einen neuen Eintrag auf einem freien Platz der Tabelle ab und vergrößert die Tabelle bei Bedarf.
+     *
+     * @param slot
+     *            Freier Platz, auf dem der Eintrag abgelegt wird.
+     * @param key
+     *            Schlüssel des Eintrags.
+     * @param value
+     *            Wert des Eintrags.
+     */
+    private void insert(final int slot, final long key, final V value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++tableSize >= threshold) {
+            rehash(HashingUtils.grow(keys.length));
+        }
+    }
+
+    /**
+     * Entfernt den Eintrag zu dem übergebenen Schlüssel aus der Map.
+     *
+     * @param key
+     *            Schlüssel des zu entfernenden Eintrags.
+     * @return Bisheriger Wert zu dem Schlüssel oder null, falls die Map keinen Eintrag zu dem Schlüssel enthielt.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(final long key) {
+        if (key == 0) {
+            final V result = zeroValue;
+            zeroValue = null;
+            containsZeroKey = false;
+            return result;
+        }
+        final int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        final V result = (V) values[slot];
+        shiftBack(slot);
+        tableSize--;
+        return result;
+    }
+
+    /**
+     * Schließt die Lücke, die durch das Entfernen eines Eintrags entsteht, indem nachfolgende Einträge, deren
+     * Sondierfolge über die Lücke führt, zurückgeschoben werden.
+     *
+     * @param removedSlot
+     *            Platz des entfernten Eintrags.
+     */
+    private void shiftBack(final int removedSlot) {
+        int free = removedSlot;
+        int slot = (free + 1) & mask;
+        long current = keys[slot];
+        while (current != 0) {
+            if (HashingUtils.canShift(HashingUtils.mix(current) & mask, free, slot, mask)) {
+                keys[free] = current;
+                values[free] = values[slot];
+                free = slot;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        keys[free] = 0;
+        values[free] = null;
+    }
+
+    /**
+     * Überträgt alle Einträge in eine neue Tabelle der gewünschten Größe.
+     *
+     * @param capacity
+     *            Größe der neuen Tabelle.
+     */
+    private void rehash(final int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final long key = oldKeys[i];
+            if (key != 0) {
+                int slot = HashingUtils.mix(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Einträge in der Map zurück.
+     *
+     * @return Anzahl der Einträge in der Map.
+     */
+    public int size() {
+        return containsZeroKey ? tableSize + 1 : tableSize;
+    }
+
+    /**
+     * Prüft, ob die Map leer ist.
+     *
+     * @return true, falls die Map keine Einträge enthält.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Entfernt alle Einträge aus der Map. Die Größe der Tabelle bleibt dabei erhalten.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        tableSize = 0;
+        containsZeroKey = false;
+        zeroValue = null;
+    }
+
+    /**
+     * Übergibt alle Einträge der Map in nicht festgelegter Reihenfolge an den Consumer.
+     *
+     * @param action
+     *            Consumer, der für jeden Eintrag der Map mit dessen Schlüssel und Wert aufgerufen wird.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(final EntryConsumer<? super V> action) {
+        if (containsZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Callback für die Verarbeitung der Einträge einer Map.
+     *
+     * @author Christoph Lembeck
+     *
+     * @param <V>
+     *            Typ der Werte in der Map.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Verarbeitet einen Eintrag der Map.
+         *
+         * @param key
+         *            Schlüssel des Eintrags.
+         * @param value
+         *            Wert des Eintrags.
+         */
+        void accept(long key, V value);
+    }
+}
@@ -0,0 +1,392 @@
+package de.chrlembeck.util.collections;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Dateibasierte Variante des {@link BidirectionalGrowingArray} für long-Werte. Die Werte werden direkt in einer per
+ * {@link MappedByteBuffer} eingeblendeten Datei gespeichert, so dass sämtliche Zugriffe ohne Kopieren der Daten
+ * erfolgen und der Zustand beim erneuten Öffnen der Datei sofort wieder zur Verfügung steht.
+ * <p>
+ * Die Datei beginnt mit einem Kopfbereich, in dem die Lage des internen Arrays und der genutzte Indexbereich abgelegt
+ * sind. Darauf folgen die Werte des internen Arrays. Muss das Array vergrößert werden, wird die Datei verlängert und
+ * neu eingeblendet. In Wachstumsrichtung wird dabei zusätzlicher Platz reserviert, damit weiteres Wachstum in dieselbe
+ * Richtung ohne erneute Vergrößerung möglich ist. Positionen, an denen noch kein Wert gespeichert wurde, liefern den
+ * Wert 0.
+ * </p>
+ * <p>
+ * Geschriebene Werte gelten erst nach dem Aufruf von {@link #force()} oder {@link #close()} als dauerhaft gespeichert.
+ * Die Klasse ist nicht threadsicher. Da eine eingeblendete Datei nicht größer als 2 GB werden kann, ist die Anzahl der
+ * Werte auf etwa 268 Millionen beschränkt.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ */
+public class MappedBidirectionalLongArray implements Closeable {
+
+    /**
+     * Kennung am Anfang der Datei.
+     */
+    private static final int MAGIC = 0x42474c41;
+
+    /**
+     * Version des Dateiformats.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Größe des Kopfbereichs in Bytes.
+     */
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * Position der Formatversion im Kopfbereich.
+     */
+    private static final int POS_VERSION = 4;
+
+    /**
+     * Position des logischen Index der ersten Position des internen Arrays im Kopfbereich.
+     */
+    private static final int POS_ARRAY_OFFSET = 8;
+
+    /**
+     * Position der Kapazität des internen Arrays im Kopfbereich.
+     */
+    private static final int POS_CAPACITY = 12;
+
+    /**
+     * Position des kleinsten genutzten Index im Kopfbereich.
+     */
+    private static final int POS_MIN_INDEX = 16;
+
+    /**
+     * Position der Länge des genutzten Bereichs im Kopfbereich.
+     */
+    private static final int POS_LENGTH = 20;
+
+    /**
+     * Maximale Anzahl von Werten, die in einer eingeblendeten Datei Platz finden.
+     */
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / Long.BYTES;
+
+    /**
+     * Mindestanzahl zusätzlicher Plätze, die beim Vergrößern in Wachstumsrichtung angelegt werden.
+     */
+    private static final int MIN_GROWTH = 1024;
+
+    /**
+     * Kanal zum Zugriff auf die Datei.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Eingeblendeter Inhalt der Datei oder null, nachdem das Array geschlossen wurde.
+     */
+    private MappedByteBuffer buffer;
+
+    /**
+     * Logischer Index, der der ersten Position im internen Array entspricht.
+     */
+    private int arrayOffset;
+
+    /**
+     * Anzahl der Werte, für die in der Datei Platz ist.
+     */
+    private int capacity;
+
+    /**
+     * Kleinster Index des genutzten Bereichs.
+     */
+    private int minIndex;
+
+    /**
+     * Länge des genutzten Bereichs.
+     */
+    private int length;
+
+    /**
+     * Öffnet das in der übergebenen Datei gespeicherte Array. Existiert die Datei noch nicht oder ist sie leer, wird
+     * ein neues, leeres Array angelegt.
+     *
+     * @param file
+     *            Datei, in der die Werte des Arrays gespeichert werden.
+     * @throws IOException
+     *             Falls die Datei nicht geöffnet werden kann oder kein gültiges Array enthält.
+     */
+    public MappedBidirectionalLongArray(final Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE);
+        try {
+            if (channel.size() == 0) {
+                buffer = channel.map(MapMode.READ_WRITE, 0, HEADER_SIZE);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(POS_VERSION, VERSION);
+                writeHeader();
+            } else {
+                readHeader();
+            }
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Liest den Kopfbereich einer bestehenden Datei und blendet die Datei ein.
+     *
+     * @throws IOException
+     *             Falls die Datei kein gültiges Array enthält oder nicht eingeblendet werden kann.
+     */
+    private void readHeader() throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("The file is too short to contain an array.");
+        }
+        final MappedByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt(0) != MAGIC || header.getInt(POS_VERSION) != VERSION) {
+            throw new IOException("The file does not contain an array in a supported format.");
+        }
+        arrayOffset = header.getInt(POS_ARRAY_OFFSET);
+        capacity = header.getInt(POS_CAPACITY);
+        minIndex = header.getInt(POS_MIN_INDEX);
+        length = header.getInt(POS_LENGTH);
+        if (capacity < 0 || capacity > MAX_CAPACITY || length < 0 || length > capacity
+                || (long) minIndex - arrayOffset < 0 || (long) minIndex - arrayOffset + length > capacity
+                || channel.size() < fileSize(capacity)) {
+            throw new IOException("The header of the file is corrupt.");
+        }
+        buffer = channel.map(MapMode.READ_WRITE, 0, fileSize(capacity));
+    }
+
+    /**
+     * Schreibt die Lage des internen Arrays und den genutzten Indexbereich in den Kopfbereich der Datei.
+     */
+    private void writeHeader() {
+        buffer.putInt(POS_ARRAY_OFFSET, arrayOffset);
+        buffer.putInt(POS_CAPACITY, capacity);
+        buffer.putInt(POS_MIN_INDEX, minIndex);
+        buffer.putInt(POS_LENGTH, length);
+    }
+
+    /**
+     * Berechnet die benötigte Dateigröße für die gewünschte Kapazität.
+     *
+     * @param capacity
+     *            Anzahl der Werte, die in der Datei Platz finden sollen.
+     * @return Benötigte Dateigröße in Bytes.
+     */
+    private static long fileSize(final int capacity) {
+        return HEADER_SIZE + (long) capacity * Long.BYTES;
+    }
+
+    /**
+     * Berechnet die Position eines Werts innerhalb der Datei.
+     *
+     * @param index
+     *            Logischer Index des Werts, der innerhalb des internen Arrays liegen muss.
+     * @return Position des Werts in der Datei.
+     */
+    private int position(final int index) {
+        return HEADER_SIZE + (index - arrayOffset) * Long.BYTES;
+    }
+
+    /**
+     * Gibt den Wert an der gewünschten Position innerhalb des Arrays wieder. Liegt die Position neben den Arraygrenzen,
+     * wird 0 zurückgegeben.
+     *
+     * @param index
+     *            Index des gewünschten Werts aus dem Array.
+     * @return Wert an der Arrayposition oder 0, falls dort kein Wert hinterlegt ist oder der Index außerhalb der
+     *         Arraygrenzen liegt.
+     * @throws IllegalStateException
+     *             Falls das Array bereits geschlossen wurde.
+     */
+    public long get(final int index) {
+        checkOpen();
+        if (index < minIndex || (long) index - minIndex >= length) {
+            return 0;
+        }
+        return buffer.getLong(position(index));
+    }
+
+    /**
+     * Legt den übergebenen Wert an der gewünschten Position im Array ab. Liegt die Position außerhalb der Arraygrenzen,
+     * wird das Array automatisch erweitert.
+     *
+     * @param index
+     *            Position, an der der Wert abgelegt werden soll.
+     * @param newValue
+     *            Wert, der in dem Array gespeichert werden soll.
+     * @return Bisheriger Wert an der Arrayposition oder 0, falls dort noch kein Wert hinterlegt war.
+     * @throws IOException
+     *             Falls die Datei nicht vergrößert werden kann.
+     * @throws IllegalStateException
+     *             Falls das Array bereits geschlossen wurde.
+     */
+    public long put(final int index, final long newValue) throws IOException {
+        checkOpen();
+        checkSize(index);
+        final int position = position(index);
+        final long result = buffer.getLong(position);
+        buffer.putLong(position, newValue);
+        return result;
+    }
+
+    /**
+     * Stellt sicher, dass der gewünschte Index innerhalb der Arraygrenzen liegt und vergrößert die Datei bei Bedarf.
+     *
+     * @param index
+     *            Index, dessen Vorhandensein in dem Array sichergestellt werden soll.
+     * @throws IOException
+     *             Falls die Datei nicht vergrößert werden kann.
+     */
+    private void checkSize(final int index) throws IOException {
+        if (length > 0 && index >= minIndex && (long) index - minIndex < length) {
+            return;
+        }
+        final long newMin = length == 0 ? index : Math.min(minIndex, index);
+        final long newMax = length == 0 ? index : Math.max((long) minIndex + length - 1, index);
+        final long newLength = newMax - newMin + 1;
+        if (newLength > MAX_CAPACITY) {
+            throw new IndexOutOfBoundsException("The array can not hold more than " + MAX_CAPACITY + " values.");
+        }
+        final long internalIndex = (long) index - arrayOffset;
+        if (internalIndex < 0 || internalIndex >= capacity) {
+            grow(index, (int) newMin, (int) newLength);
+        }
+        minIndex = (int) newMin;
+        length = (int) newLength;
+        writeHeader();
+    }
+
+    /**
+     * Vergrößert die Datei so, dass der gewünschte Bereich hineinpasst, und verschiebt die bestehenden Werte, falls das
+     * Array nach links wächst.
+     *
+     * @param index
+     *            Index, um den das Array erweitert werden soll.
+     * @param newMin
+     *            Kleinster Index des genutzten Bereichs nach der Erweiterung.
+     * @param newLength
+     *            Länge des genutzten Bereichs nach der Erweiterung.
+     * @throws IOException
+     *             Falls die Datei nicht vergrößert werden kann.
+     */
+    private void grow(final int index, final int newMin, final int newLength) throws IOException {
+        // In Wachstumsrichtung wird zusätzlicher Platz angelegt, auf der anderen Seite bleibt der bisherige Platz
+        // erhalten.
+        final int growth = Math.max(MIN_GROWTH, newLength >> 1);
+        final long leftSpace = length == 0 || index < minIndex ? growth : (long) minIndex - arrayOffset;
+        final long rightSpace = length == 0 || index > minIndex + length - 1 ? growth
+                : (long) arrayOffset + capacity - minIndex - length;
+        final int newCapacity = (int) Math.min(MAX_CAPACITY, newLength + leftSpace + rightSpace);
+        final int newArrayOffset = (int) Math.max(Integer.MIN_VALUE,
+                newMin - Math.min(leftSpace, newCapacity - newLength));
+        final MappedByteBuffer newBuffer = channel.map(MapMode.READ_WRITE, 0, fileSize(newCapacity));
+        final int shift = arrayOffset - newArrayOffset;
+        if (length > 0 && shift != 0) {
+            moveValues(newBuffer, shift);
+        }
+        buffer = newBuffer;
+        arrayOffset = newArrayOffset;
+        capacity = newCapacity;
+    }
+
+    /**
+     * Verschiebt die Werte des genutzten Bereichs innerhalb der Datei und setzt die frei werdenden Positionen auf 0
+     * zurück, damit sie beim späteren Erweitern des genutzten Bereichs keine alten Werte liefern.
+     *
+     * @param newBuffer
+     *            Neu eingeblendeter Inhalt der Datei.
+     * @param shift
+     *            Anzahl der Positionen, um die die Werte verschoben werden.
+     */
+    private void moveValues(final MappedByteBuffer newBuffer, final int shift) {
+        final int start = position(minIndex);
+        final int shiftBytes = shift * Long.BYTES;
+        if (shift > 0) {
+            for (int pos = start + (length - 1) * Long.BYTES; pos >= start; pos -= Long.BYTES) {
+                newBuffer.putLong(pos + shiftBytes, newBuffer.getLong(pos));
+            }
+            final int end = start + Math.min(shift, length) * Long.BYTES;
+            for (int pos = start; pos < end; pos += Long.BYTES) {
+                newBuffer.putLong(pos, 0);
+            }
+        } else {
+            final int end = start + length * Long.BYTES;
+            for (int pos = start; pos < end; pos += Long.BYTES) {
+                newBuffer.putLong(pos + shiftBytes, newBuffer.getLong(pos));
+            }
+            for (int pos = Math.max(start, end + shiftBytes); pos < end; pos += Long.BYTES) {
+                newBuffer.putLong(pos, 0);
+            }
+        }
+    }
+
+    /**
+     * Gibt den kleinsten und größten genutzen ArrayIndex des Arrays zurück. Beide Indizes befinden sich babei noch
+     * innerhalb des Arrays.
+     *
+     * @return Zweielementige Array mit dem kleinsten und größten noch im Array befindlichen Index.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls das Array leer ist.
+     */
+    public int[] getRange() throws ArrayIndexOutOfBoundsException {
+        if (length == 0) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        return new int[] { minIndex, minIndex + length - 1 };
+    }
+
+    /**
+     * Gibt die aktuelle Länge des Arrays zurück.
+     *
+     * @return Aktuelle Länge des Arrays.
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Schreibt alle Änderungen an dem Array in die Datei auf dem Speichermedium.
+     *
+     * @throws IllegalStateException
+     *             Falls das Array bereits geschlossen wurde.
+     */
+    public void force() {
+        checkOpen();
+        buffer.force();
+    }
+
+    /**
+     * Schreibt alle Änderungen an dem Array in die Datei und schließt diese. Weitere Zugriffe auf das Array sind danach
+     * nicht mehr möglich.
+     *
+     * @throws IOException
+     *             Falls beim Schließen der Datei ein Fehler auftritt.
+     */
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+            channel.close();
+        }
+    }
+
+    /**
+     * Prüft, ob das Array noch geöffnet ist.
+     *
+     * @throws IllegalStateException
+     *             Falls das Array bereits geschlossen wurde.
+     */
+    private void checkOpen() {
+        if (buffer == null) {
+            throw new IllegalStateException("The array has already been closed.");
+        }
+    }
+}
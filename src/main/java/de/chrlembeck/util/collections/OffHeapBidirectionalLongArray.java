@@ -0,0 +1,56 @@
+package de.chrlembeck.util.collections;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Variante des {@link BidirectionalGrowingArray} für long-Werte, die ihre Werte außerhalb des vom Garbage Collector
+ * verwalteten Heaps speichert. Positionen, an denen noch kein Wert gespeichert wurde, liefern den Wert 0.
+ *
+ * @author Christoph Lembeck
+ * @see AbstractOffHeapBidirectionalArray
+ */
+public class OffHeapBidirectionalLongArray extends AbstractOffHeapBidirectionalArray {
+
+    /**
+     * Erzeugt ein neues, leeres Array.
+     */
+    public OffHeapBidirectionalLongArray() {
+        super(Long.BYTES);
+    }
+
+    /**
+     * Gibt den Wert an der gewünschten Position innerhalb des Arrays wieder. Liegt die Position neben den Arraygrenzen,
+     * wird 0 zurückgegeben.
+     *
+     * @param index
+     *            Index des gewünschten Werts aus dem Array.
+     * @return Wert an der Arrayposition oder 0, falls dort kein Wert hinterlegt ist oder der Index außerhalb der
+     *         Arraygrenzen liegt.
+     * @throws IllegalStateException
+     *             Falls das Array bereits geschlossen wurde.
+     */
+    public long get(final int index) {
+        final ByteBuffer segment = getSegment(index);
+        return segment == null ? 0 : segment.getLong(byteOffset(index));
+    }
+
+    /**
+     * Legt den übergebenen Wert an der gewünschten Position im Array ab. Liegt die Position außerhalb der Arraygrenzen,
+     * wird das Array automatisch erweitert.
+     *
+     * @param index
+     *            Position, an der der Wert abgelegt werden soll.
+     * @param newValue
+     *            Wert, der in dem Array gespeichert werden soll.
+     * @return Bisheriger Wert an der Arrayposition oder 0, falls dort noch kein Wert hinterlegt war.
+     * @throws IllegalStateException
+     *             Falls das Array bereits geschlossen wurde.
+     */
+    public long put(final int index, final long newValue) {
+        final ByteBuffer segment = getOrCreateSegment(index);
+        final int offset = byteOffset(index);
+        final long result = segment.getLong(offset);
+        segment.putLong(offset, newValue);
+        return result;
+    }
+}
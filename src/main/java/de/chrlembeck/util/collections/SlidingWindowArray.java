@@ -0,0 +1,228 @@
+package de.chrlembeck.util.collections;
+
+import java.util.function.IntFunction;
+
+/**
+ * Array mit beliebigen Indizes, das wie ein gleitendes Fenster nur die letzten {@code windowSize} Indizes aufbewahrt.
+ * Im Gegensatz zum {@link BidirectionalGrowingArray} wächst das Array nicht, sondern speichert die Elemente in einem
+ * Ringpuffer fester Größe. Wird ein Element hinter dem bisher größten Index abgelegt, verschiebt sich das Fenster nach
+ * rechts und die Elemente, die dabei aus dem Fenster herausfallen, werden verworfen, ohne dass andere Elemente
+ * verschoben werden müssen. Für jedes verworfene Element ungleich null wird ein optionaler Callback aufgerufen.
+ * <p>
+ * Typischer Anwendungsfall sind zeitlich indizierte Daten, bei denen nur die Werte der letzten Zeitschritte benötigt
+ * werden.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ *
+ * @param <T>
+ *            Typ der Elemente in dem Array.
+ */
+public class SlidingWindowArray<T> {
+
+    /**
+     * Ringpuffer zur Speicherung der Elemente innerhalb des Fensters.
+     */
+    private final T[] buffer;
+
+    /**
+     * Callback, der für jedes aus dem Fenster fallende Element ungleich null aufgerufen wird, oder null.
+     */
+    private final IntObjConsumer<? super T> evictionListener;
+
+    /**
+     * Größter Index, der bisher geschrieben wurde. Bildet den rechten Rand des Fensters.
+     */
+    private int maxIndex;
+
+    /**
+     * Kleinster Index innerhalb des Fensters, der bisher geschrieben wurde.
+     */
+    private int minIndex;
+
+    /**
+     * Gibt an, ob bereits ein Element in das Array geschrieben wurde.
+     */
+    private boolean empty = true;
+
+    /**
+     * Erzeugt ein neues Array mit der gewünschten Fenstergröße.
+     *
+     * @param arrayProducer
+     *            Funktion zur Erzeugung von Arrays des Typs T.
+     * @param windowSize
+     *            Anzahl der Indizes, die das Fenster umfasst.
+     * @throws IllegalArgumentException
+     *             Falls die Fenstergröße kleiner als 1 ist.
+     */
+    public SlidingWindowArray(final IntFunction<T[]> arrayProducer, final int windowSize) {
+        this(arrayProducer, windowSize, null);
+    }
+
+    /**
+     * Erzeugt ein neues Array mit der gewünschten Fenstergröße und einem Callback für die aus dem Fenster fallenden
+     * Elemente.
+     *
+     * @param arrayProducer
+     *            Funktion zur Erzeugung von Arrays des Typs T.
+     * @param windowSize
+     *            Anzahl der Indizes, die das Fenster umfasst.
+     * @param evictionListener
+     *            Callback, der für jedes aus dem Fenster fallende Element ungleich null mit dessen Index aufgerufen
+     *            wird. Die Elemente werden dabei in aufsteigender Reihenfolge ihrer Indizes übergeben. Kann null
+     *            sein, falls keine Benachrichtigung gewünscht ist.
+     * @throws IllegalArgumentException
+     *             Falls die Fenstergröße kleiner als 1 ist.
+     */
+    public SlidingWindowArray(final IntFunction<T[]> arrayProducer, final int windowSize,
+            final IntObjConsumer<? super T> evictionListener) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("The window size must be at least 1: " + windowSize);
+        }
+        this.buffer = arrayProducer.apply(windowSize);
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Gibt das Element an der gewünschten Position zurück. Liegt die Position außerhalb des Fensters, wird null
+     * zurückgegeben.
+     *
+     * @param index
+     *            Index des gewünschten Elements.
+     * @return Element an der Position oder null, falls dort kein Wert hinterlegt ist oder der Index außerhalb des
+     *         Fensters liegt.
+     */
+    public T get(final int index) {
+        if (empty || index < minIndex || index > maxIndex) {
+            return null;
+        }
+        return buffer[slot(index)];
+    }
+
+    /**
+     * Legt den übergebenen Wert an der gewünschten Position ab. Liegt die Position hinter dem bisher größten Index,
+     * wird das Fenster so weit verschoben, dass es an der Position endet. Die dabei herausfallenden Elemente werden
+     * verworfen.
+     *
+     * @param index
+     *            Position, an der der Wert abgelegt werden soll.
+     * @param newValue
+     *            Wert, der gespeichert werden soll.
+     * @return Bisheriger Wert an der Position oder null, falls dort noch kein Wert hinterlegt war.
+     * @throws IndexOutOfBoundsException
+     *             Falls die Position vor dem aktuellen Fenster liegt.
+     */
+    public T put(final int index, final T newValue) {
+        if (empty) {
+            minIndex = index;
+            maxIndex = index;
+            empty = false;
+        } else if (index > maxIndex) {
+            advance(index);
+        } else if ((long) maxIndex - index >= buffer.length) {
+            throw new IndexOutOfBoundsException("The index " + index + " lies before the current window ["
+                    + getWindowStart() + ", " + maxIndex + "].");
+        } else if (index < minIndex) {
+            minIndex = index;
+        }
+        final int slot = slot(index);
+        final T result = buffer[slot];
+        buffer[slot] = newValue;
+        return result;
+    }
+
+    /**
+     * Verschiebt das rechte Ende des Fensters auf den übergebenen Index und verwirft die Elemente, die dabei aus dem
+     * Fenster fallen. Der Aufwand ist durch die Anzahl der verworfenen Positionen, höchstens aber durch die
+     * Fenstergröße, beschränkt.
+     *
+     * @param newMaxIndex
+     *            Neuer größter Index des Fensters.
+     */
+    private void advance(final int newMaxIndex) {
+        final long newWindowStart = (long) newMaxIndex - buffer.length + 1;
+        final long evictTo = Math.min(newWindowStart, (long) maxIndex + 1);
+        for (long index = minIndex; index < evictTo; index++) {
+            final int slot = slot((int) index);
+            final T evicted = buffer[slot];
+            if (evicted != null) {
+                buffer[slot] = null;
+                if (evictionListener != null) {
+                    evictionListener.accept((int) index, evicted);
+                }
+            }
+        }
+        // Fällt das gesamte bisherige Fenster heraus, beginnt der genutzte Bereich neu beim geschriebenen Index.
+        minIndex = newWindowStart > maxIndex ? newMaxIndex : (int) Math.max(minIndex, newWindowStart);
+        maxIndex = newMaxIndex;
+    }
+
+    /**
+     * Ermittelt die Position eines Index im Ringpuffer.
+     *
+     * @param index
+     *            Index innerhalb des Fensters.
+     * @return Position im Ringpuffer.
+     */
+    private int slot(final int index) {
+        return Math.floorMod(index, buffer.length);
+    }
+
+    /**
+     * Gibt den kleinsten Index zurück, den das Fenster derzeit umfasst.
+     *
+     * @return Linker Rand des Fensters.
+     */
+    private int getWindowStart() {
+        return (int) Math.max(Integer.MIN_VALUE, (long) maxIndex - buffer.length + 1);
+    }
+
+    /**
+     * Gibt den genutzten Bereich des Fensters zurück. Er reicht vom kleinsten noch im Fenster liegenden, seit dem
+     * letzten vollständigen Verschieben des Fensters geschriebenen Index bis zum größten bisher geschriebenen Index.
+     *
+     * @return Zweielementiges Array mit dem kleinsten und größten Index im Fenster.
+     * @throws ArrayIndexOutOfBoundsException
+     *             Falls noch nicht in das Array geschrieben wurde.
+     */
+    public int[] getRange() throws ArrayIndexOutOfBoundsException {
+        if (empty) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        return new int[] { minIndex, maxIndex };
+    }
+
+    /**
+     * Gibt die Anzahl der Indizes zurück, die sich derzeit im Fenster befinden.
+     *
+     * @return Anzahl der Indizes im Fenster, höchstens die Fenstergröße.
+     */
+    public int size() {
+        return empty ? 0 : maxIndex - minIndex + 1;
+    }
+
+    /**
+     * Gibt die Fenstergröße zurück.
+     *
+     * @return Maximale Anzahl der Indizes, die das Array aufbewahrt.
+     */
+    public int getWindowSize() {
+        return buffer.length;
+    }
+
+    /**
+     * Übergibt alle Positionen des Fensters in aufsteigender Reihenfolge zusammen mit ihrem Index an den Consumer.
+     *
+     * @param action
+     *            Consumer, der für jede Position des Fensters mit dem Index und dem dort gespeicherten Element
+     *            aufgerufen wird.
+     */
+    public void forEach(final IntObjConsumer<? super T> action) {
+        if (empty) {
+            return;
+        }
+        for (long index = minIndex; index <= maxIndex; index++) {
+            action.accept((int) index, buffer[slot((int) index)]);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package de.chrlembeck.util.algorithm;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -31,4 +34,136 @@ public class BreathFirstSearchTest {
         Assertions.assertEquals("ab", result.get(2));
         Assertions.assertEquals("abc", result.get(3));
     }
+
+    /**
+     * Test der Breitensuche mit Menge der besuchten Zustände auf einem Gitter, in dem jeder Punkt über viele Wege
+     * erreichbar ist.
+     */
+    @Test
+    public void closedSetTest() {
+        final int size = 100;
+        // Zustände sind Punkte auf einem Gitter, kodiert als y * size + x.
+        final Function<StateWrapper<Integer>, Iterable<Integer>> stateProducer = SearchFixtures.gridProducer(size);
+        final int goal = size * size - 1;
+        final List<ClosedSet<Integer>> closedSets = Arrays.asList(ClosedSet.hashSet(), ClosedSet.byKey(pos -> pos),
+            ClosedSet.byIntKey(Integer::intValue), ClosedSet.byLongKey(Integer::longValue));
+        for (final ClosedSet<Integer> closedSet : closedSets) {
+            final int[] generated = new int[1];
+            final List<Integer> result = AlgorithmUtils.breadthFirstSearch(0, stateProducer, w -> generated[0]++,
+                w -> w.getState() == goal, closedSet);
+            Assertions.assertEquals(2 * (size - 1) + 1, result.size());
+            Assertions.assertEquals(goal, result.get(result.size() - 1).intValue());
+            Assertions.assertTrue(generated[0] <= size * size, "generated: " + generated[0]);
+        }
+        final int[] generated = new int[1];
+        Assertions.assertNull(AlgorithmUtils.breadthFirstSearch(0, stateProducer, w -> generated[0]++, w -> false,
+            ClosedSet.hashSet()));
+        Assertions.assertEquals(size * size, generated[0]);
+    }
+
+    /**
+     * Test der parallelen Breitensuche auf einem Gitter. Der gefundene Weg muss ein kürzester Weg sein.
+     */
+    @Test
+    public void parallelTest() {
+        final int size = 200;
+        final Function<StateWrapper<Integer>, Iterable<Integer>> stateProducer = SearchFixtures.gridProducer(size);
+        final int goal = size * size - 1;
+        final List<Integer> result = AlgorithmUtils.parallelBreadthFirstSearch(0, stateProducer,
+            w -> w.getState() == goal);
+        Assertions.assertEquals(2 * (size - 1) + 1, result.size());
+        Assertions.assertEquals(0, result.get(0).intValue());
+        Assertions.assertEquals(goal, result.get(result.size() - 1).intValue());
+        for (int i = 1; i < result.size(); i++) {
+            final int step = Math.abs(result.get(i) - result.get(i - 1));
+            Assertions.assertTrue(step == 1 || step == size);
+        }
+        final LongAdder generated = new LongAdder();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assertions.assertNull(AlgorithmUtils.parallelBreadthFirstSearch(0, stateProducer,
+                w -> generated.increment(), w -> false, ClosedSet.concurrentHashSet(), pool));
+        } finally {
+            pool.shutdown();
+        }
+        Assertions.assertEquals(size * size, generated.sum());
+    }
+
+    /**
+     * Test der bidirektionalen Suche auf einem gerichteten Graphen, in dem die Vorgänger anders berechnet werden als
+     * die Nachfolger. Die Länge des gefundenen Wegs muss mit der der einfachen Breitensuche übereinstimmen.
+     */
+    @Test
+    public void bidirectionalTest() {
+        // Nachfolger von n sind n + 1 und 2 * n, Vorgänger entsprechend n - 1 und n / 2 für gerade n.
+        final Function<StateWrapper<Integer>, Iterable<Integer>> forward = wrapper -> Arrays
+            .asList(wrapper.getState() + 1, wrapper.getState() * 2);
+        final Function<StateWrapper<Integer>, Iterable<Integer>> backward = wrapper -> {
+            final int state = wrapper.getState();
+            final List<Integer> result = new ArrayList<>(2);
+            if (state > 1) {
+                result.add(state - 1);
+            }
+            if (state % 2 == 0 && state > 0) {
+                result.add(state / 2);
+            }
+            return result;
+        };
+        for (int goal = 2; goal < 300; goal += 7) {
+            final int target = goal;
+            final List<Integer> expected = AlgorithmUtils.breadthFirstSearch(1, forward, null,
+                w -> w.getState() == target, ClosedSet.hashSet());
+            final List<Integer> result = AlgorithmUtils.bidirectionalSearch(1, goal, forward, backward);
+            Assertions.assertEquals(expected.size(), result.size(), "goal " + goal);
+            Assertions.assertEquals(1, result.get(0).intValue());
+            Assertions.assertEquals(goal, result.get(result.size() - 1).intValue());
+            for (int i = 1; i < result.size(); i++) {
+                final int prev = result.get(i - 1);
+                Assertions.assertTrue(result.get(i) == prev + 1 || result.get(i) == prev * 2);
+            }
+        }
+        Assertions.assertEquals(Arrays.asList(5), AlgorithmUtils.bidirectionalSearch(5, 5, forward, backward));
+        Assertions.assertNull(AlgorithmUtils.bidirectionalSearch(5, 1, forward, backward));
+    }
+
+    /**
+     * Prüft, dass die Tiefe der Zustände mitgeführt wird und auch sehr lange Wege ohne Stapelüberlauf ausgegeben
+     * werden können.
+     */
+    @Test
+    public void longPathTest() {
+        final int length = 200_000;
+        StateWrapper<Integer> wrapper = new StateWrapper<>(0, null);
+        Assertions.assertEquals(0, wrapper.getDepth());
+        Assertions.assertEquals(Arrays.asList(0), wrapper.getStates());
+        for (int i = 1; i < length; i++) {
+            wrapper = new StateWrapper<>(i, wrapper);
+        }
+        Assertions.assertEquals(length - 1, wrapper.getDepth());
+        final List<Integer> states = wrapper.getStates();
+        Assertions.assertEquals(length, states.size());
+        for (int i = 0; i < length; i++) {
+            Assertions.assertEquals(i, states.get(i).intValue());
+        }
+        final List<Integer> path = AlgorithmUtils.breadthFirstSearch(0,
+            w -> w.getState() < length ? Arrays.asList(w.getState() + 1) : new ArrayList<>(), null,
+            w -> w.getState() == length);
+        Assertions.assertEquals(length + 1, path.size());
+        Assertions.assertEquals(length, path.get(length).intValue());
+    }
+
+    /**
+     * Testet die Breitensuche mit einem Bloom-Filter als Menge der besuchten Zustände.
+     */
+    @Test
+    public void bloomFilterTest() {
+        final int size = 200;
+        final Function<StateWrapper<Integer>, Iterable<Integer>> producer = SearchFixtures.gridProducer(size);
+        final int goal = size * size - 1;
+        final LongAdder expanded = new LongAdder();
+        final List<Integer> path = AlgorithmUtils.breadthFirstSearch(0, producer, w -> expanded.increment(),
+            w -> w.getState() == goal, ClosedSet.bloomFilter(Integer::longValue, size * size, 0.001));
+        Assertions.assertEquals(2 * size - 1, path.size());
+        Assertions.assertTrue(expanded.sum() <= size * size, "expanded " + expanded.sum());
+    }
 }
\ No newline at end of file
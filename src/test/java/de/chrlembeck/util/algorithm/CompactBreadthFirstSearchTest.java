@@ -0,0 +1,124 @@
+package de.chrlembeck.util.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die speichersparende Breitensuche.
+ *
+ * @author Christoph Lembeck
+ */
+public class CompactBreadthFirstSearchTest {
+
+    /**
+     * Kantenlänge des Gitters.
+     */
+    private static final int SIZE = 61;
+
+    /**
+     * Codec für die Felder des Gitters.
+     */
+    private static final StateCodec<Integer> CODEC = new StateCodec<Integer>() {
+
+        @Override
+        public long encode(final Integer state) {
+            return state;
+        }
+
+        @Override
+        public Integer decode(final long code) {
+            return (int) code;
+        }
+    };
+
+    /**
+     * Vergleicht die Suche mit und ohne Codec mit der Breitensuche aus {@link AlgorithmUtils} auf einem Gitter, in dem
+     * jede dritte Spalte nur über eine Lücke am oberen oder unteren Rand passiert werden kann.
+     */
+    @Test
+    public void testGrid() {
+        final Function<Integer, Iterable<Integer>> producer = CompactBreadthFirstSearchTest::neighbours;
+        final int goal = SIZE * SIZE - 1;
+        final List<Integer> expected = AlgorithmUtils.breadthFirstSearch(0, w -> neighbours(w.getState()), null,
+            w -> w.getState() == goal, ClosedSet.hashSet());
+        final List<Integer> path = new CompactBreadthFirstSearch<Integer>(producer, pos -> pos == goal).search(0);
+        Assertions.assertEquals(expected.size(), path.size());
+        Assertions.assertEquals(0, path.get(0).intValue());
+        Assertions.assertEquals(goal, path.get(path.size() - 1).intValue());
+        assertConnected(path);
+        final List<Integer> codedPath = new CompactBreadthFirstSearch<>(producer, pos -> pos == goal, CODEC)
+                .search(0);
+        Assertions.assertEquals(expected.size(), codedPath.size());
+        assertConnected(codedPath);
+        // Nicht erreichbare Ziele liefern null, nachdem alle Felder besucht wurden.
+        Assertions.assertNull(new CompactBreadthFirstSearch<>(producer, pos -> pos < 0, CODEC).search(0));
+        Assertions.assertNull(new CompactBreadthFirstSearch<Integer>(producer, pos -> pos < 0).search(0));
+        // Der Startzustand selbst wird nicht geprüft und gilt bereits als besucht.
+        Assertions.assertNull(
+            new CompactBreadthFirstSearch<Integer>(pos -> Arrays.asList(1 - pos), pos -> pos == 0).search(0));
+    }
+
+    /**
+     * Vergleicht die Kennzahlen der Suche mit Optionen mit denen der Breitensuche aus {@link AlgorithmUtils} und
+     * testet die Begrenzung der expandierten Zustände.
+     */
+    @Test
+    public void testOptions() {
+        final Function<Integer, Iterable<Integer>> producer = CompactBreadthFirstSearchTest::neighbours;
+        final SearchStatistics expected = AlgorithmUtils.breadthFirstSearch(0, w -> neighbours(w.getState()), null,
+            w -> false, ClosedSet.hashSet(), SearchOptions.UNLIMITED).getStatistics();
+        for (final StateCodec<Integer> codec : Arrays.asList(null, CODEC)) {
+            final SearchResult<Integer> exhausted = new CompactBreadthFirstSearch<>(producer, pos -> false, codec)
+                    .search(0, SearchOptions.UNLIMITED);
+            Assertions.assertEquals(SearchResult.Status.EXHAUSTED, exhausted.getStatus());
+            Assertions.assertEquals(expected.getExpandedStates(), exhausted.getStatistics().getExpandedStates());
+            Assertions.assertEquals(expected.getGeneratedStates(), exhausted.getStatistics().getGeneratedStates());
+            Assertions.assertEquals(expected.getDuplicateStates(), exhausted.getStatistics().getDuplicateStates());
+            Assertions.assertEquals(expected.getPeakFrontierSize(), exhausted.getStatistics().getPeakFrontierSize());
+            final SearchResult<Integer> aborted = new CompactBreadthFirstSearch<>(producer, pos -> false, codec)
+                    .search(0, SearchOptions.UNLIMITED.withMaxExpandedStates(100));
+            Assertions.assertEquals(SearchResult.AbortReason.NODE_LIMIT, aborted.getAbortReason());
+            Assertions.assertEquals(100, aborted.getStatistics().getExpandedStates());
+        }
+    }
+
+    /**
+     * Prüft, dass aufeinanderfolgende Felder des Wegs benachbart sind.
+     *
+     * @param path
+     *            Zu prüfender Weg.
+     */
+    private static void assertConnected(final List<Integer> path) {
+        for (int i = 1; i < path.size(); i++) {
+            Assertions.assertTrue(neighbours(path.get(i - 1)).contains(path.get(i)));
+        }
+    }
+
+    /**
+     * Ermittelt die begehbaren Nachbarfelder eines Feldes.
+     *
+     * @param pos
+     *            Position des Feldes.
+     * @return Liste der begehbaren Nachbarfelder.
+     */
+    private static List<Integer> neighbours(final int pos) {
+        return SearchFixtures.gridNeighbours(pos, SIZE, CompactBreadthFirstSearchTest::isFree);
+    }
+
+    /**
+     * Prüft, ob ein Feld keine Wand ist. Jede dritte Spalte ist eine Wand mit einer Lücke, die abwechselnd am unteren
+     * und am oberen Rand liegt.
+     *
+     * @param pos
+     *            Position des Feldes.
+     * @return true, falls das Feld begehbar ist.
+     */
+    private static boolean isFree(final int pos) {
+        final int x = pos % SIZE;
+        final int y = pos / SIZE;
+        return x % 3 != 2 || (x % 6 == 2 ? y == SIZE - 1 : y == 0);
+    }
+}
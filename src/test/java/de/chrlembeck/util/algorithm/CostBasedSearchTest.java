@@ -0,0 +1,142 @@
+package de.chrlembeck.util.algorithm;
+
+import de.chrlembeck.util.algorithm.AlgorithmUtils.StateWrapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToDoubleBiFunction;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die kostenbasierten Suchen A* und Dijkstra sowie für die iterativen Tiefensuchen.
+ *
+ * @author Christoph Lembeck
+ */
+public class CostBasedSearchTest {
+
+    /**
+     * Kantenlänge des Gitters.
+     */
+    private static final int SIZE = 60;
+
+    /**
+     * Testet A* und Dijkstra auf einem Gitter mit zufälligen Geländekosten. Beide Suchen müssen einen Weg mit den
+     * gleichen, minimalen Kosten finden, A* muss dabei aber weniger Zustände expandieren.
+     */
+    @Test
+    public void testGrid() {
+        final Random random = new Random(42);
+        // Kosten für das Betreten eines Feldes, 0 steht für ein Hindernis.
+        final int[] terrain = new int[SIZE * SIZE];
+        for (int i = 0; i < terrain.length; i++) {
+            terrain[i] = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(3);
+        }
+        terrain[0] = 1;
+        terrain[terrain.length - 1] = 1;
+        final Function<StateWrapper<Integer>, Iterable<Integer>> producer = wrapper -> SearchFixtures
+                .gridNeighbours(wrapper.getState(), SIZE, pos -> terrain[pos] > 0);
+        final ToDoubleBiFunction<Integer, Integer> cost = (from, to) -> terrain[to];
+        final int goal = SIZE * SIZE - 1;
+        final int[] dijkstraCount = new int[1];
+        // Das Suchkriterium wird für jeden expandierten Zustand genau einmal geprüft.
+        final List<Integer> dijkstraPath = AlgorithmUtils.dijkstra(0, producer, cost, null,
+            w -> dijkstraCount[0]++ >= 0 && w.getState() == goal);
+        final int[] aStarCount = new int[1];
+        final List<Integer> aStarPath = AlgorithmUtils.astar(0, producer, cost,
+            pos -> Math.abs(goal % SIZE - pos % SIZE) + Math.abs(goal / SIZE - pos / SIZE), null,
+            w -> aStarCount[0]++ >= 0 && w.getState() == goal);
+        Assertions.assertEquals(pathCost(dijkstraPath, terrain), pathCost(aStarPath, terrain));
+        Assertions.assertEquals(goal, aStarPath.get(aStarPath.size() - 1).intValue());
+        Assertions.assertTrue(aStarCount[0] < dijkstraCount[0], aStarCount[0] + " < " + dijkstraCount[0]);
+        // Ohne Kosten entspricht Dijkstra einer Breitensuche nach dem kürzesten Weg.
+        final List<Integer> bfsPath = AlgorithmUtils.breadthFirstSearch(0, producer, null, w -> w.getState() == goal,
+            ClosedSet.hashSet());
+        Assertions.assertEquals(bfsPath.size(),
+            AlgorithmUtils.dijkstra(0, producer, (from, to) -> 1, null, w -> w.getState() == goal).size());
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> AlgorithmUtils.dijkstra(0, producer, (from, to) -> -1, null, w -> false));
+    }
+
+    /**
+     * Testet A* auf dem 8-Puzzle mit der Manhattan-Distanz als Schätzfunktion. Die Zustände sind die Ziffern des
+     * Puzzles zeilenweise als Zeichenkette, wobei 0 das freie Feld darstellt.
+     */
+    @Test
+    public void testPuzzle() {
+        final String goal = "123456780";
+        final String start = "867254301";
+        final Function<StateWrapper<String>, Iterable<String>> producer = w -> SearchFixtures.puzzleMoves(w.getState());
+        final List<String> path = AlgorithmUtils.astar(start, producer, (from, to) -> 1, SearchFixtures::manhattan,
+            null, w -> w.getState().equals(goal));
+        final List<String> bfsPath = AlgorithmUtils.bidirectionalSearch(start, goal, producer, producer);
+        Assertions.assertEquals(bfsPath.size(), path.size());
+        Assertions.assertEquals(start, path.get(0));
+        Assertions.assertEquals(goal, path.get(path.size() - 1));
+        Assertions.assertEquals(Arrays.asList(goal), AlgorithmUtils.astar(goal, producer, (from, to) -> 1,
+            SearchFixtures::manhattan, null, w -> w.getState().equals(goal)));
+    }
+
+    /**
+     * Testet die iterative Tiefensuche und IDA* mit und ohne Transpositionstabelle auf dem 8-Puzzle. Alle Varianten
+     * müssen einen kürzesten Weg finden.
+     */
+    @Test
+    public void testIterativeDeepening() {
+        final String goal = "123456780";
+        final Random random = new Random(7);
+        String previous = goal;
+        String start = goal;
+        for (int i = 0; i < 60; i++) {
+            // Der zuletzt ausgeführte Zug wird nicht direkt wieder zurückgenommen.
+            final List<String> moves = SearchFixtures.puzzleMoves(start);
+            moves.remove(previous);
+            previous = start;
+            start = moves.get(random.nextInt(moves.size()));
+        }
+        final Function<StateWrapper<String>, Iterable<String>> producer = w -> SearchFixtures.puzzleMoves(w.getState());
+        final int length = AlgorithmUtils.bidirectionalSearch(start, goal, producer, producer).size();
+        Assertions.assertTrue(length > 10, "length " + length);
+        final List<String> idPath = AlgorithmUtils.iterativeDeepeningSearch(start, producer,
+            w -> w.getState().equals(goal), 40);
+        Assertions.assertEquals(length, idPath.size());
+        Assertions.assertEquals(goal, idPath.get(idPath.size() - 1));
+        Assertions.assertEquals(length, AlgorithmUtils.iterativeDeepeningSearch(start, producer,
+            w -> w.getState().equals(goal), 40, 1000).size());
+        Assertions.assertNull(AlgorithmUtils.iterativeDeepeningSearch(start, producer,
+            w -> w.getState().equals(goal), length - 2, 1000));
+        final List<String> idaPath = AlgorithmUtils.idastar(start, producer, (from, to) -> 1,
+            SearchFixtures::manhattan, w -> w.getState().equals(goal));
+        Assertions.assertEquals(length, idaPath.size());
+        Assertions.assertEquals(start, idaPath.get(0));
+        Assertions.assertEquals(length, AlgorithmUtils.idastar(start, producer, (from, to) -> 1,
+            SearchFixtures::manhattan, w -> w.getState().equals(goal), 1000).size());
+        Assertions.assertEquals(Arrays.asList(goal), AlgorithmUtils.idastar(goal, producer, (from, to) -> 1,
+            SearchFixtures::manhattan, w -> w.getState().equals(goal)));
+        // Ein endlicher Zustandsraum ohne Ziel wird vollständig durchsucht.
+        final Function<StateWrapper<Integer>, Iterable<Integer>> line = w -> w.getState() < 5
+                ? Arrays.asList(w.getState() + 1)
+                : new ArrayList<>();
+        Assertions.assertNull(AlgorithmUtils.iterativeDeepeningSearch(0, line, w -> false, Integer.MAX_VALUE));
+        Assertions.assertNull(AlgorithmUtils.idastar(0, line, (from, to) -> 1, pos -> 0, w -> false, 10));
+    }
+
+    /**
+     * Berechnet die Kosten eines Wegs über das Gitter.
+     *
+     * @param path
+     *            Weg über das Gitter.
+     * @param terrain
+     *            Geländekosten der Felder.
+     * @return Summe der Kosten aller betretenen Felder.
+     */
+    private static int pathCost(final List<Integer> path, final int[] terrain) {
+        int cost = 0;
+        for (int i = 1; i < path.size(); i++) {
+            cost += terrain[path.get(i)];
+        }
+        return cost;
+    }
+}
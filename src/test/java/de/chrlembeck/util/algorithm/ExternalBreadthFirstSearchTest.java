@@ -0,0 +1,192 @@
+package de.chrlembeck.util.algorithm;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests für die Breitensuche mit Auslagerung der Ebenen in Dateien.
+ *
+ * @author Christoph Lembeck
+ */
+public class ExternalBreadthFirstSearchTest {
+
+    /**
+     * Codec für das 8-Puzzle, der die Ziffern eines Zustands als Dezimalzahl kodiert.
+     */
+    private static final StateCodec<String> PUZZLE_CODEC = new StateCodec<String>() {
+
+        @Override
+        public long encode(final String state) {
+            return Long.parseLong(state);
+        }
+
+        @Override
+        public String decode(final long code) {
+            final String digits = Long.toString(code);
+            return digits.length() < 9 ? "0" + digits : digits;
+        }
+    };
+
+    /**
+     * Codec, der die Zustände unverändert als long speichert.
+     */
+    private static final StateCodec<Long> LONG_CODEC = new StateCodec<Long>() {
+
+        @Override
+        public long encode(final Long state) {
+            return state;
+        }
+
+        @Override
+        public Long decode(final long code) {
+            return code;
+        }
+    };
+
+    /**
+     * Verzeichnis für die Dateien der Suche.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Vergleicht die Suche auf dem 8-Puzzle mit der bidirektionalen Suche. Die Läufe werden dabei klein gewählt, damit
+     * in jeder Ebene viele Läufe zusammengeführt werden müssen.
+     *
+     * @throws IOException
+     *             Falls beim Zugriff auf die Dateien ein Fehler auftritt.
+     */
+    @Test
+    public void testPuzzle() throws IOException {
+        final String start = "867254301";
+        final String goal = "123456780";
+        final Function<String, Iterable<String>> producer = SearchFixtures::puzzleMoves;
+        final int expected = AlgorithmUtils
+                .bidirectionalSearch(start, goal, w -> SearchFixtures.puzzleMoves(w.getState()),
+                    w -> SearchFixtures.puzzleMoves(w.getState()))
+                .size();
+        final List<String> path = new ExternalBreadthFirstSearch<>(producer, goal::equals, PUZZLE_CODEC, directory,
+                1000, 2).search(start);
+        assertValidPath(path, start, goal, expected);
+        // Ohne Annahme umkehrbarer Übergänge werden alle Ebenen geprüft.
+        final List<String> fullCheckPath = new ExternalBreadthFirstSearch<>(producer, goal::equals, PUZZLE_CODEC,
+                directory, 50_000, Integer.MAX_VALUE).search(start);
+        assertValidPath(fullCheckPath, start, goal, expected);
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Prüft, dass ein nicht erreichbares Ziel nach dem Durchsuchen aller erreichbaren Zustände null liefert.
+     *
+     * @throws IOException
+     *             Falls beim Zugriff auf die Dateien ein Fehler auftritt.
+     */
+    @Test
+    public void testUnreachable() throws IOException {
+        final int[] expanded = new int[1];
+        final Function<Long, Iterable<Long>> producer = state -> {
+            expanded[0]++;
+            return successors(state);
+        };
+        Assertions.assertNull(new ExternalBreadthFirstSearch<>(producer, state -> state < 0, LONG_CODEC, directory, 64,
+                Integer.MAX_VALUE).search(0L));
+        // Jeder der 1000 Zustände wird genau einmal expandiert.
+        Assertions.assertEquals(1000, expanded[0]);
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new ExternalBreadthFirstSearch<>(producer, state -> true, LONG_CODEC, directory, 0, 2));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new ExternalBreadthFirstSearch<>(producer, state -> true, LONG_CODEC, directory, 1, 1));
+    }
+
+    /**
+     * Testet die Kennzahlen und Grenzen der Suche mit Optionen.
+     *
+     * @throws IOException
+     *             Falls beim Zugriff auf die Dateien ein Fehler auftritt.
+     */
+    @Test
+    public void testOptions() throws IOException {
+        final Function<Long, Iterable<Long>> producer = ExternalBreadthFirstSearchTest::successors;
+        final long[] levelTotals = new long[3];
+        final SearchListener listener = new SearchListener() {
+
+            @Override
+            public void levelCompleted(final int depth, final int frontierSize, final long expandedStates,
+                    final long generatedStates, final long duplicateStates, final long elapsedNanos) {
+                Assertions.assertEquals(levelTotals[0], depth);
+                Assertions.assertEquals(frontierSize, expandedStates);
+                levelTotals[0]++;
+                levelTotals[1] += expandedStates;
+                levelTotals[2] += duplicateStates;
+            }
+        };
+        final SearchResult<Long> exhausted = new ExternalBreadthFirstSearch<>(producer, state -> false, LONG_CODEC,
+                directory, 64, Integer.MAX_VALUE).search(0L, SearchOptions.UNLIMITED.withListener(listener));
+        Assertions.assertEquals(SearchResult.Status.EXHAUSTED, exhausted.getStatus());
+        final SearchStatistics statistics = exhausted.getStatistics();
+        Assertions.assertEquals(1000, statistics.getExpandedStates());
+        Assertions.assertEquals(2000, statistics.getGeneratedStates());
+        // Alle Nachfolger außer den 999 neuen Zuständen werden als Duplikate verworfen.
+        Assertions.assertEquals(2000 - 999, statistics.getDuplicateStates());
+        Assertions.assertTrue(statistics.getProducerNanos() > 0);
+        Assertions.assertEquals(statistics.getExpandedStates(), levelTotals[1]);
+        Assertions.assertEquals(statistics.getDuplicateStates(), levelTotals[2]);
+        final SearchResult<Long> found = new ExternalBreadthFirstSearch<>(producer, state -> state == 999, LONG_CODEC,
+                directory, 64, Integer.MAX_VALUE).search(0L, SearchOptions.UNLIMITED);
+        Assertions.assertEquals(SearchResult.Status.FOUND, found.getStatus());
+        Assertions.assertEquals(999L, found.getPath().get(found.getPath().size() - 1).longValue());
+        final SearchResult<Long> aborted = new ExternalBreadthFirstSearch<>(producer, state -> false, LONG_CODEC,
+                directory, 64, Integer.MAX_VALUE).search(0L, SearchOptions.UNLIMITED.withMaxExpandedStates(100));
+        Assertions.assertEquals(SearchResult.AbortReason.NODE_LIMIT, aborted.getAbortReason());
+        Assertions.assertEquals(100, aborted.getStatistics().getExpandedStates());
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Erzeugt die Nachfolger eines Zustands in einem Graphen aus 1000 Zuständen.
+     *
+     * @param state
+     *            Zustand zwischen 0 und 999.
+     * @return Liste der beiden Nachfolger.
+     */
+    private static List<Long> successors(final Long state) {
+        final List<Long> next = new ArrayList<>(2);
+        next.add((state * 7 + 3) % 1000);
+        next.add((state + 1) % 1000);
+        return next;
+    }
+
+    /**
+     * Prüft, dass der Weg vom Start zum Ziel führt, die erwartete Länge hat und nur aus gültigen Zügen besteht.
+     *
+     * @param path
+     *            Zu prüfender Weg.
+     * @param start
+     *            Erwarteter erster Zustand.
+     * @param goal
+     *            Erwarteter letzter Zustand.
+     * @param expected
+     *            Erwartete Anzahl der Zustände.
+     */
+    private static void assertValidPath(final List<String> path, final String start, final String goal,
+            final int expected) {
+        Assertions.assertEquals(expected, path.size());
+        Assertions.assertEquals(start, path.get(0));
+        Assertions.assertEquals(goal, path.get(path.size() - 1));
+        for (int i = 1; i < path.size(); i++) {
+            Assertions.assertTrue(SearchFixtures.puzzleMoves(path.get(i - 1)).contains(path.get(i)));
+        }
+    }
+}
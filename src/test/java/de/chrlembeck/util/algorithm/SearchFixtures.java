@@ -0,0 +1,135 @@
+package de.chrlembeck.util.algorithm;
+
+import de.chrlembeck.util.algorithm.AlgorithmUtils.StateWrapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+/**
+ * Gemeinsame Zustandsräume für die Tests der Suchalgorithmen: ein quadratisches Gitter, dessen Felder zeilenweise
+ * durchnummeriert sind, sowie das 8-Puzzle, dessen Zustände die Ziffern des Puzzles zeilenweise als Zeichenkette
+ * darstellen, wobei 0 das freie Feld ist.
+ *
+ * @author Christoph Lembeck
+ */
+final class SearchFixtures {
+
+    /**
+     * Verhindert die Erzeugung von Instanzen.
+     */
+    private SearchFixtures() {
+    }
+
+    /**
+     * Erzeugt einen Producer für die Nachbarfelder eines Feldes in einem Gitter ohne Hindernisse.
+     *
+     * @param size
+     *            Kantenlänge des Gitters.
+     * @return Producer für die Nachbarfelder.
+     */
+    static Function<StateWrapper<Integer>, Iterable<Integer>> gridProducer(final int size) {
+        return wrapper -> gridNeighbours(wrapper.getState(), size, pos -> true);
+    }
+
+    /**
+     * Ermittelt die begehbaren Nachbarfelder eines Feldes im Gitter in der Reihenfolge links, rechts, oben, unten.
+     *
+     * @param pos
+     *            Position des Feldes.
+     * @param size
+     *            Kantenlänge des Gitters.
+     * @param free
+     *            Prüfung, ob ein Feld innerhalb des Gitters begehbar ist.
+     * @return Liste der begehbaren Nachbarfelder.
+     */
+    static List<Integer> gridNeighbours(final int pos, final int size, final IntPredicate free) {
+        final List<Integer> next = new ArrayList<>(4);
+        addIfFree(next, free, pos % size > 0, pos - 1);
+        addIfFree(next, free, pos % size < size - 1, pos + 1);
+        addIfFree(next, free, pos >= size, pos - size);
+        addIfFree(next, free, pos < size * (size - 1), pos + size);
+        return next;
+    }
+
+    /**
+     * Fügt ein Feld zur Liste hinzu, falls es innerhalb des Gitters liegt und begehbar ist.
+     *
+     * @param next
+     *            Liste der Nachbarfelder.
+     * @param free
+     *            Prüfung, ob ein Feld innerhalb des Gitters begehbar ist.
+     * @param exists
+     *            Gibt an, ob das Feld innerhalb des Gitters liegt.
+     * @param pos
+     *            Position des Feldes.
+     */
+    private static void addIfFree(final List<Integer> next, final IntPredicate free, final boolean exists,
+            final int pos) {
+        if (exists && free.test(pos)) {
+            next.add(pos);
+        }
+    }
+
+    /**
+     * Erzeugt die Nachfolger eines Zustands des 8-Puzzles, indem das freie Feld mit einem seiner Nachbarn vertauscht
+     * wird.
+     *
+     * @param state
+     *            Zustand des Puzzles.
+     * @return Liste der Nachfolgezustände.
+     */
+    static List<String> puzzleMoves(final String state) {
+        final int free = state.indexOf('0');
+        final List<String> next = new ArrayList<>(4);
+        if (free % 3 > 0) {
+            next.add(swap(state, free, free - 1));
+        }
+        if (free % 3 < 2) {
+            next.add(swap(state, free, free + 1));
+        }
+        if (free >= 3) {
+            next.add(swap(state, free, free - 3));
+        }
+        if (free < 6) {
+            next.add(swap(state, free, free + 3));
+        }
+        return next;
+    }
+
+    /**
+     * Vertauscht zwei Zeichen einer Zeichenkette.
+     *
+     * @param state
+     *            Ursprüngliche Zeichenkette.
+     * @param first
+     *            Position des ersten Zeichens.
+     * @param second
+     *            Position des zweiten Zeichens.
+     * @return Neue Zeichenkette mit vertauschten Zeichen.
+     */
+    private static String swap(final String state, final int first, final int second) {
+        final char[] chars = state.toCharArray();
+        chars[first] = state.charAt(second);
+        chars[second] = state.charAt(first);
+        return new String(chars);
+    }
+
+    /**
+     * Berechnet die Summe der Manhattan-Distanzen aller Steine des 8-Puzzles zu ihrer Zielposition.
+     *
+     * @param state
+     *            Zustand des Puzzles.
+     * @return Untere Schranke für die Anzahl der Züge bis zum Ziel.
+     */
+    static double manhattan(final String state) {
+        int distance = 0;
+        for (int i = 0; i < 9; i++) {
+            final int tile = state.charAt(i) - '0';
+            if (tile != 0) {
+                distance += Math.abs((tile - 1) % 3 - i % 3) + Math.abs((tile - 1) / 3 - i / 3);
+            }
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,360 @@
+package de.chrlembeck.util.algorithm;
+
+import de.chrlembeck.util.algorithm.AlgorithmUtils.StateWrapper;
+import de.chrlembeck.util.algorithm.SearchResult.AbortReason;
+import de.chrlembeck.util.algorithm.SearchResult.Status;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die Begrenzung von Suchen über {@link SearchOptions}.
+ *
+ * @author Christoph Lembeck
+ */
+public class SearchOptionsTest {
+
+    /**
+     * Kantenlänge des Gitters.
+     */
+    private static final int SIZE = 100;
+
+    /**
+     * Producer für die Nachbarfelder eines Feldes im Gitter.
+     */
+    private static final Function<StateWrapper<Integer>, Iterable<Integer>> PRODUCER = SearchFixtures
+            .gridProducer(SIZE);
+
+    /**
+     * Testet die Ergebnisse und Kennzahlen der Breitensuche ohne Grenzen.
+     */
+    @Test
+    public void testUnlimited() {
+        final SearchResult<Integer> found = AlgorithmUtils.breadthFirstSearch(0, PRODUCER, null,
+            w -> w.getState() == SIZE * SIZE - 1, ClosedSet.hashSet(), SearchOptions.UNLIMITED);
+        Assertions.assertEquals(Status.FOUND, found.getStatus());
+        Assertions.assertNull(found.getAbortReason());
+        Assertions.assertEquals(2 * SIZE - 1, found.getPath().size());
+        final SearchStatistics statistics = found.getStatistics();
+        Assertions.assertTrue(statistics.getExpandedStates() < SIZE * SIZE);
+        Assertions.assertTrue(statistics.getGeneratedStates() > statistics.getDuplicateStates());
+        Assertions.assertTrue(statistics.getDuplicateStates() > 0);
+        final SearchResult<Integer> exhausted = AlgorithmUtils.breadthFirstSearch(0, PRODUCER, null, w -> false,
+            ClosedSet.hashSet(), SearchOptions.UNLIMITED);
+        Assertions.assertEquals(Status.EXHAUSTED, exhausted.getStatus());
+        Assertions.assertNull(exhausted.getPath());
+        Assertions.assertEquals(SIZE * SIZE, exhausted.getStatistics().getExpandedStates());
+        // Jede Kante des Gitters wird in beide Richtungen erzeugt.
+        Assertions.assertEquals(4L * SIZE * (SIZE - 1), exhausted.getStatistics().getGeneratedStates());
+        Assertions.assertEquals(4L * SIZE * (SIZE - 1) - (SIZE * SIZE - 1),
+            exhausted.getStatistics().getDuplicateStates());
+        Assertions.assertTrue(exhausted.getStatistics().getPeakFrontierSize() <= 2 * SIZE);
+    }
+
+    /**
+     * Testet die einzelnen Grenzen der Breitensuche.
+     */
+    @Test
+    public void testLimits() {
+        final SearchResult<Integer> nodeLimit = search(SearchOptions.UNLIMITED.withMaxExpandedStates(500));
+        Assertions.assertEquals(Status.ABORTED, nodeLimit.getStatus());
+        Assertions.assertEquals(AbortReason.NODE_LIMIT, nodeLimit.getAbortReason());
+        Assertions.assertNull(nodeLimit.getPath());
+        Assertions.assertEquals(500, nodeLimit.getStatistics().getExpandedStates());
+
+        final SearchResult<Integer> frontierLimit = search(SearchOptions.UNLIMITED.withMaxFrontierSize(50));
+        Assertions.assertEquals(AbortReason.FRONTIER_LIMIT, frontierLimit.getAbortReason());
+        Assertions.assertTrue(frontierLimit.getStatistics().getPeakFrontierSize() > 50);
+
+        Assertions.assertEquals(AbortReason.DEADLINE,
+            search(SearchOptions.UNLIMITED.withDeadline(System.nanoTime())).getAbortReason());
+        Assertions.assertEquals(AbortReason.DEADLINE,
+            search(SearchOptions.UNLIMITED.withTimeLimit(0, TimeUnit.SECONDS)).getAbortReason());
+        Assertions.assertEquals(Status.EXHAUSTED,
+            search(SearchOptions.UNLIMITED.withTimeLimit(1, TimeUnit.HOURS)).getStatus());
+
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final SearchResult<Integer> cancel = AlgorithmUtils.breadthFirstSearch(0, PRODUCER, w -> {
+            if (w.getState() == 42) {
+                cancelled.set(true);
+            }
+        }, w -> false, ClosedSet.hashSet(), SearchOptions.UNLIMITED.withCancellation(cancelled::get));
+        Assertions.assertEquals(AbortReason.CANCELLED, cancel.getAbortReason());
+        Assertions.assertTrue(cancel.getStatistics().getExpandedStates() < SIZE * SIZE);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> SearchOptions.UNLIMITED.withMaxExpandedStates(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SearchOptions.UNLIMITED.withMaxFrontierSize(0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> SearchOptions.UNLIMITED.withTimeLimit(-1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Testet die Grenzen von A*.
+     */
+    @Test
+    public void testAstar() {
+        final int goal = SIZE * SIZE - 1;
+        final SearchResult<Integer> found = AlgorithmUtils.astar(0, PRODUCER, (from, to) -> 1, pos -> 0, null,
+            w -> w.getState() == goal, SearchOptions.UNLIMITED);
+        Assertions.assertEquals(Status.FOUND, found.getStatus());
+        Assertions.assertEquals(2 * SIZE - 1, found.getPath().size());
+        Assertions.assertTrue(found.getStatistics().getDuplicateStates() > 0);
+        final SearchResult<Integer> aborted = AlgorithmUtils.astar(0, PRODUCER, (from, to) -> 1, pos -> 0, null,
+            w -> w.getState() == goal, SearchOptions.UNLIMITED.withMaxExpandedStates(10));
+        Assertions.assertEquals(AbortReason.NODE_LIMIT, aborted.getAbortReason());
+        Assertions.assertEquals(10, aborted.getStatistics().getExpandedStates());
+        final SearchResult<Integer> dijkstra = AlgorithmUtils.dijkstra(0, PRODUCER, (from, to) -> 1, null,
+            w -> w.getState() == goal, SearchOptions.UNLIMITED.withMaxExpandedStates(10));
+        Assertions.assertEquals(AbortReason.NODE_LIMIT, dijkstra.getAbortReason());
+        Assertions.assertEquals(10, dijkstra.getStatistics().getExpandedStates());
+    }
+
+    /**
+     * Testet die Grenzen der bidirektionalen Breitensuche.
+     */
+    @Test
+    public void testBidirectional() {
+        final SearchResult<Integer> found = AlgorithmUtils.bidirectionalSearch(0, SIZE * SIZE - 1, PRODUCER, PRODUCER,
+            SearchOptions.UNLIMITED);
+        Assertions.assertEquals(Status.FOUND, found.getStatus());
+        Assertions.assertEquals(2 * SIZE - 1, found.getPath().size());
+        Assertions.assertTrue(found.getStatistics().getDuplicateStates() > 0);
+        Assertions.assertEquals(AbortReason.FRONTIER_LIMIT, AlgorithmUtils
+                .bidirectionalSearch(0, SIZE * SIZE - 1, PRODUCER, PRODUCER,
+                    SearchOptions.UNLIMITED.withMaxFrontierSize(50))
+                .getAbortReason());
+        // Die geraden Zahlen erreichen das ungerade Ziel nie, beide Fronten wachsen unbegrenzt weiter.
+        final Function<StateWrapper<Integer>, Iterable<Integer>> forward = w -> Collections
+                .singletonList(w.getState() + 2);
+        final Function<StateWrapper<Integer>, Iterable<Integer>> backward = w -> Collections
+                .singletonList(w.getState() - 2);
+        final SearchResult<Integer> nodeLimit = AlgorithmUtils.bidirectionalSearch(0, 1, forward, backward,
+            SearchOptions.UNLIMITED.withMaxExpandedStates(100));
+        Assertions.assertEquals(AbortReason.NODE_LIMIT, nodeLimit.getAbortReason());
+        Assertions.assertNull(nodeLimit.getPath());
+        Assertions.assertEquals(100, nodeLimit.getStatistics().getExpandedStates());
+        Assertions.assertEquals(AbortReason.CANCELLED, AlgorithmUtils
+                .bidirectionalSearch(0, 1, forward, backward, SearchOptions.UNLIMITED.withCancellation(() -> true))
+                .getAbortReason());
+        Assertions.assertEquals(AbortReason.DEADLINE, AlgorithmUtils.bidirectionalSearch(0, 1, forward, backward,
+            SearchOptions.UNLIMITED.withTimeLimit(0, TimeUnit.SECONDS)).getAbortReason());
+    }
+
+    /**
+     * Testet die Grenzen und Kennzahlen der iterativen Tiefensuche und von IDA*.
+     */
+    @Test
+    public void testIterativeDeepening() {
+        final int goal = 3 * SIZE + 3;
+        final SearchResult<Integer> found = AlgorithmUtils.iterativeDeepeningSearch(0, PRODUCER,
+            w -> w.getState() == goal, 10, 1000, SearchOptions.UNLIMITED);
+        Assertions.assertEquals(Status.FOUND, found.getStatus());
+        Assertions.assertEquals(7, found.getPath().size());
+        Assertions.assertTrue(found.getStatistics().getDuplicateStates() > 0);
+        Assertions.assertEquals(AbortReason.DEPTH_LIMIT, AlgorithmUtils
+                .iterativeDeepeningSearch(0, PRODUCER, w -> w.getState() == goal, 5, 0, SearchOptions.UNLIMITED)
+                .getAbortReason());
+        final SearchResult<Integer> nodeLimit = AlgorithmUtils.iterativeDeepeningSearch(0, PRODUCER,
+            w -> w.getState() == goal, 10, 0, SearchOptions.UNLIMITED.withMaxExpandedStates(20));
+        Assertions.assertEquals(AbortReason.NODE_LIMIT, nodeLimit.getAbortReason());
+        Assertions.assertEquals(20, nodeLimit.getStatistics().getExpandedStates());
+        // Der Stapel wächst mit der Tiefenschranke.
+        final SearchResult<Integer> frontierLimit = AlgorithmUtils.iterativeDeepeningSearch(0, PRODUCER,
+            w -> w.getState() == goal, 10, 0, SearchOptions.UNLIMITED.withMaxFrontierSize(3));
+        Assertions.assertEquals(AbortReason.FRONTIER_LIMIT, frontierLimit.getAbortReason());
+        Assertions.assertEquals(4, frontierLimit.getStatistics().getPeakFrontierSize());
+        // Auf einer Kette von 5 Feldern ist der Zustandsraum nach der fünften Iteration vollständig durchsucht.
+        final SearchResult<Integer> exhausted = AlgorithmUtils.iterativeDeepeningSearch(0,
+            w -> w.getState() < 4 ? Collections.singletonList(w.getState() + 1) : Collections.emptyList(),
+            w -> false, 10, 0, SearchOptions.UNLIMITED);
+        Assertions.assertEquals(Status.EXHAUSTED, exhausted.getStatus());
+        Assertions.assertEquals(1 + 2 + 3 + 4 + 5, exhausted.getStatistics().getExpandedStates());
+
+        final SearchResult<Integer> idaFound = AlgorithmUtils.idastar(0, PRODUCER, (from, to) -> 1,
+            pos -> Math.abs(pos % SIZE - 3) + Math.abs(pos / SIZE - 3), w -> w.getState() == goal, 0,
+            SearchOptions.UNLIMITED);
+        Assertions.assertEquals(Status.FOUND, idaFound.getStatus());
+        Assertions.assertEquals(7, idaFound.getPath().size());
+        final SearchResult<Integer> idaAborted = AlgorithmUtils.idastar(0, PRODUCER, (from, to) -> 1, pos -> 0,
+            w -> w.getState() == goal, 0, SearchOptions.UNLIMITED.withMaxExpandedStates(20));
+        Assertions.assertEquals(AbortReason.NODE_LIMIT, idaAborted.getAbortReason());
+        Assertions.assertEquals(20, idaAborted.getStatistics().getExpandedStates());
+    }
+
+    /**
+     * Testet die Grenzen und Kennzahlen der parallelen Breitensuche.
+     */
+    @Test
+    public void testParallel() {
+        final SearchResult<Integer> found = AlgorithmUtils.parallelBreadthFirstSearch(0, PRODUCER, null,
+            w -> w.getState() == SIZE * SIZE - 1, ClosedSet.concurrentHashSet(), ForkJoinPool.commonPool(),
+            SearchOptions.UNLIMITED);
+        Assertions.assertEquals(Status.FOUND, found.getStatus());
+        Assertions.assertEquals(2 * SIZE - 1, found.getPath().size());
+        final SearchResult<Integer> exhausted = parallelSearch(SearchOptions.UNLIMITED);
+        Assertions.assertEquals(Status.EXHAUSTED, exhausted.getStatus());
+        Assertions.assertEquals(SIZE * SIZE, exhausted.getStatistics().getExpandedStates());
+        Assertions.assertEquals(4L * SIZE * (SIZE - 1), exhausted.getStatistics().getGeneratedStates());
+        Assertions.assertEquals(4L * SIZE * (SIZE - 1) - (SIZE * SIZE - 1),
+            exhausted.getStatistics().getDuplicateStates());
+        Assertions.assertEquals(SIZE, exhausted.getStatistics().getPeakFrontierSize());
+        // Die Ebenen 0 bis 30 enthalten 1 + 2 + ... + 31 = 496 Felder, Ebene 31 würde die Grenze überschreiten.
+        final SearchResult<Integer> nodeLimit = parallelSearch(SearchOptions.UNLIMITED.withMaxExpandedStates(500));
+        Assertions.assertEquals(AbortReason.NODE_LIMIT, nodeLimit.getAbortReason());
+        Assertions.assertEquals(496, nodeLimit.getStatistics().getExpandedStates());
+        Assertions.assertEquals(AbortReason.FRONTIER_LIMIT,
+            parallelSearch(SearchOptions.UNLIMITED.withMaxFrontierSize(50)).getAbortReason());
+        Assertions.assertEquals(AbortReason.CANCELLED,
+            parallelSearch(SearchOptions.UNLIMITED.withCancellation(() -> true)).getAbortReason());
+    }
+
+    /**
+     * Führt eine parallele Breitensuche ohne Ziel mit den übergebenen Optionen durch.
+     *
+     * @param options
+     *            Grenzen der Suche.
+     * @return Ergebnis der Suche.
+     */
+    private static SearchResult<Integer> parallelSearch(final SearchOptions options) {
+        return AlgorithmUtils.parallelBreadthFirstSearch(0, PRODUCER, null, w -> false, ClosedSet.concurrentHashSet(),
+            ForkJoinPool.commonPool(), options);
+    }
+
+    /**
+     * Führt eine Breitensuche ohne Ziel mit den übergebenen Optionen durch.
+     *
+     * @param options
+     *            Grenzen der Suche.
+     * @return Ergebnis der Suche.
+     */
+    private static SearchResult<Integer> search(final SearchOptions options) {
+        return AlgorithmUtils.breadthFirstSearch(0, PRODUCER, null, w -> false, ClosedSet.hashSet(), options);
+    }
+
+    /**
+     * Testet die Meldungen an einen {@link SearchListener} sowie die nur mit Listener erhobenen Kennzahlen.
+     */
+    @Test
+    public void testListener() {
+        final List<int[]> levels = new ArrayList<>();
+        final List<SearchResult<?>> results = new ArrayList<>();
+        final SearchListener listener = new SearchListener() {
+
+            @Override
+            public void levelCompleted(final int depth, final int frontierSize, final long expandedStates,
+                    final long generatedStates, final long duplicateStates, final long elapsedNanos) {
+                Assertions.assertTrue(generatedStates >= duplicateStates);
+                Assertions.assertTrue(elapsedNanos >= 0);
+                levels.add(new int[] { depth, frontierSize, (int) expandedStates });
+            }
+
+            @Override
+            public void searchFinished(final SearchResult<?> result) {
+                results.add(result);
+            }
+        };
+        final SearchResult<Integer> result = AlgorithmUtils.breadthFirstSearch(0, PRODUCER, null, w -> false,
+            ClosedSet.hashSet(), SearchOptions.UNLIMITED.withListener(listener));
+        Assertions.assertEquals(Status.EXHAUSTED, result.getStatus());
+        Assertions.assertEquals(1, results.size());
+        Assertions.assertSame(result, results.get(0));
+        // Ebene d enthält alle Felder mit dem Manhattan-Abstand d zur Ecke.
+        Assertions.assertEquals(2 * SIZE - 1, levels.size());
+        long expanded = 0;
+        for (int depth = 0; depth < levels.size(); depth++) {
+            final int[] level = levels.get(depth);
+            final int expectedSize = Math.min(depth, 2 * SIZE - 2 - depth) + 1;
+            Assertions.assertEquals(depth, level[0]);
+            Assertions.assertEquals(expectedSize, level[1]);
+            Assertions.assertEquals(expectedSize, level[2]);
+            expanded += level[2];
+        }
+        final SearchStatistics statistics = result.getStatistics();
+        Assertions.assertEquals(statistics.getExpandedStates(), expanded);
+        Assertions.assertTrue(statistics.getProducerNanos() > 0);
+        Assertions.assertTrue(statistics.getPredicateNanos() > 0);
+        Assertions.assertTrue(statistics.getPeakHeapBytes() > 0);
+        Assertions.assertTrue(statistics.getExpansionRate() > 0);
+        Assertions.assertEquals(1.0, statistics.getEffectiveBranchingFactor(), 1e-3);
+        Assertions.assertEquals((double) statistics.getDuplicateStates() / statistics.getGeneratedStates(),
+            statistics.getDuplicateRate(), 1e-9);
+        // Ohne Listener werden keine Zeiten gemessen.
+        final SearchStatistics unobserved = AlgorithmUtils.breadthFirstSearch(0, PRODUCER, null, w -> false,
+            ClosedSet.hashSet(), SearchOptions.UNLIMITED).getStatistics();
+        Assertions.assertEquals(0, unobserved.getProducerNanos());
+        Assertions.assertEquals(0, unobserved.getPredicateNanos());
+        Assertions.assertEquals(0, unobserved.getPeakHeapBytes());
+    }
+
+    /**
+     * Vergleicht die Ebenen, die die parallele und die speichersparende Breitensuche an einen {@link SearchListener}
+     * melden, mit denen der Breitensuche und testet die Meldung der Iterationen der iterativen Tiefensuche und der
+     * Fronten der bidirektionalen Breitensuche.
+     */
+    @Test
+    public void testListenerLevels() {
+        final List<int[]> expected = levels(options -> AlgorithmUtils.breadthFirstSearch(0, PRODUCER, null,
+            w -> false, ClosedSet.hashSet(), options));
+        final List<SearchStatistics> statistics = new ArrayList<>();
+        final List<int[]> parallel = levels(options -> {
+            final SearchResult<Integer> result = AlgorithmUtils.parallelBreadthFirstSearch(0, PRODUCER, null,
+                w -> false, ClosedSet.concurrentHashSet(), ForkJoinPool.commonPool(), options);
+            statistics.add(result.getStatistics());
+            return result;
+        });
+        final List<int[]> compact = levels(options -> new CompactBreadthFirstSearch<Integer>(
+                pos -> SearchFixtures.gridNeighbours(pos, SIZE, free -> true), pos -> false).search(0, options));
+        Assertions.assertEquals(2 * SIZE - 1, expected.size());
+        Assertions.assertEquals(expected.size(), parallel.size());
+        Assertions.assertEquals(expected.size(), compact.size());
+        for (int depth = 0; depth < expected.size(); depth++) {
+            Assertions.assertArrayEquals(expected.get(depth), parallel.get(depth));
+            Assertions.assertArrayEquals(expected.get(depth), compact.get(depth));
+        }
+        Assertions.assertTrue(statistics.get(0).getProducerNanos() > 0);
+        Assertions.assertTrue(statistics.get(0).getPredicateNanos() > 0);
+        // Jede Iteration wird mit der Tiefenschranke als Tiefe gemeldet.
+        final List<int[]> iterations = levels(options -> AlgorithmUtils.iterativeDeepeningSearch(0,
+            w -> w.getState() < 4 ? Collections.singletonList(w.getState() + 1) : Collections.emptyList(),
+            w -> false, 10, 0, options));
+        Assertions.assertEquals(5, iterations.size());
+        for (int limit = 1; limit <= iterations.size(); limit++) {
+            Assertions.assertArrayEquals(new int[] { limit, 1, limit }, iterations.get(limit - 1));
+        }
+        // Die bidirektionale Suche expandiert abwechselnd die gleich großen Fronten um die Start- und die Zielecke.
+        final List<int[]> bidirectional = levels(options -> AlgorithmUtils.bidirectionalSearch(0, SIZE * SIZE - 1,
+            PRODUCER, PRODUCER, options));
+        Assertions.assertEquals(2 * SIZE - 2, bidirectional.size());
+        for (int level = 0; level < bidirectional.size(); level++) {
+            final int size = level / 2 + 1;
+            Assertions.assertArrayEquals(new int[] { level, size, size }, bidirectional.get(level));
+        }
+    }
+
+    /**
+     * Führt eine Suche mit einem Listener durch und sammelt die gemeldeten Ebenen.
+     *
+     * @param search
+     *            Suche, die mit den übergebenen Optionen durchgeführt wird.
+     * @return Tiefe, Größe und Anzahl der expandierten Zustände jeder gemeldeten Ebene.
+     */
+    private static List<int[]> levels(final Function<SearchOptions, SearchResult<Integer>> search) {
+        final List<int[]> levels = new ArrayList<>();
+        search.apply(SearchOptions.UNLIMITED.withListener(new SearchListener() {
+
+            @Override
+            public void levelCompleted(final int depth, final int frontierSize, final long expandedStates,
+                    final long generatedStates, final long duplicateStates, final long elapsedNanos) {
+                levels.add(new int[] { depth, frontierSize, (int) expandedStates });
+            }
+        }));
+        return levels;
+    }
+}
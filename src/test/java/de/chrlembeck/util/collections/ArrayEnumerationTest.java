@@ -1,6 +1,11 @@
 package de.chrlembeck.util.collections;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Assertions;
 
@@ -27,4 +32,63 @@ public class ArrayEnumerationTest {
         Assertions.assertFalse(aEnum.hasMoreElements());
         Assertions.assertThrows(NoSuchElementException.class, aEnum::nextElement);
     }
+
+    /**
+     * Testet die Enumeration über einen Teilbereich des Arrays und die Verwendung als Spliterator.
+     */
+    @Test
+    public void testRangeAndSpliterator() {
+        final Integer[] values = new Integer[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Integer.valueOf(i);
+        }
+        final ArrayEnumeration<Integer> range = new ArrayEnumeration<>(values, 2, 4);
+        Assertions.assertEquals(2, range.estimateSize());
+        Assertions.assertEquals(Integer.valueOf(2), range.nextElement());
+        Assertions.assertTrue(range.tryAdvance(v -> Assertions.assertEquals(3, v.intValue())));
+        Assertions.assertFalse(range.hasMoreElements());
+        Assertions.assertFalse(range.tryAdvance(v -> Assertions.fail()));
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> new ArrayEnumeration<>(values, -1, 4));
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> new ArrayEnumeration<>(values, 0, 1001));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ArrayEnumeration<>(values, 5, 4));
+
+        final ArrayEnumeration<Integer> whole = new ArrayEnumeration<>(values);
+        final ArrayEnumeration<Integer> prefix = whole.trySplit();
+        Assertions.assertEquals(500, prefix.estimateSize());
+        Assertions.assertEquals(Integer.valueOf(500), whole.nextElement());
+        Assertions.assertEquals(499_500, StreamSupport.stream(new ArrayEnumeration<>(values), true)
+            .mapToInt(Integer::intValue).sum());
+    }
+
+    /**
+     * Testet die Enumerationen über int- und long-Arrays.
+     */
+    @Test
+    public void testPrimitiveEnumerations() {
+        final int[] ints = new int[10_000];
+        final long[] longs = new long[10_000];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = i;
+            longs[i] = i * 1_000_000_000L;
+        }
+        final IntArrayEnumeration intEnum = new IntArrayEnumeration(ints, 1, 3);
+        Assertions.assertEquals(Integer.valueOf(1), intEnum.nextElement());
+        Assertions.assertTrue(intEnum.hasNext());
+        Assertions.assertEquals(2, intEnum.nextInt());
+        Assertions.assertFalse(intEnum.hasMoreElements());
+        Assertions.assertThrows(NoSuchElementException.class, intEnum::nextInt);
+        Assertions.assertEquals(49_995_000L, StreamSupport.intStream(new IntArrayEnumeration(ints), true)
+            .asLongStream().sum());
+        final List<Integer> boxed = new ArrayList<>();
+        new IntArrayEnumeration(ints, 9_997, 10_000).forEachRemaining((Consumer<Integer>) boxed::add);
+        Assertions.assertEquals(Arrays.asList(9_997, 9_998, 9_999), boxed);
+
+        final LongArrayEnumeration longEnum = new LongArrayEnumeration(longs);
+        final LongArrayEnumeration prefix = longEnum.trySplit();
+        Assertions.assertEquals(5000, prefix.estimateSize());
+        Assertions.assertEquals(5_000_000_000_000L, longEnum.nextLong());
+        Assertions.assertEquals(49_995_000_000_000_000L, StreamSupport.longStream(new LongArrayEnumeration(longs),
+            true).sum());
+        Assertions.assertEquals(3, new LongArrayEnumeration(1L, 2L).nextElement().longValue() + 2);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,10 @@
 package de.chrlembeck.util.collections;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 //import org.junit.platform.runner.JUnitPlatform;
@@ -66,4 +71,268 @@ public class BidirectionalGrowingArrayTest {
     public void testZeroSize() {
         Assertions.assertEquals(0, new BidirectionalGrowingArray<>(Object[]::new).size());
     }
+
+    /**
+     * Testet die seitenweise Speicherung bei großen Lücken zwischen den Indizes.
+     */
+    @Test
+    public void testSparse() {
+        final BidirectionalGrowingArray<Integer> array = new BidirectionalGrowingArray<>(Integer[]::new);
+        array.put(0, Integer.valueOf(1));
+        array.put(-1_000_000, Integer.valueOf(2));
+        Assertions.assertTrue(array.isSparse());
+        Assertions.assertEquals(1_000_001, array.size());
+        Assertions.assertArrayEquals(new int[] { -1_000_000, 0 }, array.getRange());
+        Assertions.assertEquals(Integer.valueOf(1), array.get(0));
+        Assertions.assertEquals(Integer.valueOf(2), array.get(-1_000_000));
+        Assertions.assertNull(array.get(-500_000));
+        Assertions.assertNull(array.get(-999_999));
+        Assertions.assertNull(array.get(1));
+        Assertions.assertEquals(Integer.valueOf(1), array.put(0, Integer.valueOf(3)));
+        Assertions.assertEquals(Integer.valueOf(3), array.get(0));
+        array.put(2_000_000, Integer.valueOf(4));
+        Assertions.assertEquals(Integer.valueOf(4), array.get(2_000_000));
+        Assertions.assertArrayEquals(new int[] { -1_000_000, 2_000_000 }, array.getRange());
+    }
+
+    /**
+     * Testet den Wechsel von der seitenweisen Speicherung zurück in ein zusammenhängendes Array.
+     */
+    @Test
+    public void testSparseToDense() {
+        final BidirectionalGrowingArray<Integer> array = new BidirectionalGrowingArray<>(Integer[]::new);
+        array.put(0, Integer.valueOf(0));
+        array.put(9_999, Integer.valueOf(9_999));
+        Assertions.assertTrue(array.isSparse());
+        for (int i = 1; i < 9_999; i += 2) {
+            array.put(i, Integer.valueOf(i));
+        }
+        Assertions.assertFalse(array.isSparse());
+        Assertions.assertEquals(10_000, array.size());
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertEquals(i == 0 || i == 9_999 || i % 2 == 1 ? Integer.valueOf(i) : null, array.get(i));
+        }
+        int counter = 0;
+        for (final Integer value : array) {
+            Assertions.assertEquals(counter == 0 || counter == 9_999 || counter % 2 == 1 ? Integer.valueOf(counter)
+                    : null, value);
+            counter++;
+        }
+        Assertions.assertEquals(10_000, counter);
+    }
+
+    /**
+     * Testet die Streams und den Spliterator.
+     */
+    @Test
+    public void testStreams() {
+        final BidirectionalGrowingArray<Integer> array = new BidirectionalGrowingArray<>(Integer[]::new);
+        for (int i = -500; i < 500; i++) {
+            array.put(i, Integer.valueOf(i));
+        }
+        final Spliterator<Integer> spliterator = array.spliterator();
+        Assertions.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        Assertions.assertEquals(1000, spliterator.estimateSize());
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        Assertions.assertEquals(500, prefix.estimateSize());
+        Assertions.assertEquals(500, spliterator.estimateSize());
+        prefix.tryAdvance(value -> Assertions.assertEquals(Integer.valueOf(-500), value));
+        spliterator.tryAdvance(value -> Assertions.assertEquals(Integer.valueOf(0), value));
+
+        Assertions.assertEquals(1000, array.stream().count());
+        Assertions.assertEquals(-500, array.parallelStream().mapToInt(Integer::intValue).sum());
+        Assertions.assertEquals(array.stream().collect(Collectors.toList()),
+                array.parallelStream().collect(Collectors.toList()));
+    }
+
+    /**
+     * Testet die Iteration mit Übergabe der Indizes.
+     */
+    @Test
+    public void testIndexedForEach() {
+        final BidirectionalGrowingArray<Integer> array = new BidirectionalGrowingArray<>(Integer[]::new);
+        array.put(-3, Integer.valueOf(-3));
+        array.put(4, Integer.valueOf(4));
+        final int[] counter = new int[] { -3 };
+        array.forEach((index, value) -> {
+            Assertions.assertEquals(counter[0]++, index);
+            Assertions.assertEquals(index == -3 || index == 4 ? Integer.valueOf(index) : null, value);
+        });
+        Assertions.assertEquals(5, counter[0]);
+    }
+
+    /**
+     * Testet die Bereichsoperationen putAll, fill und copyRange.
+     */
+    @Test
+    public void testBulkOperations() {
+        final BidirectionalGrowingArray<Integer> array = new BidirectionalGrowingArray<>(Integer[]::new);
+        array.putAll(-3, new Integer[] { 1, 2, null, 4 });
+        Assertions.assertArrayEquals(new int[] { -3, 0 }, array.getRange());
+        Assertions.assertEquals(Integer.valueOf(2), array.get(-2));
+        Assertions.assertNull(array.get(-1));
+        array.fill(-6, 3, Integer.valueOf(7));
+        Assertions.assertArrayEquals(new int[] { -6, 2 }, array.getRange());
+        final Integer[] dest = new Integer[12];
+        array.copyRange(-8, 4, dest);
+        Assertions.assertArrayEquals(new Integer[] { null, null, 7, 7, 7, 7, 7, 7, 7, 7, 7, null }, dest);
+        array.fill(-5, -3, null);
+        array.copyRange(-6, -2, dest);
+        Assertions.assertArrayEquals(new Integer[] { 7, null, null, 7 }, Arrays.copyOf(dest, 4));
+        array.copyRange(100, 102, dest);
+        Assertions.assertNull(dest[0]);
+        Assertions.assertNull(dest[1]);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> array.fill(3, 2, null));
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.copyRange(0, 20, dest));
+
+        array.putAll(1_000_000, new Integer[] { 8, 9 });
+        Assertions.assertTrue(array.isSparse());
+        array.fill(999_998, 1_000_001, Integer.valueOf(5));
+        array.copyRange(999_997, 1_000_003, dest);
+        Assertions.assertArrayEquals(new Integer[] { null, 5, 5, 5, 9, null }, Arrays.copyOf(dest, 6));
+    }
+
+    /**
+     * Testet die Bereichsoperationen bei seitenweiser Speicherung über viele Seiten sowie die Prüfung zu großer
+     * Bereiche.
+     */
+    @Test
+    public void testSparseBulkOperations() {
+        final BidirectionalGrowingArray<Integer> array = new BidirectionalGrowingArray<>(Integer[]::new);
+        array.put(0, Integer.valueOf(1));
+        array.put(100_000_000, Integer.valueOf(2));
+        Assertions.assertTrue(array.isSparse());
+        final Integer[] values = new Integer[100_000];
+        Arrays.fill(values, Integer.valueOf(3));
+        array.putAll(200_000_000, values);
+        Assertions.assertTrue(array.isSparse());
+        Assertions.assertEquals(Integer.valueOf(3), array.get(200_099_999));
+        Assertions.assertEquals(200_099_999, array.getLastOccupiedIndex());
+        array.fill(50_000_000, 50_100_000, Integer.valueOf(4));
+        Assertions.assertTrue(array.isSparse());
+        Assertions.assertEquals(Integer.valueOf(4), array.get(50_099_999));
+        // Nicht vorhandene Seiten werden beim Leeren übersprungen.
+        array.fill(-150_000_000, 200_050_000, null);
+        Assertions.assertArrayEquals(new int[] { -150_000_000, 200_099_999 }, array.getRange());
+        Assertions.assertNull(array.get(0));
+        Assertions.assertNull(array.get(100_000_000));
+        Assertions.assertEquals(200_050_000, array.getFirstOccupiedIndex());
+        Assertions.assertEquals(Integer.valueOf(3), array.get(200_050_000));
+        array.fill(200_050_000, 200_100_000, null);
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.getFirstOccupiedIndex());
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> array.fill(Integer.MIN_VALUE, Integer.MAX_VALUE, null));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> array.put(Integer.MAX_VALUE, Integer.valueOf(5)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> array.putAll(Integer.MAX_VALUE - 1, new Integer[] { 6, 7, 8 }));
+        Assertions.assertArrayEquals(new int[] { -150_000_000, 200_099_999 }, array.getRange());
+    }
+
+    /**
+     * Testet die Sicht auf einen Bereich des Arrays.
+     */
+    @Test
+    public void testSubRange() {
+        final BidirectionalGrowingArray<Integer> array = new BidirectionalGrowingArray<>(Integer[]::new);
+        array.put(0, Integer.valueOf(0));
+        array.put(1, Integer.valueOf(1));
+        final List<Integer> view = array.subRange(-1, 3);
+        Assertions.assertEquals(Arrays.asList(null, 0, 1, null), view);
+        view.set(3, Integer.valueOf(2));
+        Assertions.assertEquals(Integer.valueOf(2), array.get(2));
+        array.put(-1, Integer.valueOf(-1));
+        Assertions.assertEquals(Arrays.asList(-1, 0, 1, 2), view);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> view.get(4));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> view.add(Integer.valueOf(3)));
+    }
+
+    /**
+     * Testet die Ermittlung des belegten Bereichs, das Verkleinern und das Überspringen leerer Ränder.
+     */
+    @Test
+    public void testOccupiedRangeAndTrim() {
+        final BidirectionalGrowingArray<Integer> array = new BidirectionalGrowingArray<>(Integer[]::new);
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.getFirstOccupiedIndex());
+        array.put(-10, Integer.valueOf(-10));
+        array.put(-5, Integer.valueOf(-5));
+        array.put(3, Integer.valueOf(3));
+        array.put(10, Integer.valueOf(10));
+        Assertions.assertEquals(4, array.getElementCount());
+        Assertions.assertEquals(-10, array.getFirstOccupiedIndex());
+        Assertions.assertEquals(10, array.getLastOccupiedIndex());
+        array.put(-10, null);
+        array.put(10, null);
+        Assertions.assertEquals(-5, array.getFirstOccupiedIndex());
+        Assertions.assertEquals(3, array.getLastOccupiedIndex());
+        Assertions.assertArrayEquals(new int[] { -10, 10 }, array.getRange());
+        Assertions.assertEquals(9, array.stream().count());
+        final Iterator<Integer> iterator = array.iterator();
+        Assertions.assertEquals(Integer.valueOf(-5), iterator.next());
+        array.trimToSize();
+        Assertions.assertArrayEquals(new int[] { -5, 3 }, array.getRange());
+        Assertions.assertEquals(9, array.size());
+        Assertions.assertEquals(Integer.valueOf(-5), array.get(-5));
+        Assertions.assertEquals(Integer.valueOf(3), array.get(3));
+
+        array.fill(-5, 4, null);
+        Assertions.assertEquals(0, array.getElementCount());
+        Assertions.assertFalse(array.iterator().hasNext());
+        array.trimToSize();
+        Assertions.assertEquals(0, array.size());
+
+        array.putAll(20, new Integer[] { null, 21, null, 23, null });
+        Assertions.assertEquals(21, array.getFirstOccupiedIndex());
+        Assertions.assertEquals(23, array.getLastOccupiedIndex());
+    }
+
+    /**
+     * Testet den belegten Bereich und das Verkleinern bei seitenweiser Speicherung.
+     */
+    @Test
+    public void testSparseTrim() {
+        final BidirectionalGrowingArray<Integer> array = new BidirectionalGrowingArray<>(Integer[]::new);
+        array.put(-1_000_000, Integer.valueOf(1));
+        array.put(0, Integer.valueOf(2));
+        array.put(1_000_000, Integer.valueOf(3));
+        Assertions.assertTrue(array.isSparse());
+        array.put(1_000_000, null);
+        Assertions.assertEquals(0, array.getLastOccupiedIndex());
+        array.put(-1_000_000, null);
+        Assertions.assertEquals(0, array.getFirstOccupiedIndex());
+        Assertions.assertEquals(1, array.stream().count());
+        array.trimToSize();
+        Assertions.assertArrayEquals(new int[] { 0, 0 }, array.getRange());
+        Assertions.assertFalse(array.isSparse());
+        Assertions.assertEquals(Integer.valueOf(2), array.get(0));
+    }
+
+    /**
+     * Testet das Durchlaufen des Arrays mit einem wiederverwendbaren Cursor.
+     */
+    @Test
+    public void testCursor() {
+        final BidirectionalGrowingArray<Integer> array = new BidirectionalGrowingArray<>(Integer[]::new);
+        final BidirectionalGrowingArray<Integer>.Cursor cursor = array.cursor();
+        Assertions.assertFalse(cursor.next());
+        Assertions.assertThrows(IllegalStateException.class, () -> cursor.index());
+        array.put(-2, Integer.valueOf(-2));
+        array.put(1, Integer.valueOf(1));
+        array.put(5, null);
+        Assertions.assertEquals(-2, array.getMinIndex());
+        Assertions.assertEquals(5, array.getMaxIndex());
+        for (int round = 0; round < 2; round++) {
+            cursor.reset();
+            Assertions.assertThrows(IllegalStateException.class, () -> cursor.value());
+            final StringBuilder sb = new StringBuilder();
+            while (cursor.next()) {
+                sb.append(cursor.index()).append('=').append(cursor.value()).append(';');
+            }
+            Assertions.assertEquals("-2=-2;-1=null;0=null;1=1;", sb.toString());
+            Assertions.assertFalse(cursor.next());
+        }
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class,
+            () -> new BidirectionalGrowingArray<>(Object[]::new).getMinIndex());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package de.chrlembeck.util.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die Raster-Klassen BidirectionalGrowingGrid und BidirectionalGrowingIntGrid.
+ *
+ * @author Christoph Lembeck
+ */
+public class BidirectionalGrowingGridTest {
+
+    /**
+     * Testet das Lesen und Schreiben in alle vier Richtungen.
+     */
+    @Test
+    public void testGetAndPut() {
+        final BidirectionalGrowingGrid<String> grid = new BidirectionalGrowingGrid<>(String[]::new);
+        Assertions.assertTrue(grid.isEmpty());
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> grid.getRange());
+        Assertions.assertNull(grid.get(0, 0));
+        Assertions.assertNull(grid.put(0, 0, "a"));
+        Assertions.assertNull(grid.put(-100, 3, "b"));
+        Assertions.assertNull(grid.put(70, -200, "c"));
+        Assertions.assertNull(grid.put(-1, -1, "d"));
+        Assertions.assertEquals("a", grid.put(0, 0, "e"));
+        Assertions.assertFalse(grid.isEmpty());
+        Assertions.assertArrayEquals(new int[] { -100, -200, 70, 3 }, grid.getRange());
+        Assertions.assertEquals("e", grid.get(0, 0));
+        Assertions.assertEquals("b", grid.get(-100, 3));
+        Assertions.assertEquals("c", grid.get(70, -200));
+        Assertions.assertEquals("d", grid.get(-1, -1));
+        Assertions.assertNull(grid.get(-1, 0));
+        Assertions.assertNull(grid.get(1_000_000, 1_000_000));
+    }
+
+    /**
+     * Testet weit voneinander entfernte Zellen sowie das Leeren von Zellen.
+     */
+    @Test
+    public void testDistantCellsAndClear() {
+        final BidirectionalGrowingGrid<String> grid = new BidirectionalGrowingGrid<>(String[]::new);
+        grid.put(0, 0, "a");
+        grid.put(1_000_000, 1_000_000, "b");
+        grid.put(Integer.MIN_VALUE, Integer.MAX_VALUE, "c");
+        grid.put(Integer.MAX_VALUE, Integer.MIN_VALUE, "d");
+        Assertions.assertEquals("a", grid.get(0, 0));
+        Assertions.assertEquals("b", grid.get(1_000_000, 1_000_000));
+        Assertions.assertEquals("c", grid.get(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        Assertions.assertEquals("d", grid.get(Integer.MAX_VALUE, Integer.MIN_VALUE));
+        Assertions.assertNull(grid.get(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        Assertions.assertNull(grid.get(-1, 0));
+
+        final BidirectionalGrowingIntGrid intGrid = new BidirectionalGrowingIntGrid();
+        intGrid.put(0, 0, 1);
+        intGrid.put(10, 10, 2);
+        Assertions.assertEquals(0, intGrid.put(20, 20, 0));
+        // Das Leeren einer Zelle in einer vorhandenen Kachel erweitert den beschriebenen Bereich nicht.
+        Assertions.assertEquals(0, intGrid.put(-5, -5, 0));
+        Assertions.assertEquals(2, intGrid.put(10, 10, 0));
+        Assertions.assertArrayEquals(new int[] { 0, 0, 10, 10 }, intGrid.getRange());
+        Assertions.assertNull(grid.put(1, 1, null));
+        Assertions.assertEquals("a", grid.put(0, 0, null));
+        Assertions.assertNull(grid.get(0, 0));
+        Assertions.assertArrayEquals(new int[] { Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE,
+            Integer.MAX_VALUE }, grid.getRange());
+    }
+
+    /**
+     * Testet den zeilenweisen Durchlauf eines Bereichs über Kachelgrenzen hinweg.
+     */
+    @Test
+    public void testForEach() {
+        final BidirectionalGrowingIntGrid grid = new BidirectionalGrowingIntGrid();
+        for (int y = -40; y <= 40; y++) {
+            for (int x = -40; x <= 40; x++) {
+                grid.put(x, y, x * 1000 + y);
+            }
+        }
+        Assertions.assertEquals(0, grid.put(500, 500, 0));
+        Assertions.assertEquals(-40_040, grid.get(-40, -40));
+        final List<int[]> cells = new ArrayList<>();
+        grid.forEach(-35, -3, 37, 2, (x, y, value) -> cells.add(new int[] { x, y, value }));
+        Assertions.assertEquals(73 * 6, cells.size());
+        int index = 0;
+        for (int y = -3; y <= 2; y++) {
+            for (int x = -35; x <= 37; x++) {
+                Assertions.assertArrayEquals(new int[] { x, y, x * 1000 + y }, cells.get(index++));
+            }
+        }
+        final int[] sum = new int[1];
+        grid.forEach(39, 39, 42, 42, (x, y, value) -> sum[0] += value);
+        Assertions.assertEquals(39_039 + 39_040 + 40_039 + 40_040, sum[0]);
+    }
+
+    /**
+     * Testet das Raster für double-Werte.
+     */
+    @Test
+    public void testDoubleGrid() {
+        final BidirectionalGrowingDoubleGrid grid = new BidirectionalGrowingDoubleGrid();
+        grid.put(-5, 7, 1.5);
+        Assertions.assertEquals(1.5, grid.put(-5, 7, 2.5));
+        Assertions.assertEquals(2.5, grid.get(-5, 7));
+        Assertions.assertEquals(0.0, grid.get(5, 7));
+    }
+}
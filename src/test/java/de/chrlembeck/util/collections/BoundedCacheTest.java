@@ -0,0 +1,183 @@
+package de.chrlembeck.util.collections;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die Klasse BoundedCache.
+ *
+ * @author Christoph Lembeck
+ */
+public class BoundedCacheTest {
+
+    /**
+     * Testet die LRU-Verdrängung und die Zähler.
+     */
+    @Test
+    public void testLru() {
+        final BoundedCache<Integer, String> cache = new BoundedCache<>(3);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        Assertions.assertEquals("a", cache.get(1));
+        cache.put(4, "d");
+        Assertions.assertNull(cache.get(2));
+        Assertions.assertEquals("a", cache.get(1));
+        Assertions.assertEquals("c", cache.get(3));
+        Assertions.assertEquals("d", cache.get(4));
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertEquals(4, cache.getHitCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(1, cache.getEvictionCount());
+        Assertions.assertEquals("x4", cache.computeIfAbsent(5, k -> "x" + (k - 1)));
+        Assertions.assertEquals("x4", cache.computeIfAbsent(5, k -> "y"));
+        Assertions.assertEquals("x4", cache.remove(5));
+        Assertions.assertEquals(2, cache.size());
+        cache.clear();
+        Assertions.assertEquals(0, cache.getWeight());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(0));
+    }
+
+    /**
+     * Testet die Begrenzung über das Gewicht der Einträge.
+     */
+    @Test
+    public void testWeight() {
+        final BoundedCache<Integer, String> cache = new BoundedCache<>(10, BoundedCache.EvictionPolicy.LRU,
+            (key, value) -> value.length());
+        cache.put(1, "aaaa");
+        cache.put(2, "bbbb");
+        cache.put(3, "cc");
+        Assertions.assertEquals(10, cache.getWeight());
+        cache.put(4, "ddd");
+        Assertions.assertNull(cache.get(1));
+        Assertions.assertEquals(9, cache.getWeight());
+        cache.put(5, "eeeeeeeeeee");
+        Assertions.assertNull(cache.get(5));
+        Assertions.assertTrue(cache.getWeight() <= cache.getMaximumWeight());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedCache<Integer, String>(10,
+            BoundedCache.EvictionPolicy.LRU, (key, value) -> -1).put(1, "a"));
+    }
+
+    /**
+     * Testet, dass häufig genutzte Einträge bei TinyLFU-Verdrängung nicht durch einmalige Zugriffe auf viele andere
+     * Schlüssel verdrängt werden.
+     */
+    @Test
+    public void testTinyLfuScanResistance() {
+        final BoundedCache<Integer, Integer> lfu = new BoundedCache<>(100, BoundedCache.EvictionPolicy.TINY_LFU,
+            (key, value) -> 1);
+        final BoundedCache<Integer, Integer> lru = new BoundedCache<>(100);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                lfu.computeIfAbsent(i, k -> k);
+                lru.computeIfAbsent(i, k -> k);
+            }
+        }
+        for (int i = 1000; i < 2000; i++) {
+            lfu.computeIfAbsent(i, k -> k);
+            lru.computeIfAbsent(i, k -> k);
+        }
+        int lfuHits = 0;
+        int lruHits = 0;
+        for (int i = 0; i < 50; i++) {
+            lfuHits += lfu.get(i) == null ? 0 : 1;
+            lruHits += lru.get(i) == null ? 0 : 1;
+        }
+        Assertions.assertEquals(0, lruHits);
+        Assertions.assertTrue(lfuHits >= 45, "hits: " + lfuHits);
+        Assertions.assertTrue(lfu.size() <= 100);
+    }
+
+    /**
+     * Testet, dass sich die Größe des Sketches bei TinyLFU-Verdrängung nach der Anzahl und nicht nach dem Gewicht der
+     * Einträge richtet und häufig genutzte Einträge auch bei großen Gewichten nicht verdrängt werden.
+     */
+    @Test
+    public void testTinyLfuByteWeight() {
+        // 64 MB, gefüllt mit Einträgen von je 256 KB.
+        final BoundedCache<Integer, Integer> cache = new BoundedCache<>(64L << 20,
+                BoundedCache.EvictionPolicy.TINY_LFU, (key, value) -> 256 << 10);
+        Assertions.assertTrue(cache.sketchSize() <= 16 * 64, "counters: " + cache.sketchSize());
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.computeIfAbsent(i, k -> k);
+            }
+        }
+        for (int i = 1000; i < 2000; i++) {
+            cache.computeIfAbsent(i, k -> k);
+        }
+        int hits = 0;
+        for (int i = 0; i < 50; i++) {
+            hits += cache.get(i) == null ? 0 : 1;
+        }
+        Assertions.assertTrue(hits >= 45, "hits: " + hits);
+        Assertions.assertTrue(cache.size() <= 256);
+        // Höchstens 256 Einträge mit je 16 Zählern, durch das Verdoppeln je Segment höchstens doppelt so viele.
+        Assertions.assertTrue(cache.sketchSize() <= 2 * 16 * 256, "counters: " + cache.sketchSize());
+    }
+
+    /**
+     * Testet, dass bei TinyLFU-Verdrängung über die Aufnahme eines schweren Eintrags entschieden wird, bevor andere
+     * Einträge verdrängt werden.
+     */
+    @Test
+    public void testTinyLfuWeightedAdmission() {
+        final BoundedCache<Integer, Integer> cache = new BoundedCache<>(40, BoundedCache.EvictionPolicy.TINY_LFU,
+            (key, value) -> value);
+        // Drei selten genutzte Einträge bilden die ältesten Einträge des Hauptbereichs, danach folgen häufig genutzte.
+        for (int i = 0; i < 33; i++) {
+            cache.put(i, 1);
+        }
+        for (int round = 0; round < 10; round++) {
+            for (int i = 3; i < 33; i++) {
+                cache.get(i);
+            }
+        }
+        final int size = cache.size();
+        // Ein Schlüssel ohne vorherige Zugriffe wird abgelehnt, ohne dass dafür Einträge verdrängt werden.
+        cache.put(100, 15);
+        Assertions.assertEquals(size, cache.size());
+        Assertions.assertEquals(1, cache.getEvictionCount());
+        for (int i = 0; i < 33; i++) {
+            Assertions.assertEquals(Integer.valueOf(1), cache.get(i), "key " + i);
+        }
+        // Ein Schlüssel, auf den häufiger zugegriffen wurde als auf den ältesten Eintrag, wird aufgenommen.
+        cache.get(200);
+        cache.get(200);
+        cache.put(200, 15);
+        Assertions.assertEquals(Integer.valueOf(15), cache.get(200));
+        Assertions.assertTrue(cache.getWeight() <= cache.getMaximumWeight());
+    }
+
+    /**
+     * Testet gleichzeitige Zugriffe aus mehreren Threads.
+     *
+     * @throws InterruptedException
+     *             Falls der Test beim Warten unterbrochen wird.
+     */
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        for (final BoundedCache.EvictionPolicy policy : BoundedCache.EvictionPolicy.values()) {
+            final BoundedCache<Integer, Integer> cache = new BoundedCache<>(1000, policy, (key, value) -> 1);
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+            for (int t = 0; t < 4; t++) {
+                final int seed = t;
+                executor.execute(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        final int key = (i * 31 + seed) % 3000;
+                        Assertions.assertEquals(key, cache.computeIfAbsent(key, k -> k).intValue());
+                    }
+                });
+            }
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+            Assertions.assertEquals(200_000, cache.getHitCount() + cache.getMissCount());
+            Assertions.assertTrue(cache.getWeight() <= 1000);
+            Assertions.assertEquals(cache.size(), cache.getWeight());
+        }
+    }
+}
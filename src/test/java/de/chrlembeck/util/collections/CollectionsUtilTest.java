@@ -1,7 +1,18 @@
 package de.chrlembeck.util.collections;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -21,4 +32,75 @@ public class CollectionsUtilTest {
         Assertions.assertTrue(CollectionsUtil.isNullOrEmpty(new TreeSet<Float>()));
         Assertions.assertFalse(CollectionsUtil.isNullOrEmpty(Arrays.asList(1, 2, 3)));
     }
+
+    /**
+     * Testet die Aufteilung einer Liste in Batches.
+     */
+    @Test
+    public void testPartition() {
+        final List<Integer> list = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+        final List<List<Integer>> batches = CollectionsUtil.partition(list, 4);
+        Assertions.assertEquals(3, batches.size());
+        Assertions.assertEquals(Arrays.asList(4, 5, 6, 7), batches.get(1));
+        Assertions.assertEquals(Arrays.asList(8, 9), batches.get(2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> batches.get(3));
+        list.set(9, 42);
+        Assertions.assertEquals(Arrays.asList(8, 42), batches.get(2));
+        Assertions.assertTrue(CollectionsUtil.partition(new ArrayList<>(), 3).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CollectionsUtil.partition(list, 0));
+    }
+
+    /**
+     * Testet die Zusammenfassung der Elemente eines Spliterators zu Batches.
+     */
+    @Test
+    public void testChunkedSpliterator() {
+        final List<List<Integer>> batches = StreamSupport
+            .stream(CollectionsUtil.chunkedSpliterator(IntStream.range(0, 7).spliterator(), 3), false)
+            .collect(Collectors.toList());
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5), Arrays.asList(6)),
+            batches);
+        final long sum = StreamSupport
+            .stream(CollectionsUtil.chunkedSpliterator(IntStream.range(0, 100_000).spliterator(), 100), true)
+            .peek(batch -> Assertions.assertTrue(batch.size() <= 100)).flatMap(List::stream)
+            .mapToLong(Integer::longValue).sum();
+        Assertions.assertEquals(4_999_950_000L, sum);
+    }
+
+    /**
+     * Testet die parallele Verarbeitung in Batches mit begrenzter Anzahl gleichzeitig laufender Batches.
+     *
+     * @throws InterruptedException
+     *             Falls der Test beim Warten unterbrochen wird.
+     */
+    @Test
+    public void testParallelForEachBatch() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final AtomicInteger inFlight = new AtomicInteger();
+            final AtomicInteger maxInFlight = new AtomicInteger();
+            final LongAdder sum = new LongAdder();
+            final Set<Integer> set = IntStream.range(0, 10_000).boxed().collect(Collectors.toSet());
+            CollectionsUtil.parallelForEachBatch(set, 64, batch -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                batch.forEach(sum::add);
+                inFlight.decrementAndGet();
+            }, executor, 2);
+            Assertions.assertEquals(49_995_000L, sum.sum());
+            Assertions.assertTrue(maxInFlight.get() <= 2);
+
+            final List<Integer> list = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+            final LongAdder batches = new LongAdder();
+            CollectionsUtil.parallelForEachBatch(list, 10, batch -> batches.increment(), executor);
+            Assertions.assertEquals(100, batches.sum());
+
+            final CompletionException exception = Assertions.assertThrows(CompletionException.class,
+                () -> CollectionsUtil.parallelForEachBatch(list, 10, batch -> {
+                    throw new IllegalStateException("failed");
+                }, executor));
+            Assertions.assertTrue(exception.getCause() instanceof IllegalStateException);
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package de.chrlembeck.util.collections;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die Klasse ConcurrentBidirectionalGrowingArray.
+ *
+ * @author Christoph Lembeck
+ */
+public class ConcurrentBidirectionalGrowingArrayTest {
+
+    /**
+     * Testet die put und get-Methoden sowie die Arraygrenzen.
+     */
+    @Test
+    public void testGetAndRange() {
+        final ConcurrentBidirectionalGrowingArray<Integer> array = new ConcurrentBidirectionalGrowingArray<>();
+        Assertions.assertEquals(0, array.size());
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.getRange());
+        Assertions.assertNull(array.put(5, Integer.valueOf(42)));
+        Assertions.assertArrayEquals(new int[] { 0, 5 }, array.getRange());
+        Assertions.assertEquals(6, array.size());
+        array.put(-7, Integer.valueOf(17));
+        Assertions.assertArrayEquals(new int[] { -7, 5 }, array.getRange());
+        Assertions.assertEquals(13, array.size());
+        array.put(8, Integer.valueOf(13));
+        Assertions.assertEquals(Integer.valueOf(42), array.put(5, Integer.valueOf(16)));
+        Assertions.assertEquals(Integer.valueOf(16), array.get(5));
+        Assertions.assertEquals(Integer.valueOf(17), array.get(-7));
+        Assertions.assertEquals(Integer.valueOf(13), array.get(8));
+        Assertions.assertNull(array.get(0));
+        Assertions.assertNull(array.get(Integer.MAX_VALUE));
+        Assertions.assertNull(array.get(Integer.MIN_VALUE));
+        int counter = 0;
+        for (final Integer value : array) {
+            Assertions.assertEquals(array.get(-7 + counter++), value);
+        }
+        Assertions.assertEquals(16, counter);
+    }
+
+    /**
+     * Testet, dass der Indexbereich wie beim {@link BidirectionalGrowingArray} am Startindex beginnt.
+     */
+    @Test
+    public void testStartIndex() {
+        final ConcurrentBidirectionalGrowingArray<Integer> array = new ConcurrentBidirectionalGrowingArray<>(10);
+        array.put(12, Integer.valueOf(1));
+        Assertions.assertArrayEquals(new int[] { 10, 12 }, array.getRange());
+        Assertions.assertEquals(3, array.size());
+        final BidirectionalGrowingArray<Integer> reference = new BidirectionalGrowingArray<>(Integer[]::new, 10);
+        reference.put(12, Integer.valueOf(1));
+        Assertions.assertArrayEquals(reference.getRange(), array.getRange());
+        final ConcurrentBidirectionalGrowingArray<Integer> left = new ConcurrentBidirectionalGrowingArray<>(10);
+        final BidirectionalGrowingArray<Integer> leftReference = new BidirectionalGrowingArray<>(Integer[]::new, 10);
+        left.put(7, Integer.valueOf(1));
+        leftReference.put(7, Integer.valueOf(1));
+        Assertions.assertArrayEquals(leftReference.getRange(), left.getRange());
+        Assertions.assertEquals(leftReference.size(), left.size());
+    }
+
+    /**
+     * Testet das gleichzeitige Lesen während eines wachsenden Arrays.
+     *
+     * @throws InterruptedException
+     *             Falls der Test beim Warten auf den lesenden Thread unterbrochen wurde.
+     */
+    @Test
+    public void testConcurrentReads() throws InterruptedException {
+        final ConcurrentBidirectionalGrowingArray<Integer> array = new ConcurrentBidirectionalGrowingArray<>();
+        final AtomicBoolean finished = new AtomicBoolean();
+        final AtomicReference<String> error = new AtomicReference<>();
+        final Thread reader = new Thread(() -> {
+            while (!finished.get()) {
+                final int size = (array.size() + 1) / 2;
+                for (int i = 0; i < size; i++) {
+                    final Integer value = array.get(i);
+                    final Integer negValue = array.get(-i);
+                    if (value == null || value.intValue() != i || negValue == null || negValue.intValue() != -i) {
+                        error.set("unexpected value at " + i);
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 100_000; i++) {
+            array.put(-i, Integer.valueOf(-i));
+            array.put(i, Integer.valueOf(i));
+        }
+        finished.set(true);
+        reader.join();
+        Assertions.assertNull(error.get());
+        Assertions.assertArrayEquals(new int[] { -99_999, 99_999 }, array.getRange());
+    }
+}
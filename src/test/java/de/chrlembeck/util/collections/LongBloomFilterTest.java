@@ -0,0 +1,120 @@
+package de.chrlembeck.util.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die Klasse LongBloomFilter.
+ *
+ * @author Christoph Lembeck
+ */
+public class LongBloomFilterTest {
+
+    /**
+     * Anzahl der aufgenommenen Werte.
+     */
+    private static final int COUNT = 100_000;
+
+    /**
+     * Testet den Filter auf dem Heap.
+     */
+    @Test
+    public void testHeap() {
+        try (LongBloomFilter filter = new LongBloomFilter(COUNT, 0.01)) {
+            Assertions.assertFalse(filter.isOffHeap());
+            checkFilter(filter, 0.01);
+        }
+    }
+
+    /**
+     * Testet den Filter mit einem Bitfeld außerhalb des Heaps sowie das Schließen des Filters.
+     */
+    @Test
+    public void testOffHeap() {
+        final LongBloomFilter filter = new LongBloomFilter(COUNT, 0.001, true);
+        Assertions.assertTrue(filter.isOffHeap());
+        checkFilter(filter, 0.001);
+        filter.clear();
+        Assertions.assertFalse(filter.mightContain(7));
+        Assertions.assertTrue(filter.add(7));
+        filter.close();
+        Assertions.assertThrows(IllegalStateException.class, () -> filter.add(1));
+        Assertions.assertThrows(IllegalStateException.class, () -> filter.mightContain(1));
+    }
+
+    /**
+     * Testet die Prüfung der Parameter und die Berechnung der Filtergröße.
+     */
+    @Test
+    public void testParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LongBloomFilter(0, 0.01));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LongBloomFilter(10, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LongBloomFilter(10, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LongBloomFilter(10, Double.NaN));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new LongBloomFilter(Long.MAX_VALUE / 2, 0.01, false));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new LongBloomFilter(Long.MAX_VALUE / 2, 0.01, true));
+        final LongBloomFilter filter = new LongBloomFilter(1_000_000, 0.01);
+        // Bei 1% Fehlerrate werden etwa 9,6 Bits je Wert und 7 Hashfunktionen benötigt.
+        Assertions.assertEquals(9_585_088, filter.getBitCount());
+        Assertions.assertEquals(7, filter.getHashCount());
+    }
+
+    /**
+     * Testet, dass sich die Bitpositionen auch bei Bitfeldern mit mehr als 2<sup>33</sup> Bits über das gesamte
+     * Bitfeld verteilen. Das Bitfeld selbst wird dafür nicht angelegt.
+     */
+    @Test
+    public void testProbeCoverage() {
+        final long bitCount = 1L << 40;
+        final int buckets = 64;
+        final int[] counts = new int[buckets];
+        final int hashCount = 7;
+        for (long value = 0; value < COUNT; value++) {
+            final long first = LongBloomFilter.firstHash(value);
+            final long second = LongBloomFilter.secondHash(first);
+            for (int i = 0; i < hashCount; i++) {
+                final long bit = LongBloomFilter.probe(first, second, i, bitCount);
+                Assertions.assertTrue(bit >= 0 && bit < bitCount);
+                counts[(int) (bit / (bitCount / buckets))]++;
+            }
+        }
+        // Jeder Abschnitt des Bitfelds, auch der obere, erhält ungefähr den gleichen Anteil der Positionen.
+        final double expected = (double) COUNT * hashCount / buckets;
+        for (final int count : counts) {
+            Assertions.assertEquals(expected, count, expected * 0.05);
+        }
+    }
+
+    /**
+     * Füllt den Filter mit der erwarteten Anzahl von Werten und prüft, dass alle Werte erkannt werden und die Rate
+     * der falschen Treffer die gewünschte Fehlerrate nicht deutlich überschreitet.
+     *
+     * @param filter
+     *            Zu prüfender, leerer Filter.
+     * @param falsePositiveRate
+     *            Fehlerrate, mit der der Filter erzeugt wurde.
+     */
+    private static void checkFilter(final LongBloomFilter filter, final double falsePositiveRate) {
+        int rejected = 0;
+        for (long i = 0; i < COUNT; i++) {
+            if (!filter.add(i * 31)) {
+                rejected++;
+            }
+        }
+        // Auch beim Einfügen kann ein neuer Wert fälschlich als enthalten gelten.
+        Assertions.assertTrue(rejected < COUNT * falsePositiveRate, "rejected " + rejected);
+        for (long i = 0; i < COUNT; i++) {
+            Assertions.assertTrue(filter.mightContain(i * 31));
+            Assertions.assertFalse(filter.add(i * 31));
+        }
+        int falsePositives = 0;
+        for (long i = 0; i < COUNT; i++) {
+            if (filter.mightContain(-i * 31 - 1)) {
+                falsePositives++;
+            }
+        }
+        Assertions.assertTrue(falsePositives < COUNT * falsePositiveRate * 1.5, "false positives " + falsePositives);
+    }
+}
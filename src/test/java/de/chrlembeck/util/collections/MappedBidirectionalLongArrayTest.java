@@ -0,0 +1,79 @@
+package de.chrlembeck.util.collections;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests für die Klasse MappedBidirectionalLongArray.
+ *
+ * @author Christoph Lembeck
+ */
+public class MappedBidirectionalLongArrayTest {
+
+    /**
+     * Verzeichnis für die temporären Dateien der Tests.
+     */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Testet das Speichern und Lesen in beide Richtungen sowie das erneute Öffnen der Datei.
+     *
+     * @throws IOException
+     *             Falls beim Zugriff auf die Datei ein Fehler auftritt.
+     */
+    @Test
+    public void testPersistence() throws IOException {
+        final Path file = tempDir.resolve("array.bin");
+        try (MappedBidirectionalLongArray array = new MappedBidirectionalLongArray(file)) {
+            Assertions.assertEquals(0, array.size());
+            Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.getRange());
+            Assertions.assertEquals(0, array.get(5));
+            for (int i = 0; i < 5000; i++) {
+                Assertions.assertEquals(0, array.put(i, i * 3L));
+                Assertions.assertEquals(0, array.put(-i - 1, -i * 7L));
+            }
+            Assertions.assertEquals(6L, array.put(2, 17L));
+            Assertions.assertArrayEquals(new int[] { -5000, 4999 }, array.getRange());
+        }
+        try (MappedBidirectionalLongArray array = new MappedBidirectionalLongArray(file)) {
+            Assertions.assertArrayEquals(new int[] { -5000, 4999 }, array.getRange());
+            Assertions.assertEquals(10_000, array.size());
+            for (int i = 0; i < 5000; i++) {
+                Assertions.assertEquals(i == 2 ? 17L : i * 3L, array.get(i));
+                Assertions.assertEquals(-i * 7L, array.get(-i - 1));
+            }
+            Assertions.assertEquals(0, array.get(5000));
+            Assertions.assertEquals(0, array.get(-5001));
+            array.put(-100_000, 1L);
+            array.put(100_000, 2L);
+            Assertions.assertEquals(0, array.get(-99_999));
+            Assertions.assertEquals(0, array.get(99_999));
+            Assertions.assertEquals(-7L, array.get(-2));
+            Assertions.assertEquals(1L, array.get(-100_000));
+            Assertions.assertEquals(2L, array.get(100_000));
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            final MappedBidirectionalLongArray array = new MappedBidirectionalLongArray(file);
+            array.close();
+            array.get(0);
+        });
+    }
+
+    /**
+     * Testet das Öffnen einer Datei, die kein Array enthält.
+     *
+     * @throws IOException
+     *             Falls die Testdatei nicht geschrieben werden kann.
+     */
+    @Test
+    public void testInvalidFile() throws IOException {
+        final Path file = tempDir.resolve("invalid.bin");
+        Files.write(file, new byte[64]);
+        Assertions.assertThrows(IOException.class, () -> new MappedBidirectionalLongArray(file));
+    }
+}
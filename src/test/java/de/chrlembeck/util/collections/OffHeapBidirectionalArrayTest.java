@@ -0,0 +1,70 @@
+package de.chrlembeck.util.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die Klassen OffHeapBidirectionalLongArray und OffHeapBidirectionalDoubleArray.
+ *
+ * @author Christoph Lembeck
+ */
+public class OffHeapBidirectionalArrayTest {
+
+    /**
+     * Testet das Speichern und Lesen von long-Werten in beide Richtungen sowie das Schließen des Arrays.
+     */
+    @Test
+    public void testLongArray() {
+        final OffHeapBidirectionalLongArray array = new OffHeapBidirectionalLongArray();
+        Assertions.assertEquals(0, array.size());
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.getRange());
+        Assertions.assertEquals(0, array.get(3));
+        for (int i = 0; i < 20_000; i++) {
+            Assertions.assertEquals(0, array.put(i, i * 3L));
+            Assertions.assertEquals(0, array.put(-i - 1, -i * 7L));
+        }
+        Assertions.assertEquals(6L, array.put(2, Long.MAX_VALUE));
+        Assertions.assertArrayEquals(new int[] { -20_000, 19_999 }, array.getRange());
+        Assertions.assertEquals(40_000, array.size());
+        for (int i = 0; i < 20_000; i++) {
+            Assertions.assertEquals(i == 2 ? Long.MAX_VALUE : i * 3L, array.get(i));
+            Assertions.assertEquals(-i * 7L, array.get(-i - 1));
+        }
+        Assertions.assertEquals(0, array.get(20_000));
+        Assertions.assertEquals(0, array.get(-20_001));
+        final long allocated = array.getAllocatedBytes();
+        array.put(2_000_000_000, 1L);
+        array.put(-100_000_000, 2L);
+        Assertions.assertArrayEquals(new int[] { -100_000_000, 2_000_000_000 }, array.getRange());
+        Assertions.assertEquals(1L, array.get(2_000_000_000));
+        Assertions.assertEquals(2L, array.get(-100_000_000));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> array.put(Integer.MIN_VALUE, 3L));
+        Assertions.assertEquals(0, array.get(Integer.MIN_VALUE));
+        Assertions.assertEquals(0, array.get(1_000_000));
+        Assertions.assertEquals(allocated + 2L * 8 * AbstractOffHeapBidirectionalArray.SEGMENT_SIZE,
+            array.getAllocatedBytes());
+        array.close();
+        array.close();
+        Assertions.assertEquals(0, array.getAllocatedBytes());
+        Assertions.assertThrows(IllegalStateException.class, () -> array.get(0));
+        Assertions.assertThrows(IllegalStateException.class, () -> array.put(0, 1L));
+    }
+
+    /**
+     * Testet das Speichern und Lesen von double-Werten.
+     */
+    @Test
+    public void testDoubleArray() {
+        try (OffHeapBidirectionalDoubleArray array = new OffHeapBidirectionalDoubleArray()) {
+            for (int i = -10_000; i <= 10_000; i += 3) {
+                Assertions.assertEquals(0d, array.put(i, i / 4d));
+            }
+            Assertions.assertEquals(-2.5, array.put(-10, Double.NaN));
+            Assertions.assertArrayEquals(new int[] { -10_000, 9_998 }, array.getRange());
+            for (int i = -10_000; i <= 10_000; i++) {
+                final double expected = i == -10 ? Double.NaN : (i + 10_000) % 3 == 0 ? i / 4d : 0d;
+                Assertions.assertEquals(expected, array.get(i));
+            }
+        }
+    }
+}
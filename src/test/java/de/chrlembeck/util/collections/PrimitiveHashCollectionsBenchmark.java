@@ -0,0 +1,382 @@
+package de.chrlembeck.util.collections;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH-Benchmark, der LongHashSet, IntHashSet, LongObjectHashMap und IntIntHashMap mit den entsprechenden Collections
+ * des JDK vergleicht. Die build-Benchmarks messen das Befüllen einer Collection mit allen Schlüsseln. Der vom
+ * {@link GCProfiler} gemeldete Wert gc.alloc.rate.norm gibt dabei den Speicherbedarf der befüllten Collection in
+ * Bytes an, da die Collections bereits mit der passenden Größe angelegt werden. Die lookup-Benchmarks messen die
+ * Suche nach Schlüsseln, von denen die Hälfte enthalten ist.
+ * <p>
+ * Der Benchmark ist kein Unit-Test und wird nicht beim Build ausgeführt. Er wird über die Methode
+ * {@link #main(String[])} mit dem Klassenpfad der Tests gestartet.
+ * </p>
+ *
+ * @author Christoph Lembeck
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveHashCollectionsBenchmark {
+
+    /**
+     * Wert für die Einträge der Maps mit Objektwerten.
+     */
+    private static final String VALUE = "value";
+
+    /**
+     * Anzahl der Schlüssel in den Collections.
+     */
+    @Param({ "1000", "100000" })
+    private int size;
+
+    /**
+     * Schlüssel für die long-Collections.
+     */
+    private long[] longKeys;
+
+    /**
+     * Gesuchte Schlüssel für die long-Collections, von denen jeder zweite enthalten ist.
+     */
+    private long[] longProbes;
+
+    /**
+     * Schlüssel für die int-Collections.
+     */
+    private int[] intKeys;
+
+    /**
+     * Gesuchte Schlüssel für die int-Collections, von denen jeder zweite enthalten ist.
+     */
+    private int[] intProbes;
+
+    /**
+     * Befüllte Menge von long-Werten.
+     */
+    private LongHashSet longHashSet;
+
+    /**
+     * Befüllte Menge von Long-Objekten.
+     */
+    private Set<Long> longJdkSet;
+
+    /**
+     * Befüllte Menge von int-Werten.
+     */
+    private IntHashSet intHashSet;
+
+    /**
+     * Befüllte Menge von Integer-Objekten.
+     */
+    private Set<Integer> intJdkSet;
+
+    /**
+     * Befüllte Map mit long-Schlüsseln.
+     */
+    private LongObjectHashMap<String> longObjectHashMap;
+
+    /**
+     * Befüllte Map mit Long-Schlüsseln.
+     */
+    private Map<Long, String> longJdkMap;
+
+    /**
+     * Befüllte Map mit int-Schlüsseln und int-Werten.
+     */
+    private IntIntHashMap intIntHashMap;
+
+    /**
+     * Befüllte Map mit Integer-Schlüsseln und Integer-Werten.
+     */
+    private Map<Integer, Integer> intJdkMap;
+
+    /**
+     * Startet den Benchmark mit dem {@link GCProfiler}.
+     *
+     * @param args
+     *            Wird nicht verwendet.
+     * @throws RunnerException
+     *             Falls der Benchmark nicht ausgeführt werden konnte.
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PrimitiveHashCollectionsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+
+    /**
+     * Erzeugt die Schlüssel und befüllt die Collections für die lookup-Benchmarks.
+     */
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        longKeys = new long[size];
+        longProbes = new long[size];
+        intKeys = new int[size];
+        intProbes = new int[size];
+        for (int i = 0; i < size; i++) {
+            longKeys[i] = random.nextLong();
+            intKeys[i] = random.nextInt();
+        }
+        for (int i = 0; i < size; i++) {
+            longProbes[i] = i % 2 == 0 ? longKeys[random.nextInt(size)] : random.nextLong();
+            intProbes[i] = i % 2 == 0 ? intKeys[random.nextInt(size)] : random.nextInt();
+        }
+        longHashSet = buildLongHashSet();
+        longJdkSet = buildLongJdkSet();
+        intHashSet = buildIntHashSet();
+        intJdkSet = buildIntJdkSet();
+        longObjectHashMap = buildLongObjectHashMap();
+        longJdkMap = buildLongJdkMap();
+        intIntHashMap = buildIntIntHashMap();
+        intJdkMap = buildIntJdkMap();
+    }
+
+    /**
+     * Befüllt eine Menge von long-Werten.
+     *
+     * @return Befüllte Menge.
+     */
+    @Benchmark
+    public LongHashSet buildLongHashSet() {
+        final LongHashSet set = new LongHashSet(size);
+        for (final long key : longKeys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    /**
+     * Befüllt eine Menge von Long-Objekten.
+     *
+     * @return Befüllte Menge.
+     */
+    @Benchmark
+    public Set<Long> buildLongJdkSet() {
+        final Set<Long> set = new HashSet<>(size * 4 / 3 + 1);
+        for (final long key : longKeys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    /**
+     * Befüllt eine Menge von int-Werten.
+     *
+     * @return Befüllte Menge.
+     */
+    @Benchmark
+    public IntHashSet buildIntHashSet() {
+        final IntHashSet set = new IntHashSet(size);
+        for (final int key : intKeys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    /**
+     * Befüllt eine Menge von Integer-Objekten.
+     *
+     * @return Befüllte Menge.
+     */
+    @Benchmark
+    public Set<Integer> buildIntJdkSet() {
+        final Set<Integer> set = new HashSet<>(size * 4 / 3 + 1);
+        for (final int key : intKeys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    /**
+     * Befüllt eine Map mit long-Schlüsseln.
+     *
+     * @return Befüllte Map.
+     */
+    @Benchmark
+    public LongObjectHashMap<String> buildLongObjectHashMap() {
+        final LongObjectHashMap<String> map = new LongObjectHashMap<>(size);
+        for (final long key : longKeys) {
+            map.put(key, VALUE);
+        }
+        return map;
+    }
+
+    /**
+     * Befüllt eine Map mit Long-Schlüsseln.
+     *
+     * @return Befüllte Map.
+     */
+    @Benchmark
+    public Map<Long, String> buildLongJdkMap() {
+        final Map<Long, String> map = new HashMap<>(size * 4 / 3 + 1);
+        for (final long key : longKeys) {
+            map.put(key, VALUE);
+        }
+        return map;
+    }
+
+    /**
+     * Befüllt eine Map mit int-Schlüsseln und int-Werten.
+     *
+     * @return Befüllte Map.
+     */
+    @Benchmark
+    public IntIntHashMap buildIntIntHashMap() {
+        final IntIntHashMap map = new IntIntHashMap(size);
+        for (final int key : intKeys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Befüllt eine Map mit Integer-Schlüsseln und Integer-Werten.
+     *
+     * @return Befüllte Map.
+     */
+    @Benchmark
+    public Map<Integer, Integer> buildIntJdkMap() {
+        final Map<Integer, Integer> map = new HashMap<>(size * 4 / 3 + 1);
+        for (final int key : intKeys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Sucht Schlüssel in einer Menge von long-Werten.
+     *
+     * @return Anzahl der gefundenen Schlüssel.
+     */
+    @Benchmark
+    public int lookupLongHashSet() {
+        int found = 0;
+        for (final long probe : longProbes) {
+            found += longHashSet.contains(probe) ? 1 : 0;
+        }
+        return found;
+    }
+
+    /**
+     * Sucht Schlüssel in einer Menge von Long-Objekten.
+     *
+     * @return Anzahl der gefundenen Schlüssel.
+     */
+    @Benchmark
+    public int lookupLongJdkSet() {
+        int found = 0;
+        for (final long probe : longProbes) {
+            found += longJdkSet.contains(probe) ? 1 : 0;
+        }
+        return found;
+    }
+
+    /**
+     * Sucht Schlüssel in einer Menge von int-Werten.
+     *
+     * @return Anzahl der gefundenen Schlüssel.
+     */
+    @Benchmark
+    public int lookupIntHashSet() {
+        int found = 0;
+        for (final int probe : intProbes) {
+            found += intHashSet.contains(probe) ? 1 : 0;
+        }
+        return found;
+    }
+
+    /**
+     * Sucht Schlüssel in einer Menge von Integer-Objekten.
+     *
+     * @return Anzahl der gefundenen Schlüssel.
+     */
+    @Benchmark
+    public int lookupIntJdkSet() {
+        int found = 0;
+        for (final int probe : intProbes) {
+            found += intJdkSet.contains(probe) ? 1 : 0;
+        }
+        return found;
+    }
+
+    /**
+     * Sucht Schlüssel in einer Map mit long-Schlüsseln.
+     *
+     * @return Anzahl der gefundenen Schlüssel.
+     */
+    @Benchmark
+    public int lookupLongObjectHashMap() {
+        int found = 0;
+        for (final long probe : longProbes) {
+            found += longObjectHashMap.get(probe) == null ? 0 : 1;
+        }
+        return found;
+    }
+
+    /**
+     * Sucht Schlüssel in einer Map mit Long-Schlüsseln.
+     *
+     * @return Anzahl der gefundenen Schlüssel.
+     */
+    @Benchmark
+    public int lookupLongJdkMap() {
+        int found = 0;
+        for (final long probe : longProbes) {
+            found += longJdkMap.get(probe) == null ? 0 : 1;
+        }
+        return found;
+    }
+
+    /**
+     * Sucht Schlüssel in einer Map mit int-Schlüsseln und int-Werten.
+     *
+     * @return Summe der gefundenen Werte.
+     */
+    @Benchmark
+    public int lookupIntIntHashMap() {
+        int sum = 0;
+        for (final int probe : intProbes) {
+            sum += intIntHashMap.get(probe);
+        }
+        return sum;
+    }
+
+    /**
+     * Sucht Schlüssel in einer Map mit Integer-Schlüsseln und Integer-Werten.
+     *
+     * @return Summe der gefundenen Werte.
+     */
+    @Benchmark
+    public int lookupIntJdkMap() {
+        int sum = 0;
+        for (final int probe : intProbes) {
+            final Integer value = intJdkMap.get(probe);
+            sum += value == null ? 0 : value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,146 @@
+package de.chrlembeck.util.collections;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die Klassen LongHashSet, IntHashSet, LongObjectHashMap und IntIntHashMap. Die Collections werden dabei mit
+ * zufälligen Operationen gegen die entsprechenden Collections des JDK geprüft.
+ *
+ * @author Christoph Lembeck
+ */
+public class PrimitiveHashCollectionsTest {
+
+    /**
+     * Anzahl der zufälligen Operationen je Test.
+     */
+    private static final int OPERATIONS = 200_000;
+
+    /**
+     * Testet die Menge von long-Werten.
+     */
+    @Test
+    public void testLongHashSet() {
+        final Random random = new Random(1);
+        final LongHashSet set = new LongHashSet(4, 0.75f);
+        final Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            // kleiner Wertebereich, damit viele Kollisionen, Löschungen und der Wert 0 vorkommen
+            final long key = (random.nextInt(2000) - 1000) * 0x1_0000_0000L;
+            switch (random.nextInt(3)) {
+                case 0:
+                    Assertions.assertEquals(expected.add(key), set.add(key));
+                    break;
+                case 1:
+                    Assertions.assertEquals(expected.remove(key), set.remove(key));
+                    break;
+                default:
+                    Assertions.assertEquals(expected.contains(key), set.contains(key));
+            }
+            Assertions.assertEquals(expected.size(), set.size());
+        }
+        final Set<Long> actual = new HashSet<>();
+        set.forEach(actual::add);
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(expected.size(), set.toArray().length);
+        set.clear();
+        Assertions.assertTrue(set.isEmpty());
+        Assertions.assertFalse(set.contains(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LongHashSet(10, 1f));
+    }
+
+    /**
+     * Testet die Menge von int-Werten.
+     */
+    @Test
+    public void testIntHashSet() {
+        final Random random = new Random(2);
+        final IntHashSet set = new IntHashSet();
+        final Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            final int key = random.nextInt(3000) - 1500;
+            if (random.nextBoolean()) {
+                Assertions.assertEquals(expected.add(key), set.add(key));
+            } else {
+                Assertions.assertEquals(expected.remove(key), set.remove(key));
+            }
+            Assertions.assertEquals(expected.contains(key + 1), set.contains(key + 1));
+        }
+        Assertions.assertEquals(expected.size(), set.size());
+        final Set<Integer> actual = new HashSet<>();
+        set.forEach(actual::add);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    /**
+     * Testet die Map mit long-Schlüsseln.
+     */
+    @Test
+    public void testLongObjectHashMap() {
+        final Random random = new Random(3);
+        final LongObjectHashMap<String> map = new LongObjectHashMap<>(0);
+        final Map<Long, String> expected = new HashMap<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            final long key = random.nextInt(2000) - 1000L;
+            switch (random.nextInt(4)) {
+                case 0:
+                    Assertions.assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+                    break;
+                case 1:
+                    Assertions.assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                case 2:
+                    Assertions.assertEquals(expected.computeIfAbsent(key, k -> "c" + k),
+                        map.computeIfAbsent(key, k -> "c" + k));
+                    break;
+                default:
+                    Assertions.assertEquals(expected.get(key), map.get(key));
+                    Assertions.assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+        }
+        Assertions.assertEquals(expected.size(), map.size());
+        final Map<Long, String> actual = new HashMap<>();
+        map.forEach(actual::put);
+        Assertions.assertEquals(expected, actual);
+        map.put(7, null);
+        Assertions.assertTrue(map.containsKey(7));
+        Assertions.assertNull(map.get(7));
+    }
+
+    /**
+     * Testet die Map mit int-Schlüsseln und int-Werten.
+     */
+    @Test
+    public void testIntIntHashMap() {
+        final Random random = new Random(4);
+        final IntIntHashMap map = new IntIntHashMap(10, 0.9f, -1);
+        final Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            final int key = random.nextInt(2000) - 1000;
+            switch (random.nextInt(3)) {
+                case 0:
+                    Assertions.assertEquals(expected.getOrDefault(key, -1).intValue(), map.put(key, i));
+                    expected.put(key, i);
+                    break;
+                case 1:
+                    final int newValue = expected.getOrDefault(key, -1) + 2;
+                    expected.put(key, newValue);
+                    Assertions.assertEquals(newValue, map.addTo(key, 2));
+                    break;
+                default:
+                    final Integer removed = expected.remove(key);
+                    Assertions.assertEquals(removed == null ? -1 : removed.intValue(), map.remove(key));
+            }
+            Assertions.assertEquals(expected.getOrDefault(key + 1, -1).intValue(), map.get(key + 1));
+        }
+        Assertions.assertEquals(expected.size(), map.size());
+        final Map<Integer, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        Assertions.assertEquals(expected, actual);
+    }
+}
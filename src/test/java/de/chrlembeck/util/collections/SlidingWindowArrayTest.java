@@ -0,0 +1,63 @@
+package de.chrlembeck.util.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die Klasse SlidingWindowArray.
+ *
+ * @author Christoph Lembeck
+ */
+public class SlidingWindowArrayTest {
+
+    /**
+     * Testet das Verschieben des Fensters und das Verwerfen alter Elemente.
+     */
+    @Test
+    public void testSlidingWindow() {
+        final List<String> evicted = new ArrayList<>();
+        final SlidingWindowArray<String> window = new SlidingWindowArray<>(String[]::new, 4,
+                (index, value) -> evicted.add(index + "=" + value));
+        Assertions.assertEquals(0, window.size());
+        Assertions.assertThrows(ArrayIndexOutOfBoundsException.class, () -> window.getRange());
+        for (int t = -2; t <= 1; t++) {
+            Assertions.assertNull(window.put(t, "v" + t));
+        }
+        Assertions.assertArrayEquals(new int[] { -2, 1 }, window.getRange());
+        Assertions.assertEquals(4, window.size());
+        Assertions.assertTrue(evicted.isEmpty());
+        window.put(3, "v3");
+        Assertions.assertEquals(Arrays.asList("-2=v-2", "-1=v-1"), evicted);
+        Assertions.assertArrayEquals(new int[] { 0, 3 }, window.getRange());
+        Assertions.assertNull(window.get(-1));
+        Assertions.assertEquals("v0", window.get(0));
+        Assertions.assertNull(window.get(2));
+        Assertions.assertEquals("v3", window.get(3));
+        Assertions.assertEquals("v1", window.put(1, "w1"));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> window.put(-1, "x"));
+
+        final List<String> content = new ArrayList<>();
+        window.forEach((index, value) -> content.add(index + "=" + value));
+        Assertions.assertEquals(Arrays.asList("0=v0", "1=w1", "2=null", "3=v3"), content);
+
+        evicted.clear();
+        window.put(100, "v100");
+        Assertions.assertEquals(Arrays.asList("0=v0", "1=w1", "3=v3"), evicted);
+        Assertions.assertArrayEquals(new int[] { 100, 100 }, window.getRange());
+        Assertions.assertNull(window.get(99));
+        Assertions.assertNull(window.put(98, "v98"));
+        Assertions.assertArrayEquals(new int[] { 98, 100 }, window.getRange());
+        Assertions.assertNull(window.get(99));
+    }
+
+    /**
+     * Eine Fenstergröße von 0 ist nicht erlaubt.
+     */
+    @Test
+    public void testIllegalWindowSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SlidingWindowArray<>(Object[]::new, 0));
+    }
+}